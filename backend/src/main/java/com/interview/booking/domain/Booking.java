@@ -4,6 +4,7 @@ import com.interview.client.domain.Client;
 import com.interview.company.domain.RentalLocation;
 import com.interview.fleet.domain.Car;
 import com.interview.payment.domain.Payment;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -36,6 +37,24 @@ public class Booking {
     @Column(nullable = false, length = 20)
     private BookingStatus status = BookingStatus.CREATED;
 
+    /**
+     * When {@link #status} last changed; time-in-state metrics count from here.
+     */
+    @Setter(AccessLevel.NONE)
+    @Column(name = "status_changed_at")
+    private Instant statusChangedAt = Instant.now();
+
+    /**
+     * Status before the latest {@link #setStatus} in this unit of work, and when it had been entered.
+     */
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private BookingStatus previousStatus;
+
+    @Transient
+    @Setter(AccessLevel.NONE)
+    private Instant previousStatusChangedAt;
+
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "pickup_location_id")
     private RentalLocation pickupLocation;
@@ -58,4 +77,16 @@ public class Booking {
 
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private Payment payment;
+
+    /**
+     * Hibernate reads and writes the field directly, so only real transitions pass through here.
+     */
+    public void setStatus(BookingStatus status) {
+        if (this.status != status) {
+            previousStatus = this.status;
+            previousStatusChangedAt = statusChangedAt;
+            statusChangedAt = Instant.now();
+        }
+        this.status = status;
+    }
 }
@@ -0,0 +1,56 @@
+package com.interview.booking.dto;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * In-process event published whenever a booking is created or changes status.
+ * Listeners that keep derived inventory state (e.g. the availability index) consume it after commit.
+ */
+@Value
+public class BookingInventoryChangedEvent {
+    Long bookingId;
+    Long carId;
+    Instant pickupTime;
+    Instant returnTime;
+    BookingStatus status;
+    /** Status the booking left, or {@code null} for a new booking. */
+    BookingStatus previousStatus;
+    /** How long the booking had been in {@link #previousStatus}, when known. */
+    Duration timeInPreviousStatus;
+
+    public BookingInventoryChangedEvent(Long bookingId, Long carId, Instant pickupTime, Instant returnTime,
+                                        BookingStatus status) {
+        this(bookingId, carId, pickupTime, returnTime, status, null, null);
+    }
+
+    public BookingInventoryChangedEvent(Long bookingId, Long carId, Instant pickupTime, Instant returnTime,
+                                        BookingStatus status, BookingStatus previousStatus,
+                                        Duration timeInPreviousStatus) {
+        this.bookingId = bookingId;
+        this.carId = carId;
+        this.pickupTime = pickupTime;
+        this.returnTime = returnTime;
+        this.status = status;
+        this.previousStatus = previousStatus;
+        this.timeInPreviousStatus = timeInPreviousStatus;
+    }
+
+    public static BookingInventoryChangedEvent of(Booking booking) {
+        Duration timeInPrevious = booking.getPreviousStatusChangedAt() != null && booking.getStatusChangedAt() != null
+                ? Duration.between(booking.getPreviousStatusChangedAt(), booking.getStatusChangedAt())
+                : null;
+        return new BookingInventoryChangedEvent(
+                booking.getId(),
+                booking.getCar() != null ? booking.getCar().getId() : null,
+                booking.getPickupTime(),
+                booking.getReturnTime(),
+                booking.getStatus(),
+                booking.getPreviousStatus(),
+                timeInPrevious);
+    }
+}
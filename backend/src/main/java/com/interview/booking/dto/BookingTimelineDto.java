@@ -0,0 +1,26 @@
+package com.interview.booking.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Saga stages one booking has gone through on this instance, oldest first.
+ */
+@Value
+public class BookingTimelineDto {
+    Long bookingId;
+    String correlationId;
+    List<Stage> stages;
+
+    @Value
+    public static class Stage {
+        String stage;
+        Instant at;
+        /** Milliseconds since the first recorded stage. */
+        long sinceStartMs;
+        /** Milliseconds since the stage before, 0 for the first. */
+        long sincePreviousMs;
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.booking.export;
+
+import com.interview.common.tracing.MdcTaskDecorator;
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Writes export responses on a small pool of their own, so a few long downloads cannot occupy the shared
+ * {@code @Async} pool, with a timeout sized for large exports instead of Tomcat's 30 seconds. Only the export
+ * endpoints use it; Spring MVC's async executor and default timeout stay as Boot configures them. The pool is
+ * deliberately not a bean: an {@code Executor} bean would replace Boot's {@code applicationTaskExecutor}.
+ */
+@Component
+public class BookingExportExecutor implements DisposableBean {
+
+    private final BookingExportProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+
+    public BookingExportExecutor(BookingExportProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("export-");
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        MdcTaskDecorator mdc = new MdcTaskDecorator();
+        executor.setTaskDecorator(runnable -> Workload.wrap(WorkloadClass.REPORTING, mdc.decorate(runnable)));
+        executor.initialize();
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "booking.export", Tags.empty())
+                .bindTo(meterRegistry);
+    }
+
+    /**
+     * Frees the request thread and writes {@code body} to the response on the export pool. The handler declares
+     * the {@link HttpServletResponse} parameter, so MVC treats the request as handled once the task returns.
+     */
+    public WebAsyncTask<Void> stream(HttpServletResponse response, ExportFormat format, StreamingResponseBody body) {
+        response.setContentType(format.getMediaType().toString());
+        return new WebAsyncTask<>(properties.getTimeout().toMillis(), executor, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
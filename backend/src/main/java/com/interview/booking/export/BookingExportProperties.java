@@ -0,0 +1,30 @@
+package com.interview.booking.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "booking.export")
+public class BookingExportProperties {
+
+    /**
+     * Rows written between flushes of the response, so clients see progress on long exports.
+     */
+    private int flushEvery = 200;
+
+    /**
+     * Threads writing streamed responses; exports beyond that wait in the queue.
+     */
+    private int threads = 4;
+
+    private int queueCapacity = 16;
+
+    /**
+     * Upper bound on one streamed response, replacing the servlet container's short async default.
+     */
+    private Duration timeout = Duration.ofMinutes(10);
+}
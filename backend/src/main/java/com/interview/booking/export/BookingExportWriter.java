@@ -0,0 +1,88 @@
+package com.interview.booking.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.booking.repo.dto.BookingRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Writes export rows to a response body as they are read, flushing every {@code booking.export.flush-every}
+ * rows; nothing but the current row is held in memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingExportWriter {
+
+    static final String CSV_HEADER =
+            "id,status,totalPriceCents,carModelId,clientId,carId,pickupLocationId,returnLocationId,pickup,ret";
+
+    private final ObjectMapper objectMapper;
+    private final BookingExportProperties properties;
+
+    /**
+     * @return the number of rows written
+     */
+    public long write(Iterator<BookingRow> rows, ExportFormat format, OutputStream out) throws IOException {
+        return format == ExportFormat.CSV ? writeCsv(rows, out) : writeNdjson(rows, out);
+    }
+
+    private long writeNdjson(Iterator<BookingRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // one document per line instead of the default space between root values
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                if (++count % properties.getFlushEvery() == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<BookingRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            BookingRow row = rows.next();
+            writer.write(String.join(",",
+                    csv(row.getId()), csv(row.getStatus()), csv(row.getTotalPriceCents()), csv(row.getCarModelId()),
+                    csv(row.getClientId()), csv(row.getCarId()), csv(row.getPickupLocationId()),
+                    csv(row.getReturnLocationId()), csv(row.getPickup()), csv(row.getRet())));
+            writer.write("\r\n");
+            if (++count % properties.getFlushEvery() == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Ids, numbers, enum names and ISO instants never need quoting; anything else is quoted per RFC 4180.
+     */
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -3,6 +3,7 @@ package com.interview.booking.mapper;
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
 import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.repo.dto.BookingRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -22,6 +23,9 @@ public interface BookingMapper {
     @Mapping(target = "carModelId", expression = "java(booking.getCar() != null && booking.getCar().getModel() != null ? booking.getCar().getModel().getId() : null)")
     BookingResponseDto toResponse(Booking booking);
 
+    @Mapping(target = "status", source = "status", qualifiedByName = "statusToString")
+    BookingResponseDto toResponse(BookingRow row);
+
     @Named("statusToString")
     default String statusToString(BookingStatus status) {
         return status != null ? status.name() : null;
@@ -2,21 +2,34 @@ package com.interview.booking.repo;
 
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.repo.dto.BookingBacklogRow;
+import com.interview.booking.repo.dto.BookingRow;
 import com.interview.booking.repo.dto.BookingInfoDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    String EXPORT_FETCH_SIZE = "500";
+
+    String ROW_SELECT = "select new com.interview.booking.repo.dto.BookingRow( " +
+            "b.id, b.status, b.totalPriceCents, c.model.id, b.client.id, c.id, " +
+            "b.pickupLocation.id, b.returnLocation.id, b.pickupTime, b.returnTime) " +
+            "from Booking b " +
+            "join b.car c ";
+
     @EntityGraph(attributePaths = {"car", "car.model", "pickupLocation", "returnLocation", "payment"})
     Optional<Booking> findById(Long id);
 
@@ -36,6 +49,29 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     )
     Page<BookingInfoDto> findListByClientId(@Param("clientId") Long clientId, Pageable pageable);
 
+    /**
+     * Keyset variant of {@link #findListByClientId}: newest pickup first, id as tie-breaker, starting after
+     * {@code (afterPickup, afterId)}, or from the start when {@code afterPickup} is null. No count query.
+     */
+    @Query("select new com.interview.booking.repo.dto.BookingInfoDto( " +
+            "b.id, b.status, b.pickupTime, b.returnTime, b.totalPriceCents, " +
+            "c.plateNumber, m.make, m.model, " +
+            "pl.name, rl.name, p.status) " +
+            "from Booking b " +
+            "join b.car c " +
+            "join c.model m " +
+            "join b.pickupLocation pl " +
+            "join b.returnLocation rl " +
+            "left join b.payment p " +
+            "where b.client.id = :clientId " +
+            "and (:afterPickup is null or b.pickupTime < :afterPickup " +
+            "     or (b.pickupTime = :afterPickup and b.id < :afterId)) " +
+            "order by b.pickupTime desc, b.id desc")
+    List<BookingInfoDto> findListByClientIdAfter(@Param("clientId") Long clientId,
+                                                 @Param("afterPickup") Instant afterPickup,
+                                                 @Param("afterId") Long afterId,
+                                                 Pageable limit);
+
 
     @Query("select (count(b) > 0) from Booking b " +
             "where b.car.company.id = :companyId " +
@@ -70,6 +106,13 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                               @Param("now") Instant now,
                                               @Param("active") Collection<BookingStatus> active);
 
+    /**
+     * How many bookings are in {@code status} and since when the longest-waiting one has been there.
+     * Served by {@code idx_booking_status}.
+     */
+    @Query("select new com.interview.booking.repo.dto.BookingBacklogRow(count(b), min(b.statusChangedAt)) " +
+            "from Booking b where b.status = :status")
+    BookingBacklogRow findBacklog(@Param("status") BookingStatus status);
 
     /**
      * Find all active bookings for a company (bookings that are started or in the future).
@@ -109,5 +152,58 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                   @Param("endTime") Instant endTime);
 
 
+    /**
+     * Projection of {@link com.interview.booking.dto.BookingResponseDto}'s columns: one statement per list,
+     * reading foreign keys instead of initializing the lazy associations.
+     */
+    @Query(ROW_SELECT +
+            "join c.currentLocation l " +
+            "where l.company.id = :companyId " +
+            "and b.status not in ('CANCELED', 'COMPLETED') " +
+            "and b.returnTime >= :now " +
+            "order by b.pickupTime asc")
+    List<BookingRow> findActiveRowsForCompany(@Param("companyId") Long companyId, @Param("now") Instant now);
+
+    @Query(ROW_SELECT +
+            "where (b.pickupLocation.id = :locationId or b.returnLocation.id = :locationId) " +
+            "and b.status not in ('CANCELED', 'COMPLETED') " +
+            "and b.returnTime >= :now " +
+            "order by b.pickupTime asc")
+    List<BookingRow> findActiveRowsForLocation(@Param("locationId") Long locationId, @Param("now") Instant now);
+
+    @Query(ROW_SELECT +
+            "where (b.pickupLocation.id = :locationId or b.returnLocation.id = :locationId) " +
+            "and b.pickupTime < :endTime " +
+            "and b.returnTime > :startTime " +
+            "order by b.pickupTime asc")
+    List<BookingRow> findRowsForLocationInPeriod(@Param("locationId") Long locationId,
+                                                 @Param("startTime") Instant startTime,
+                                                 @Param("endTime") Instant endTime);
+
+    /**
+     * Streaming counterpart of {@link #findActiveRowsForCompany}, read forward-only in chunks of the fetch size.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(ROW_SELECT +
+            "join c.currentLocation l " +
+            "where l.company.id = :companyId " +
+            "and b.status not in ('CANCELED', 'COMPLETED') " +
+            "and b.returnTime >= :now " +
+            "order by b.pickupTime asc")
+    Stream<BookingRow> streamActiveForCompany(@Param("companyId") Long companyId, @Param("now") Instant now);
+
+    /**
+     * Streaming counterpart of {@link #findRowsForLocationInPeriod}.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE))
+    @Query(ROW_SELECT +
+            "where (b.pickupLocation.id = :locationId or b.returnLocation.id = :locationId) " +
+            "and b.pickupTime < :endTime " +
+            "and b.returnTime > :startTime " +
+            "order by b.pickupTime asc")
+    Stream<BookingRow> streamForLocationInPeriod(@Param("locationId") Long locationId,
+                                                 @Param("startTime") Instant startTime,
+                                                 @Param("endTime") Instant endTime);
 }
 
@@ -0,0 +1,14 @@
+package com.interview.booking.repo.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Bookings in one status: how many, and since when the longest-waiting one has been in it.
+ */
+@Value
+public class BookingBacklogRow {
+    Long count;
+    Instant oldestStatusChangedAt;
+}
@@ -0,0 +1,23 @@
+package com.interview.booking.repo.dto;
+
+import com.interview.booking.domain.BookingStatus;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Flat booking row for lists and exports; same field names as {@link com.interview.booking.dto.BookingResponseDto}.
+ */
+@Value
+public class BookingRow {
+    Long id;
+    BookingStatus status;
+    Integer totalPriceCents;
+    Long carModelId;
+    Long clientId;
+    Long carId;
+    Long pickupLocationId;
+    Long returnLocationId;
+    Instant pickup;
+    Instant ret;
+}
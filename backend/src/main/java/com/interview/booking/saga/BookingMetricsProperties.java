@@ -0,0 +1,31 @@
+package com.interview.booking.saga;
+
+import com.interview.booking.domain.BookingStatus;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "booking.metrics")
+public class BookingMetricsProperties {
+
+    /**
+     * Record time-in-state per transition and sample the backlog gauges.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the backlog gauges are refreshed; each refresh is one indexed count per status.
+     */
+    private Duration sampleInterval = Duration.ofSeconds(15);
+
+    /**
+     * Statuses whose size and oldest entry are sampled; bookings should pass through them quickly.
+     */
+    private Set<BookingStatus> backlogStatuses = EnumSet.of(BookingStatus.PENDING);
+}
@@ -0,0 +1,165 @@
+package com.interview.booking.saga;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interview.booking.dto.BookingTimelineDto;
+import com.interview.common.tracing.Correlation;
+import com.interview.outboxevent.dto.OutboxEventAppended;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Where booking-to-confirmation time goes. Each {@link SagaStage} is recorded as the saga reaches it, on
+ * whichever thread that happens: the request thread, the outbox relay, the payment gateway's callback or the
+ * completion pool.
+ * <p>
+ * Every stage feeds {@code booking.saga.stage}, tagged by stage, with the time since the booking's previous stage;
+ * a terminal stage also feeds {@code booking.saga.duration}, from the first stage, tagged by outcome. The stages
+ * themselves are kept per booking in a bounded in-memory cache for {@code GET /api/bookings/{id}/timeline}.
+ * <p>
+ * Stages that only count once committed (enqueued, confirmed, canceled) come from the {@link OutboxEventAppended}
+ * the saga publishes in the same transaction, delivered after commit.
+ */
+@Slf4j
+@Component
+public class BookingSagaTracer {
+
+    static final String STAGE_METRIC = "booking.saga.stage";
+    static final String DURATION_METRIC = "booking.saga.duration";
+
+    private final BookingTimelineProperties properties;
+    private final Cache<Long, Timeline> timelines;
+    private final Map<SagaStage, Timer> stageTimers = new EnumMap<>(SagaStage.class);
+    private final Timer confirmed;
+    private final Timer canceled;
+
+    public BookingSagaTracer(BookingTimelineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBookings())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+        for (SagaStage stage : SagaStage.values()) {
+            stageTimers.put(stage, Timer.builder(STAGE_METRIC)
+                    .description("Time from a booking's previous saga stage to this one")
+                    .tag("stage", stage.name())
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry));
+        }
+        confirmed = durationTimer(meterRegistry, "confirmed");
+        canceled = durationTimer(meterRegistry, "canceled");
+    }
+
+    /**
+     * Mark {@code stage} reached now. The current correlation id, if any, is kept with the booking's timeline.
+     */
+    public void record(Long bookingId, SagaStage stage) {
+        if (!properties.isEnabled() || bookingId == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        Timeline timeline = timelines.get(bookingId, ignored -> new Timeline());
+        Timeline.Entry first;
+        Timeline.Entry previous;
+        synchronized (timeline) {
+            if (timeline.correlationId == null) {
+                timeline.correlationId = Correlation.current();
+            }
+            first = timeline.entries.isEmpty() ? null : timeline.entries.get(0);
+            previous = timeline.entries.isEmpty() ? null : timeline.entries.get(timeline.entries.size() - 1);
+            if (timeline.entries.size() < properties.getMaxStages()) {
+                timeline.entries.add(new Timeline.Entry(stage, now));
+            }
+        }
+        // re-put so the retention counts from the latest stage
+        timelines.put(bookingId, timeline);
+
+        if (previous != null) {
+            stageTimers.get(stage).record(Duration.between(previous.at, now));
+        }
+        if (stage.isTerminal() && first != null) {
+            (stage == SagaStage.BOOKING_CONFIRMED ? confirmed : canceled).record(Duration.between(first.at, now));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxEventAppended(OutboxEventAppended event) {
+        SagaStage stage = stageFor(event.getEventType());
+        if (stage == null) {
+            return;
+        }
+        try {
+            record(Long.valueOf(event.getAggregateId()), stage);
+        } catch (NumberFormatException e) {
+            log.debug("Outbox event {} has a non-booking aggregate id {}", event.getOutboxEventId(), event.getAggregateId());
+        }
+    }
+
+    public Optional<BookingTimelineDto> timeline(Long bookingId) {
+        Timeline timeline = timelines.getIfPresent(bookingId);
+        if (timeline == null) {
+            return Optional.empty();
+        }
+        synchronized (timeline) {
+            List<BookingTimelineDto.Stage> stages = new ArrayList<>(timeline.entries.size());
+            Instant start = timeline.entries.isEmpty() ? null : timeline.entries.get(0).at;
+            Instant previous = start;
+            for (Timeline.Entry entry : timeline.entries) {
+                stages.add(new BookingTimelineDto.Stage(entry.stage.name(), entry.at,
+                        Duration.between(start, entry.at).toMillis(), Duration.between(previous, entry.at).toMillis()));
+                previous = entry.at;
+            }
+            return Optional.of(new BookingTimelineDto(bookingId, timeline.correlationId, stages));
+        }
+    }
+
+    private static SagaStage stageFor(String eventType) {
+        switch (eventType) {
+            case "PAYMENT_REQUESTED":
+                return SagaStage.OUTBOX_ENQUEUED;
+            case "BOOKING_CONFIRMED":
+                return SagaStage.BOOKING_CONFIRMED;
+            case "BOOKING_CANCELED":
+                return SagaStage.BOOKING_CANCELED;
+            default:
+                return null;
+        }
+    }
+
+    private static Timer durationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(DURATION_METRIC)
+                .description("Time from a booking's first saga stage to confirmation or cancellation")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Guarded by its own monitor.
+     */
+    private static class Timeline {
+        private final List<Entry> entries = new ArrayList<>(SagaStage.values().length);
+        private String correlationId;
+
+        private static class Entry {
+            private final SagaStage stage;
+            private final Instant at;
+
+            Entry(SagaStage stage, Instant at) {
+                this.stage = stage;
+                this.at = at;
+            }
+        }
+    }
+}
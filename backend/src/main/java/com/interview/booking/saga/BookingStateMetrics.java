@@ -0,0 +1,115 @@
+package com.interview.booking.saga;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.repo.dto.BookingBacklogRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How long bookings stay in each {@link BookingStatus}.
+ * <p>
+ * Every committed transition feeds {@code booking.state.duration}, tagged {@code from} and {@code to}, with the
+ * time the booking spent in {@code from}. Timers are created on first use, so only transitions that actually
+ * happen become series.
+ * <p>
+ * Bookings stuck in a state never transition, so the statuses in {@code backlogStatuses} are also sampled on a
+ * schedule: {@code booking.backlog.count} and {@code booking.backlog.oldest.age}, tagged by status. Gauges read
+ * the last sample; a scrape never touches the database.
+ */
+@Slf4j
+@Component
+public class BookingStateMetrics {
+
+    static final String DURATION_METRIC = "booking.state.duration";
+    static final String BACKLOG_COUNT_METRIC = "booking.backlog.count";
+    static final String BACKLOG_AGE_METRIC = "booking.backlog.oldest.age";
+
+    private final BookingRepository bookingRepository;
+    private final BookingMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> transitionTimers = new ConcurrentHashMap<>();
+    private final Map<BookingStatus, Backlog> backlogs = new EnumMap<>(BookingStatus.class);
+
+    public BookingStateMetrics(BookingRepository bookingRepository, BookingMetricsProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        for (BookingStatus status : properties.getBacklogStatuses()) {
+            Backlog backlog = new Backlog();
+            backlogs.put(status, backlog);
+            Gauge.builder(BACKLOG_COUNT_METRIC, backlog.count, AtomicLong::get)
+                    .description("Bookings currently in this status, as of the last sample")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+            TimeGauge.builder(BACKLOG_AGE_METRIC, backlog.oldestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .description("How long the longest-waiting booking has been in this status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingInventoryChangedEvent event) {
+        if (!properties.isEnabled() || event.getPreviousStatus() == null || event.getTimeInPreviousStatus() == null) {
+            return;
+        }
+        transitionTimer(event.getPreviousStatus(), event.getStatus()).record(event.getTimeInPreviousStatus());
+    }
+
+    @Scheduled(fixedDelayString = "#{@bookingMetricsProperties.sampleInterval.toMillis()}",
+            initialDelayString = "#{@bookingMetricsProperties.sampleInterval.toMillis()}")
+    public void scheduledSample() {
+        if (properties.isEnabled()) {
+            try {
+                sample();
+            } catch (RuntimeException e) {
+                log.warn("Booking backlog sample failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Refresh the backlog gauges: one count per sampled status, served by {@code idx_booking_status}.
+     */
+    public void sample() {
+        Instant now = Instant.now();
+        backlogs.forEach((status, backlog) -> {
+            BookingBacklogRow row = bookingRepository.findBacklog(status);
+            backlog.count.set(row.getCount() == null ? 0 : row.getCount());
+            backlog.oldestMillis.set(row.getOldestStatusChangedAt() == null
+                    ? 0 : Math.max(0, Duration.between(row.getOldestStatusChangedAt(), now).toMillis()));
+        });
+    }
+
+    private Timer transitionTimer(BookingStatus from, BookingStatus to) {
+        return transitionTimers.computeIfAbsent(from.name() + '>' + to.name(), ignored ->
+                Timer.builder(DURATION_METRIC)
+                        .description("Time a booking spent in a status before moving to the next")
+                        .tag("from", from.name())
+                        .tag("to", to.name())
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+    }
+
+    private static final class Backlog {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong oldestMillis = new AtomicLong();
+    }
+}
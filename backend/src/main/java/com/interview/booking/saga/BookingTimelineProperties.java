@@ -0,0 +1,33 @@
+package com.interview.booking.saga;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "booking.timeline")
+public class BookingTimelineProperties {
+
+    /**
+     * Record saga stages; stage histograms and timelines are empty when off.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Timelines kept in memory; the least recently used go first.
+     */
+    private long maxBookings = 10_000;
+
+    /**
+     * How long a timeline is kept after its last stage.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    /**
+     * Stages kept per booking, so a payment retried many times cannot grow its timeline without bound.
+     */
+    private int maxStages = 32;
+}
@@ -0,0 +1,25 @@
+package com.interview.booking.saga;
+
+/**
+ * Steps of the booking saga, in the order they normally happen.
+ */
+public enum SagaStage {
+    /** The booking row was written as PENDING, inside the booking transaction. */
+    BOOKING_PERSISTED,
+    /** The booking transaction committed with its PAYMENT_REQUESTED outbox event. */
+    OUTBOX_ENQUEUED,
+    /** The relay claimed the PAYMENT_REQUESTED event. */
+    CLAIMED,
+    /** The payment gateway was called. */
+    PAYMENT_REQUESTED,
+    /** The payment gateway answered, either way. */
+    PAYMENT_ANSWERED,
+    /** The booking committed as CONFIRMED. */
+    BOOKING_CONFIRMED,
+    /** The booking committed as CANCELED after a declined payment. */
+    BOOKING_CANCELED;
+
+    public boolean isTerminal() {
+        return this == BOOKING_CONFIRMED || this == BOOKING_CANCELED;
+    }
+}
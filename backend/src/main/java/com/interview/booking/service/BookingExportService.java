@@ -0,0 +1,28 @@
+package com.interview.booking.service;
+
+import com.interview.booking.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * Streams booking lists straight to an output stream, for exports too large to build as one JSON array.
+ */
+public interface BookingExportService {
+
+    /**
+     * Write all active bookings for a company (started and future bookings).
+     *
+     * @return the number of rows written
+     */
+    long exportActiveForCompany(Long companyId, ExportFormat format, OutputStream out) throws IOException;
+
+    /**
+     * Write all bookings for a location that overlap with the specified time period.
+     *
+     * @return the number of rows written
+     */
+    long exportForLocationInPeriod(Long locationId, Instant startTime, Instant endTime,
+                                   ExportFormat format, OutputStream out) throws IOException;
+}
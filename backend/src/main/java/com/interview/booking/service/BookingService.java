@@ -3,6 +3,11 @@ package com.interview.booking.service;
 import com.interview.booking.dto.BookingCreateByCarDto;
 import com.interview.booking.dto.BookingCreateByModelDto;
 import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.dto.BookingTimelineDto;
+import com.interview.booking.repo.dto.BookingInfoDto;
+import com.interview.common.web.CursorPageResponse;
+import com.interview.common.web.PageResponse;
+import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
 import java.util.List;
@@ -68,4 +73,19 @@ public interface BookingService {
      * Get all bookings for a location that overlap with the specified time period.
      */
     List<BookingResponseDto> getBookingsForLocationInPeriod(Long locationId, Instant startTime, Instant endTime);
+
+    /**
+     * List a client's bookings, newest pickup first, with offset pagination.
+     */
+    PageResponse<BookingInfoDto> listBookingsForClient(Long clientId, Pageable pageable);
+
+    /**
+     * List a client's bookings, newest pickup first, with keyset pagination.
+     */
+    CursorPageResponse<BookingInfoDto> listBookingsForClient(Long clientId, String cursor, int size);
+
+    /**
+     * Saga stages of a booking recorded on this instance, with the time between them.
+     */
+    BookingTimelineDto getTimeline(Long bookingId);
 }
\ No newline at end of file
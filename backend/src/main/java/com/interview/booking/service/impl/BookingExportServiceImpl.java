@@ -0,0 +1,50 @@
+package com.interview.booking.service.impl;
+
+import com.interview.booking.export.BookingExportWriter;
+import com.interview.booking.export.ExportFormat;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.repo.dto.BookingRow;
+import com.interview.booking.service.BookingExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Rows are constructor projections, so Hibernate keeps no managed entities and the persistence context stays
+ * empty however many rows pass through; the open transaction only keeps the cursor alive.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookingExportServiceImpl implements BookingExportService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingExportWriter bookingExportWriter;
+
+    @Override
+    public long exportActiveForCompany(Long companyId, ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookingRow> rows = bookingRepository.streamActiveForCompany(companyId, Instant.now())) {
+            long count = bookingExportWriter.write(rows.iterator(), format, out);
+            log.debug("Exported {} active bookings of company {} as {}", count, companyId, format);
+            return count;
+        }
+    }
+
+    @Override
+    public long exportForLocationInPeriod(Long locationId, Instant startTime, Instant endTime,
+                                          ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<BookingRow> rows =
+                     bookingRepository.streamForLocationInPeriod(locationId, startTime, endTime)) {
+            long count = bookingExportWriter.write(rows.iterator(), format, out);
+            log.debug("Exported {} bookings of location {} as {}", count, locationId, format);
+            return count;
+        }
+    }
+}
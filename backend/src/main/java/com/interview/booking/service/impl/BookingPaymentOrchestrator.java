@@ -1,23 +1,29 @@
 package com.interview.booking.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
 import com.interview.booking.dto.BookingCanceledEvent;
 import com.interview.booking.dto.BookingConfirmedEvent;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
 import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.saga.BookingSagaTracer;
+import com.interview.booking.saga.SagaStage;
 import com.interview.common.annotation.Loggable;
 import com.interview.common.domain.EntityNotFound;
+import com.interview.common.tracing.Correlation;
+import com.interview.outboxevent.codec.OutboxPayloadCodec;
 import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.dto.OutboxEventAppended;
 import com.interview.outboxevent.repo.OutboxEventRepository;
 import com.interview.payment.dto.PaymentRequestEvent;
 import com.interview.payment.dto.PaymentResponseEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 
 @Service
@@ -28,7 +34,9 @@ import java.time.LocalDateTime;
 public class BookingPaymentOrchestrator {
     private final BookingRepository bookingRepository;
     private final OutboxEventRepository outboxEventRepository;
-    private final ObjectMapper objectMapper;
+    private final OutboxPayloadCodec outboxPayloadCodec;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingSagaTracer sagaTracer;
 
 
     /**
@@ -38,6 +46,8 @@ public class BookingPaymentOrchestrator {
 
         booking.setStatus(BookingStatus.PENDING);
         bookingRepository.save(booking);
+        sagaTracer.record(booking.getId(), SagaStage.BOOKING_PERSISTED);
+        eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
 
 
         PaymentRequestEvent paymentEvent = new PaymentRequestEvent(
@@ -67,6 +77,7 @@ public class BookingPaymentOrchestrator {
 
             booking.setStatus(BookingStatus.CONFIRMED);
             bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
 
 
             publishEvent(
@@ -82,6 +93,7 @@ public class BookingPaymentOrchestrator {
 
             booking.setStatus(BookingStatus.CANCELED);
             bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
 
 
             publishEvent(
@@ -98,10 +110,12 @@ public class BookingPaymentOrchestrator {
 
     private void publishEvent(String aggregateId, String aggregateType, String eventType, Object eventData) {
         try {
-            String eventDataJson = objectMapper.writeValueAsString(eventData);
-            OutboxEvent outboxEvent = new OutboxEvent(aggregateId, aggregateType, eventType, eventDataJson);
-            outboxEventRepository.save(outboxEvent);
-        } catch (JsonProcessingException e) {
+            byte[] payload = outboxPayloadCodec.encode(eventData);
+            OutboxEvent outboxEvent = new OutboxEvent(aggregateId, aggregateType, eventType, payload);
+            outboxEvent.setCorrelationId(Correlation.current());
+            OutboxEvent saved = outboxEventRepository.save(outboxEvent);
+            eventPublisher.publishEvent(new OutboxEventAppended(saved.getId(), aggregateId, eventType));
+        } catch (IOException e) {
             throw new RuntimeException("Failed to publish event", e);
         }
     }
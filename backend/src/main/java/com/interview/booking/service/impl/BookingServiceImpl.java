@@ -4,30 +4,43 @@ import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
 import com.interview.booking.dto.BookingCreateByCarDto;
 import com.interview.booking.dto.BookingCreateByModelDto;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
 import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.dto.BookingTimelineDto;
 import com.interview.booking.mapper.BookingMapper;
 import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.repo.dto.BookingInfoDto;
+import com.interview.booking.saga.BookingSagaTracer;
 import com.interview.booking.service.BookingService;
 import com.interview.booking.service.DiscountService;
 import com.interview.client.repo.ClientRepository;
 import com.interview.common.annotation.Loggable;
 import com.interview.common.domain.BusinessRuleViolation;
 import com.interview.common.domain.EntityNotFound;
+import com.interview.common.web.Cursor;
+import com.interview.common.web.CursorPageResponse;
+import com.interview.common.web.PageResponse;
 import com.interview.company.service.RentalLocationService;
+import com.interview.fleet.claim.CarClaimer;
 import com.interview.fleet.domain.Car;
 import com.interview.fleet.service.CarAvailabilityService;
 import com.interview.fleet.service.CarService;
 import com.interview.payment.service.impl.PaymentServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -37,6 +50,8 @@ import java.util.stream.Collectors;
 
 public class BookingServiceImpl implements BookingService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01"; // PostgreSQL exclusion_violation
+
     private final CarService carService;
     private final CarAvailabilityService carAvailabilityService;
     private final BookingRepository bookingRepository;
@@ -46,6 +61,9 @@ public class BookingServiceImpl implements BookingService {
     private final PaymentServiceImpl paymentServiceImpl;
     private final BookingMapper bookingMapper;
     private final BookingPaymentOrchestrator bookingPaymentOrchestrator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CarClaimer carClaimer;
+    private final BookingSagaTracer sagaTracer;
 
     /**
      * Create a booking by car ID using DTO input and return DTO response.
@@ -133,6 +151,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         booking.setStatus(BookingStatus.CANCELED);
+        eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
     }
 
     @Override
@@ -148,8 +167,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getAllActiveBookingsForCompany(Long companyId) {
         Instant now = Instant.now();
-        List<Booking> activeBookings = bookingRepository.findActiveBookingsForCompany(companyId, now);
-        return activeBookings.stream()
+        return bookingRepository.findActiveRowsForCompany(companyId, now).stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -161,8 +179,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getActiveBookingsForLocation(Long locationId) {
         Instant now = Instant.now();
-        List<Booking> activeBookings = bookingRepository.findActiveBookingsForLocation(locationId, now);
-        return activeBookings.stream()
+        return bookingRepository.findActiveRowsForLocation(locationId, now).stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
@@ -173,12 +190,36 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsForLocationInPeriod(Long locationId, Instant startTime, Instant endTime) {
-        List<Booking> overlappingBookings = bookingRepository.findBookingsForLocationInPeriod(locationId, startTime, endTime);
-        return overlappingBookings.stream()
+        return bookingRepository.findRowsForLocationInPeriod(locationId, startTime, endTime).stream()
                 .map(bookingMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<BookingInfoDto> listBookingsForClient(Long clientId, Pageable pageable) {
+        return PageResponse.from(bookingRepository.findListByClientId(clientId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<BookingInfoDto> listBookingsForClient(Long clientId, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<BookingInfoDto> rows = bookingRepository.findListByClientIdAfter(clientId,
+                after != null ? after.keyAsInstant() : null, after != null ? after.getId() : null,
+                CursorPageResponse.fetchLimit(size));
+        return CursorPageResponse.from(rows, size, row -> Cursor.after(row.getPickupTime(), row.getBookingId()));
+    }
+
+    /**
+     * Timelines live in memory, so a booking created on another instance, or before the retention, has none here.
+     */
+    @Override
+    public BookingTimelineDto getTimeline(Long bookingId) {
+        return sagaTracer.timeline(bookingId)
+                .orElseThrow(() -> new EntityNotFound("No saga timeline for booking: " + bookingId));
+    }
+
 
     private Long createBookingByModelInternal(Long clientId,
                                               Long carModelId,
@@ -187,8 +228,14 @@ public class BookingServiceImpl implements BookingService {
                                               Instant pickup,
                                               Instant ret,
                                               String coupon) {
-        List<Long> candidateIds = shortlistCandidateCarIds(carModelId, pickupLocationId, pickup, ret);
-        Car claimed = claimFirstAvailable(candidateIds, pickup, ret)
+        Optional<Car> candidate;
+        if (carClaimer.isSkipLockedActive()) {
+            candidate = carClaimer.claimFirstFree(carModelId, pickupLocationId, pickup, ret);
+        } else {
+            List<Long> candidateIds = shortlistCandidateCarIds(carModelId, pickupLocationId, pickup, ret);
+            candidate = claimFirstAvailable(candidateIds, pickup, ret);
+        }
+        Car claimed = candidate
                 .orElseThrow(() -> new BusinessRuleViolation("Inventory changed; no cars available at this moment."));
         return finalizeBookingFlow(clientId, claimed, pickupLocationId, returnLocationId, pickup, ret, coupon);
     }
@@ -200,16 +247,47 @@ public class BookingServiceImpl implements BookingService {
                                        Instant pickup,
                                        Instant ret,
                                        String coupon) {
+        if (carClaimer.isExclusionConstraintActive()) {
+            return createBookingOptimistically(clientId, carId, pickupLocationId, returnLocationId, pickup, ret, coupon);
+        }
         Car claimed = claimCarByIdOrThrow(carId, pickup, ret);
         return finalizeBookingFlow(clientId, claimed, pickupLocationId, returnLocationId, pickup, ret, coupon);
     }
 
+    /**
+     * No row lock and no availability re-check: the booking insert itself is the check, enforced by the
+     * {@code ex_booking_car_period} exclusion constraint of the PostgreSQL schema.
+     */
+    private Long createBookingOptimistically(Long clientId,
+                                             Long carId,
+                                             Long pickupLocationId,
+                                             Long returnLocationId,
+                                             Instant pickup,
+                                             Instant ret,
+                                             String coupon) {
+        Car car = carService.getEntityById(carId);
+        try {
+            return finalizeBookingFlow(clientId, car, pickupLocationId, returnLocationId, pickup, ret, coupon);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BusinessRuleViolation("Car is not available");
+            }
+            throw e;
+        }
+    }
+
     private List<Long> shortlistCandidateCarIds(Long carModelId, Long locationId, Instant from, Instant to) {
         return carAvailabilityService.findAvailableCarIds(carModelId, locationId, from, to, PageRequest.of(0, 10));
     }
 
     private Optional<Car> claimFirstAvailable(List<Long> candidateIds, Instant from, Instant to) {
+        // One set-based re-check drops candidates taken since the shortlist was built, so we don't
+        // wait on their row locks; the car we settle on is still re-validated under its lock.
+        Map<Long, Boolean> free = carAvailabilityService.availabilityFor(candidateIds, from, to);
         for (Long id : candidateIds) {
+            if (!free.getOrDefault(id, false)) {
+                continue;
+            }
             try {
                 Car c = carService.lockByIdForUpdate(id);
                 if (carAvailabilityService.isCarAvailable(c.getId(), from, to)) {
@@ -223,6 +301,15 @@ public class BookingServiceImpl implements BookingService {
     }
 
 
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) t).getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Car claimCarByIdOrThrow(Long carId, Instant from, Instant to) {
         Car c = carService.lockByIdForUpdate(carId);
 
@@ -281,7 +368,9 @@ public class BookingServiceImpl implements BookingService {
         booking.setReturnTime(ret);
         booking.setStatus(BookingStatus.CREATED);
         booking.setTotalPriceCents(totalPriceCents);
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        eventPublisher.publishEvent(BookingInventoryChangedEvent.of(saved));
+        return saved;
     }
 
 //    private Payment createAndPersistPayment(Booking booking, int amountCents) {
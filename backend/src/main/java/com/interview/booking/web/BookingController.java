@@ -3,12 +3,22 @@ package com.interview.booking.web;
 import com.interview.booking.dto.BookingCreateByCarDto;
 import com.interview.booking.dto.BookingCreateByModelDto;
 import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.dto.BookingTimelineDto;
+import com.interview.booking.export.BookingExportExecutor;
+import com.interview.booking.export.ExportFormat;
+import com.interview.booking.repo.dto.BookingInfoDto;
+import com.interview.booking.service.BookingExportService;
 import com.interview.booking.service.BookingService;
+import com.interview.common.web.CursorPageResponse;
+import com.interview.common.web.PageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.time.Instant;
 import java.util.List;
@@ -22,6 +32,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingExportService bookingExportService;
+    private final BookingExportExecutor bookingExportExecutor;
 
     /**
      * Create booking by specific car ID.
@@ -47,6 +59,14 @@ public class BookingController {
         bookingService.cancelBooking(id);
     }
 
+    /**
+     * Saga stages the booking went through, from persisted to confirmed or canceled, with the time between them.
+     */
+    @GetMapping("/{id}/timeline")
+    public BookingTimelineDto getTimeline(@PathVariable Long id) {
+        return bookingService.getTimeline(id);
+    }
+
     /**
      * Get all active bookings for a specific company.
      */
@@ -73,4 +93,51 @@ public class BookingController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime) {
         return bookingService.getBookingsForLocationInPeriod(locationId, startTime, endTime);
     }
+
+    /**
+     * Stream all active bookings for a company as NDJSON (default) or CSV, written as rows are read.
+     */
+    @GetMapping("/company/{companyId}/active/export")
+    public WebAsyncTask<Void> exportActiveBookingsForCompany(
+            @PathVariable Long companyId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return bookingExportExecutor.stream(response, exportFormat,
+                out -> bookingExportService.exportActiveForCompany(companyId, exportFormat, out));
+    }
+
+    /**
+     * Stream the bookings for a location within a specific time period as NDJSON (default) or CSV.
+     */
+    @GetMapping("/location/{locationId}/period/export")
+    public WebAsyncTask<Void> exportBookingsForLocationInPeriod(
+            @PathVariable Long locationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime,
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        return bookingExportExecutor.stream(response, exportFormat, out -> bookingExportService
+                .exportForLocationInPeriod(locationId, startTime, endTime, exportFormat, out));
+    }
+
+    /**
+     * Get a client's bookings, newest pickup first.
+     */
+    @GetMapping("/client/{clientId}")
+    public PageResponse<BookingInfoDto> getBookingsForClient(@PathVariable Long clientId, Pageable pageable) {
+        return bookingService.listBookingsForClient(clientId, pageable);
+    }
+
+    /**
+     * Get a client's bookings, newest pickup first, keyset-paginated: pass an empty {@code cursor} for the first
+     * page and the returned {@code nextCursor} for the following ones.
+     */
+    @GetMapping(value = "/client/{clientId}", params = "cursor")
+    public CursorPageResponse<BookingInfoDto> getBookingsForClient(@PathVariable Long clientId,
+                                                                   @RequestParam String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size) {
+        return bookingService.listBookingsForClient(clientId, cursor, size);
+    }
 }
\ No newline at end of file
@@ -3,12 +3,16 @@ package com.interview.catalog.domain;
 import com.interview.common.domain.BaseEntity;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "addOn")
 @Table(name = "add_on")
 public class AddOn extends BaseEntity {
 
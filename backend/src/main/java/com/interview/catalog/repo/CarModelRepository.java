@@ -5,12 +5,24 @@ import com.interview.catalog.domain.CarModel;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
 
 
 public interface CarModelRepository extends JpaRepository<CarModel, Long> {
 
     Page<CarModel> findByMakeIgnoreCase(String make, Pageable pageable);
 
+    /**
+     * Query-cached: availability pages ask for the same models over and over, and with the id list cached the
+     * entities themselves come from the second-level cache.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<CarModel> findAllById(Iterable<Long> ids);
+
     Page<CarModelView> findByMakeIgnoreCaseOrderByModelAsc(String make, Pageable pageable);
 }
 
@@ -35,7 +35,7 @@ public class CarModelServiceImpl implements CarModelService {
 
 
     @Transactional(readOnly = true)
-    @Cacheable("carModelById")
+    @Cacheable(value = CAR_MODEL_BY_ID, sync = true)
     public CarModelResponseDto get(Long id) {
         CarModel carModel = carModelRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFound("CarModel not found: " + id));
@@ -43,8 +43,8 @@ public class CarModelServiceImpl implements CarModelService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "carModelsByMake",
-            key = "T(java.util.Objects).hash(#make, #pageable.pageNumber, #pageable.pageSize, #pageable.sort)")
+    @Cacheable(value = CAR_MODELS_BY_MAKE, sync = true,
+            key = "{#make.toLowerCase(), #pageable.pageNumber, #pageable.pageSize, #pageable.sort}")
     public PageResponse<CarModelResponseDto> listByMake(String make, Pageable pageable) {
         Page<CarModel> page = carModelRepository.findByMakeIgnoreCase(make, pageable);
         return pageResponseMapper.toPageResponse(page, carModelMapper::toResponse);
@@ -52,7 +52,7 @@ public class CarModelServiceImpl implements CarModelService {
 
     @Transactional
     @CachePut(value = CAR_MODEL_BY_ID, key = "#result.id", condition = "#result != null")
-    @CacheEvict(value = CAR_MODELS_BY_MAKE, allEntries = true)
+    @CacheEvict(value = {CAR_MODELS_BY_MAKE, ALL_CAR_MODELS}, allEntries = true)
     public CarModelResponseDto create(CarModelCreateDto createDto) {
         CarModel carModel = carModelMapper.toEntity(createDto);
         CarModel saved = carModelRepository.save(carModel);
@@ -60,14 +60,15 @@ public class CarModelServiceImpl implements CarModelService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = ALL_CAR_MODELS)
+    @Cacheable(value = ALL_CAR_MODELS, sync = true,
+            key = "{#pageable.pageNumber, #pageable.pageSize, #pageable.sort}")
     public PageResponse<CarModelResponseDto> getAllModels(Pageable pageable) {
         Page<CarModel> page = carModelRepository.findAll(pageable);
         return pageResponseMapper.toPageResponse(page, carModelMapper::toResponse);
     }
 
     @Transactional
-    @CacheEvict(value = CAR_MODELS_BY_MAKE, allEntries = true)
+    @CacheEvict(value = {CAR_MODELS_BY_MAKE, ALL_CAR_MODELS}, allEntries = true)
     @CachePut(value = CAR_MODEL_BY_ID, key = "#result.id")
     public CarModelResponseDto update(CarModelUpdateDto updateDto, Long id) {
         CarModel existingModel = carModelRepository.findById(id)
@@ -81,7 +82,7 @@ public class CarModelServiceImpl implements CarModelService {
     @Transactional
     @Caching(evict = {
             @CacheEvict(value = CAR_MODEL_BY_ID, key = "#id"),
-            @CacheEvict(value = CAR_MODELS_BY_MAKE, allEntries = true)
+            @CacheEvict(value = {CAR_MODELS_BY_MAKE, ALL_CAR_MODELS}, allEntries = true)
     })
     public void delete(Long id) {
         carModelRepository.deleteById(id);
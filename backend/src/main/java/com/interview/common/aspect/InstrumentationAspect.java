@@ -0,0 +1,60 @@
+package com.interview.common.aspect;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times every service method into its {@link MethodMetrics}.
+ * <p>
+ * Nothing is formatted or logged on the common path: a call is logged at WARN when it takes at least
+ * {@code instrumentation.slow-threshold}, otherwise at its {@code @Loggable} level for a
+ * {@code instrumentation.sample-rate} share of calls. Latencies are at {@code GET /api/admin/instrumentation/methods}
+ * and, as {@code service.method}, on the actuator metrics endpoints.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class InstrumentationAspect {
+    private final InstrumentationProperties properties;
+    private final MethodMetricsRegistry registry;
+
+    @Around("execution(* com.interview.*.service.*.*(..)) || @within(com.interview.common.annotation.Loggable)")
+    public Object instrument(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        MethodMetrics metrics = registry.forMethod(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
+
+        long started = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            boolean slow = elapsed >= properties.getSlowThreshold().toNanos();
+            metrics.record(elapsed, failure != null, slow);
+            if (slow) {
+                metrics.logSlow(elapsed, joinPoint.getArgs(), result, failure, properties.getMaxValueLength());
+            } else if (sampled() && metrics.isLoggable()) {
+                metrics.logSampled(elapsed, joinPoint.getArgs(), result, failure, properties.getMaxValueLength());
+            }
+        }
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,33 @@
+package com.interview.common.aspect;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "instrumentation")
+public class InstrumentationProperties {
+
+    /**
+     * Time service methods; when off the aspect only calls through.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Calls at least this slow are always logged, at WARN.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * Share of the remaining calls logged at their {@code @Loggable} level, from 0 (none) to 1 (every call).
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * Arguments and results are cut to this many characters in log lines.
+     */
+    private int maxValueLength = 200;
+}
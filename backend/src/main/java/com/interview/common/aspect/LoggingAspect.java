@@ -1,36 +0,0 @@
-package com.interview.common.aspect;
-
-import lombok.extern.slf4j.Slf4j;
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-@Slf4j
-public class LoggingAspect {
-    @Around("execution(* com.interview.*.service.*.*(..))")
-    public Object logAllServiceMethods(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-
-        log.info("Executing {}.{}", className, methodName);
-
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
-
-            log.info("Completed {}.{} in {}ms", className, methodName, executionTime);
-            return result;
-
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("Error in {}.{} after {}ms: {}",
-                    className, methodName, executionTime, e.getMessage());
-            throw e;
-        }
-    }
-}
@@ -0,0 +1,176 @@
+package com.interview.common.aspect;
+
+import com.interview.common.annotation.Loggable;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Calls and latency of one service method, and how its {@link Loggable} asks for it to be logged.
+ * <p>
+ * Callers record into an HdrHistogram {@link Recorder}, which is wait-free for writers; {@link #stats()} swaps out
+ * the interval histogram and folds it into the running total, so readers never stall a call.
+ */
+public class MethodMetrics {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String name;
+    private final Logger log;
+    private final Level level;
+    private final boolean logParams;
+    private final boolean logResult;
+    private final boolean logExecutionTime;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    // microseconds, resized as slower calls come in
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+    private Histogram interval;
+
+    MethodMetrics(String name, Logger log, Level level, boolean logParams, boolean logResult,
+                  boolean logExecutionTime) {
+        this.name = name;
+        this.log = log;
+        this.level = level;
+        this.logParams = logParams;
+        this.logResult = logResult;
+        this.logExecutionTime = logExecutionTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    long getCalls() {
+        return calls.sum();
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    void record(long nanos, boolean failed, boolean slow) {
+        calls.increment();
+        totalNanos.add(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        if (slow) {
+            slowCalls.increment();
+        }
+        recorder.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * Whether a sampled call would be written at all, checked before paying for the sample.
+     */
+    boolean isLoggable() {
+        return isEnabled(level);
+    }
+
+    /**
+     * A call that took longer than the slow threshold, at WARN whatever the method's level.
+     */
+    void logSlow(long nanos, Object[] args, Object result, Throwable failure, int maxValueLength) {
+        if (isEnabled(Level.WARN)) {
+            write(Level.WARN, message(nanos, true, args, result, failure, maxValueLength));
+        }
+    }
+
+    /**
+     * A sampled call, at the method's level.
+     */
+    void logSampled(long nanos, Object[] args, Object result, Throwable failure, int maxValueLength) {
+        write(level, message(nanos, logExecutionTime, args, result, failure, maxValueLength));
+    }
+
+    synchronized MethodStats stats() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        long count = calls.sum();
+        double totalMs = TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()) / MICROS_PER_MILLI;
+        return new MethodStats(name, count, errors.sum(), slowCalls.sum(), totalMs,
+                count == 0 ? 0 : totalMs / count,
+                millis(total.getValueAtPercentile(50)), millis(total.getValueAtPercentile(95)),
+                millis(total.getValueAtPercentile(99)), millis(total.getMaxValue()));
+    }
+
+    private String message(long nanos, boolean withTime, Object[] args, Object result, Throwable failure,
+                           int maxValueLength) {
+        StringBuilder message = new StringBuilder(name);
+        if (withTime) {
+            message.append(" took ").append(TimeUnit.NANOSECONDS.toMillis(nanos)).append("ms");
+        } else {
+            message.append(failure == null ? " completed" : " failed");
+        }
+        if (logParams) {
+            message.append(" args=").append(truncate(Arrays.deepToString(args), maxValueLength));
+        }
+        if (failure != null) {
+            message.append(" error=").append(failure.getClass().getSimpleName()).append(": ")
+                    .append(truncate(failure.getMessage(), maxValueLength));
+        } else if (logResult) {
+            message.append(" result=").append(truncate(String.valueOf(result), maxValueLength));
+        }
+        return message.toString();
+    }
+
+    private boolean isEnabled(Level level) {
+        switch (level) {
+            case ERROR:
+                return log.isErrorEnabled();
+            case WARN:
+                return log.isWarnEnabled();
+            case INFO:
+                return log.isInfoEnabled();
+            case DEBUG:
+                return log.isDebugEnabled();
+            default:
+                return log.isTraceEnabled();
+        }
+    }
+
+    private void write(Level level, String message) {
+        switch (level) {
+            case ERROR:
+                log.error(message);
+                break;
+            case WARN:
+                log.warn(message);
+                break;
+            case INFO:
+                log.info(message);
+                break;
+            case DEBUG:
+                log.debug(message);
+                break;
+            default:
+                log.trace(message);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength) + "...";
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+}
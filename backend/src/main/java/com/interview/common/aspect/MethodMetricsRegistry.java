@@ -0,0 +1,123 @@
+package com.interview.common.aspect;
+
+import com.interview.common.annotation.Loggable;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One {@link MethodMetrics} per instrumented method, built on its first call. That first call resolves
+ * {@link Loggable} (method first, then class) and registers the method's meters; every later call is a map lookup.
+ * <p>
+ * Micrometer gets a {@code service.method} function timer and a {@code service.method.errors} counter per method,
+ * tagged {@code class} and {@code method}, read from the counters at scrape time. Percentiles come from the
+ * histograms via {@link #stats()}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MethodMetricsRegistry {
+
+    static final String METRIC = "service.method";
+    static final String ERRORS_METRIC = "service.method.errors";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<MethodKey, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+    MethodMetrics forMethod(Class<?> targetClass, Method method) {
+        MethodKey key = new MethodKey(targetClass, method);
+        MethodMetrics existing = metrics.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        return metrics.computeIfAbsent(key, ignored -> create(ClassUtils.getUserClass(targetClass), method));
+    }
+
+    /**
+     * Every method called so far, most total time first.
+     */
+    public List<MethodStats> stats() {
+        return metrics.values().stream()
+                .map(MethodMetrics::stats)
+                .sorted(Comparator.comparingDouble(MethodStats::getTotalMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    private MethodMetrics create(Class<?> targetClass, Method method) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Loggable loggable = AnnotatedElementUtils.findMergedAnnotation(specific, Loggable.class);
+        if (loggable == null) {
+            loggable = AnnotatedElementUtils.findMergedAnnotation(targetClass, Loggable.class);
+        }
+        String methodName = methodName(targetClass, specific);
+        String name = targetClass.getSimpleName() + "." + methodName;
+        MethodMetrics methodMetrics = loggable == null
+                // unannotated services are timed, and logged bare
+                ? new MethodMetrics(name, LoggerFactory.getLogger(targetClass), Level.INFO, false, false, true)
+                : new MethodMetrics(name, LoggerFactory.getLogger(targetClass), level(loggable, name),
+                loggable.logParams(), loggable.logResult() && specific.getReturnType() != void.class,
+                loggable.logExecutionTime());
+
+        FunctionTimer.builder(METRIC, methodMetrics, MethodMetrics::getCalls, MethodMetrics::getTotalNanos,
+                TimeUnit.NANOSECONDS)
+                .description("Service method calls")
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", methodName)
+                .register(meterRegistry);
+        FunctionCounter.builder(ERRORS_METRIC, methodMetrics, MethodMetrics::getErrors)
+                .description("Service method calls that threw")
+                .tag("class", targetClass.getSimpleName())
+                .tag("method", methodName)
+                .register(meterRegistry);
+        return methodMetrics;
+    }
+
+    /**
+     * The method name, with parameter types when the class overloads it, so overloads keep separate meters.
+     */
+    private static String methodName(Class<?> targetClass, Method method) {
+        long overloads = Arrays.stream(targetClass.getMethods())
+                .filter(candidate -> candidate.getName().equals(method.getName()))
+                .count();
+        if (overloads <= 1) {
+            return method.getName();
+        }
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+
+    private static Level level(Loggable loggable, String name) {
+        try {
+            return Level.valueOf(loggable.level().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown @Loggable level '{}' on {}, using INFO", loggable.level(), name);
+            return Level.INFO;
+        }
+    }
+
+    @Value
+    private static class MethodKey {
+        Class<?> targetClass;
+        Method method;
+    }
+}
@@ -0,0 +1,20 @@
+package com.interview.common.aspect;
+
+import lombok.Value;
+
+/**
+ * Latency of one service method since startup, in milliseconds.
+ */
+@Value
+public class MethodStats {
+    String method;
+    long calls;
+    long errors;
+    long slowCalls;
+    double totalMs;
+    double meanMs;
+    double p50Ms;
+    double p95Ms;
+    double p99Ms;
+    double maxMs;
+}
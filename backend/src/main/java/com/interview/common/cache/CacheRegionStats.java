@@ -0,0 +1,23 @@
+package com.interview.common.cache;
+
+import lombok.Value;
+
+/**
+ * Counters of one Hibernate cache region since startup.
+ */
+@Value
+public class CacheRegionStats {
+    String region;
+    long hits;
+    long misses;
+    long puts;
+    long entries;
+
+    /**
+     * Hits over lookups, or 0 before the first lookup.
+     */
+    public double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
@@ -0,0 +1,80 @@
+package com.interview.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "caching")
+public class CachingProperties {
+
+    /**
+     * Spec for caches that have no entry under {@link #caches}.
+     */
+    private Spec defaults = new Spec();
+
+    /**
+     * Per cache name; every named cache is created up front so its metrics exist before the first read.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    private Shared shared = new Shared();
+
+    private Hibernate hibernate = new Hibernate();
+
+    /**
+     * Spec for one cache name, or the defaults.
+     */
+    public Spec specFor(String name) {
+        return caches.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class Spec {
+
+        /**
+         * Entries kept in the local tier; beyond this Caffeine evicts by frequency and recency (W-TinyLFU).
+         */
+        private long maxSize = 1000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+
+        private Expiry expiry = Expiry.AFTER_WRITE;
+    }
+
+    public enum Expiry {
+        /** Entries expire {@code ttl} after they were loaded, however often they are read. */
+        AFTER_WRITE,
+        /** Entries expire once they have not been read for {@code ttl}. */
+        AFTER_ACCESS
+    }
+
+    @Data
+    public static class Shared {
+
+        /**
+         * Put a shared tier behind every local cache. Needs a {@code CacheManager} bean named
+         * {@value TwoTierCacheManager#SHARED_CACHE_MANAGER} (e.g. Redis) shared by all instances.
+         */
+        private boolean enabled = false;
+    }
+
+    @Data
+    public static class Hibernate {
+
+        /**
+         * Hibernate second-level and query cache for entities annotated with {@code @Cache}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * One entry per region; startup fails if an entity or query names a region that is not listed here.
+         */
+        private Map<String, Spec> regions = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,45 @@
+package com.interview.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-region view of Hibernate's second-level and query cache statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class HibernateCacheStatistics {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * All regions sorted by name; empty while the second-level cache (and with it statistics) is off.
+     */
+    public List<CacheRegionStats> regions() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return Collections.emptyList();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toStats(region, statistics.getCacheRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    private static CacheRegionStats toStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return new CacheRegionStats(region, 0, 0, 0, 0);
+        }
+        return new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(),
+                statistics.getPutCount(), Math.max(statistics.getElementCountInMemory(), 0));
+    }
+}
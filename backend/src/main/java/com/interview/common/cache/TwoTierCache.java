@@ -0,0 +1,124 @@
+package com.interview.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A local (in-process) cache in front of a shared one.
+ * <p>
+ * Reads try the local tier, then the shared tier (copying a hit into the local tier), then the loader.
+ * Writes and evictions go to both. An eviction on one instance reaches the shared tier but not the local
+ * tiers of other instances; those converge within the local TTL, which is why it is the shorter of the two.
+ */
+class TwoTierCache implements Cache {
+
+    private final Cache local;
+    private final Cache shared;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+
+    TwoTierCache(Cache local, Cache shared, MeterRegistry meterRegistry) {
+        this.local = local;
+        this.shared = shared;
+        this.sharedHits = sharedGets(meterRegistry, "hit");
+        this.sharedMisses = sharedGets(meterRegistry, "miss");
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value == null) {
+            value = fromShared(key);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        Object stored = value != null ? value.get() : null;
+        if (stored != null && type != null && !type.isInstance(stored)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + stored);
+        }
+        return (T) stored;
+    }
+
+    /**
+     * Used by {@code @Cacheable(sync = true)}: the local tier runs the lookup once per key, so concurrent misses
+     * on one instance cost a single shared-tier read or a single load.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return local.get(key, () -> {
+            ValueWrapper value = fromSharedOnly(key);
+            if (value != null) {
+                return (T) value.get();
+            }
+            T loaded = valueLoader.call();
+            shared.put(key, loaded);
+            return loaded;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        shared.put(key, value);
+        local.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = shared.putIfAbsent(key, value);
+        local.put(key, existing != null ? existing.get() : value);
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        shared.evict(key);
+        local.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        shared.clear();
+        local.clear();
+    }
+
+    private ValueWrapper fromShared(Object key) {
+        ValueWrapper value = fromSharedOnly(key);
+        if (value != null) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    private ValueWrapper fromSharedOnly(Object key) {
+        ValueWrapper value = shared.get(key);
+        (value != null ? sharedHits : sharedMisses).increment();
+        return value;
+    }
+
+    private Counter sharedGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.shared.gets")
+                .description("Cache lookups that reached the shared tier")
+                .tag("cache", getName())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
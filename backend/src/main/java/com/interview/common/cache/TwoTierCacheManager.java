@@ -0,0 +1,78 @@
+package com.interview.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Size-bounded Caffeine caches, one per name with its own {@link CachingProperties.Spec}, optionally backed
+ * by a shared {@link CacheManager} as a second tier.
+ * <p>
+ * Local hits, misses and evictions of the configured names are published by Boot's cache metrics
+ * ({@code cache.gets}, {@code cache.evictions}, ...) with {@link TwoTierCacheMeterBinderProvider} covering
+ * the two-tier case; shared-tier lookups are counted as {@code cache.shared.gets}.
+ * <p>
+ * Transaction aware: puts and evictions issued inside a transaction are applied after it commits, so a
+ * rolled-back write never reaches the cache and a concurrent reader cannot re-cache the pre-commit row
+ * between the eviction and the commit.
+ */
+public class TwoTierCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    public static final String SHARED_CACHE_MANAGER = "sharedCacheManager";
+
+    private final CachingProperties properties;
+    private final CacheManager shared;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param shared the second tier, or {@code null} for local caches only
+     */
+    public TwoTierCacheManager(CachingProperties properties, CacheManager shared, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.shared = shared;
+        this.meterRegistry = meterRegistry;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getCaches().keySet().stream()
+                .map(this::createCache)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Names used in {@code @Cacheable} but not configured get the default spec.
+     */
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private Cache createCache(String name) {
+        CachingProperties.Spec spec = properties.specFor(name);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumSize(spec.getMaxSize())
+                .recordStats();
+        if (spec.getExpiry() == CachingProperties.Expiry.AFTER_ACCESS) {
+            builder.expireAfterAccess(spec.getTtl());
+        } else {
+            builder.expireAfterWrite(spec.getTtl());
+        }
+        Cache local = new CaffeineCache(name, builder.build());
+        if (shared == null) {
+            return local;
+        }
+        Cache sharedCache = shared.getCache(name);
+        if (sharedCache == null) {
+            throw new IllegalStateException("Shared cache manager has no cache named " + name);
+        }
+        return new TwoTierCache(local, sharedCache, meterRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.common.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+
+/**
+ * Binds the local Caffeine tier of a {@link TwoTierCache}; Boot only recognises a bare {@code CaffeineCache}.
+ */
+public class TwoTierCacheMeterBinderProvider implements CacheMeterBinderProvider<Cache> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MeterBinder getMeterBinder(Cache cache, Iterable<Tag> tags) {
+        if (!(cache instanceof TwoTierCache)) {
+            return null;
+        }
+        return new CaffeineCacheMetrics(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(),
+                cache.getName(), tags);
+    }
+}
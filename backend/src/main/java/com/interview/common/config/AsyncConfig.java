@@ -1,26 +1,54 @@
 package com.interview.common.config;
 
+import com.interview.common.tracing.MdcTaskDecorator;
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
+/**
+ * {@code @Async} methods run on Boot's task executor ({@code spring.task.execution});
+ * outbox events have their own lanes in {@link com.interview.outboxevent.relay.OutboxRelay}.
+ */
 @Configuration
 @EnableAsync
 @EnableScheduling
 public class AsyncConfig {
 
-    @Bean(name = "sagaExecutor")
-    public Executor sagaExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("saga-");
-        executor.initialize();
-        return executor;
+    /**
+     * Picked up by Boot's task executor, so {@code @Async} work logs under the caller's correlation id.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return new MdcTaskDecorator();
+    }
+
+    /**
+     * Scheduled jobs (outbox retries and archiving, recounts, metric samplers) are background work: with
+     * {@code workload.separate-pools} they use the saga pool, not the one serving requests.
+     */
+    @Bean
+    public TaskSchedulerCustomizer backgroundWorkloadScheduler() {
+        return scheduler -> scheduler.setThreadFactory(
+                Workload.threadFactory(WorkloadClass.BACKGROUND_SAGA, scheduler));
+    }
+
+    /**
+     * Saturation of the {@code @Async} pool as {@code executor.*} metrics under {@code name=applicationTaskExecutor};
+     * Boot only binds executor metrics itself from 2.6 on.
+     */
+    @Bean
+    public MeterBinder taskExecutorMetrics(ObjectProvider<ThreadPoolTaskExecutor> taskExecutor) {
+        return registry -> taskExecutor.ifUnique(executor -> new ExecutorServiceMetrics(
+                executor.getThreadPoolExecutor(), "applicationTaskExecutor", Tags.empty()).bindTo(registry));
     }
 }
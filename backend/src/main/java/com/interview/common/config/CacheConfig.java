@@ -0,0 +1,44 @@
+package com.interview.common.config;
+
+import com.interview.common.cache.CachingProperties;
+import com.interview.common.cache.TwoTierCacheManager;
+import com.interview.common.cache.TwoTierCacheMeterBinderProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+
+/**
+ * Caches are configured per name under {@code caching.*}; see {@link CachingProperties}.
+ * <p>
+ * The cache interceptor is ordered outside the transaction interceptor, so a hit returns without opening a
+ * transaction or borrowing a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    @Bean
+    @Primary
+    public CacheManager cacheManager(CachingProperties properties, BeanFactory beanFactory,
+                                     MeterRegistry meterRegistry) {
+        CacheManager shared = null;
+        if (properties.getShared().isEnabled()) {
+            if (!beanFactory.containsBean(TwoTierCacheManager.SHARED_CACHE_MANAGER)) {
+                throw new IllegalStateException("caching.shared.enabled is set but there is no CacheManager bean named "
+                        + TwoTierCacheManager.SHARED_CACHE_MANAGER);
+            }
+            shared = beanFactory.getBean(TwoTierCacheManager.SHARED_CACHE_MANAGER, CacheManager.class);
+        }
+        return new TwoTierCacheManager(properties, shared, meterRegistry);
+    }
+
+    @Bean
+    public TwoTierCacheMeterBinderProvider twoTierCacheMeterBinderProvider() {
+        return new TwoTierCacheMeterBinderProvider();
+    }
+}
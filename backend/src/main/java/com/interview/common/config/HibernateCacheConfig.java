@@ -0,0 +1,75 @@
+package com.interview.common.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.interview.common.cache.CachingProperties;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.SharedCacheMode;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache on Caffeine (through JCache), for the rarely changing reference
+ * entities that carry {@code @Cache}: car models, add-ons, companies and locations.
+ * <p>
+ * Soft deletes stay correct: {@code @SQLDelete} runs as an entity delete, so Hibernate evicts the entry and
+ * invalidates cached queries over the table, and the {@code deleted} flag is not updatable any other way.
+ * Statistics are switched on with the cache; Boot publishes them per region as
+ * {@code hibernate.second.level.cache.requests} and {@code GET /api/admin/cache/regions} reports hit ratios.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "caching.hibernate", name = "enabled", havingValue = "true")
+public class HibernateCacheConfig {
+
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CachingProperties properties) {
+        // JCache hands out one manager per URI and class loader; a unique URI keeps each context's regions its own
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("hibernate-l2:" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getHibernate().getRegions()
+                .forEach((region, spec) -> cacheManager.createCache(region, regionConfiguration(spec)));
+        // last-write time per table; must outlive every cached query result, so it is neither bounded nor expired
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(CachingProperties.Spec spec) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(spec.getMaxSize()));
+        OptionalLong ttl = OptionalLong.of(spec.getTtl().toNanos());
+        if (spec.getExpiry() == CachingProperties.Expiry.AFTER_ACCESS) {
+            configuration.setExpireAfterAccess(ttl);
+        } else {
+            configuration.setExpireAfterWrite(ttl);
+        }
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,144 @@
+package com.interview.common.config;
+
+import com.interview.common.datasource.ReplicaHealthChecker;
+import com.interview.common.datasource.ReplicaPool;
+import com.interview.common.datasource.ReplicaRoutingDataSource;
+import com.interview.common.datasource.ReplicaRoutingProperties;
+import com.interview.common.datasource.WorkloadDataSource;
+import com.interview.common.workload.WorkloadClass;
+import com.interview.common.workload.WorkloadProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces Boot's single pool when either kind of routing is on:
+ * <ul>
+ *     <li>{@code workload.separate-pools}: one pool per {@link WorkloadClass} against {@code spring.datasource}
+ *     ({@link WorkloadDataSource}), otherwise a single pool named {@code primary}</li>
+ *     <li>{@code datasource.routing.enabled}: read-only transactions to the replicas under
+ *     {@code datasource.routing} ({@link ReplicaRoutingDataSource}), everything else to the above</li>
+ * </ul>
+ * Services opt in by what they already declare: {@code @Transactional(readOnly = true)}, including Spring Data's
+ * own read methods. Consistency per request comes from {@link com.interview.common.web.ReadConsistencyFilter},
+ * the workload class from {@link com.interview.common.web.WorkloadFilter} and the background thread factories.
+ * <p>
+ * Only the outermost proxy is a bean: Boot initializes the schema through any {@code DataSource} bean as soon as
+ * it exists, which would run into the half-built router. Every pool is configured from {@code spring.datasource}
+ * and {@code spring.datasource.hikari}, and exports Hikari's {@code hikaricp.*} metrics under its pool name.
+ */
+@Configuration
+@ConditionalOnExpression("${datasource.routing.enabled:false} or ${workload.separate-pools:false}")
+public class RoutingDataSourceConfig implements DisposableBean {
+
+    private final List<AutoCloseable> owned = new ArrayList<>();
+
+    /**
+     * What JPA, JDBC and schema initialization use. Connections are fetched on first statement, after the
+     * transaction has been marked read-only, so the routers can see it.
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties routing,
+                                 WorkloadProperties workload, Environment environment,
+                                 MeterRegistry meterRegistry) {
+        DataSource primary;
+        if (workload.isSeparatePools()) {
+            Map<WorkloadClass, HikariDataSource> pools = new EnumMap<>(WorkloadClass.class);
+            for (WorkloadClass workloadClass : WorkloadClass.values()) {
+                WorkloadProperties.PoolSpec spec = workload.poolFor(workloadClass);
+                HikariDataSource pool = primaryPool(workloadClass.tag(), dataSourceProperties, environment,
+                        meterRegistry);
+                pool.setMaximumPoolSize(spec.getMaximumPoolSize());
+                pool.setConnectionTimeout(spec.getConnectionTimeout().toMillis());
+                pools.put(workloadClass, pool);
+            }
+            primary = own(new WorkloadDataSource(pools));
+        } else {
+            primary = own(primaryPool("primary", dataSourceProperties, environment, meterRegistry));
+        }
+
+        if (!routing.isEnabled()) {
+            return new LazyConnectionDataSourceProxy(primary);
+        }
+        List<ReplicaPool> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.Replica replica : routing.getReplicas()) {
+            replicas.add(new ReplicaPool(replica.getName(), replicaDataSource(replica, meterRegistry)));
+        }
+        ReplicaRoutingDataSource router = own(new ReplicaRoutingDataSource(primary, replicas,
+                routing.getMaxStaleness(), meterRegistry));
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    /**
+     * Stopped in {@link #destroy()} ahead of the router and the replica pools it probes.
+     */
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+    public ReplicaHealthChecker replicaHealthChecker(DataSource dataSource, ReplicaRoutingProperties properties)
+            throws SQLException {
+        ReplicaHealthChecker checker =
+                own(new ReplicaHealthChecker(dataSource.unwrap(ReplicaRoutingDataSource.class), properties));
+        // first probe before traffic; until then every read would fall back to the primary
+        checker.start();
+        return checker;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // routers first, then the pools behind them
+        for (int i = owned.size() - 1; i >= 0; i--) {
+            owned.get(i).close();
+        }
+    }
+
+    private <T extends AutoCloseable> T own(T resource) {
+        owned.add(resource);
+        return resource;
+    }
+
+    private static HikariDataSource primaryPool(String name, DataSourceProperties dataSourceProperties,
+                                                Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    private static HikariDataSource replicaDataSource(ReplicaRoutingProperties.Replica replica,
+                                                      MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(replica.getName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        if (replica.getDriverClassName() != null) {
+            dataSource.setDriverClassName(replica.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replica.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        // no connection at startup, so an unreachable replica does not stop the application from starting
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,75 @@
+package com.interview.common.datasource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * How fresh the reads of the work on the current thread must be, as set by
+ * {@link com.interview.common.web.ReadConsistencyFilter} for HTTP requests and by {@link #open} elsewhere.
+ * <p>
+ * A read-only transaction may use a replica whose data is no older than {@code maxStaleness} and includes every
+ * write committed by {@code readAfter}. Writes committed on this thread move {@code readAfter} forward, so a
+ * request reads its own writes.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<ReadConsistency> CURRENT = new ThreadLocal<>();
+
+    private final Duration maxStaleness;
+    private final Consumer<Instant> onWrite;
+    private Instant readAfter;
+
+    private ReadConsistency(Duration maxStaleness, Instant readAfter, Consumer<Instant> onWrite) {
+        this.maxStaleness = maxStaleness;
+        this.readAfter = readAfter;
+        this.onWrite = onWrite;
+    }
+
+    public static Optional<ReadConsistency> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Makes the requirements current until the scope is closed, then restores whatever was there.
+     *
+     * @param maxStaleness {@code null} for the configured default, zero to read from the primary
+     * @param readAfter    {@code null} unless the caller must see its own earlier writes
+     * @param onWrite      told when a write transaction on this thread commits, e.g. to hand the time to the client
+     */
+    public static Scope open(Duration maxStaleness, Instant readAfter, Consumer<Instant> onWrite) {
+        ReadConsistency previous = CURRENT.get();
+        CURRENT.set(new ReadConsistency(maxStaleness, readAfter, onWrite));
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public Optional<Duration> getMaxStaleness() {
+        return Optional.ofNullable(maxStaleness);
+    }
+
+    public Optional<Instant> getReadAfter() {
+        return Optional.ofNullable(readAfter);
+    }
+
+    void written(Instant committedAt) {
+        if (readAfter == null || committedAt.isAfter(readAfter)) {
+            readAfter = committedAt;
+        }
+        if (onWrite != null) {
+            onWrite.accept(committedAt);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
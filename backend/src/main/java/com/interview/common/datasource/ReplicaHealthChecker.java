@@ -0,0 +1,49 @@
+package com.interview.common.datasource;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes every replica on a fixed delay; the router only uses replicas whose last probe passed.
+ * <p>
+ * Runs on its own thread, not the shared {@code @Scheduled} pool: slow jobs there (index rebuild, archiver,
+ * summary reconcile) could hold every scheduler thread for longer than {@code max-staleness}, after which no
+ * replica qualifies and every read silently falls back to the primary.
+ */
+public class ReplicaHealthChecker implements AutoCloseable {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final ReplicaRoutingProperties properties;
+    private final ScheduledExecutorService timer;
+
+    public ReplicaHealthChecker(ReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.properties = properties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("replica-health-");
+        threadFactory.setDaemon(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+    }
+
+    /**
+     * Probe now, so replicas serve from the first request, then every {@code health-check-interval}.
+     */
+    public void start() {
+        checkReplicas();
+        long interval = properties.getHealthCheckInterval().toMillis();
+        timer.scheduleWithFixedDelay(this::checkReplicas, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void checkReplicas() {
+        for (ReplicaPool replica : routingDataSource.getReplicas()) {
+            replica.check(properties.getLagQuery(), properties.getHealthCheckInterval());
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+}
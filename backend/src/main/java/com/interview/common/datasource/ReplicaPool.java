@@ -0,0 +1,120 @@
+package com.interview.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.StringUtils;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One read replica: its connection pool and what the last health check found.
+ * <p>
+ * A check records when it started and the lag the replica reported, so the replica is known to hold every write
+ * committed before {@code checkedAt - lag}. Until the first successful check the replica is not used.
+ */
+@Slf4j
+public class ReplicaPool implements AutoCloseable {
+
+    private static final State UNKNOWN = new State(false, Instant.EPOCH, Duration.ZERO);
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile State state = UNKNOWN;
+
+    public ReplicaPool(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return state.healthy;
+    }
+
+    /**
+     * Replay lag reported by the last successful check.
+     */
+    public Duration getLag() {
+        return state.lag;
+    }
+
+    /**
+     * Whether the replica is up and known to hold every write committed by {@code required}.
+     */
+    boolean canServe(Instant required) {
+        State current = state;
+        return current.healthy && !current.visibleAsOf().isBefore(required);
+    }
+
+    Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Probe the replica: a connection, and the lag query when one is configured.
+     */
+    public void check(String lagQuery, Duration timeout) {
+        Instant startedAt = Instant.now();
+        try (Connection connection = dataSource.getConnection()) {
+            Duration lag = Duration.ZERO;
+            if (StringUtils.hasText(lagQuery)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.setQueryTimeout((int) Math.max(1, timeout.getSeconds()));
+                    try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                        if (rs.next()) {
+                            lag = Duration.ofMillis(Math.max(0, Math.round(rs.getDouble(1) * 1000)));
+                        }
+                    }
+                }
+            } else if (!connection.isValid((int) Math.max(1, timeout.getSeconds()))) {
+                throw new SQLException("Connection is not valid");
+            }
+            if (!state.healthy && state != UNKNOWN) {
+                log.info("Replica {} is back, lag {} ms", name, lag.toMillis());
+            }
+            state = new State(true, startedAt, lag);
+        } catch (SQLException | RuntimeException e) {
+            markDown(e);
+        }
+    }
+
+    void markDown(Exception cause) {
+        if (state.healthy || state == UNKNOWN) {
+            log.warn("Replica {} is down: {}", name, cause.toString());
+        }
+        state = new State(false, Instant.now(), Duration.ZERO);
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+
+    private static final class State {
+        final boolean healthy;
+        final Instant checkedAt;
+        final Duration lag;
+
+        State(boolean healthy, Instant checkedAt, Duration lag) {
+            this.healthy = healthy;
+            this.checkedAt = checkedAt;
+            this.lag = lag;
+        }
+
+        Instant visibleAsOf() {
+            return checkedAt.minus(lag);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.interview.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out primary connections for read-write work and replica connections for read-only transactions.
+ * <p>
+ * Replicas are tried round-robin; one is skipped while its last health check failed or while it may be missing
+ * writes the current {@link ReadConsistency} requires. When none qualifies, or a replica fails to hand out a
+ * connection, the read goes to the primary.
+ * <p>
+ * The decision is taken when the transaction first needs a connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: {@code JpaTransactionManager} asks
+ * for the connection before it marks the transaction read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    static final String METRIC = "datasource.routing.connections";
+
+    private final DataSource primary;
+    private final List<ReplicaPool> replicas;
+    private final Duration defaultMaxStaleness;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryWrites;
+    private final Counter primaryReads;
+    private final List<Counter> replicaReads = new ArrayList<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<ReplicaPool> replicas, Duration defaultMaxStaleness,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.defaultMaxStaleness = defaultMaxStaleness;
+        primaryWrites = counter(meterRegistry, "primary", "write");
+        primaryReads = counter(meterRegistry, "primary", "read");
+        for (ReplicaPool replica : this.replicas) {
+            replicaReads.add(counter(meterRegistry, replica.getName(), "read"));
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("1 while the replica's last health check passed")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.getLag().toMillis())
+                    .description("Replay lag reported by the replica's last health check")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<ReplicaPool> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            trackWrite();
+            primaryWrites.increment();
+            return primary.getConnection();
+        }
+        Instant required = requiredVisibility();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            ReplicaPool replica = replicas.get(index);
+            if (replica.canServe(required)) {
+                try {
+                    Connection connection = replica.getConnection();
+                    replicaReads.get(index).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    replica.markDown(e);
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the credentials of each pool");
+    }
+
+    /**
+     * Closes the replica pools; the primary belongs to whoever passed it in.
+     */
+    @Override
+    public void close() {
+        replicas.forEach(ReplicaPool::close);
+    }
+
+    /**
+     * Oldest commit a replica must hold: the staleness bound, or the caller's last write if that is later.
+     */
+    private Instant requiredVisibility() {
+        ReadConsistency consistency = ReadConsistency.current().orElse(null);
+        Duration maxStaleness = consistency != null
+                ? consistency.getMaxStaleness().orElse(defaultMaxStaleness)
+                : defaultMaxStaleness;
+        Instant required = Instant.now().minus(maxStaleness);
+        if (consistency != null && consistency.getReadAfter().filter(required::isBefore).isPresent()) {
+            required = consistency.getReadAfter().get();
+        }
+        return required;
+    }
+
+    /**
+     * Read-write transactions are assumed to write; once one commits, the thread's later reads must see it.
+     */
+    private void trackWrite() {
+        ReadConsistency consistency = ReadConsistency.current().orElse(null);
+        if (consistency != null && TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    consistency.written(Instant.now());
+                }
+            });
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String kind) {
+        return Counter.builder(METRIC)
+                .description("Connections handed out by the read/write router")
+                .tag("target", target)
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,61 @@
+package com.interview.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class ReplicaRoutingProperties {
+
+    /**
+     * Send read-only transactions to {@link #replicas}; off means every transaction uses the primary.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far behind the primary a replica may be for requests that do not send {@code X-Max-Staleness}.
+     * Must be longer than {@link #healthCheckInterval}: a replica's position is only known as of its last check.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(10);
+
+    private Duration healthCheckInterval = Duration.ofSeconds(2);
+
+    /**
+     * Query returning a replica's replay lag in seconds, e.g. on PostgreSQL
+     * {@code extract(epoch from now() - pg_last_xact_replay_timestamp())}. Empty treats a reachable replica as
+     * caught up when checked, which is what the H2 stand-in needs.
+     */
+    private String lagQuery = "";
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Replica {
+
+        /**
+         * Pool name and metric tag.
+         */
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Kept short: a replica that cannot hand out a connection is skipped in favour of the primary.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(1);
+    }
+}
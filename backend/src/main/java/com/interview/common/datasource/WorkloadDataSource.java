@@ -0,0 +1,62 @@
+package com.interview.common.datasource;
+
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One connection pool per {@link WorkloadClass}, all against the same database, so slow saga transactions or a
+ * long export cannot take the connections availability search needs.
+ * <p>
+ * The pool follows {@link Workload#current()}; work without a class (startup, tests) uses
+ * {@link WorkloadClass#INTERACTIVE_READ} for read-only transactions and {@link WorkloadClass#BOOKING_WRITE}
+ * otherwise. Like {@link ReplicaRoutingDataSource}, this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} to see the read-only flag.
+ */
+public class WorkloadDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private final Map<WorkloadClass, HikariDataSource> pools;
+
+    public WorkloadDataSource(Map<WorkloadClass, HikariDataSource> pools) {
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            if (!pools.containsKey(workloadClass)) {
+                throw new IllegalArgumentException("No connection pool for " + workloadClass);
+            }
+        }
+        this.pools = Collections.unmodifiableMap(new EnumMap<>(pools));
+    }
+
+    public HikariDataSource pool(WorkloadClass workloadClass) {
+        return pools.get(workloadClass);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return pools.get(currentClass()).getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Workload pools use the credentials of spring.datasource");
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+
+    static WorkloadClass currentClass() {
+        return Workload.current().orElseGet(() -> TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? WorkloadClass.INTERACTIVE_READ
+                : WorkloadClass.BOOKING_WRITE);
+    }
+}
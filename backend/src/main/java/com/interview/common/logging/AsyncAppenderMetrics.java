@@ -0,0 +1,57 @@
+package com.interview.common.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Discarded events and free queue slots of every {@link CountingAsyncAppender} in the logback configuration,
+ * tagged by appender name. Nothing is registered when logging runs synchronously.
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    static final String DISCARDED_METRIC = "logging.events.discarded";
+    static final String REMAINING_METRIC = "logging.queue.remaining";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return;
+        }
+        Set<CountingAsyncAppender> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : ((LoggerContext) loggerFactory).getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                Appender<ILoggingEvent> appender = it.next();
+                if (appender instanceof CountingAsyncAppender && seen.add((CountingAsyncAppender) appender)) {
+                    bind(registry, (CountingAsyncAppender) appender);
+                }
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, CountingAsyncAppender appender) {
+        FunctionCounter.builder(DISCARDED_METRIC, appender, CountingAsyncAppender::getDiscardedCount)
+                .description("Log events dropped because the async queue was nearly full")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder(REMAINING_METRIC, appender, CountingAsyncAppender::getRemainingCapacity)
+                .description("Free slots in the async log queue")
+                .tag("appender", appender.getName())
+                .register(registry);
+    }
+}
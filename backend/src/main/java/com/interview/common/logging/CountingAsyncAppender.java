@@ -0,0 +1,32 @@
+package com.interview.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts what it discards.
+ * <p>
+ * Callers only enqueue; one worker thread encodes and writes. Once the queue has fewer than
+ * {@code discardingThreshold} free slots, TRACE, DEBUG and INFO events are dropped and counted here, while WARN
+ * and ERROR still wait for a slot. The count is exported as {@code logging.events.discarded}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // the same test as the base class, which drops without telling anyone
+        if (getRemainingCapacity() < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
@@ -0,0 +1,72 @@
+package com.interview.common.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.interview.common.web.CorrelationIdFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One JSON object per line: {@code timestamp}, {@code level}, {@code logger}, {@code thread},
+ * {@code correlationId}, any other MDC entries, {@code message} and, for exceptions, {@code stackTrace}.
+ * <p>
+ * Written straight to bytes by a streaming Jackson generator, which recycles its buffers per thread; no layout
+ * string or intermediate map is built.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int INITIAL_SIZE = 512;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_SIZE);
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", Instant.ofEpochMilli(event.getTimeStamp()).toString());
+            json.writeStringField("level", event.getLevel().toString());
+            json.writeStringField("logger", event.getLoggerName());
+            json.writeStringField("thread", event.getThreadName());
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            String correlationId = mdc.get(CorrelationIdFilter.MDC_KEY);
+            if (correlationId != null) {
+                json.writeStringField(CorrelationIdFilter.MDC_KEY, correlationId);
+            }
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                if (!CorrelationIdFilter.MDC_KEY.equals(entry.getKey())) {
+                    json.writeStringField(entry.getKey(), entry.getValue());
+                }
+            }
+            json.writeStringField("message", event.getFormattedMessage());
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                json.writeStringField("stackTrace", ThrowableProxyUtil.asString(throwable));
+            }
+            json.writeEndObject();
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new UncheckedIOException(e);
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.interview.common.tracing;
+
+import com.interview.common.web.CorrelationIdFilter;
+import org.slf4j.MDC;
+
+/**
+ * The correlation id of the work on the current thread, as set by {@link CorrelationIdFilter} for HTTP requests
+ * and by {@link #open} for work picked up elsewhere (outbox events, executor tasks).
+ */
+public final class Correlation {
+
+    /**
+     * Longest id kept; longer incoming headers are cut to fit the outbox column.
+     */
+    public static final int MAX_LENGTH = 100;
+
+    private Correlation() {
+    }
+
+    /**
+     * The current id, or {@code null} outside any correlated work.
+     */
+    public static String current() {
+        String id = MDC.get(CorrelationIdFilter.MDC_KEY);
+        return id == null || id.length() <= MAX_LENGTH ? id : id.substring(0, MAX_LENGTH);
+    }
+
+    /**
+     * Makes {@code correlationId} current until the scope is closed, then restores whatever was there.
+     * A {@code null} id leaves the MDC untouched.
+     */
+    public static Scope open(String correlationId) {
+        String previous = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (correlationId != null) {
+            MDC.put(CorrelationIdFilter.MDC_KEY, correlationId);
+        }
+        return () -> {
+            if (previous != null) {
+                MDC.put(CorrelationIdFilter.MDC_KEY, previous);
+            } else {
+                MDC.remove(CorrelationIdFilter.MDC_KEY);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,42 @@
+package com.interview.common.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Runs a task with the MDC of the thread that submitted it, correlation id included, and puts the worker's own
+ * MDC back afterwards.
+ */
+public class MdcTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return propagate(runnable);
+    }
+
+    /**
+     * For executors that are not Spring task executors, e.g. a gateway's timer.
+     */
+    public static Runnable propagate(Runnable runnable) {
+        Map<String, String> submitted = MDC.getCopyOfContextMap();
+        return () -> {
+            Map<String, String> own = MDC.getCopyOfContextMap();
+            setContext(submitted);
+            try {
+                runnable.run();
+            } finally {
+                setContext(own);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
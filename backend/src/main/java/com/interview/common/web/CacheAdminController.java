@@ -0,0 +1,28 @@
+package com.interview.common.web;
+
+import com.interview.common.cache.CacheRegionStats;
+import com.interview.common.cache.HibernateCacheStatistics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin view of the Hibernate second-level cache.
+ */
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheAdminController {
+    private final HibernateCacheStatistics hibernateCacheStatistics;
+
+    /**
+     * Hits, misses, puts and hit ratio per region.
+     */
+    @GetMapping("/regions")
+    public List<CacheRegionStats> getRegions() {
+        return hibernateCacheStatistics.regions();
+    }
+}
@@ -0,0 +1,57 @@
+package com.interview.common.web;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page: the row's sort key and its id as tie-breaker.
+ * Clients get it as an opaque URL-safe token and hand it back unchanged to fetch the next page.
+ */
+@Value
+public class Cursor {
+    String key;
+    long id;
+
+    public static Cursor after(String key, long id) {
+        return new Cursor(key, id);
+    }
+
+    public static Cursor after(Instant key, long id) {
+        return new Cursor(key.toString(), id);
+    }
+
+    /**
+     * @return the cursor, or {@code null} for a missing or blank token (first page)
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new Cursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        // the id goes first: it never contains the separator, the key may
+        String raw = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Instant keyAsInstant() {
+        try {
+            return Instant.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
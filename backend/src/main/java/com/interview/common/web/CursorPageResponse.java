@@ -0,0 +1,52 @@
+package com.interview.common.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset page: no total count, just the rows and the cursor to continue from ({@code null} on the last page).
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Limit for the keyset query: one row more than the page, so {@link #from} can tell whether another page follows.
+     */
+    public static Pageable fetchLimit(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("'size' must be between 1 and " + MAX_SIZE);
+        }
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * @param rows     up to {@code size + 1} rows in page order; the extra row only signals that more follow
+     * @param cursorOf position of a row, used for the last row returned
+     */
+    public static <T> CursorPageResponse<T> from(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        if (rows.size() <= size) {
+            return new CursorPageResponse<>(rows, size, null, false);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPageResponse<>(content, size, cursorOf.apply(content.get(size - 1)).encode(), true);
+    }
+
+    public <R> CursorPageResponse<R> map(Function<T, R> mapper) {
+        return new CursorPageResponse<>(content.stream().map(mapper).collect(Collectors.toList()),
+                size, nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,28 @@
+package com.interview.common.web;
+
+import com.interview.common.aspect.MethodMetricsRegistry;
+import com.interview.common.aspect.MethodStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin view of service method latencies recorded by the instrumentation aspect.
+ */
+@RestController
+@RequestMapping("/api/admin/instrumentation")
+@RequiredArgsConstructor
+public class InstrumentationAdminController {
+    private final MethodMetricsRegistry methodMetricsRegistry;
+
+    /**
+     * Calls, errors, slow calls and latency percentiles per service method, most total time first.
+     */
+    @GetMapping("/methods")
+    public List<MethodStats> getMethods() {
+        return methodMetricsRegistry.stats();
+    }
+}
@@ -0,0 +1,82 @@
+package com.interview.common.web;
+
+import com.interview.common.datasource.ReadConsistency;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Per-request read consistency for the replica router:
+ * <ul>
+ *     <li>{@code X-Max-Staleness: 2s} bounds how old replica data may be ({@code 0} reads from the primary)</li>
+ *     <li>{@code X-Read-After: <epoch millis>} requires every write committed by then, for read-your-writes
+ *     across requests</li>
+ * </ul>
+ * A request that commits a write answers with {@code X-Last-Write}; sending it back as {@code X-Read-After}
+ * makes the next reads see that write. Headers that do not parse are ignored.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER_MAX_STALENESS = "X-Max-Staleness";
+    public static final String HEADER_READ_AFTER = "X-Read-After";
+    public static final String HEADER_LAST_WRITE = "X-Last-Write";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Duration maxStaleness = parseDuration(request.getHeader(HEADER_MAX_STALENESS));
+        Instant readAfter = parseInstant(request.getHeader(HEADER_READ_AFTER));
+
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(maxStaleness, readAfter, committedAt -> {
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER_LAST_WRITE, String.valueOf(committedAt.toEpochMilli()));
+            }
+        })) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            Duration duration = DurationStyle.detectAndParse(value.trim());
+            return duration.isNegative() ? null : duration;
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignoring {}: {}", HEADER_MAX_STALENESS, value);
+            return null;
+        }
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring {}: {}", HEADER_READ_AFTER, value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.interview.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.common.tracing.Correlation;
+import com.interview.common.workload.Bulkhead;
+import com.interview.common.workload.Bulkheads;
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Classifies each API request into a {@link WorkloadClass} and runs it inside that class's {@link Bulkhead}:
+ * <ul>
+ *     <li>{@code .../export}: {@link WorkloadClass#REPORTING}, holding its slot until the stream completes</li>
+ *     <li>{@code .../import}: {@link WorkloadClass#REPORTING} too, so a fleet upload does not take booking slots</li>
+ *     <li>GET, HEAD and availability searches: {@link WorkloadClass#INTERACTIVE_READ}</li>
+ *     <li>everything else: {@link WorkloadClass#BOOKING_WRITE}</li>
+ * </ul>
+ * The class also picks the connection pool when {@code workload.separate-pools} is on. A request turned away by
+ * its bulkhead is answered {@code 503 OVERLOADED} with {@code Retry-After}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class WorkloadFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String AVAILABILITY_PREFIX = "/api/availability/";
+    private static final String EXPORT_SUFFIX = "/export";
+    private static final String IMPORT_SUFFIX = "/import";
+
+    private final Bulkheads bulkheads;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        WorkloadClass workloadClass = classify(request);
+        Bulkhead bulkhead = bulkheads.get(workloadClass).orElse(null);
+        if (bulkhead != null && !acquire(bulkhead)) {
+            reject(request, response, workloadClass);
+            return;
+        }
+
+        Releaser releaser = new Releaser(bulkhead);
+        try (Workload.Scope ignored = Workload.open(workloadClass)) {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // streamed responses keep their slot until the async part is over
+                request.getAsyncContext().addListener(releaser);
+            } else {
+                releaser.release();
+            }
+        }
+    }
+
+    static WorkloadClass classify(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.endsWith(EXPORT_SUFFIX) || uri.endsWith(IMPORT_SUFFIX)) {
+            return WorkloadClass.REPORTING;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || uri.startsWith(AVAILABILITY_PREFIX)) {
+            return WorkloadClass.INTERACTIVE_READ;
+        }
+        return WorkloadClass.BOOKING_WRITE;
+    }
+
+    private static boolean acquire(Bulkhead bulkhead) {
+        try {
+            return bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, WorkloadClass workloadClass)
+            throws IOException {
+        ErrorResponse body = ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .path(request.getRequestURI())
+                .correlationId(Correlation.current())
+                .code("OVERLOADED")
+                .message("Too many " + workloadClass.tag() + " requests in progress. Please retry.")
+                .build();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    /**
+     * Gives the slot back exactly once, whichever of completion, timeout or error comes first.
+     */
+    private static final class Releaser implements AsyncListener {
+
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Releaser(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        void release() {
+            if (bulkhead != null && released.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.interview.common.workload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how much of one workload class runs at once. Callers over the cap wait in a bounded queue for up to
+ * {@code maxWait}; when the queue is full or the wait runs out they are turned away rather than piling up.
+ * <p>
+ * Exported per class as {@code workload.bulkhead.active}, {@code workload.bulkhead.queued},
+ * {@code workload.bulkhead.wait} and {@code workload.bulkhead.rejected}.
+ */
+public class Bulkhead {
+
+    private final WorkloadClass workloadClass;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer waits;
+    private final Counter rejected;
+
+    public Bulkhead(WorkloadClass workloadClass, WorkloadProperties.BulkheadSpec spec, MeterRegistry meterRegistry) {
+        this.workloadClass = workloadClass;
+        this.maxConcurrent = spec.getMaxConcurrent();
+        this.maxQueue = spec.getMaxQueue();
+        this.maxWait = spec.getMaxWait();
+        this.permits = new Semaphore(maxConcurrent, true);
+        String tag = workloadClass.tag();
+        Gauge.builder("workload.bulkhead.active", this, Bulkhead::active)
+                .description("Work running inside the bulkhead")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        Gauge.builder("workload.bulkhead.queued", queued, AtomicInteger::get)
+                .description("Work waiting for a bulkhead slot")
+                .tag("workload", tag)
+                .register(meterRegistry);
+        waits = Timer.builder("workload.bulkhead.wait")
+                .description("Time spent waiting for a bulkhead slot")
+                .tag("workload", tag)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        rejected = Counter.builder("workload.bulkhead.rejected")
+                .description("Work turned away because the bulkhead queue was full or the wait ran out")
+                .tag("workload", tag)
+                .register(meterRegistry);
+    }
+
+    public WorkloadClass getWorkloadClass() {
+        return workloadClass;
+    }
+
+    /**
+     * Take a slot, queueing if need be. Every {@code true} must be paired with {@link #release()}.
+     *
+     * @return {@code false} when rejected
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            waits.record(0, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            if (permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+}
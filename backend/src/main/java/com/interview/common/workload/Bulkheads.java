@@ -0,0 +1,44 @@
+package com.interview.common.workload;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One {@link Bulkhead} per configured workload class. Warns at startup when the bulkheads together may hold as
+ * many threads as the servlet container has, which would let one class starve the others.
+ */
+@Slf4j
+@Component
+public class Bulkheads {
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public Bulkheads(WorkloadProperties properties, MeterRegistry meterRegistry,
+                     ObjectProvider<ServerProperties> serverProperties) {
+        if (properties.isBulkheadsEnabled()) {
+            properties.getBulkheads().forEach((workloadClass, spec) ->
+                    bulkheads.put(workloadClass, new Bulkhead(workloadClass, spec, meterRegistry)));
+            serverProperties.ifAvailable(server -> {
+                int maxThreads = server.getTomcat().getMaxThreads();
+                if (properties.bulkheadThreads() >= maxThreads) {
+                    log.warn("Bulkheads may hold {} requests but server.tomcat.max-threads is {}; "
+                            + "one workload class can starve the others", properties.bulkheadThreads(), maxThreads);
+                }
+            });
+        }
+    }
+
+    /**
+     * The bulkhead for {@code workloadClass}, or empty when that class is not limited.
+     */
+    public Optional<Bulkhead> get(WorkloadClass workloadClass) {
+        return Optional.ofNullable(bulkheads.get(workloadClass));
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.common.workload;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * The workload class of the work on the current thread, as set by {@link com.interview.common.web.WorkloadFilter}
+ * for HTTP requests, by thread factories for background pools, and by {@link #open} elsewhere.
+ */
+public final class Workload {
+
+    private static final ThreadLocal<WorkloadClass> CURRENT = new ThreadLocal<>();
+
+    private Workload() {
+    }
+
+    public static Optional<WorkloadClass> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Makes {@code workloadClass} current until the scope is closed, then restores whatever was there.
+     */
+    public static Scope open(WorkloadClass workloadClass) {
+        WorkloadClass previous = CURRENT.get();
+        CURRENT.set(workloadClass);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Runs {@code runnable} as {@code workloadClass}.
+     */
+    public static Runnable wrap(WorkloadClass workloadClass, Runnable runnable) {
+        return () -> {
+            try (Scope ignored = open(workloadClass)) {
+                runnable.run();
+            }
+        };
+    }
+
+    /**
+     * Threads from {@code delegate} that run everything as {@code workloadClass}, for pools that only ever do one
+     * kind of work.
+     */
+    public static ThreadFactory threadFactory(WorkloadClass workloadClass, ThreadFactory delegate) {
+        return runnable -> delegate.newThread(wrap(workloadClass, runnable));
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
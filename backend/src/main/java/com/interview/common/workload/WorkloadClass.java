@@ -0,0 +1,22 @@
+package com.interview.common.workload;
+
+/**
+ * Kinds of work that get their own connection pool and concurrency limit, so a burst of one cannot starve another.
+ */
+public enum WorkloadClass {
+    /** Availability search and other GET traffic; short, latency-sensitive reads. */
+    INTERACTIVE_READ,
+    /** Requests that change state: bookings, cancellations, fleet and company edits. */
+    BOOKING_WRITE,
+    /** Outbox relay, saga completions and scheduled jobs; may hold a transaction while a payment is settled. */
+    BACKGROUND_SAGA,
+    /** Streamed exports and bulk imports; long-running scans and batch writes. */
+    REPORTING;
+
+    /**
+     * Pool and metric name, e.g. {@code interactive-read}.
+     */
+    public String tag() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
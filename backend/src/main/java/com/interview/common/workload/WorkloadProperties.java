@@ -0,0 +1,111 @@
+package com.interview.common.workload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "workload")
+public class WorkloadProperties {
+
+    /**
+     * One connection pool per {@link WorkloadClass}, all against {@code spring.datasource}, instead of Boot's
+     * single pool.
+     */
+    private boolean separatePools = false;
+
+    /**
+     * Pool per class; classes left out keep their defaults.
+     */
+    private Map<WorkloadClass, PoolSpec> pools = new EnumMap<>(WorkloadClass.class);
+
+    /**
+     * Limit concurrent HTTP requests per class; over the limit they queue, and are answered 503 when the queue
+     * is full or the wait runs out.
+     */
+    private boolean bulkheadsEnabled = true;
+
+    /**
+     * Bulkhead per request class. Background saga work is bounded by {@code outbox.relay} (lanes, max in flight,
+     * completion threads) and waits instead of being rejected.
+     * <p>
+     * Running and queued requests both hold a servlet container thread, so the sum of {@code max-concurrent} and
+     * {@code max-queue} over all classes must stay below {@code server.tomcat.max-threads}, with room left for
+     * requests outside the bulkheads (actuator, rejections). Otherwise a burst of one class can take every thread
+     * and starve the others before they reach their own bulkhead. The defaults add up to 158 of 200 threads.
+     */
+    private Map<WorkloadClass, BulkheadSpec> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    public WorkloadProperties() {
+        pools.put(WorkloadClass.INTERACTIVE_READ, new PoolSpec(10, Duration.ofSeconds(2)));
+        pools.put(WorkloadClass.BOOKING_WRITE, new PoolSpec(10, Duration.ofSeconds(5)));
+        pools.put(WorkloadClass.BACKGROUND_SAGA, new PoolSpec(6, Duration.ofSeconds(30)));
+        pools.put(WorkloadClass.REPORTING, new PoolSpec(4, Duration.ofSeconds(10)));
+        bulkheads.put(WorkloadClass.INTERACTIVE_READ, new BulkheadSpec(60, 40, Duration.ofSeconds(1)));
+        bulkheads.put(WorkloadClass.BOOKING_WRITE, new BulkheadSpec(30, 20, Duration.ofSeconds(2)));
+        bulkheads.put(WorkloadClass.REPORTING, new BulkheadSpec(4, 4, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Container threads the bulkheads may hold at once: every running plus every queued request.
+     */
+    public int bulkheadThreads() {
+        return bulkheads.values().stream().mapToInt(spec -> spec.getMaxConcurrent() + spec.getMaxQueue()).sum();
+    }
+
+    public PoolSpec poolFor(WorkloadClass workloadClass) {
+        return pools.getOrDefault(workloadClass, new PoolSpec());
+    }
+
+    @Data
+    public static class PoolSpec {
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * How long a transaction waits for a connection before failing.
+         */
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+
+        public PoolSpec() {
+        }
+
+        PoolSpec(int maximumPoolSize, Duration connectionTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeout = connectionTimeout;
+        }
+    }
+
+    @Data
+    public static class BulkheadSpec {
+
+        /**
+         * Requests running at once.
+         */
+        private int maxConcurrent = 50;
+
+        /**
+         * Requests waiting for a slot; beyond this they are rejected at once.
+         */
+        private int maxQueue = 50;
+
+        /**
+         * How long a queued request waits for a slot.
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+
+        public BulkheadSpec() {
+        }
+
+        BulkheadSpec(int maxConcurrent, int maxQueue, Duration maxWait) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -3,14 +3,17 @@ package com.interview.company.domain;
 import com.interview.common.domain.BaseEntity;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
-import org.hibernate.annotations.Type;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rentalCompany")
 @Table(name = "rental_company")
 @SQLDelete(sql =
         "UPDATE rental_company " +
@@ -36,10 +39,10 @@ public class RentalCompany extends BaseEntity {
 //    @OneToMany(mappedBy = "company", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 //    private List<Car> cars = new ArrayList<>();
 
-    @Column(name = "deleted", nullable = false, columnDefinition = "TINYINT")
-    @Type(type = "org.hibernate.type.NumericBooleanType")
+    // written only by @SQLDelete, which also evicts the second-level cache entry
+    @Column(name = "deleted", nullable = false, updatable = false)
     private boolean deleted = false;
 
-    @Column(name = "deleted_at")
+    @Column(name = "deleted_at", updatable = false)
     private Instant deletedAt;
 }
@@ -3,8 +3,9 @@ package com.interview.company.domain;
 import com.interview.common.domain.BaseEntity;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
-import org.hibernate.annotations.Type;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
@@ -12,6 +13,8 @@ import java.time.Instant;
 
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rentalLocation")
 @Table(name = "rental_location")
 @SQLDelete(sql = "UPDATE rental_location SET deleted = true, deleted_at = now() WHERE id = ? and version = ?")
 @Where(clause = "deleted = false")
@@ -36,11 +39,11 @@ public class RentalLocation extends BaseEntity {
     @Column(nullable = false, length = 120)
     private String country;
 
-    @Column(name = "deleted", nullable = false, columnDefinition = "TINYINT")
-    @Type(type = "org.hibernate.type.NumericBooleanType")
+    // written only by @SQLDelete, which also evicts the second-level cache entry
+    @Column(name = "deleted", nullable = false, updatable = false)
     private boolean deleted = false;
 
-    @Column(name = "deleted_at")
+    @Column(name = "deleted_at", updatable = false)
     private Instant deletedAt;
 }
 
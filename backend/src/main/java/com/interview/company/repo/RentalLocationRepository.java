@@ -5,11 +5,38 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.util.List;
 
 public interface RentalLocationRepository extends JpaRepository<RentalLocation, Long> {
     Page<RentalLocation> findByCompanyId(Long companyId, Pageable pageable);
 
     @EntityGraph(attributePaths = {"company"})
     Page<RentalLocation> findByCityIgnoreCase(String city, Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findByCityIgnoreCase}, ordered by name then id, starting after
+     * {@code (afterName, afterId)}, or from the start when {@code afterName} is null. No count query.
+     */
+    @EntityGraph(attributePaths = {"company"})
+    @Query("select l from RentalLocation l " +
+            "where lower(l.city) = lower(:city) " +
+            "and (:afterName is null or l.name > :afterName " +
+            "     or (l.name = :afterName and l.id > :afterId)) " +
+            "order by l.name, l.id")
+    List<RentalLocation> findByCityIgnoreCaseAfter(@Param("city") String city,
+                                                   @Param("afterName") String afterName,
+                                                   @Param("afterId") Long afterId,
+                                                   Pageable limit);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select l.id from RentalLocation l " +
+            "where lower(l.city) = lower(:city) " +
+            "and (:companyId is null or l.company.id = :companyId)")
+    List<Long> findIdsByCity(@Param("city") String city, @Param("companyId") Long companyId);
 }
 
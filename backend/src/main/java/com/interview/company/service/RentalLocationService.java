@@ -1,5 +1,6 @@
 package com.interview.company.service;
 
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
 import com.interview.company.domain.RentalLocation;
 import com.interview.company.dto.RentalLocationCreateDto;
@@ -32,6 +33,11 @@ public interface RentalLocationService {
      */
     PageResponse<RentalLocationResponseDto> listLocationsByCity(String city, Pageable pageable);
 
+    /**
+     * List rental locations by city with keyset pagination, ordered by name.
+     */
+    CursorPageResponse<RentalLocationResponseDto> listLocationsByCity(String city, String cursor, int size);
+
     /**
      * List rental locations by company ID with pagination.
      */
@@ -2,6 +2,7 @@ package com.interview.company.service.impl;
 
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
 import com.interview.booking.repo.BookingRepository;
 import com.interview.common.annotation.Loggable;
 import com.interview.common.domain.BusinessRuleViolation;
@@ -15,6 +16,7 @@ import com.interview.company.mapper.RentalCompanyMapper;
 import com.interview.company.repo.RentalCompanyRepository;
 import com.interview.company.service.RentalCompanyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,6 +36,7 @@ public class RentalCompanyServiceImpl implements RentalCompanyService {
     private final RentalCompanyRepository companyRepo;
     private final BookingRepository bookingRepo;
     private final RentalCompanyMapper rentalCompanyMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public RentalCompanyResponseDto addCompany(RentalCompanyCreateDto createDto) {
@@ -82,6 +85,7 @@ public class RentalCompanyServiceImpl implements RentalCompanyService {
         List<Booking> future = bookingRepo.findFutureActiveForCompany(companyId, now, activeStatuses);
         for (Booking booking : future) {
             booking.setStatus(BookingStatus.CANCELED);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
             //booking.getCar().setStatus(CarStatus.AVAILABLE);
         }
 
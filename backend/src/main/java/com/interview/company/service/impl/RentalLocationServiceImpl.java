@@ -2,10 +2,13 @@ package com.interview.company.service.impl;
 
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
 import com.interview.booking.repo.BookingRepository;
 import com.interview.common.annotation.Loggable;
 import com.interview.common.domain.BusinessRuleViolation;
 import com.interview.common.domain.EntityNotFound;
+import com.interview.common.web.Cursor;
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
 import com.interview.company.domain.RentalCompany;
 import com.interview.company.domain.RentalLocation;
@@ -17,6 +20,7 @@ import com.interview.company.repo.RentalCompanyRepository;
 import com.interview.company.repo.RentalLocationRepository;
 import com.interview.company.service.RentalLocationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -36,6 +40,7 @@ public class RentalLocationServiceImpl implements RentalLocationService {
     private final RentalLocationRepository rentalLocationRepository;
     private final BookingRepository bookingRepository;
     private final RentalLocationMapper rentalLocationMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -91,6 +96,7 @@ public class RentalLocationServiceImpl implements RentalLocationService {
         List<Booking> futureBookings = bookingRepository.findFutureActiveForLocation(rentalLocationId, now, activeStatuses);
         for (Booking booking : futureBookings) {
             booking.setStatus(BookingStatus.CANCELED);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
             //booking.getCar().setStatus(CarStatus.AVAILABLE);
         }
 
@@ -107,6 +113,17 @@ public class RentalLocationServiceImpl implements RentalLocationService {
         return PageResponse.from(page.map(rentalLocationMapper::toResponse));
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPageResponse<RentalLocationResponseDto> listLocationsByCity(String city, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        List<RentalLocation> rows = rentalLocationRepository.findByCityIgnoreCaseAfter(city,
+                after != null ? after.getKey() : null, after != null ? after.getId() : null,
+                CursorPageResponse.fetchLimit(size));
+        return CursorPageResponse.from(rows, size, location -> Cursor.after(location.getName(), location.getId()))
+                .map(rentalLocationMapper::toResponse);
+    }
+
     @Transactional(readOnly = true)
     @Override
     public PageResponse<RentalLocationResponseDto> listLocationsByCompanyId(Long companyId, Pageable pageable) {
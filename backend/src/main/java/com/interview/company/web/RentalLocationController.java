@@ -1,5 +1,6 @@
 package com.interview.company.web;
 
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
 import com.interview.company.dto.RentalLocationCreateDto;
 import com.interview.company.dto.RentalLocationResponseDto;
@@ -62,6 +63,17 @@ public class RentalLocationController {
         return rentalLocationService.listLocationsByCity(city, pageable);
     }
 
+    /**
+     * Get rental locations by city, keyset-paginated: pass an empty {@code cursor} for the first page and the
+     * returned {@code nextCursor} for the following ones.
+     */
+    @GetMapping(value = "/byCity", params = "cursor")
+    public CursorPageResponse<RentalLocationResponseDto> getLocationsByCity(@RequestParam String city,
+                                                                            @RequestParam String cursor,
+                                                                            @RequestParam(defaultValue = "20") int size) {
+        return rentalLocationService.listLocationsByCity(city, cursor, size);
+    }
+
     /**
      * Get rental locations by company.
      */
@@ -0,0 +1,20 @@
+package com.interview.fleet.claim;
+
+/**
+ * How booking-by-model picks and locks a free car.
+ */
+public enum CarClaimMode {
+    /**
+     * {@link #SKIP_LOCKED} when the Hibernate dialect supports it, otherwise {@link #LOCK_LOOP}.
+     */
+    AUTO,
+    /**
+     * Pick and lock the first free car in one {@code SELECT ... FOR UPDATE SKIP LOCKED};
+     * cars locked by concurrent claims are skipped instead of waited on.
+     */
+    SKIP_LOCKED,
+    /**
+     * Shortlist candidates, then lock them one at a time with a lock timeout.
+     */
+    LOCK_LOOP
+}
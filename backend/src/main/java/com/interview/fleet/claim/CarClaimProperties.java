@@ -0,0 +1,24 @@
+package com.interview.fleet.claim;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.claim")
+public class CarClaimProperties {
+
+    private CarClaimMode mode = CarClaimMode.AUTO;
+
+    /**
+     * Upper bound on cars locked and re-validated by a single SKIP LOCKED claim.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Book a specific car without locking it; overlaps are rejected by the {@code ex_booking_car_period}
+     * exclusion constraint, so only enable this on a database created from {@code database/postgres/schema.sql}.
+     */
+    private boolean exclusionConstraint = false;
+}
@@ -0,0 +1,102 @@
+package com.interview.fleet.claim;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.CarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-statement car claiming with {@code FOR UPDATE SKIP LOCKED}.
+ * <p>
+ * Concurrent claims for the same model and location each lock a different free car instead of
+ * queueing behind one another's row locks. The statement's {@code NOT EXISTS} check runs on the
+ * snapshot taken when the statement started, so the locked car is re-validated with a fresh query
+ * before it is returned. A car that fails that check stays locked by this transaction, which would
+ * not skip it, so it is excluded from the next attempt.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CarClaimer {
+
+    private static final Long NO_ID = -1L;
+
+    private final CarRepository carRepository;
+    private final CarAvailabilityRepository carAvailabilityRepository;
+    private final CarClaimProperties properties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private volatile Boolean dialectSupportsSkipLocked;
+
+    /**
+     * Whether booking-by-model should use {@link #claimFirstFree}; otherwise callers keep the lock loop.
+     */
+    public boolean isSkipLockedActive() {
+        switch (properties.getMode()) {
+            case SKIP_LOCKED:
+                return true;
+            case LOCK_LOOP:
+                return false;
+            default:
+                return dialectSupportsSkipLocked();
+        }
+    }
+
+    /**
+     * Whether booking a specific car should insert optimistically and let the database reject overlaps.
+     */
+    public boolean isExclusionConstraintActive() {
+        return properties.isExclusionConstraint();
+    }
+
+    /**
+     * Lock the lowest-id bookable car of the model (at the location, if given) that is free in {@code [from, to)}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<Car> claimFirstFree(Long modelId, Long locationId, Instant from, Instant to) {
+        List<Long> rejected = new ArrayList<>();
+        for (int attempt = 0; attempt < properties.getMaxAttempts(); attempt++) {
+            List<Long> excluded = rejected.isEmpty() ? Collections.singletonList(NO_ID) : rejected;
+            List<Car> locked = CarLockTimer.time(meterRegistry, CarLockTimer.SKIP_LOCKED,
+                    () -> carRepository.lockFirstFreeSkipLocked(modelId, locationId, from, to,
+                            BookingStatus.activeSet(), excluded, PageRequest.of(0, 1)),
+                    cars -> !cars.isEmpty());
+            if (locked.isEmpty()) {
+                return Optional.empty();
+            }
+            Car car = locked.get(0);
+            if (!carAvailabilityRepository.existsActiveForCarInPeriod(car.getId(), from, to, BookingStatus.activeSet())) {
+                return Optional.of(car);
+            }
+            rejected.add(car.getId());
+        }
+        return Optional.empty();
+    }
+
+    private boolean dialectSupportsSkipLocked() {
+        Boolean supported = dialectSupportsSkipLocked;
+        if (supported == null) {
+            supported = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect().supportsSkipLocked();
+            log.info("Car claim mode AUTO resolved to {}", supported ? CarClaimMode.SKIP_LOCKED : CarClaimMode.LOCK_LOOP);
+            dialectSupportsSkipLocked = supported;
+        }
+        return supported;
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.fleet.claim;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Records how long taking a car row lock took as {@code fleet.car.lock.wait}, tagged with the lock mode
+ * ({@code row_lock} or {@code skip_locked}) and whether a car ended up locked. Under contention on one model
+ * and location this is where booking latency goes.
+ */
+public final class CarLockTimer {
+
+    public static final String METRIC = "fleet.car.lock.wait";
+    public static final String ROW_LOCK = "row_lock";
+    public static final String SKIP_LOCKED = "skip_locked";
+
+    private CarLockTimer() {
+    }
+
+    /**
+     * Runs {@code lock}; a thrown exception (e.g. a lock timeout) counts as not acquired and is rethrown.
+     */
+    public static <T> T time(MeterRegistry meterRegistry, String mode, Supplier<T> lock, Predicate<T> acquired) {
+        long start = System.nanoTime();
+        boolean locked = false;
+        try {
+            T result = lock.get();
+            locked = acquired.test(result);
+            return result;
+        } finally {
+            Timer.builder(METRIC)
+                    .description("Time spent acquiring car row locks")
+                    .tag("mode", mode)
+                    .tag("outcome", locked ? "acquired" : "failed")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
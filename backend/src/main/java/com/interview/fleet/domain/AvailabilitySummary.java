@@ -0,0 +1,58 @@
+package com.interview.fleet.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.Instant;
+
+/**
+ * Materialized "free cars of a model at a location on a day" counter, maintained by
+ * {@link com.interview.fleet.summary.AvailabilitySummaryUpdater}. A car counts as taken for the whole (UTC) day
+ * if any blocking booking overlaps it.
+ */
+@Entity
+@Table(name = "availability_summary",
+        uniqueConstraints = @UniqueConstraint(name = "uq_availability_summary_bucket",
+                columnNames = {"location_id", "model_id", "bucket_day"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class AvailabilitySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "location_id", nullable = false)
+    private Long locationId;
+
+    @Column(name = "model_id", nullable = false)
+    private Long modelId;
+
+    @Column(name = "bucket_day", nullable = false)
+    private LocalDate day;
+
+    /**
+     * Bookable cars of the model placed at the location.
+     */
+    @Column(name = "total_cars", nullable = false)
+    private int totalCars;
+
+    /**
+     * Of those, cars without a blocking booking on the day.
+     */
+    @Column(name = "free_cars", nullable = false)
+    private int freeCars;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+
+    public AvailabilitySummary(Long locationId, Long modelId, LocalDate day) {
+        this.locationId = locationId;
+        this.modelId = modelId;
+        this.day = day;
+    }
+}
@@ -7,7 +7,6 @@ import com.interview.company.domain.RentalLocation;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.SQLDelete;
-import org.hibernate.annotations.Type;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
@@ -55,8 +54,7 @@ public class Car extends BaseEntity {
 
     private Integer dailyPriceInCents;
 
-    @Column(name = "deleted", nullable = false, columnDefinition = "TINYINT")
-    @Type(type = "org.hibernate.type.NumericBooleanType")
+    @Column(name = "deleted", nullable = false)
     private boolean deleted = false;
 
     @Column(name = "deleted_at")
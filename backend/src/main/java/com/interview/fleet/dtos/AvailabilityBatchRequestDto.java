@@ -0,0 +1,16 @@
+package com.interview.fleet.dtos;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Data
+public class AvailabilityBatchRequestDto {
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<AvailabilityCheckDto> checks;
+}
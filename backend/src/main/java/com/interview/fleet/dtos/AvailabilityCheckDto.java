@@ -0,0 +1,20 @@
+package com.interview.fleet.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCheckDto {
+    @NotNull
+    private Long carId;
+    @NotNull
+    private Instant from;
+    @NotNull
+    private Instant to;
+}
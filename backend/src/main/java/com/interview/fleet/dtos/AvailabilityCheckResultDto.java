@@ -0,0 +1,17 @@
+package com.interview.fleet.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCheckResultDto {
+    private Long carId;
+    private Instant from;
+    private Instant to;
+    private boolean available;
+}
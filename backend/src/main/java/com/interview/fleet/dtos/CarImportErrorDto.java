@@ -0,0 +1,17 @@
+package com.interview.fleet.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A row left out of a bulk import; {@code line} counts from 1 and includes the CSV header.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CarImportErrorDto {
+    private long line;
+    private String vin;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.interview.fleet.dtos;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are imported or failed independently; {@code errors} lists the first
+ * {@code fleet.import.max-reported-errors} failures and {@code errorsTruncated} tells whether there were more.
+ */
+@Data
+public class CarImportReportDto {
+    private long rows;
+    private long imported;
+    private long failed;
+    private List<CarImportErrorDto> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
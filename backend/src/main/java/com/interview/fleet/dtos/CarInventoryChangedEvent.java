@@ -0,0 +1,49 @@
+package com.interview.fleet.dtos;
+
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.domain.CarStatus;
+import lombok.Value;
+
+/**
+ * In-process event published when a car is added, moved, changes status or is deleted.
+ * {@code previousLocationId} / {@code previousModelId} carry the values before an update, so listeners
+ * keyed by location or model can also fix up the bucket the car left.
+ */
+@Value
+public class CarInventoryChangedEvent {
+    Long carId;
+    Long companyId;
+    Long modelId;
+    Long locationId;
+    String plateNumber;
+    CarStatus status;
+    boolean deleted;
+    Long previousLocationId;
+    Long previousModelId;
+
+    public static CarInventoryChangedEvent of(Car car, boolean deleted) {
+        return of(car, locationId(car), modelId(car), deleted);
+    }
+
+    public static CarInventoryChangedEvent of(Car car, Long previousLocationId, Long previousModelId,
+                                              boolean deleted) {
+        return new CarInventoryChangedEvent(
+                car.getId(),
+                car.getCompany() != null ? car.getCompany().getId() : null,
+                modelId(car),
+                locationId(car),
+                car.getPlateNumber(),
+                car.getStatus(),
+                deleted,
+                previousLocationId,
+                previousModelId);
+    }
+
+    private static Long locationId(Car car) {
+        return car.getCurrentLocation() != null ? car.getCurrentLocation().getId() : null;
+    }
+
+    private static Long modelId(Car car) {
+        return car.getModel() != null ? car.getModel().getId() : null;
+    }
+}
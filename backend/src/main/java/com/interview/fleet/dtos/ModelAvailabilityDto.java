@@ -0,0 +1,17 @@
+package com.interview.fleet.dtos;
+
+import com.interview.catalog.dto.CarModelResponseDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A model with the number of cars free on every day of the requested range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelAvailabilityDto {
+    private CarModelResponseDto model;
+    private int availableCars;
+}
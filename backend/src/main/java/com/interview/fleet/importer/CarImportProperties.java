@@ -0,0 +1,22 @@
+package com.interview.fleet.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "fleet.import")
+public class CarImportProperties {
+
+    /**
+     * Rows read, checked and inserted together: one reference lookup, one uniqueness query per column and one
+     * JDBC batch per chunk. Each chunk commits on its own.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Row errors listed in the report; further errors are only counted.
+     */
+    private int maxReportedErrors = 1000;
+}
@@ -0,0 +1,189 @@
+package com.interview.fleet.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.interview.fleet.dtos.CarCreateDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads an upload line by line, so only the current line is held in memory however large the fleet.
+ * <p>
+ * CSV starts with a header naming the {@link CarCreateDto} fields in any order and case, e.g.
+ * {@code companyId,modelId,currentLocationId,vin,plateNumber,mileageKm,pricePerDay}; fields may be quoted per
+ * RFC 4180 but cannot span lines. NDJSON holds one {@link CarCreateDto} document per line. Blank lines are
+ * skipped in both. A line that cannot be parsed becomes a failed row; a bad CSV header fails the whole upload.
+ */
+public class CarImportReader implements Closeable {
+
+    private static final Map<String, BiConsumer<CarCreateDto, String>> COLUMNS = new LinkedHashMap<>();
+    private static final List<String> REQUIRED = Arrays.asList("companyId", "modelId", "vin", "plateNumber",
+            "pricePerDay");
+
+    static {
+        COLUMNS.put("companyId", (car, value) -> car.setCompanyId(parseLong(value)));
+        COLUMNS.put("modelId", (car, value) -> car.setModelId(parseLong(value)));
+        COLUMNS.put("currentLocationId", (car, value) -> car.setCurrentLocationId(parseLong(value)));
+        COLUMNS.put("vin", CarCreateDto::setVin);
+        COLUMNS.put("plateNumber", CarCreateDto::setPlateNumber);
+        COLUMNS.put("mileageKm", (car, value) -> car.setMileageKm(parseInt(value)));
+        COLUMNS.put("pricePerDay", (car, value) -> car.setPricePerDay(parseInt(value)));
+    }
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectReader jsonReader;
+    private List<String> header;
+    private long line;
+
+    public CarImportReader(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.jsonReader = objectMapper.readerFor(CarCreateDto.class);
+    }
+
+    /**
+     * @return the next row, or {@code null} at the end of the upload
+     */
+    public CarImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            if (++line == 1 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+        } while (text.trim().isEmpty());
+
+        if (format == ImportFormat.NDJSON) {
+            return readJson(text);
+        }
+        if (header == null) {
+            header = readHeader(text);
+            return next();
+        }
+        return readCsv(text);
+    }
+
+    private CarImportRow readJson(String text) {
+        try {
+            return CarImportRow.parsed(line, jsonReader.readValue(text));
+        } catch (JsonProcessingException e) {
+            return CarImportRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private List<String> readHeader(String text) {
+        List<String> fields = split(text);
+        if (fields == null) {
+            throw new IllegalArgumentException("Malformed CSV header: " + text);
+        }
+        List<String> names = new ArrayList<>();
+        for (String name : fields) {
+            String column = COLUMNS.keySet().stream()
+                    .filter(known -> known.equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown CSV column: " + name));
+            if (names.contains(column)) {
+                throw new IllegalArgumentException("Duplicate CSV column: " + name);
+            }
+            names.add(column);
+        }
+        for (String required : REQUIRED) {
+            if (!names.contains(required)) {
+                throw new IllegalArgumentException("CSV header lacks column: " + required);
+            }
+        }
+        return names;
+    }
+
+    private CarImportRow readCsv(String text) {
+        List<String> values = split(text);
+        if (values == null) {
+            return CarImportRow.failed(line, "Unterminated quoted field");
+        }
+        if (values.size() != header.size()) {
+            return CarImportRow.failed(line, "Expected " + header.size() + " fields, found " + values.size());
+        }
+        CarCreateDto car = new CarCreateDto();
+        for (int i = 0; i < values.size(); i++) {
+            try {
+                COLUMNS.get(header.get(i)).accept(car, values.get(i));
+            } catch (NumberFormatException e) {
+                return CarImportRow.failed(line, header.get(i) + ": not a number: " + values.get(i));
+            }
+        }
+        return CarImportRow.parsed(line, car);
+    }
+
+    /**
+     * Splits one CSV line; fields are trimmed and empty ones become {@code null}.
+     *
+     * @return the fields, or {@code null} if a quoted field is not closed on this line
+     */
+    static List<String> split(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(value(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(value(field, wasQuoted));
+        return fields;
+    }
+
+    private static String value(StringBuilder field, boolean wasQuoted) {
+        String value = wasQuoted ? field.toString() : field.toString().trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value.trim());
+    }
+
+    private static Integer parseInt(String value) {
+        return value == null ? null : Integer.valueOf(value.trim());
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.interview.fleet.importer;
+
+import com.interview.fleet.dtos.CarCreateDto;
+import lombok.Value;
+
+/**
+ * One data line of an upload: the parsed car, or why it could not be parsed.
+ */
+@Value
+public class CarImportRow {
+    long line;
+    CarCreateDto car;
+    String error;
+
+    static CarImportRow parsed(long line, CarCreateDto car) {
+        return new CarImportRow(line, car, null);
+    }
+
+    static CarImportRow failed(long line, String error) {
+        return new CarImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,36 @@
+package com.interview.fleet.importer;
+
+import org.springframework.http.MediaType;
+
+public enum ImportFormat {
+    CSV(MediaType.parseMediaType("text/csv")),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"));
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Lookup by the upload's {@code Content-Type}, ignoring parameters such as {@code charset}.
+     */
+    public static ImportFormat of(String contentType) {
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,38 @@
+package com.interview.fleet.index;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "availability.index")
+public class AvailabilityIndexProperties {
+
+    /**
+     * Serve availability searches from the in-memory index when it is warm.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Full reload interval; also bounds drift from writes that bypass the services.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    /**
+     * The index is considered stale (and bypassed) when the last full reload is older than this.
+     */
+    private Duration maxStaleness = Duration.ofMinutes(15);
+
+    /**
+     * How far before the reload time bookings are kept; searches starting earlier go to the database.
+     */
+    private Duration lookback = Duration.ofDays(1);
+
+    /**
+     * Upper bound on ids handed to a follow-up {@code IN (...)} query before falling back to SQL.
+     */
+    private int maxIdsPerLookup = 1000;
+}
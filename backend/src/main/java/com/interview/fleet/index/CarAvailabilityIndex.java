@@ -0,0 +1,264 @@
+package com.interview.fleet.index;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.common.datasource.ReadConsistency;
+import com.interview.fleet.dtos.CarInventoryChangedEvent;
+import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.dto.BookingIntervalRow;
+import com.interview.fleet.repo.dto.CarIndexRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+/**
+ * In-memory availability index: one {@link CarTimeline} of inventory-blocking bookings per car,
+ * plus a location → cars map, so "free cars for model X at location Y in [from, to)" is answered
+ * without the correlated {@code NOT EXISTS} subquery over {@code booking}.
+ * <p>
+ * The index is loaded by a scheduled full reload (the first run doubles as warm-up) and kept current
+ * from {@link BookingInventoryChangedEvent} / {@link CarInventoryChangedEvent} after commit.
+ * Every query returns {@link Optional#empty()} while the index is disabled, warming up, stale,
+ * or when the window starts before the loaded horizon; callers then fall back to the repository.
+ * The index only accelerates searches: claims are always re-validated against the database under lock.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CarAvailabilityIndex {
+
+    private static final Set<BookingStatus> BLOCKING = blockingStatuses();
+
+    private final CarAvailabilityRepository carAvailabilityRepository;
+    private final AvailabilityIndexProperties properties;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Object mutationLock = new Object();
+    private volatile Snapshot snapshot;
+    private List<Consumer<Snapshot>> replayLog;
+
+    /**
+     * Full reload from the database. Mutations that arrive while the reload is running are replayed
+     * onto the new snapshot before it is published. That only works if the load sees every commit made before
+     * the replay log opened, so it always reads from the primary: a lagging replica would lose the bookings
+     * committed within its lag until the next reload.
+     */
+    @Scheduled(fixedDelayString = "#{@availabilityIndexProperties.refreshInterval.toMillis()}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (mutationLock) {
+            replayLog = new ArrayList<>();
+        }
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(Duration.ZERO, null, null)) {
+            Instant builtAt = clock.instant();
+            Instant horizon = builtAt.minus(properties.getLookback());
+            Snapshot next = new Snapshot(builtAt, horizon);
+
+            for (CarIndexRow row : carAvailabilityRepository.findAllForIndex()) {
+                next.put(new IndexedCar(row.getCarId(), row.getCompanyId(), row.getModelId(), row.getLocationId(),
+                        row.getPlateNumber(), row.getStatus(), CarTimeline.EMPTY));
+            }
+            Map<Long, CarTimeline> timelines = new HashMap<>();
+            for (BookingIntervalRow row : carAvailabilityRepository.findBlockingIntervalsEndingAfter(horizon, BLOCKING)) {
+                timelines.compute(row.getCarId(), (carId, timeline) -> (timeline != null ? timeline : CarTimeline.EMPTY)
+                        .with(row.getBookingId(), row.getPickupTime(), row.getReturnTime()));
+            }
+            timelines.forEach((carId, timeline) -> {
+                IndexedCar car = next.cars.get(carId);
+                if (car != null) {
+                    next.cars.put(carId, car.withTimeline(timeline));
+                }
+            });
+
+            synchronized (mutationLock) {
+                replayLog.forEach(mutation -> mutation.accept(next));
+                replayLog = null;
+                snapshot = next;
+            }
+            log.info("Availability index loaded: {} cars, {} blocking bookings", next.cars.size(),
+                    timelines.values().stream().mapToInt(CarTimeline::size).sum());
+        } catch (RuntimeException e) {
+            synchronized (mutationLock) {
+                replayLog = null;
+            }
+            log.error("Availability index reload failed; searches keep using the database", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingInventoryChangedEvent event) {
+        if (event.getBookingId() == null || event.getCarId() == null) {
+            return;
+        }
+        long bookingId = event.getBookingId();
+        boolean blocks = event.getStatus() != null && event.getStatus().blocksInventory();
+        mutate(s -> s.cars.computeIfPresent(event.getCarId(), (id, car) -> car.withTimeline(blocks
+                ? car.getTimeline().with(bookingId, event.getPickupTime(), event.getReturnTime())
+                : car.getTimeline().without(bookingId))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarInventoryChangedEvent event) {
+        if (event.getCarId() == null) {
+            return;
+        }
+        mutate(s -> {
+            IndexedCar existing = s.cars.get(event.getCarId());
+            if (event.isDeleted()) {
+                s.remove(existing);
+                return;
+            }
+            CarTimeline timeline = existing != null ? existing.getTimeline() : CarTimeline.EMPTY;
+            s.remove(existing);
+            s.put(new IndexedCar(event.getCarId(), event.getCompanyId(), event.getModelId(), event.getLocationId(),
+                    event.getPlateNumber(), event.getStatus(), timeline));
+        });
+    }
+
+    /**
+     * Bookable cars without a blocking booking overlapping {@code [from, to)}, sorted by car id.
+     *
+     * @param companyId   company filter, or {@code null} for any
+     * @param modelId     model filter, or {@code null} for any
+     * @param locationIds current-location filter, or {@code null} for any car (including unplaced ones)
+     */
+    public Optional<List<IndexedCar>> findFreeCars(Long companyId, Long modelId, Collection<Long> locationIds,
+                                                   Instant from, Instant to) {
+        Snapshot s = usableSnapshot(from);
+        if (s == null) {
+            return Optional.empty();
+        }
+        Collection<Long> candidates;
+        if (locationIds == null) {
+            candidates = s.cars.keySet();
+        } else {
+            candidates = new HashSet<>();
+            for (Long locationId : locationIds) {
+                candidates.addAll(s.carsByLocation.getOrDefault(locationId, Collections.emptySet()));
+            }
+        }
+        List<IndexedCar> result = new ArrayList<>();
+        for (Long carId : candidates) {
+            IndexedCar car = s.cars.get(carId);
+            if (car == null || !car.isBookable()) continue;
+            if (locationIds != null && !locationIds.contains(car.getLocationId())) continue;
+            if (companyId != null && !companyId.equals(car.getCompanyId())) continue;
+            if (modelId != null && !modelId.equals(car.getModelId())) continue;
+            if (car.getTimeline().isFree(from, to)) {
+                result.add(car);
+            }
+        }
+        result.sort((a, b) -> Long.compare(a.getCarId(), b.getCarId()));
+        return Optional.of(result);
+    }
+
+    /**
+     * Whether the car has no blocking booking overlapping {@code [from, to)}; empty if the index cannot tell.
+     */
+    public Optional<Boolean> isCarFree(Long carId, Instant from, Instant to) {
+        Snapshot s = usableSnapshot(from);
+        if (s == null) {
+            return Optional.empty();
+        }
+        IndexedCar car = s.cars.get(carId);
+        if (car == null) {
+            return Optional.empty();
+        }
+        return Optional.of(car.getTimeline().isFree(from, to));
+    }
+
+    public boolean isReady() {
+        return usableSnapshot(null) != null;
+    }
+
+    public int getMaxIdsPerLookup() {
+        return properties.getMaxIdsPerLookup();
+    }
+
+    private Snapshot usableSnapshot(Instant from) {
+        Snapshot s = snapshot;
+        if (!properties.isEnabled() || s == null) {
+            return null;
+        }
+        if (s.builtAt.plus(properties.getMaxStaleness()).isBefore(clock.instant())) {
+            return null;
+        }
+        if (from != null && from.isBefore(s.horizon)) {
+            return null;
+        }
+        return s;
+    }
+
+    private void mutate(Consumer<Snapshot> mutation) {
+        synchronized (mutationLock) {
+            Snapshot s = snapshot;
+            if (s != null) {
+                mutation.accept(s);
+            }
+            if (replayLog != null) {
+                replayLog.add(mutation);
+            }
+        }
+    }
+
+    private static Set<BookingStatus> blockingStatuses() {
+        EnumSet<BookingStatus> set = EnumSet.noneOf(BookingStatus.class);
+        for (BookingStatus s : BookingStatus.values()) if (s.blocksInventory()) set.add(s);
+        return set;
+    }
+
+    private static final class Snapshot {
+        final Instant builtAt;
+        final Instant horizon;
+        final Map<Long, IndexedCar> cars = new ConcurrentHashMap<>();
+        final Map<Long, Set<Long>> carsByLocation = new ConcurrentHashMap<>();
+
+        Snapshot(Instant builtAt, Instant horizon) {
+            this.builtAt = builtAt;
+            this.horizon = horizon;
+        }
+
+        void put(IndexedCar car) {
+            cars.put(car.getCarId(), car);
+            if (car.getLocationId() != null) {
+                carsByLocation.computeIfAbsent(car.getLocationId(), k -> new ConcurrentSkipListSet<>()).add(car.getCarId());
+            }
+        }
+
+        void remove(IndexedCar car) {
+            if (car == null) {
+                return;
+            }
+            cars.remove(car.getCarId());
+            if (car.getLocationId() != null) {
+                Set<Long> ids = carsByLocation.get(car.getLocationId());
+                if (ids != null) {
+                    ids.remove(car.getCarId());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.interview.fleet.index;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Immutable, sorted interval array of the inventory-blocking bookings of one car.
+ * <p>
+ * Intervals are half-open {@code [pickup, return)} and kept sorted by start, together with a
+ * running maximum of the end values. That makes the overlap test a single binary search even if
+ * the data contains overlapping intervals. Times are stored as epoch microseconds, which is the
+ * precision of the {@code TIMESTAMP} columns they are loaded from.
+ */
+public final class CarTimeline {
+
+    public static final CarTimeline EMPTY = new CarTimeline(new long[0], new long[0], new long[0], new long[0]);
+
+    private final long[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private CarTimeline(long[] bookingIds, long[] starts, long[] ends, long[] maxEnds) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = maxEnds;
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * True if no interval overlaps {@code [from, to)}; same predicate as the repository queries
+     * ({@code pickupTime < to and returnTime > from}).
+     */
+    public boolean isFree(Instant from, Instant to) {
+        long f = floorMicros(from);
+        long t = ceilMicros(to);
+        int last = lastStartBefore(t);
+        return last < 0 || maxEnds[last] <= f;
+    }
+
+    /**
+     * Returns a timeline with the booking added, replacing any previous interval of the same booking.
+     */
+    public CarTimeline with(long bookingId, Instant pickup, Instant ret) {
+        CarTimeline base = without(bookingId);
+        long s = floorMicros(pickup);
+        long e = ceilMicros(ret);
+        int n = base.starts.length;
+        int pos = base.lastStartBefore(s + 1) + 1;
+
+        long[] ids = new long[n + 1];
+        long[] ss = new long[n + 1];
+        long[] es = new long[n + 1];
+        System.arraycopy(base.bookingIds, 0, ids, 0, pos);
+        System.arraycopy(base.starts, 0, ss, 0, pos);
+        System.arraycopy(base.ends, 0, es, 0, pos);
+        ids[pos] = bookingId;
+        ss[pos] = s;
+        es[pos] = e;
+        System.arraycopy(base.bookingIds, pos, ids, pos + 1, n - pos);
+        System.arraycopy(base.starts, pos, ss, pos + 1, n - pos);
+        System.arraycopy(base.ends, pos, es, pos + 1, n - pos);
+        return new CarTimeline(ids, ss, es, runningMax(es));
+    }
+
+    /**
+     * Returns a timeline without the given booking, or {@code this} if it is not present.
+     */
+    public CarTimeline without(long bookingId) {
+        int idx = -1;
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                idx = i;
+                break;
+            }
+        }
+        if (idx < 0) {
+            return this;
+        }
+        int n = bookingIds.length - 1;
+        if (n == 0) {
+            return EMPTY;
+        }
+        long[] ids = new long[n];
+        long[] ss = new long[n];
+        long[] es = new long[n];
+        System.arraycopy(bookingIds, 0, ids, 0, idx);
+        System.arraycopy(starts, 0, ss, 0, idx);
+        System.arraycopy(ends, 0, es, 0, idx);
+        System.arraycopy(bookingIds, idx + 1, ids, idx, n - idx);
+        System.arraycopy(starts, idx + 1, ss, idx, n - idx);
+        System.arraycopy(ends, idx + 1, es, idx, n - idx);
+        return new CarTimeline(ids, ss, es, runningMax(es));
+    }
+
+    private int lastStartBefore(long t) {
+        int idx = Arrays.binarySearch(starts, t);
+        if (idx >= 0) {
+            // step back over equal starts; the interval starting at t does not overlap [.., t)
+            while (idx > 0 && starts[idx - 1] == t) idx--;
+            return idx - 1;
+        }
+        return -idx - 2;
+    }
+
+    private static long[] runningMax(long[] values) {
+        long[] max = new long[values.length];
+        long m = Long.MIN_VALUE;
+        for (int i = 0; i < values.length; i++) {
+            m = Math.max(m, values[i]);
+            max[i] = m;
+        }
+        return max;
+    }
+
+    static long floorMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    static long ceilMicros(Instant instant) {
+        long micros = floorMicros(instant);
+        return instant.getNano() % 1_000 == 0 ? micros : micros + 1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.fleet.index;
+
+import com.interview.fleet.domain.CarStatus;
+import lombok.Value;
+import lombok.With;
+
+/**
+ * Immutable snapshot of the car attributes the availability searches filter on, plus its booking timeline.
+ */
+@Value
+@With
+public class IndexedCar {
+    Long carId;
+    Long companyId;
+    Long modelId;
+    Long locationId;
+    String plateNumber;
+    CarStatus status;
+    CarTimeline timeline;
+
+    public boolean isBookable() {
+        return status != CarStatus.MAINTENANCE;
+    }
+}
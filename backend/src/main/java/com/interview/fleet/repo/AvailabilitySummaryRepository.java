@@ -0,0 +1,43 @@
+package com.interview.fleet.repo;
+
+import com.interview.fleet.domain.AvailabilitySummary;
+import com.interview.fleet.repo.dto.ModelAvailabilityRow;
+import com.interview.fleet.repo.dto.SummaryBucketRow;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AvailabilitySummaryRepository extends JpaRepository<AvailabilitySummary, Long> {
+
+    List<AvailabilitySummary> findByLocationIdAndModelIdAndDayBetween(Long locationId, Long modelId,
+                                                                      LocalDate from, LocalDate to);
+
+    /**
+     * Models with a free car on every day of {@code [from, to]}, with the smallest daily free count.
+     * Reads {@code (models × days)} rows of one location; {@code days} are the number of days asked for, so a
+     * model missing a row for some day (none placed there, or past the horizon) is left out.
+     */
+    @Query("select new com.interview.fleet.repo.dto.ModelAvailabilityRow(s.modelId, min(s.freeCars)) " +
+            "from AvailabilitySummary s " +
+            "where s.locationId = :locationId " +
+            "  and s.day between :from and :to " +
+            "group by s.modelId " +
+            "having min(s.freeCars) > 0 and count(s) = :days " +
+            "order by s.modelId")
+    List<ModelAvailabilityRow> findAvailableModels(@Param("locationId") Long locationId,
+                                                   @Param("from") LocalDate from,
+                                                   @Param("to") LocalDate to,
+                                                   @Param("days") long days);
+
+    @Query("select distinct new com.interview.fleet.repo.dto.SummaryBucketRow(s.locationId, s.modelId) " +
+            "from AvailabilitySummary s")
+    List<SummaryBucketRow> findAllBuckets();
+
+    @Modifying
+    @Query("delete from AvailabilitySummary s where s.day < :day")
+    int deleteBefore(@Param("day") LocalDate day);
+}
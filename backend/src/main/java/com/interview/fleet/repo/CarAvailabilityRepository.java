@@ -2,6 +2,8 @@ package com.interview.fleet.repo;
 
 import com.interview.booking.domain.BookingStatus;
 import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.dto.BookingIntervalRow;
+import com.interview.fleet.repo.dto.CarIndexRow;
 import com.interview.fleet.repo.dto.CarInfoDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,6 +14,7 @@ import org.springframework.data.repository.query.Param;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface CarAvailabilityRepository extends Repository<Car, Long> {
@@ -117,6 +120,35 @@ public interface CarAvailabilityRepository extends Repository<Car, Long> {
             @Param("activeStatuses") Set<BookingStatus> BookingStatus,
             Pageable pageable);
 
+    /**
+     * Keyset variant of {@link #findAvailableCars}: ordered by plate number (unique) then id, starting after
+     * {@code (afterPlate, afterId)}, or from the start when {@code afterPlate} is null. No count query.
+     */
+    @Query("select new com.interview.fleet.repo.dto.CarInfoDto( " +
+            "c.id, c.plateNumber, c.status, " +
+            "m.make, m.model, co.name, loc.name) " +
+            "from Car c " +
+            "join c.model m " +
+            "join c.company co " +
+            "left join c.currentLocation loc " +
+            "where (:locationId is null or loc.id = :locationId) " +
+            "and c.status <> com.interview.fleet.domain.CarStatus.MAINTENANCE " +
+            "and (:afterPlate is null or c.plateNumber > :afterPlate " +
+            "     or (c.plateNumber = :afterPlate and c.id > :afterId)) " +
+            "and not exists ( " +
+            "select b.id from com.interview.booking.domain.Booking b  " +
+            "where b.car = c " +
+            "and b.status in (:activeStatuses) " +
+            "and b.pickupTime < :to and b.returnTime > :from) " +
+            "order by c.plateNumber, c.id")
+    List<CarInfoDto> findAvailableCarsAfter(@Param("locationId") Long locationId,
+                                            @Param("from") Instant from,
+                                            @Param("to") Instant to,
+                                            @Param("activeStatuses") Set<BookingStatus> activeStatuses,
+                                            @Param("afterPlate") String afterPlate,
+                                            @Param("afterId") Long afterId,
+                                            Pageable limit);
+
     @Query(
             "select c.id " +
                     "from Car c " +
@@ -158,6 +190,30 @@ public interface CarAvailabilityRepository extends Repository<Car, Long> {
                                       Pageable pageable);
 
 
+    /**
+     * Keyset variant of {@link #findAvailableCarsByCity}, ordered by plate number then id.
+     */
+    @Query("select c from Car c " +
+            "join c.currentLocation loc " +
+            "where lower(loc.city) = lower(:city) " +
+            "and c.status <> com.interview.fleet.domain.CarStatus.MAINTENANCE " +
+            "and (:afterPlate is null or c.plateNumber > :afterPlate " +
+            "     or (c.plateNumber = :afterPlate and c.id > :afterId)) " +
+            "and not exists ( " +
+            "   select b.id from com.interview.booking.domain.Booking b " +
+            "   where b.car = c " +
+            "     and b.status in (:activeStatuses) " +
+            "     and b.pickupTime < :to and b.returnTime > :from " +
+            ") " +
+            "order by c.plateNumber, c.id")
+    List<Car> findAvailableCarsByCityAfter(@Param("city") String city,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to,
+                                           @Param("activeStatuses") Set<BookingStatus> activeStatuses,
+                                           @Param("afterPlate") String afterPlate,
+                                           @Param("afterId") Long afterId,
+                                           Pageable limit);
+
     @Query("select (count(b) > 0) from Booking b " +
             "where b.car.id = :carId " +
             "and b.status in :statuses " +
@@ -169,6 +225,17 @@ public interface CarAvailabilityRepository extends Repository<Car, Long> {
                                        @Param("to") Instant to,
                                        @Param("statuses") Collection<BookingStatus> statuses);
 
+    @Query("select b.car.id from Booking b " +
+            "where b.car.id in (:carIds) " +
+            "and b.status in (:statuses) " +
+            "and b.pickupTime < :to " +
+            "and b.returnTime > :from " +
+            "group by b.car.id")
+    List<Long> findCarIdsWithActiveInPeriod(@Param("carIds") Collection<Long> carIds,
+                                            @Param("from") Instant from,
+                                            @Param("to") Instant to,
+                                            @Param("statuses") Collection<BookingStatus> statuses);
+
     @Query("select (count(b) > 0) from Booking b " +
             "where b.car.id = :carId " +
             "  and b.status in (:statuses) " +
@@ -177,5 +244,56 @@ public interface CarAvailabilityRepository extends Repository<Car, Long> {
                                       @Param("now") Instant now,
                                       @Param("statuses") Collection<BookingStatus> statuses);
 
+    @Query("select new com.interview.fleet.repo.dto.CarIndexRow( " +
+            "c.id, c.company.id, c.model.id, loc.id, c.plateNumber, c.status) " +
+            "from Car c " +
+            "left join c.currentLocation loc")
+    List<CarIndexRow> findAllForIndex();
+
+    @Query("select new com.interview.fleet.repo.dto.BookingIntervalRow( " +
+            "b.id, b.car.id, b.pickupTime, b.returnTime) " +
+            "from Booking b " +
+            "where b.status in (:statuses) " +
+            "  and b.returnTime > :horizon")
+    List<BookingIntervalRow> findBlockingIntervalsEndingAfter(@Param("horizon") Instant horizon,
+                                                              @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query("select new com.interview.fleet.repo.dto.CarIndexRow( " +
+            "c.id, c.company.id, c.model.id, loc.id, c.plateNumber, c.status) " +
+            "from Car c " +
+            "left join c.currentLocation loc " +
+            "where c.id = :carId")
+    Optional<CarIndexRow> findIndexRowById(@Param("carId") Long carId);
+
+    @Query("select c.id from Car c " +
+            "where c.currentLocation.id = :locationId " +
+            "  and c.model.id = :modelId " +
+            "  and c.status <> com.interview.fleet.domain.CarStatus.MAINTENANCE")
+    List<Long> findBookableCarIds(@Param("locationId") Long locationId, @Param("modelId") Long modelId);
+
+    @Query("select new com.interview.fleet.repo.dto.BookingIntervalRow( " +
+            "b.id, b.car.id, b.pickupTime, b.returnTime) " +
+            "from Booking b " +
+            "where b.car.id in (:carIds) " +
+            "  and b.status in (:statuses) " +
+            "  and b.pickupTime < :to " +
+            "  and b.returnTime > :from")
+    List<BookingIntervalRow> findBlockingIntervalsForCars(@Param("carIds") Collection<Long> carIds,
+                                                          @Param("from") Instant from,
+                                                          @Param("to") Instant to,
+                                                          @Param("statuses") Collection<BookingStatus> statuses);
+
+    @Query(value = "select new com.interview.fleet.repo.dto.CarInfoDto( " +
+            "c.id, c.plateNumber, c.status, " +
+            "m.make, m.model, co.name, loc.name) " +
+            "from Car c " +
+            "join c.model m " +
+            "join c.company co " +
+            "left join c.currentLocation loc " +
+            "where c.id in (:ids) " +
+            "order by m.make, m.model, c.plateNumber ",
+            countQuery = "select count(c) from Car c where c.id in (:ids)")
+    Page<CarInfoDto> findCarInfoByIds(@Param("ids") Collection<Long> ids, Pageable pageable);
+
 
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.interview.fleet.repo;
 
+import com.interview.booking.domain.BookingStatus;
 import com.interview.fleet.domain.Car;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,7 +9,11 @@ import org.springframework.data.repository.query.Param;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CarRepository extends JpaRepository<Car, Long> {
 
@@ -28,4 +33,26 @@ public interface CarRepository extends JpaRepository<Car, Long> {
     @Query("select c from Car c where c.id = :id")
     Optional<Car> lockByIdForUpdate(@Param("id") Long id);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("select c from Car c " +
+            "where c.model.id = :modelId " +
+            "and (:locationId is null or c.currentLocation.id = :locationId) " +
+            "and c.status <> com.interview.fleet.domain.CarStatus.MAINTENANCE " +
+            "and c.id not in (:excludedIds) " +
+            "and not exists ( " +
+            "select b.id from Booking b " +
+            "where b.car = c " +
+            "and b.status in (:activeStatuses) " +
+            "and b.pickupTime < :to " +
+            "and b.returnTime > :from) " +
+            "order by c.id asc")
+    List<Car> lockFirstFreeSkipLocked(@Param("modelId") Long modelId,
+                                      @Param("locationId") Long locationId,
+                                      @Param("from") Instant from,
+                                      @Param("to") Instant to,
+                                      @Param("activeStatuses") Set<BookingStatus> activeStatuses,
+                                      @Param("excludedIds") Collection<Long> excludedIds,
+                                      Pageable limit);
+
 }
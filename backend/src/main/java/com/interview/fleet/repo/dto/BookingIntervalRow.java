@@ -0,0 +1,13 @@
+package com.interview.fleet.repo.dto;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class BookingIntervalRow {
+    Long bookingId;
+    Long carId;
+    Instant pickupTime;
+    Instant returnTime;
+}
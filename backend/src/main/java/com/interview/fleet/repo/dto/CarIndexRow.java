@@ -0,0 +1,14 @@
+package com.interview.fleet.repo.dto;
+
+import com.interview.fleet.domain.CarStatus;
+import lombok.Value;
+
+@Value
+public class CarIndexRow {
+    Long carId;
+    Long companyId;
+    Long modelId;
+    Long locationId;
+    String plateNumber;
+    CarStatus status;
+}
@@ -0,0 +1,9 @@
+package com.interview.fleet.repo.dto;
+
+import lombok.Value;
+
+@Value
+public class ModelAvailabilityRow {
+    Long modelId;
+    Integer availableCars;
+}
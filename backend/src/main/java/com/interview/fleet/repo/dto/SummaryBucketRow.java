@@ -0,0 +1,9 @@
+package com.interview.fleet.repo.dto;
+
+import lombok.Value;
+
+@Value
+public class SummaryBucketRow {
+    Long locationId;
+    Long modelId;
+}
@@ -1,14 +1,21 @@
 package com.interview.fleet.service;
 
 import com.interview.catalog.dto.CarModelResponseDto;
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
+import com.interview.fleet.dtos.AvailabilityCheckDto;
+import com.interview.fleet.dtos.AvailabilityCheckResultDto;
 import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.dtos.ModelAvailabilityDto;
 import com.interview.fleet.repo.dto.CarInfoDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service interface for car availability operations.
@@ -20,6 +27,11 @@ public interface CarAvailabilityService {
      */
     Page<CarInfoDto> searchAvailable(Long locationId, Instant from, Instant to, Pageable pageable);
 
+    /**
+     * Search for available cars at a location within a time window with keyset pagination, ordered by plate number.
+     */
+    CursorPageResponse<CarInfoDto> searchAvailable(Long locationId, Instant from, Instant to, String cursor, int size);
+
     /**
      * Find available car models at a specific location for a company.
      */
@@ -32,6 +44,13 @@ public interface CarAvailabilityService {
     PageResponse<CarModelResponseDto> availableModelsInCityForCompany(
             Long companyId, String city, Instant from, Instant to, Pageable pageable);
 
+    /**
+     * Models with a free car at a location on every day of {@code [from, to]} (UTC days), with the smallest daily
+     * free count, read from the materialized availability summary.
+     */
+    PageResponse<ModelAvailabilityDto> availableModelsSummaryAtLocation(
+            Long locationId, LocalDate from, LocalDate to, Pageable pageable);
+
     /**
      * Get available cars by model at a specific location.
      */
@@ -44,6 +63,12 @@ public interface CarAvailabilityService {
     PageResponse<CarResponseDto> findAvailableCarsByCity(
             String city, Instant from, Instant to, Pageable pageable);
 
+    /**
+     * Find available cars in a specific city with keyset pagination, ordered by plate number.
+     */
+    CursorPageResponse<CarResponseDto> findAvailableCarsByCity(
+            String city, Instant from, Instant to, String cursor, int size);
+
     /**
      * Find available car IDs for booking operations (internal use).
      */
@@ -53,4 +78,14 @@ public interface CarAvailabilityService {
      * Check if a specific car is available for the given time period.
      */
     boolean isCarAvailable(Long carId, Instant from, Instant to);
+
+    /**
+     * Check many cars against the same time period; the result maps every requested car ID to its availability.
+     */
+    Map<Long, Boolean> availabilityFor(Collection<Long> carIds, Instant from, Instant to);
+
+    /**
+     * Check many (car, time period) pairs at once; results are returned in request order.
+     */
+    List<AvailabilityCheckResultDto> checkAvailability(List<AvailabilityCheckDto> checks);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.interview.fleet.service;
+
+import com.interview.fleet.dtos.CarImportReportDto;
+import com.interview.fleet.importer.ImportFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk fleet onboarding from an upload read as it arrives, for fleets too large for one {@code addCar} per car.
+ */
+public interface CarImportService {
+
+    /**
+     * Add every valid car of a CSV or NDJSON upload. Rows that fail parsing, validation, reference or uniqueness
+     * checks are skipped and listed in the report; the rest are committed chunk by chunk.
+     */
+    CarImportReportDto importCars(InputStream in, ImportFormat format) throws IOException;
+}
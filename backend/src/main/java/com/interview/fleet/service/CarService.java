@@ -39,6 +39,11 @@ public interface CarService {
      */
     void deleteCar(Long carId);
 
+    /**
+     * Get car entity by ID without locking it (internal use for booking service).
+     */
+    com.interview.fleet.domain.Car getEntityById(Long id);
+
     /**
      * Lock car by ID for update operations (internal use for booking service).
      */
@@ -6,12 +6,23 @@ import com.interview.catalog.dto.CarModelResponseDto;
 import com.interview.catalog.mapper.CarModelMapper;
 import com.interview.catalog.repo.CarModelRepository;
 import com.interview.common.annotation.Loggable;
+import com.interview.common.web.Cursor;
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
+import com.interview.company.repo.RentalLocationRepository;
 import com.interview.fleet.domain.Car;
+import com.interview.fleet.dtos.AvailabilityCheckDto;
+import com.interview.fleet.dtos.AvailabilityCheckResultDto;
 import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.dtos.ModelAvailabilityDto;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import com.interview.fleet.index.IndexedCar;
 import com.interview.fleet.mapper.CarMapper;
+import com.interview.fleet.repo.AvailabilitySummaryRepository;
 import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.CarRepository;
 import com.interview.fleet.repo.dto.CarInfoDto;
+import com.interview.fleet.repo.dto.ModelAvailabilityRow;
 import com.interview.fleet.service.CarAvailabilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -19,9 +30,24 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Loggable(logParams = true, logResult = false)
@@ -29,22 +55,60 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class CarAvailabilityServiceImpl implements CarAvailabilityService {
 
+    private static final Comparator<IndexedCar> BY_PLATE =
+            Comparator.comparing(IndexedCar::getPlateNumber).thenComparing(IndexedCar::getCarId);
+
     private final CarAvailabilityRepository carAvailabilityRepository;
     private final CarModelRepository carModelRepository;
     private final CarModelMapper carModelMapper;
     private final CarMapper carMapper;
+    private final CarAvailabilityIndex carAvailabilityIndex;
+    private final CarRepository carRepository;
+    private final RentalLocationRepository rentalLocationRepository;
+    private final AvailabilitySummaryRepository availabilitySummaryRepository;
 
     @Override
     public Page<CarInfoDto> searchAvailable(Long locationId, Instant from, Instant to, Pageable pageable) {
+        Optional<List<IndexedCar>> indexed = carAvailabilityIndex.findFreeCars(
+                null, null, locationId != null ? Collections.singleton(locationId) : null, from, to);
+        if (indexed.isPresent() && indexed.get().isEmpty()) {
+            return Page.empty(pageable);
+        }
+        if (indexed.isPresent() && indexed.get().size() <= maxIdsPerLookup()) {
+            return carAvailabilityRepository.findCarInfoByIds(carIds(indexed.get()), pageable);
+        }
         return carAvailabilityRepository.findAvailableCars(locationId, from, to, BookingStatus.activeSet(), pageable);
     }
 
+    /**
+     * Keyset pages are small, so the index answer is always narrowed to one page of ids before touching the
+     * database; the SQL fallback seeks on {@code (plate_number, id)} without a count query.
+     */
+    @Override
+    public CursorPageResponse<CarInfoDto> searchAvailable(Long locationId, Instant from, Instant to,
+                                                          String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = CursorPageResponse.fetchLimit(size);
+        List<CarInfoDto> rows = carAvailabilityIndex.findFreeCars(
+                        null, null, locationId != null ? Collections.singleton(locationId) : null, from, to)
+                .map(cars -> carIds(seek(cars, after, limit.getPageSize())))
+                .map(ids -> ids.isEmpty() ? Collections.<CarInfoDto>emptyList() : carAvailabilityRepository
+                        .findCarInfoByIds(ids, Pageable.unpaged()).stream()
+                        .sorted(Comparator.comparing(CarInfoDto::getPlateNumber).thenComparing(CarInfoDto::getCarId))
+                        .collect(Collectors.toList()))
+                .orElseGet(() -> carAvailabilityRepository.findAvailableCarsAfter(locationId, from, to,
+                        BookingStatus.activeSet(), afterKey(after), afterId(after), limit));
+        return CursorPageResponse.from(rows, size, row -> Cursor.after(row.getPlateNumber(), row.getCarId()));
+    }
+
     @Override
     public PageResponse<CarModelResponseDto> availableModelsAtLocationForCompany(
             Long companyId, Long locationId, Instant from, Instant to, Pageable pageable) {
 
-        Page<Long> ids = carAvailabilityRepository.findAvailableModelIdsAtLocationForCompany(
-                companyId, locationId, from, to, BookingStatus.activeSet(), pageable);
+        Page<Long> ids = carAvailabilityIndex.findFreeCars(companyId, null, Collections.singleton(locationId), from, to)
+                .map(cars -> slice(distinctModelIds(cars), pageable))
+                .orElseGet(() -> carAvailabilityRepository.findAvailableModelIdsAtLocationForCompany(
+                        companyId, locationId, from, to, BookingStatus.activeSet(), pageable));
         List<CarModel> content = carModelRepository.findAllById(ids.getContent());
         Page<CarModel> page = new PageImpl<>(content, pageable, ids.getTotalElements());
 
@@ -61,8 +125,10 @@ public class CarAvailabilityServiceImpl implements CarAvailabilityService {
     public PageResponse<CarModelResponseDto> availableModelsInCityForCompany(
             Long companyId, String city, Instant from, Instant to, Pageable pageable) {
 
-        Page<Long> ids = carAvailabilityRepository.findAvailableModelIdsInCityForCompany(
-                companyId, city, from, to, BookingStatus.activeSet(), pageable);
+        Page<Long> ids = freeCarsInCity(companyId, city, from, to)
+                .map(cars -> slice(distinctModelIds(cars), pageable))
+                .orElseGet(() -> carAvailabilityRepository.findAvailableModelIdsInCityForCompany(
+                        companyId, city, from, to, BookingStatus.activeSet(), pageable));
         List<CarModel> content = carModelRepository.findAllById(ids.getContent());
         Page<CarModel> page = new PageImpl<>(content, pageable, ids.getTotalElements());
 
@@ -75,12 +141,39 @@ public class CarAvailabilityServiceImpl implements CarAvailabilityService {
         );
     }
 
+    @Override
+    public PageResponse<ModelAvailabilityDto> availableModelsSummaryAtLocation(
+            Long locationId, LocalDate from, LocalDate to, Pageable pageable) {
+
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        Page<ModelAvailabilityRow> rows = slice(
+                availabilitySummaryRepository.findAvailableModels(locationId, from, to, days), pageable);
+        Map<Long, CarModel> models = carModelRepository.findAllById(
+                        rows.map(ModelAvailabilityRow::getModelId).getContent()).stream()
+                .collect(Collectors.toMap(CarModel::getId, Function.identity()));
+        Page<ModelAvailabilityDto> page = rows
+                .map(row -> new ModelAvailabilityDto(
+                        carModelMapper.toResponse(models.get(row.getModelId())), row.getAvailableCars()));
+
+        return new PageResponse<>(
+                page.getContent().stream().filter(dto -> dto.getModel() != null).collect(Collectors.toList()),
+                page.getNumber(),
+                page.getSize(),
+                page.getTotalElements(),
+                page.getTotalPages()
+        );
+    }
+
     @Override
     public PageResponse<CarResponseDto> getAvailableCarsByModelAtLocation(
             Long modelId, Long locationId, Instant from, Instant to, Pageable pageable) {
 
-        Page<Car> page = carAvailabilityRepository.findAvailableCarsByModelAtLocation(
-                modelId, locationId, from, to, BookingStatus.activeSet(), pageable);
+        Page<Car> page = carAvailabilityIndex.findFreeCars(null, modelId, Collections.singleton(locationId), from, to)
+                .map(cars -> loadCars(cars.stream()
+                        .sorted(Comparator.comparing(IndexedCar::getPlateNumber))
+                        .collect(Collectors.toList()), pageable))
+                .orElseGet(() -> carAvailabilityRepository.findAvailableCarsByModelAtLocation(
+                        modelId, locationId, from, to, BookingStatus.activeSet(), pageable));
 
         return new PageResponse<>(
                 page.map(carMapper::toResponse).getContent(),
@@ -95,8 +188,10 @@ public class CarAvailabilityServiceImpl implements CarAvailabilityService {
     public PageResponse<CarResponseDto> findAvailableCarsByCity(
             String city, Instant from, Instant to, Pageable pageable) {
 
-        Page<Car> page = carAvailabilityRepository.findAvailableCarsByCity(
-                city, from, to, BookingStatus.activeSet(), pageable);
+        Page<Car> page = freeCarsInCity(null, city, from, to)
+                .map(cars -> loadCars(cars, pageable))
+                .orElseGet(() -> carAvailabilityRepository.findAvailableCarsByCity(
+                        city, from, to, BookingStatus.activeSet(), pageable));
 
         return new PageResponse<>(
                 page.map(carMapper::toResponse).getContent(),
@@ -107,15 +202,160 @@ public class CarAvailabilityServiceImpl implements CarAvailabilityService {
         );
     }
 
+    @Override
+    public CursorPageResponse<CarResponseDto> findAvailableCarsByCity(
+            String city, Instant from, Instant to, String cursor, int size) {
+
+        Cursor after = Cursor.decode(cursor);
+        Pageable limit = CursorPageResponse.fetchLimit(size);
+        List<Car> rows = freeCarsInCity(null, city, from, to)
+                .map(cars -> loadCars(seek(cars, after, limit.getPageSize()), Pageable.unpaged()).getContent())
+                .orElseGet(() -> carAvailabilityRepository.findAvailableCarsByCityAfter(city, from, to,
+                        BookingStatus.activeSet(), afterKey(after), afterId(after), limit));
+        return CursorPageResponse.from(rows, size, car -> Cursor.after(car.getPlateNumber(), car.getId()))
+                .map(carMapper::toResponse);
+    }
+
     // Internal method for booking service - returns raw IDs for performance
     @Override
     public List<Long> findAvailableCarIds(Long modelId, Long locationId, Instant from, Instant to, Pageable limit) {
-        return carAvailabilityRepository.findAvailableCarIds(
-                modelId, locationId, from, to, BookingStatus.activeSet(), limit);
+        return carAvailabilityIndex.findFreeCars(
+                        null, modelId, locationId != null ? Collections.singleton(locationId) : null, from, to)
+                .map(cars -> slice(carIds(cars), limit).getContent())
+                .orElseGet(() -> carAvailabilityRepository.findAvailableCarIds(
+                        modelId, locationId, from, to, BookingStatus.activeSet(), limit));
     }
 
+    /**
+     * Callers holding a row lock in a read-write transaction (the booking claim path) always get the
+     * database answer; the index is only consulted for plain reads.
+     */
     @Override
     public boolean isCarAvailable(Long carId, Instant from, Instant to) {
+        if (!inReadWriteTransaction()) {
+            Optional<Boolean> indexed = carAvailabilityIndex.isCarFree(carId, from, to);
+            if (indexed.isPresent()) {
+                return indexed.get();
+            }
+        }
         return !carAvailabilityRepository.existsActiveForCarInPeriod(carId, from, to, BookingStatus.activeSet());
     }
+
+    /**
+     * Cars the index can answer for are resolved in memory (outside read-write transactions, as above);
+     * the rest go to the database as one grouped {@code car_id IN (...)} query per chunk of
+     * {@code maxIdsPerLookup} ids.
+     */
+    @Override
+    public Map<Long, Boolean> availabilityFor(Collection<Long> carIds, Instant from, Instant to) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        List<Long> unresolved = new ArrayList<>();
+        boolean useIndex = !inReadWriteTransaction();
+        for (Long carId : carIds) {
+            if (carId == null || result.containsKey(carId)) {
+                continue;
+            }
+            Optional<Boolean> indexed = useIndex ? carAvailabilityIndex.isCarFree(carId, from, to) : Optional.empty();
+            result.put(carId, indexed.orElse(true));
+            if (!indexed.isPresent()) {
+                unresolved.add(carId);
+            }
+        }
+        int chunk = Math.max(1, maxIdsPerLookup());
+        for (int start = 0; start < unresolved.size(); start += chunk) {
+            List<Long> ids = unresolved.subList(start, Math.min(start + chunk, unresolved.size()));
+            carAvailabilityRepository.findCarIdsWithActiveInPeriod(ids, from, to, BookingStatus.activeSet())
+                    .forEach(busy -> result.put(busy, false));
+        }
+        return result;
+    }
+
+    @Override
+    public List<AvailabilityCheckResultDto> checkAvailability(List<AvailabilityCheckDto> checks) {
+        Map<List<Instant>, List<AvailabilityCheckDto>> byWindow = checks.stream()
+                .collect(Collectors.groupingBy(c -> Arrays.asList(c.getFrom(), c.getTo()),
+                        LinkedHashMap::new, Collectors.toList()));
+
+        Map<List<Instant>, Map<Long, Boolean>> answers = new HashMap<>();
+        byWindow.forEach((window, group) -> answers.put(window, availabilityFor(
+                group.stream().map(AvailabilityCheckDto::getCarId).collect(Collectors.toList()),
+                window.get(0), window.get(1))));
+
+        return checks.stream()
+                .map(c -> new AvailabilityCheckResultDto(c.getCarId(), c.getFrom(), c.getTo(),
+                        answers.get(Arrays.asList(c.getFrom(), c.getTo())).get(c.getCarId())))
+                .collect(Collectors.toList());
+    }
+
+    private Optional<List<IndexedCar>> freeCarsInCity(Long companyId, String city, Instant from, Instant to) {
+        if (!carAvailabilityIndex.isReady()) {
+            return Optional.empty();
+        }
+        List<Long> locationIds = rentalLocationRepository.findIdsByCity(city, companyId);
+        return carAvailabilityIndex.findFreeCars(companyId, null, locationIds, from, to);
+    }
+
+    private Page<Car> loadCars(List<IndexedCar> ordered, Pageable pageable) {
+        Page<Long> ids = slice(carIds(ordered), pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Car> byId = carRepository.findAllById(ids.getContent()).stream()
+                .collect(Collectors.toMap(Car::getId, Function.identity()));
+        List<Car> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
+    }
+
+    private int maxIdsPerLookup() {
+        return carAvailabilityIndex.getMaxIdsPerLookup();
+    }
+
+    /**
+     * The in-memory counterpart of the {@code (plate_number, id) > cursor} seek.
+     */
+    private static List<IndexedCar> seek(List<IndexedCar> cars, Cursor after, int limit) {
+        return cars.stream()
+                .filter(car -> after == null || isAfter(car, after))
+                .sorted(BY_PLATE)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isAfter(IndexedCar car, Cursor after) {
+        int byPlate = car.getPlateNumber().compareTo(after.getKey());
+        return byPlate > 0 || (byPlate == 0 && car.getCarId() > after.getId());
+    }
+
+    private static String afterKey(Cursor after) {
+        return after != null ? after.getKey() : null;
+    }
+
+    private static Long afterId(Cursor after) {
+        return after != null ? after.getId() : null;
+    }
+
+    private static List<Long> carIds(List<IndexedCar> cars) {
+        return cars.stream().map(IndexedCar::getCarId).collect(Collectors.toList());
+    }
+
+    private static List<Long> distinctModelIds(List<IndexedCar> cars) {
+        return cars.stream().map(IndexedCar::getModelId).distinct().sorted().collect(Collectors.toList());
+    }
+
+    private static <T> Page<T> slice(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        int start = (int) Math.min(pageable.getOffset(), all.size());
+        int end = Math.min(start + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(start, end), pageable, all.size());
+    }
+
+    private static boolean inReadWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,300 @@
+package com.interview.fleet.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.fleet.domain.CarStatus;
+import com.interview.fleet.dtos.CarCreateDto;
+import com.interview.fleet.dtos.CarImportErrorDto;
+import com.interview.fleet.dtos.CarImportReportDto;
+import com.interview.fleet.dtos.CarInventoryChangedEvent;
+import com.interview.fleet.importer.CarImportProperties;
+import com.interview.fleet.importer.CarImportReader;
+import com.interview.fleet.importer.CarImportRow;
+import com.interview.fleet.importer.ImportFormat;
+import com.interview.fleet.service.CarImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Works through the upload in chunks of {@code fleet.import.batch-size} rows. Per chunk, references not seen
+ * earlier in the upload are resolved with one query per table, VINs and plates are checked with one query each,
+ * and the surviving cars are inserted as a single JDBC batch and committed. Cars go in through plain JDBC rather
+ * than JPA: Hibernate cannot batch inserts of {@code IDENTITY} ids, and nothing here needs managed entities.
+ * <p>
+ * Known company, model and location ids are kept for the whole import, so memory grows with the number of distinct
+ * references. VINs and plates are only compared within a chunk: a repeat of a row committed by an earlier chunk
+ * is caught by the database check, so nothing in the import grows with the number of rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CarImportServiceImpl implements CarImportService {
+
+    private static final String INSERT_CAR = "insert into car (company_id, model_id, current_location_id, vin, " +
+            "plate_number, mileage_km, daily_price_in_cents, status, created_date, updated_date, deleted, version) " +
+            "values (:companyId, :modelId, :locationId, :vin, :plateNumber, :mileageKm, :pricePerDay, :status, " +
+            "current_timestamp, current_timestamp, false, 0)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CarImportProperties properties;
+
+    @Override
+    public CarImportReportDto importCars(InputStream in, ImportFormat format) throws IOException {
+        Import run = new Import();
+        try (CarImportReader reader = new CarImportReader(in, format, objectMapper)) {
+            List<CarImportRow> chunk = new ArrayList<>(properties.getBatchSize());
+            for (CarImportRow row = reader.next(); row != null; row = reader.next()) {
+                chunk.add(row);
+                if (chunk.size() >= properties.getBatchSize()) {
+                    process(chunk, run);
+                    chunk.clear();
+                }
+            }
+            process(chunk, run);
+        }
+        CarImportReportDto report = run.report;
+        // each chunk reports parse and validation errors before the checks that need the database
+        report.getErrors().sort(Comparator.comparingLong(CarImportErrorDto::getLine));
+        log.info("Imported {} of {} cars from {} upload, {} rows failed",
+                report.getImported(), report.getRows(), format, report.getFailed());
+        return report;
+    }
+
+    private void process(List<CarImportRow> rows, Import run) {
+        List<CarImportRow> valid = new ArrayList<>(rows.size());
+        for (CarImportRow row : rows) {
+            run.report.setRows(run.report.getRows() + 1);
+            String error = row.getError() != null ? row.getError() : validate(row.getCar());
+            if (error != null) {
+                run.fail(row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        run.companies.resolve(jdbcTemplate, ids(valid, CarCreateDto::getCompanyId));
+        run.models.resolve(jdbcTemplate, ids(valid, CarCreateDto::getModelId));
+        run.locations.resolve(jdbcTemplate, ids(valid, CarCreateDto::getCurrentLocationId));
+
+        Map<String, Long> vins = new HashMap<>();
+        Map<String, Long> plates = new HashMap<>();
+        List<CarImportRow> unique = new ArrayList<>(valid.size());
+        for (CarImportRow row : valid) {
+            String error = referenceError(row.getCar(), run);
+            if (error == null) {
+                error = duplicateError(row, vins, plates);
+            }
+            if (error != null) {
+                run.fail(row, error);
+            } else {
+                unique.add(row);
+            }
+        }
+
+        Set<String> takenVins = existing("vin", unique, CarCreateDto::getVin);
+        Set<String> takenPlates = existing("plate_number", unique, CarCreateDto::getPlateNumber);
+        List<CarImportRow> inserts = new ArrayList<>(unique.size());
+        for (CarImportRow row : unique) {
+            if (takenVins.contains(row.getCar().getVin())) {
+                run.fail(row, "VIN already registered: " + row.getCar().getVin());
+            } else if (takenPlates.contains(row.getCar().getPlateNumber())) {
+                run.fail(row, "Plate number already registered: " + row.getCar().getPlateNumber());
+            } else {
+                inserts.add(row);
+            }
+        }
+        insert(inserts, run);
+    }
+
+    private String validate(CarCreateDto car) {
+        Set<ConstraintViolation<CarCreateDto>> violations = validator.validate(car);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static String referenceError(CarCreateDto car, Import run) {
+        if (!run.companies.exists(car.getCompanyId())) {
+            return "Company not found: " + car.getCompanyId();
+        }
+        if (!run.models.exists(car.getModelId())) {
+            return "Car model not found: " + car.getModelId();
+        }
+        if (car.getCurrentLocationId() != null && !run.locations.exists(car.getCurrentLocationId())) {
+            return "Location not found: " + car.getCurrentLocationId();
+        }
+        return null;
+    }
+
+    private static String duplicateError(CarImportRow row, Map<String, Long> vins, Map<String, Long> plates) {
+        Long vinLine = vins.putIfAbsent(row.getCar().getVin(), row.getLine());
+        if (vinLine != null) {
+            return "VIN repeats line " + vinLine + ": " + row.getCar().getVin();
+        }
+        Long plateLine = plates.putIfAbsent(row.getCar().getPlateNumber(), row.getLine());
+        if (plateLine != null) {
+            return "Plate number repeats line " + plateLine + ": " + row.getCar().getPlateNumber();
+        }
+        return null;
+    }
+
+    /**
+     * Values of {@code column} already in the car table, soft-deleted cars included since they keep their
+     * unique keys.
+     */
+    private Set<String> existing(String column, List<CarImportRow> rows, Function<CarCreateDto, String> value) {
+        if (rows.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<String> values = rows.stream().map(row -> value.apply(row.getCar())).collect(Collectors.toList());
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select " + column + " from car where " + column + " in (:values)",
+                Collections.singletonMap("values", values), String.class));
+    }
+
+    /**
+     * One batch and one commit for the chunk. A VIN or plate taken by a concurrent writer since the check fails
+     * the whole batch; the chunk is then retried row by row, so only the conflicting rows are reported.
+     */
+    private void insert(List<CarImportRow> rows, Import run) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertAndPublish(rows));
+            run.report.setImported(run.report.getImported() + rows.size());
+        } catch (DataIntegrityViolationException batchFailure) {
+            for (CarImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> insertAndPublish(Collections.singletonList(row)));
+                    run.report.setImported(run.report.getImported() + 1);
+                } catch (DataIntegrityViolationException e) {
+                    run.fail(row, "VIN or plate number already registered");
+                }
+            }
+        }
+    }
+
+    /**
+     * Publishes the usual per-car events inside the transaction, so the availability index and summary pick the
+     * cars up after commit just as they do for {@code addCar}.
+     */
+    private void insertAndPublish(List<CarImportRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_CAR,
+                rows.stream().map(row -> params(row.getCar())).toArray(SqlParameterSource[]::new));
+
+        List<String> vins = rows.stream().map(row -> row.getCar().getVin()).collect(Collectors.toList());
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("select id, vin from car where vin in (:vins)", Collections.singletonMap("vins", vins),
+                (RowCallbackHandler) rs -> ids.put(rs.getString("vin"), rs.getLong("id")));
+        for (CarImportRow row : rows) {
+            CarCreateDto car = row.getCar();
+            eventPublisher.publishEvent(new CarInventoryChangedEvent(ids.get(car.getVin()), car.getCompanyId(),
+                    car.getModelId(), car.getCurrentLocationId(), car.getPlateNumber(), CarStatus.AVAILABLE, false,
+                    car.getCurrentLocationId(), car.getModelId()));
+        }
+    }
+
+    private static SqlParameterSource params(CarCreateDto car) {
+        return new MapSqlParameterSource()
+                .addValue("companyId", car.getCompanyId())
+                .addValue("modelId", car.getModelId())
+                .addValue("locationId", car.getCurrentLocationId(), Types.BIGINT)
+                .addValue("vin", car.getVin())
+                .addValue("plateNumber", car.getPlateNumber())
+                .addValue("mileageKm", car.getMileageKm(), Types.INTEGER)
+                .addValue("pricePerDay", car.getPricePerDay())
+                .addValue("status", CarStatus.AVAILABLE.name());
+    }
+
+    private static Set<Long> ids(List<CarImportRow> rows, Function<CarCreateDto, Long> id) {
+        return rows.stream().map(row -> id.apply(row.getCar())).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    /**
+     * State of one upload: the report so far and what it has already looked up.
+     */
+    private final class Import {
+        final CarImportReportDto report = new CarImportReportDto();
+        final References companies =
+                new References("select id from rental_company where deleted = false and id in (:ids)");
+        final References models = new References("select id from car_model where id in (:ids)");
+        final References locations =
+                new References("select id from rental_location where deleted = false and id in (:ids)");
+
+        void fail(CarImportRow row, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < properties.getMaxReportedErrors()) {
+                report.getErrors().add(new CarImportErrorDto(row.getLine(),
+                        row.getCar() != null ? row.getCar().getVin() : null, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    /**
+     * Ids of one table found or missing so far; each id is queried at most once per upload.
+     */
+    private static final class References {
+        private final String sql;
+        private final Set<Long> found = new HashSet<>();
+        private final Set<Long> missing = new HashSet<>();
+
+        References(String sql) {
+            this.sql = sql;
+        }
+
+        void resolve(NamedParameterJdbcTemplate jdbcTemplate, Collection<Long> ids) {
+            List<Long> unknown = ids.stream()
+                    .filter(id -> !found.contains(id) && !missing.contains(id))
+                    .collect(Collectors.toList());
+            if (unknown.isEmpty()) {
+                return;
+            }
+            found.addAll(jdbcTemplate.queryForList(sql, Collections.singletonMap("ids", unknown), Long.class));
+            unknown.stream().filter(id -> !found.contains(id)).forEach(missing::add);
+        }
+
+        boolean exists(Long id) {
+            return found.contains(id);
+        }
+    }
+}
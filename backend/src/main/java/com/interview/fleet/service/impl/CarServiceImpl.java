@@ -12,15 +12,19 @@ import com.interview.company.domain.RentalCompany;
 import com.interview.company.domain.RentalLocation;
 import com.interview.company.repo.RentalCompanyRepository;
 import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.claim.CarLockTimer;
 import com.interview.fleet.domain.Car;
 import com.interview.fleet.dtos.CarCreateDto;
+import com.interview.fleet.dtos.CarInventoryChangedEvent;
 import com.interview.fleet.dtos.CarResponseDto;
 import com.interview.fleet.dtos.CarUpdateDto;
 import com.interview.fleet.mapper.CarMapper;
 import com.interview.fleet.repo.CarAvailabilityRepository;
 import com.interview.fleet.repo.CarRepository;
 import com.interview.fleet.service.CarService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -43,6 +47,8 @@ public class CarServiceImpl implements CarService {
     private final RentalCompanyRepository companyRepository;
     private final CarModelRepository carModelRepository;
     private final RentalLocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Transactional(readOnly = true)
     @Override
@@ -79,6 +85,7 @@ public class CarServiceImpl implements CarService {
         }
 
         Car saved = carRepository.save(car);
+        eventPublisher.publishEvent(CarInventoryChangedEvent.of(saved, false));
         return carMapper.toResponse(saved);
     }
 
@@ -91,6 +98,7 @@ public class CarServiceImpl implements CarService {
         while (true) {
             Car car = carRepository.findById(carId)
                     .orElseThrow(() -> new EntityNotFound("Car not found: " + carId));
+            CarInventoryChangedEvent before = CarInventoryChangedEvent.of(car, false);
 
             carMapper.updateEntityFromDto(updateDto, car);
 
@@ -102,6 +110,8 @@ public class CarServiceImpl implements CarService {
 
             try {
                 Car saved = carRepository.saveAndFlush(car);
+                eventPublisher.publishEvent(CarInventoryChangedEvent.of(
+                        saved, before.getLocationId(), before.getModelId(), false));
                 return carMapper.toResponse(saved);
             } catch (OptimisticLockingFailureException ex) {
                 if (++attempts >= maxAttempts) throw ex;
@@ -127,20 +137,28 @@ public class CarServiceImpl implements CarService {
         }
 
         carRepository.delete(car);
+        eventPublisher.publishEvent(CarInventoryChangedEvent.of(car, true));
     }
 
 
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public Car getEntityById(Long id) {
+        return carRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFound("Car not found: " + id));
+    }
+
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public Car lockByIdForUpdate(Long id) {
-        return carRepository.lockByIdForUpdate(id)
+        return lockRow(id)
                 .orElseThrow(() -> new EntityNotFound("Car not found for locking: " + id));
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
     @Override
     public Car lockAndReserveIfAvailableOrThrow(Long id, Instant from, Instant to) {
-        Car car = carRepository.lockByIdForUpdate(id)
+        Car car = lockRow(id)
                 .orElseThrow(() -> new EntityNotFound("Car not found: " + id));
         if (carAvailabilityRepository.existsActiveForCarInPeriod(id, from, to, BookingStatus.activeSet())) {
             throw new BusinessRuleViolation("Car is not available");
@@ -148,4 +166,9 @@ public class CarServiceImpl implements CarService {
 
         return car;
     }
-}
\ No newline at end of file
+
+    private Optional<Car> lockRow(Long id) {
+        return CarLockTimer.time(meterRegistry, CarLockTimer.ROW_LOCK, () -> carRepository.lockByIdForUpdate(id),
+                Optional::isPresent);
+    }
+}
@@ -0,0 +1,28 @@
+package com.interview.fleet.summary;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "availability.summary")
+public class AvailabilitySummaryProperties {
+
+    /**
+     * Maintain the {@code availability_summary} counters from inventory events.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Days ahead (from today, UTC) that have counters; summary requests beyond it find no rows.
+     */
+    private int horizonDays = 90;
+
+    /**
+     * Full recount interval; heals counters after writes that bypass the services or raced on another instance.
+     */
+    private Duration reconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,279 @@
+package com.interview.fleet.summary;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.common.datasource.ReadConsistency;
+import com.interview.fleet.domain.AvailabilitySummary;
+import com.interview.fleet.dtos.CarInventoryChangedEvent;
+import com.interview.fleet.repo.AvailabilitySummaryRepository;
+import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.dto.BookingIntervalRow;
+import com.interview.fleet.repo.dto.CarIndexRow;
+import com.interview.fleet.repo.dto.SummaryBucketRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code availability_summary} (free cars per location × model × UTC day) current, so summary pages are
+ * answered from {@code models × days} counter rows instead of scanning {@code booking}.
+ * <p>
+ * Booking and car events mark (location, model) buckets dirty after commit; a single worker thread coalesces
+ * them and recounts each dirty bucket over the affected days from the database. Recounting instead of applying
+ * deltas keeps the counters idempotent under retries and duplicate events. The scheduled {@link #reconcile()}
+ * recounts everything and drops past days, which also heals buckets another instance raced on.
+ * <p>
+ * Counters are for display: a car counts as taken for a whole day if any blocking booking overlaps it, and they
+ * trail commits by the worker's lag. Claims are always validated against the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilitySummaryUpdater {
+
+    private final CarAvailabilityRepository carAvailabilityRepository;
+    private final AvailabilitySummaryRepository summaryRepository;
+    private final AvailabilitySummaryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<SummaryBucketRow, DayRange> dirtyBuckets = new ConcurrentHashMap<>();
+    private final Map<Long, DayRange> dirtyCars = new ConcurrentHashMap<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final ExecutorService worker =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("availability-summary-"));
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingInventoryChangedEvent event) {
+        if (!properties.isEnabled() || event.getCarId() == null
+                || event.getPickupTime() == null || event.getReturnTime() == null) {
+            return;
+        }
+        // the car's bucket is resolved on the worker, keeping the lookup off the request thread
+        dirtyCars.merge(event.getCarId(), DayRange.covering(event.getPickupTime(), event.getReturnTime()),
+                DayRange::span);
+        scheduleDrain();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarInventoryChangedEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        DayRange horizon = horizon();
+        markDirty(event.getLocationId(), event.getModelId(), horizon);
+        markDirty(event.getPreviousLocationId(), event.getPreviousModelId(), horizon);
+        scheduleDrain();
+    }
+
+    /**
+     * Recounts every bucket that has cars or counters, over the whole horizon, and drops days that have passed.
+     */
+    @Scheduled(fixedDelayString = "#{@availabilitySummaryProperties.reconcileInterval.toMillis()}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(Duration.ZERO, null, null)) {
+            LocalDate today = today();
+            Integer expired = transactionTemplate.execute(status -> summaryRepository.deleteBefore(today));
+            DayRange horizon = horizon();
+            for (CarIndexRow car : carAvailabilityRepository.findAllForIndex()) {
+                markDirty(car.getLocationId(), car.getModelId(), horizon);
+            }
+            for (SummaryBucketRow bucket : summaryRepository.findAllBuckets()) {
+                markDirty(bucket.getLocationId(), bucket.getModelId(), horizon);
+            }
+            int buckets = dirtyBuckets.size();
+            drain();
+            log.info("Availability summary reconciled: {} buckets, {} expired rows removed", buckets, expired);
+        } catch (RuntimeException e) {
+            log.error("Availability summary reconcile failed; counters may trail until the next run", e);
+        }
+    }
+
+    /**
+     * Processes everything marked dirty so far. Runs on the worker after events and inline from
+     * {@link #reconcile()}; synchronized so a bucket is never recounted by two threads at once. Reads the primary:
+     * the events that mark buckets dirty fire right after commit, when a replica may not hold the change yet.
+     */
+    public synchronized void drain() {
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(Duration.ZERO, null, null)) {
+            drainDirty();
+        }
+    }
+
+    private void drainDirty() {
+        for (Long carId : new ArrayList<>(dirtyCars.keySet())) {
+            DayRange days = dirtyCars.remove(carId);
+            if (days == null) {
+                continue;
+            }
+            try {
+                carAvailabilityRepository.findIndexRowById(carId)
+                        .ifPresent(car -> markDirty(car.getLocationId(), car.getModelId(), days));
+            } catch (RuntimeException e) {
+                log.warn("Could not resolve car {} to its availability summary bucket", carId, e);
+            }
+        }
+        for (SummaryBucketRow bucket : new ArrayList<>(dirtyBuckets.keySet())) {
+            DayRange days = dirtyBuckets.remove(bucket);
+            if (days == null) {
+                continue;
+            }
+            try {
+                refresh(bucket.getLocationId(), bucket.getModelId(), days.first, days.last);
+            } catch (RuntimeException e) {
+                log.warn("Availability summary refresh failed for location {} model {}; left to reconcile",
+                        bucket.getLocationId(), bucket.getModelId(), e);
+            }
+        }
+    }
+
+    /**
+     * Recounts one bucket for the days {@code [from, to]}, clamped to the horizon. A bucket without bookable
+     * cars loses its rows, so summary queries never report a model that is no longer placed at the location.
+     */
+    public void refresh(Long locationId, Long modelId, LocalDate from, LocalDate to) {
+        DayRange days = horizon().clamp(from, to);
+        if (days == null) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<LocalDate, AvailabilitySummary> existing = summaryRepository
+                    .findByLocationIdAndModelIdAndDayBetween(locationId, modelId, days.first, days.last).stream()
+                    .collect(Collectors.toMap(AvailabilitySummary::getDay, Function.identity()));
+            List<Long> carIds = carAvailabilityRepository.findBookableCarIds(locationId, modelId);
+            if (carIds.isEmpty()) {
+                summaryRepository.deleteAll(existing.values());
+                return;
+            }
+
+            Map<LocalDate, Set<Long>> busyCars = new HashMap<>();
+            for (BookingIntervalRow booking : carAvailabilityRepository.findBlockingIntervalsForCars(
+                    carIds, startOf(days.first), startOf(days.last.plusDays(1)), BookingStatus.activeSet())) {
+                DayRange taken = DayRange.covering(booking.getPickupTime(), booking.getReturnTime())
+                        .clamp(days.first, days.last);
+                if (taken == null) {
+                    continue;
+                }
+                for (LocalDate day = taken.first; !day.isAfter(taken.last); day = day.plusDays(1)) {
+                    busyCars.computeIfAbsent(day, d -> new HashSet<>()).add(booking.getCarId());
+                }
+            }
+
+            Instant now = clock.instant();
+            List<AvailabilitySummary> rows = new ArrayList<>();
+            for (LocalDate day = days.first; !day.isAfter(days.last); day = day.plusDays(1)) {
+                AvailabilitySummary row = existing.get(day);
+                if (row == null) {
+                    row = new AvailabilitySummary(locationId, modelId, day);
+                }
+                row.setTotalCars(carIds.size());
+                row.setFreeCars(carIds.size() - busyCars.getOrDefault(day, Set.of()).size());
+                row.setRefreshedAt(now);
+                rows.add(row);
+            }
+            summaryRepository.saveAll(rows);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    private void markDirty(Long locationId, Long modelId, DayRange days) {
+        if (locationId != null && modelId != null) {
+            dirtyBuckets.merge(new SummaryBucketRow(locationId, modelId), days, DayRange::span);
+        }
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                drainScheduled.set(false);
+                drain();
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down; the next reconcile recounts whatever was left dirty
+            drainScheduled.set(false);
+        }
+    }
+
+    private DayRange horizon() {
+        LocalDate today = today();
+        return new DayRange(today, today.plusDays(Math.max(1, properties.getHorizonDays()) - 1L));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Inclusive range of UTC days.
+     */
+    private static final class DayRange {
+        final LocalDate first;
+        final LocalDate last;
+
+        DayRange(LocalDate first, LocalDate last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /**
+         * Days touched by the half-open interval {@code [from, to)}.
+         */
+        static DayRange covering(Instant from, Instant to) {
+            LocalDate first = LocalDate.ofInstant(from, ZoneOffset.UTC);
+            LocalDate last = LocalDate.ofInstant(to.minusNanos(1), ZoneOffset.UTC);
+            return new DayRange(first, last.isBefore(first) ? first : last);
+        }
+
+        DayRange span(DayRange other) {
+            return new DayRange(first.isBefore(other.first) ? first : other.first,
+                    last.isAfter(other.last) ? last : other.last);
+        }
+
+        /**
+         * The part of {@code [from, to]} inside this range, or {@code null} if they do not overlap.
+         */
+        DayRange clamp(LocalDate from, LocalDate to) {
+            LocalDate start = from.isAfter(first) ? from : first;
+            LocalDate end = to.isBefore(last) ? to : last;
+            return start.isAfter(end) ? null : new DayRange(start, end);
+        }
+    }
+}
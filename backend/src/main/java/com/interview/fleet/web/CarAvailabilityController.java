@@ -1,20 +1,31 @@
 package com.interview.fleet.web;
 
 import com.interview.catalog.dto.CarModelResponseDto;
+import com.interview.common.web.CursorPageResponse;
 import com.interview.common.web.PageResponse;
+import com.interview.fleet.dtos.AvailabilityBatchRequestDto;
+import com.interview.fleet.dtos.AvailabilityCheckResultDto;
 import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.dtos.ModelAvailabilityDto;
+import com.interview.fleet.repo.dto.CarInfoDto;
 import com.interview.fleet.service.CarAvailabilityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * REST controller for car availability operations.
@@ -55,6 +66,23 @@ public class CarAvailabilityController {
         return carAvailabilityService.availableModelsInCityForCompany(companyId, city, from, to, pageable);
     }
 
+    /**
+     * Models with a free car at a location on every day of [from, to] (inclusive UTC days), from the
+     * availability summary counters.
+     */
+    @GetMapping("/summary/by-location")
+    public PageResponse<ModelAvailabilityDto> availableModelsSummaryAtLocation(
+            @RequestParam @Positive Long locationId,
+            @RequestParam("from") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @NotNull @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Pageable pageable) {
+
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return carAvailabilityService.availableModelsSummaryAtLocation(locationId, from, to, pageable);
+    }
+
     /**
      * Get available cars by model at a specific location.
      */
@@ -84,6 +112,60 @@ public class CarAvailabilityController {
         return carAvailabilityService.findAvailableCarsByCity(city, from, to, pageable);
     }
 
+    /**
+     * Get available cars in a specific city, keyset-paginated by plate number: pass an empty {@code cursor} for
+     * the first page and the returned {@code nextCursor} for the following ones.
+     */
+    @GetMapping(value = "/cars/by-city", params = "cursor")
+    public CursorPageResponse<CarResponseDto> getAvailableCarsByCity(
+            @RequestParam @NotBlank String city,
+            @RequestParam("from") @NotNull Instant from,
+            @RequestParam("to") @NotNull Instant to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        validateTimeRange(from, to);
+        return carAvailabilityService.findAvailableCarsByCity(city, from, to, cursor, size);
+    }
+
+    /**
+     * Search available cars, optionally at one location.
+     */
+    @GetMapping("/cars")
+    public PageResponse<CarInfoDto> searchAvailable(
+            @RequestParam(required = false) @Positive Long locationId,
+            @RequestParam("from") @NotNull Instant from,
+            @RequestParam("to") @NotNull Instant to,
+            Pageable pageable) {
+
+        validateTimeRange(from, to);
+        return PageResponse.from(carAvailabilityService.searchAvailable(locationId, from, to, pageable));
+    }
+
+    /**
+     * Search available cars, optionally at one location, keyset-paginated by plate number.
+     */
+    @GetMapping(value = "/cars", params = "cursor")
+    public CursorPageResponse<CarInfoDto> searchAvailable(
+            @RequestParam(required = false) @Positive Long locationId,
+            @RequestParam("from") @NotNull Instant from,
+            @RequestParam("to") @NotNull Instant to,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        validateTimeRange(from, to);
+        return carAvailabilityService.searchAvailable(locationId, from, to, cursor, size);
+    }
+
+    /**
+     * Check availability for many (car, time window) pairs in one call.
+     */
+    @PostMapping("/cars/batch")
+    public List<AvailabilityCheckResultDto> checkAvailability(@Valid @RequestBody AvailabilityBatchRequestDto req) {
+        req.getChecks().forEach(check -> validateTimeRange(check.getFrom(), check.getTo()));
+        return carAvailabilityService.checkAvailability(req.getChecks());
+    }
+
     private void validateTimeRange(Instant from, Instant to) {
         if (!from.isBefore(to)) {
             throw new IllegalArgumentException("'from' must be before 'to'");
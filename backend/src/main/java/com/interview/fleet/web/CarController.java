@@ -2,8 +2,11 @@ package com.interview.fleet.web;
 
 import com.interview.common.web.PageResponse;
 import com.interview.fleet.dtos.CarCreateDto;
+import com.interview.fleet.dtos.CarImportReportDto;
 import com.interview.fleet.dtos.CarResponseDto;
 import com.interview.fleet.dtos.CarUpdateDto;
+import com.interview.fleet.importer.ImportFormat;
+import com.interview.fleet.service.CarImportService;
 import com.interview.fleet.service.CarService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -11,7 +14,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.Optional;
 
 /**
@@ -23,6 +28,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CarController {
     private final CarService carService;
+    private final CarImportService carImportService;
 
     /**
      * Add a new car to the fleet.
@@ -32,6 +38,15 @@ public class CarController {
         return carService.addCar(req);
     }
 
+    /**
+     * Onboard a fleet from a CSV ({@code text/csv}) or NDJSON ({@code application/x-ndjson}) upload, read as it
+     * arrives. Invalid rows are skipped and reported with their line numbers; all other rows are added.
+     */
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+    public CarImportReportDto importCars(HttpServletRequest request) throws IOException {
+        return carImportService.importCars(request.getInputStream(), ImportFormat.of(request.getContentType()));
+    }
+
     /**
      * Update an existing car's details.
      */
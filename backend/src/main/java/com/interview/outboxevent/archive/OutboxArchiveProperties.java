@@ -0,0 +1,32 @@
+package com.interview.outboxevent.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.archive")
+public class OutboxArchiveProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * COMPLETED events older than this (by creation time) are moved to {@code outbox_events_archive}.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Rows moved per transaction; keeps locks and undo short while the relay keeps writing.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per run, so a large backlog is worked off over several runs.
+     */
+    private int maxBatchesPerRun = 20;
+
+    private Duration interval = Duration.ofMinutes(10);
+}
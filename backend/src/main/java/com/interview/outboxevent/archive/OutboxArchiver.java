@@ -0,0 +1,70 @@
+package com.interview.outboxevent.archive;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.repo.OutboxEventArchiveRepository;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves old COMPLETED events from {@code outbox_events} to {@code outbox_events_archive} so the hot table
+ * only holds recent and unfinished work. Each batch is a copy and a delete in one short transaction; its rows are
+ * locked with SKIP LOCKED first, so archivers on several instances never copy the same event twice.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxArchiver {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventArchiveRepository archiveRepository;
+    private final OutboxArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(fixedDelayString = "#{@outboxArchiveProperties.interval.toMillis()}")
+    public void scheduledArchive() {
+        if (properties.isEnabled()) {
+            archiveCompleted(LocalDateTime.now().minus(properties.getRetention()));
+        }
+    }
+
+    /**
+     * Archive COMPLETED events created before {@code cutoff}, at most {@code maxBatchesPerRun} batches.
+     *
+     * @return number of events archived
+     */
+    public int archiveCompleted(LocalDateTime cutoff) {
+        int total = 0;
+        for (int i = 0; i < properties.getMaxBatchesPerRun(); i++) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved == null ? 0 : moved;
+            if (moved == null || moved < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} completed outbox events created before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = outboxEventRepository.lockCompletedBefore(cutoff, PageRequest.of(0, properties.getBatchSize()))
+                .stream()
+                .map(OutboxEvent::getId)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archiveRepository.copyFromOutbox(ids, LocalDateTime.now());
+        return outboxEventRepository.deleteByIds(ids);
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.outboxevent.codec;
+
+import java.io.IOException;
+
+/**
+ * Serialises outbox event payloads. Each codec owns a version byte that {@link OutboxPayloadCodec} writes in
+ * front of the body, so rows written by any registered codec stay readable after the default changes.
+ */
+public interface EventCodec {
+
+    /**
+     * Tag stored as the first payload byte; must be unique and must never change once rows exist.
+     */
+    byte version();
+
+    /**
+     * Name used to select the codec through {@code outbox.payload.codec}.
+     */
+    String name();
+
+    byte[] encode(Object event) throws IOException;
+
+    <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException;
+}
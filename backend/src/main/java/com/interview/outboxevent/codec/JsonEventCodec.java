@@ -0,0 +1,39 @@
+package com.interview.outboxevent.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * UTF-8 JSON through the application's {@link ObjectMapper}; the same shape as the legacy {@code event_data} text.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonEventCodec implements EventCodec {
+
+    public static final byte VERSION = 1;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public byte[] encode(Object event) throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws IOException {
+        return objectMapper.readValue(data, offset, length, type);
+    }
+}
@@ -0,0 +1,76 @@
+package com.interview.outboxevent.codec;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Frames outbox payloads as {@code [version byte][codec body]} and picks the decoder from the version byte.
+ * Rows from before the {@code payload} column carry JSON text in {@code event_data} and are read as JSON.
+ */
+@Component
+public class OutboxPayloadCodec {
+
+    private final EventCodec writer;
+    private final EventCodec[] readers = new EventCodec[Byte.MAX_VALUE + 1];
+    private final EventCodec legacyReader;
+
+    public OutboxPayloadCodec(List<EventCodec> codecs, OutboxPayloadProperties properties) {
+        EventCodec selected = null;
+        EventCodec json = null;
+        for (EventCodec codec : codecs) {
+            if (codec.version() <= 0 || readers[codec.version()] != null) {
+                throw new IllegalStateException("Duplicate or invalid event codec version " + codec.version());
+            }
+            readers[codec.version()] = codec;
+            if (codec.name().equalsIgnoreCase(properties.getCodec())) {
+                selected = codec;
+            }
+            if (codec.version() == JsonEventCodec.VERSION) {
+                json = codec;
+            }
+        }
+        if (selected == null) {
+            throw new IllegalStateException("Unknown outbox payload codec: " + properties.getCodec());
+        }
+        this.writer = selected;
+        this.legacyReader = json;
+    }
+
+    public byte[] encode(Object event) throws IOException {
+        byte[] body = writer.encode(event);
+        byte[] framed = new byte[body.length + 1];
+        framed[0] = writer.version();
+        System.arraycopy(body, 0, framed, 1, body.length);
+        return framed;
+    }
+
+    public <T> T decode(byte[] payload, Class<T> type) throws IOException {
+        if (payload == null || payload.length == 0) {
+            throw new IOException("Empty outbox payload");
+        }
+        byte version = payload[0];
+        EventCodec codec = version > 0 ? readers[version] : null;
+        if (codec == null) {
+            throw new IOException("Unknown outbox payload version " + version);
+        }
+        return codec.decode(payload, 1, payload.length - 1, type);
+    }
+
+    /**
+     * Decode whichever representation the event carries.
+     */
+    public <T> T decode(OutboxEvent event, Class<T> type) throws IOException {
+        if (event.getPayload() != null) {
+            return decode(event.getPayload(), type);
+        }
+        if (event.getEventData() != null && legacyReader != null) {
+            byte[] json = event.getEventData().getBytes(StandardCharsets.UTF_8);
+            return legacyReader.decode(json, 0, json.length, type);
+        }
+        throw new IOException("Outbox event " + event.getId() + " has no payload");
+    }
+}
@@ -0,0 +1,16 @@
+package com.interview.outboxevent.codec;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.payload")
+public class OutboxPayloadProperties {
+
+    /**
+     * Codec for newly written events ({@code smile} or {@code json}); existing rows are read by their version byte.
+     */
+    private String codec = "smile";
+}
@@ -1,6 +1,7 @@
 package com.interview.outboxevent.domain;
 
 import com.interview.common.domain.BaseEntity;
+import com.interview.common.tracing.Correlation;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -15,6 +16,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class OutboxEvent extends BaseEntity {
 
+    public static final int MAX_PAYLOAD_BYTES = 65535;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,9 +31,18 @@ public class OutboxEvent extends BaseEntity {
     @Column(name = "event_type", nullable = false)
     private String eventType;
 
+    /**
+     * Legacy JSON text; new rows carry {@link #payload} instead.
+     */
     @Column(name = "event_data", columnDefinition = "TEXT")
     private String eventData;
 
+    /**
+     * Version byte followed by the codec body, see {@link com.interview.outboxevent.codec.OutboxPayloadCodec}.
+     */
+    @Column(name = "payload", length = OutboxEvent.MAX_PAYLOAD_BYTES)
+    private byte[] payload;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private OutboxEventStatus status = OutboxEventStatus.PENDING;
@@ -44,10 +56,26 @@ public class OutboxEvent extends BaseEntity {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Correlation id of the request that wrote the event; the relay runs the event under it.
+     */
+    @Column(name = "correlation_id", length = Correlation.MAX_LENGTH)
+    private String correlationId;
+
     public OutboxEvent(String aggregateId, String aggregateType, String eventType, String eventData) {
         this.aggregateId = aggregateId;
         this.aggregateType = aggregateType;
         this.eventType = eventType;
         this.eventData = eventData;
     }
+
+    public OutboxEvent(String aggregateId, String aggregateType, String eventType, byte[] payload) {
+        this.aggregateId = aggregateId;
+        this.aggregateType = aggregateType;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
 }
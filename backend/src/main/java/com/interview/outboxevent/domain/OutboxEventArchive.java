@@ -0,0 +1,51 @@
+package com.interview.outboxevent.domain;
+
+import com.interview.common.tracing.Correlation;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Completed outbox event moved out of the hot table. Keeps the original id and only what is needed to
+ * audit or replay the event; no status, retry or audit columns.
+ */
+@Entity
+@Table(name = "outbox_events_archive")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEventArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private String aggregateId;
+
+    @Column(name = "aggregate_type", nullable = false)
+    private String aggregateType;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Column(name = "event_data", columnDefinition = "TEXT")
+    private String eventData;
+
+    @Column(name = "payload", length = OutboxEvent.MAX_PAYLOAD_BYTES)
+    private byte[] payload;
+
+    @Column(name = "correlation_id", length = Correlation.MAX_LENGTH)
+    private String correlationId;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -4,5 +4,7 @@ public enum OutboxEventStatus {
     PENDING,
     PROCESSING,
     COMPLETED,
-    FAILED
+    FAILED,
+    /** Out of retries; left for an operator to inspect and replay. */
+    DEAD_LETTER
 }
@@ -0,0 +1,13 @@
+package com.interview.outboxevent.dto;
+
+import lombok.Value;
+
+/**
+ * In-process signal that an outbox row was written; the relay wakes up once the writing transaction commits.
+ */
+@Value
+public class OutboxEventAppended {
+    Long outboxEventId;
+    String aggregateId;
+    String eventType;
+}
@@ -0,0 +1,20 @@
+package com.interview.outboxevent.dto;
+
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class OutboxEventResponseDto {
+    private Long id;
+    private String aggregateId;
+    private String aggregateType;
+    private String eventType;
+    private OutboxEventStatus status;
+    private Integer retryCount;
+    private String errorMessage;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdDate;
+    private LocalDateTime updatedDate;
+}
@@ -0,0 +1,10 @@
+package com.interview.outboxevent.mapper;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.dto.OutboxEventResponseDto;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface OutboxEventMapper {
+    OutboxEventResponseDto toResponse(OutboxEvent entity);
+}
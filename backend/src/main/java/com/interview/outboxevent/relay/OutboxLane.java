@@ -0,0 +1,85 @@
+package com.interview.outboxevent.relay;
+
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import com.interview.outboxevent.domain.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One bounded queue drained by one thread, so everything hashed onto a lane is started strictly in
+ * submission order.
+ */
+@Slf4j
+class OutboxLane {
+
+    private static final long IDLE_CHECK_MILLIS = 200;
+
+    private final int index;
+    private final BlockingQueue<OutboxEvent> queue;
+    private final Consumer<OutboxEvent> handler;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    OutboxLane(int index, int capacity, Consumer<OutboxEvent> handler) {
+        this.index = index;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.handler = handler;
+        this.thread = new Thread(Workload.wrap(WorkloadClass.BACKGROUND_SAGA, this::drain), "outbox-lane-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Enqueue an event, blocking while the lane is full.
+     */
+    void submit(OutboxEvent event) throws InterruptedException {
+        queue.put(event);
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    int index() {
+        return index;
+    }
+
+    /**
+     * Stop taking new work, let the lane finish what is queued, and give up after {@code timeout}.
+     * Anything still queued stays PROCESSING and is handed back by the claim timeout.
+     */
+    void stop(Duration timeout) throws InterruptedException {
+        running = false;
+        thread.join(timeout.toMillis());
+        if (thread.isAlive()) {
+            log.warn("Outbox lane {} did not drain in {}; {} events left to the claim timeout",
+                    index, timeout, queue.size());
+            thread.interrupt();
+        }
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            try {
+                OutboxEvent event = queue.poll(IDLE_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+                if (event != null) {
+                    handler.accept(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox lane {} failed to run an event", index, e);
+            }
+        }
+    }
+}
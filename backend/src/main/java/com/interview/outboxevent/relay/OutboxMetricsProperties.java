@@ -0,0 +1,23 @@
+package com.interview.outboxevent.relay;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.metrics")
+public class OutboxMetricsProperties {
+
+    /**
+     * Sample queue depth and age of the oldest event per unfinished status.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the backlog gauges are refreshed; each refresh is one grouped query on the status index.
+     */
+    private Duration sampleInterval = Duration.ofSeconds(15);
+}
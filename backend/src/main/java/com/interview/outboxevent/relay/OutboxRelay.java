@@ -0,0 +1,289 @@
+package com.interview.outboxevent.relay;
+
+import com.interview.common.tracing.Correlation;
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.dto.OutboxEventAppended;
+import com.interview.outboxevent.service.OutboxEventProcessorService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves outbox events from the table to {@link OutboxEventProcessorService#process}.
+ * <p>
+ * A single relay thread claims batches (PENDING → PROCESSING under {@code SKIP LOCKED}) and hands each event
+ * to one of N single-threaded {@link OutboxLane}s chosen by a hash of its aggregate id. All events of a
+ * booking therefore run one after another in id order, while unrelated bookings run in parallel; across
+ * instances the claim query skips aggregates that still have an event in PROCESSING.
+ * <p>
+ * A lane only starts events: gateway calls are asynchronous, and the next event of an aggregate is chained
+ * onto the completion of the previous one, so a handful of threads keeps up to {@code maxInFlight} payments
+ * pending. Saga steps commit on a small completion pool once the gateway answers.
+ * <p>
+ * Lanes are bounded: the relay blocks on a full lane and stops claiming at {@code maxInFlight}.
+ * It sleeps while idle and is woken by every commit that appends an outbox event and by every finished
+ * event, with {@code pollInterval} as the fallback.
+ * <p>
+ * Processing time is timed per event type; the completion pool is exported as {@code executor.*} metrics
+ * under {@code name=outbox.completion}. All relay threads run as {@link WorkloadClass#BACKGROUND_SAGA}, so with
+ * {@code workload.separate-pools} saga transactions use their own connections.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventProcessorService processor;
+    private final OutboxRelayProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    private final Semaphore wakeups = new Semaphore(0);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, CompletableFuture<Void>> aggregateTails = new ConcurrentHashMap<>();
+    private List<OutboxLane> lanes = Collections.emptyList();
+    private ExecutorService completions;
+    private Thread relayThread;
+    private volatile boolean running;
+
+    private Counter completed;
+    private Counter failed;
+    private Timer lag;
+    private final Map<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    private DistributionSummary batchSize;
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        List<OutboxLane> created = new ArrayList<>(properties.getLanes());
+        for (int i = 0; i < properties.getLanes(); i++) {
+            created.add(new OutboxLane(i, properties.getLaneCapacity(), this::runOne));
+        }
+        lanes = Collections.unmodifiableList(created);
+        completions = Executors.newFixedThreadPool(properties.getCompletionThreads(), Workload.threadFactory(
+                WorkloadClass.BACKGROUND_SAGA, new CustomizableThreadFactory("outbox-completion-")));
+        registerMeters();
+        lanes.forEach(OutboxLane::start);
+
+        running = true;
+        relayThread = new Thread(Workload.wrap(WorkloadClass.BACKGROUND_SAGA, this::run), "outbox-relay");
+        relayThread.setDaemon(true);
+        relayThread.start();
+        log.info("Outbox relay started: {} lanes of {}, batch {}, max in flight {}",
+                properties.getLanes(), properties.getLaneCapacity(), properties.getBatchSize(),
+                properties.getMaxInFlight());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wake();
+        try {
+            relayThread.join(properties.getShutdownTimeout().toMillis());
+            relayThread.interrupt();
+            for (OutboxLane lane : lanes) {
+                lane.stop(properties.getShutdownTimeout());
+            }
+            long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            completions.shutdown();
+            if (!completions.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                completions.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            completions.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutboxEventAppended(OutboxEventAppended event) {
+        wake();
+    }
+
+    /**
+     * Number of events claimed and not yet finished.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Lane an aggregate is pinned to.
+     */
+    static int laneFor(String aggregateId, int laneCount) {
+        return Math.floorMod(Objects.hashCode(aggregateId), laneCount);
+    }
+
+    private void wake() {
+        if (wakeups.availablePermits() == 0) {
+            wakeups.release();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                int budget = Math.min(properties.getBatchSize(), properties.getMaxInFlight() - inFlight.get());
+                int claimed = 0;
+                if (budget > 0) {
+                    List<OutboxEvent> batch = processor.claimBatch(budget);
+                    claimed = batch.size();
+                    if (claimed > 0) {
+                        batchSize.record(claimed);
+                        dispatch(batch);
+                    }
+                }
+                if (claimed == 0 || claimed < budget) {
+                    // drained (or out of budget): sleep until a commit, a finished task, or the fallback poll
+                    wakeups.tryAcquire(properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeups.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay iteration failed", e);
+                sleepQuietly(properties.getPollInterval());
+            }
+        }
+    }
+
+    /**
+     * Hand the batch to the lanes in claim (id) order. Blocks on a saturated lane; the claimed events behind
+     * it wait in the relay rather than piling up in memory.
+     */
+    private void dispatch(List<OutboxEvent> batch) throws InterruptedException {
+        for (OutboxEvent event : batch) {
+            inFlight.incrementAndGet();
+            try {
+                lanes.get(laneFor(event.getAggregateId(), lanes.size())).submit(event);
+            } catch (InterruptedException e) {
+                inFlight.decrementAndGet();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Start an event on its lane thread, after the previous event of the same aggregate has finished.
+     * Only the aggregate's own lane writes its tail, so the read-then-put needs no lock.
+     */
+    private void runOne(OutboxEvent event) {
+        String aggregateId = event.getAggregateId();
+        CompletableFuture<Void> previous = aggregateTails.getOrDefault(aggregateId, DONE);
+        CompletableFuture<Void> current = previous.thenCompose(ignored -> execute(event));
+        aggregateTails.put(aggregateId, current);
+        current.whenComplete((ignored, error) -> aggregateTails.remove(aggregateId, current));
+    }
+
+    private CompletableFuture<Void> execute(OutboxEvent event) {
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result;
+        try (Correlation.Scope ignored = Correlation.open(event.getCorrelationId())) {
+            result = processor.processAsync(event, completions);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.handle((ok, error) -> {
+            processingTimer(event.getEventType()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error == null && Boolean.TRUE.equals(ok)) {
+                completed.increment();
+                if (event.getCreatedDate() != null) {
+                    lag.record(Duration.between(event.getCreatedDate(), LocalDateTime.now()));
+                }
+            } else {
+                if (error != null) {
+                    log.error("Outbox event {} failed outside the processor", event.getId(), error);
+                }
+                failed.increment();
+            }
+            inFlight.decrementAndGet();
+            wake();
+            return null;
+        });
+    }
+
+    private void registerMeters() {
+        completed = Counter.builder("outbox.relay.events")
+                .description("Outbox events run by the relay")
+                .tag("result", "completed")
+                .register(meterRegistry);
+        failed = Counter.builder("outbox.relay.events")
+                .description("Outbox events run by the relay")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        lag = Timer.builder("outbox.relay.lag")
+                .description("Time from outbox insert to completion")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Events claimed per statement")
+                .register(meterRegistry);
+        meterRegistry.gauge("outbox.relay.in.flight", this, OutboxRelay::inFlight);
+        new ExecutorServiceMetrics(completions, "outbox.completion", Tags.empty()).bindTo(meterRegistry);
+        for (OutboxLane lane : lanes) {
+            Gauge.builder("outbox.relay.lane.depth", lane, OutboxLane::depth)
+                    .description("Events queued on one outbox lane")
+                    .tag("lane", String.valueOf(lane.index()))
+                    .register(meterRegistry);
+        }
+    }
+
+    private Timer processingTimer(String eventType) {
+        return processingTimers.computeIfAbsent(String.valueOf(eventType), type ->
+                Timer.builder("outbox.relay.processing")
+                        .description("Time spent running one outbox event")
+                        .tag("type", type)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry));
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
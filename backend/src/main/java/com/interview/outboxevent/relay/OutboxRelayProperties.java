@@ -0,0 +1,56 @@
+package com.interview.outboxevent.relay;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxRelayProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on events claimed by one statement.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Single-threaded lanes; events are assigned to a lane by a hash of their aggregate id.
+     */
+    private int lanes = 8;
+
+    /**
+     * Events a lane may hold queued before it has started them; the relay blocks on a full lane.
+     */
+    private int laneCapacity = 16;
+
+    /**
+     * Claimed events not yet finished, including those waiting on the payment gateway; the relay stops
+     * claiming at this many.
+     */
+    private int maxInFlight = 256;
+
+    /**
+     * Threads that commit saga steps once the gateway answers.
+     */
+    private int completionThreads = 4;
+
+    /**
+     * Fallback poll when no commit wakes the relay (events written by other instances, retries).
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * PROCESSING rows untouched for longer than this are handed back to PENDING (crashed or stopped relay).
+     */
+    private Duration claimTimeout = Duration.ofMinutes(5);
+
+    /**
+     * How long shutdown waits for in-flight events before leaving them to the claim timeout.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
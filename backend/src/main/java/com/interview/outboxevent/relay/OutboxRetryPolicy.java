@@ -0,0 +1,39 @@
+package com.interview.outboxevent.relay;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for failed outbox events.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRetryPolicy {
+
+    private final OutboxRetryProperties properties;
+
+    /**
+     * When to try again after the {@code failedAttempts}-th failure, or empty once retries are exhausted.
+     */
+    public Optional<LocalDateTime> nextAttempt(int failedAttempts, LocalDateTime now) {
+        if (failedAttempts >= properties.getMaxAttempts()) {
+            return Optional.empty();
+        }
+        return Optional.of(now.plus(backoff(failedAttempts)));
+    }
+
+    Duration backoff(int failedAttempts) {
+        double base = properties.getInitialBackoff().toMillis()
+                * Math.pow(properties.getMultiplier(), Math.max(0, failedAttempts - 1));
+        double capped = Math.min(base, properties.getMaxBackoff().toMillis());
+        double jitter = Math.min(Math.max(properties.getJitter(), 0), 1);
+        // take up to `jitter` off the delay rather than adding to it, so maxBackoff stays a real ceiling
+        double delay = capped * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis((long) delay);
+    }
+}
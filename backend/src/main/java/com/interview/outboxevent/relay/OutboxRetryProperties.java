@@ -0,0 +1,37 @@
+package com.interview.outboxevent.relay;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox.retry")
+public class OutboxRetryProperties {
+
+    /**
+     * Failed attempts after which an event is dead-lettered instead of retried.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Delay before the first retry; doubled (see {@code multiplier}) for each further one.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(10);
+
+    private double multiplier = 2.0;
+
+    private Duration maxBackoff = Duration.ofMinutes(15);
+
+    /**
+     * Fraction of each delay that is randomised, so events that failed together do not retry together.
+     */
+    private double jitter = 0.2;
+
+    /**
+     * How often due FAILED events are handed back to PENDING.
+     */
+    private Duration scanInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,29 @@
+package com.interview.outboxevent.repo;
+
+import com.interview.outboxevent.domain.OutboxEventArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventArchiveRepository extends JpaRepository<OutboxEventArchive, Long> {
+
+    /**
+     * Copy the given outbox rows into the archive in one statement.
+     */
+    @Modifying
+    @Query("INSERT INTO OutboxEventArchive (id, aggregateId, aggregateType, eventType, eventData, payload, " +
+            "correlationId, createdDate, processedAt, archivedAt) " +
+            "SELECT o.id, o.aggregateId, o.aggregateType, o.eventType, o.eventData, o.payload, " +
+            "o.correlationId, o.createdDate, o.processedAt, :now " +
+            "FROM OutboxEvent o WHERE o.id IN (:ids)")
+    int copyFromOutbox(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    List<OutboxEventArchive> findByAggregateIdOrderById(String aggregateId);
+}
@@ -2,12 +2,21 @@ package com.interview.outboxevent.repo;
 
 import com.interview.outboxevent.domain.OutboxEvent;
 import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.repo.dto.OutboxBacklogRow;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,6 +25,105 @@ public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>
     @Query("SELECT o FROM OutboxEvent o WHERE o.status = :status ORDER BY o.createdDate ASC")
     List<OutboxEvent> findByStatusOrderByCreatedDate(@Param("status") OutboxEventStatus status, Pageable pageable);
 
-    @Query("SELECT o FROM OutboxEvent o WHERE o.status = 'FAILED' AND o.retryCount < :maxRetries ORDER BY o.createdDate ASC")
-    List<OutboxEvent> findFailedEventsForRetry(@Param("maxRetries") int maxRetries, Pageable pageable);
+    Page<OutboxEvent> findByStatus(OutboxEventStatus status, Pageable pageable);
+
+    /**
+     * Oldest COMPLETED events created before {@code cutoff}, locked like {@link #lockPendingBatch} so concurrent
+     * archivers take disjoint batches. Served by {@code idx_outbox_status_created}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT o FROM OutboxEvent o " +
+            "WHERE o.status = com.interview.outboxevent.domain.OutboxEventStatus.COMPLETED " +
+            "AND o.createdDate < :cutoff " +
+            "ORDER BY o.createdDate ASC")
+    List<OutboxEvent> lockCompletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+
+    /**
+     * Count and oldest creation time per unfinished status, for the backlog gauges. One pass over
+     * {@code idx_outbox_status_created}; COMPLETED rows are skipped by the index.
+     */
+    @Query("SELECT new com.interview.outboxevent.repo.dto.OutboxBacklogRow(o.status, COUNT(o), MIN(o.createdDate)) " +
+            "FROM OutboxEvent o " +
+            "WHERE o.status <> com.interview.outboxevent.domain.OutboxEventStatus.COMPLETED " +
+            "GROUP BY o.status")
+    List<OutboxBacklogRow> findBacklog();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.id IN (:ids)")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Oldest PENDING events whose aggregate has nothing in PROCESSING, locked with SKIP LOCKED where the
+     * dialect supports it so concurrent relays claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2")) // LockOptions.SKIP_LOCKED
+    @Query("SELECT o FROM OutboxEvent o " +
+            "WHERE o.status = com.interview.outboxevent.domain.OutboxEventStatus.PENDING " +
+            "AND NOT EXISTS (" +
+            "  SELECT p.id FROM OutboxEvent p " +
+            "  WHERE p.aggregateId = o.aggregateId " +
+            "  AND p.status = com.interview.outboxevent.domain.OutboxEventStatus.PROCESSING) " +
+            "ORDER BY o.id ASC")
+    List<OutboxEvent> lockPendingBatch(Pageable limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent o SET o.status = :status, o.updatedDate = :now WHERE o.id IN (:ids)")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") OutboxEventStatus status,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.COMPLETED, " +
+            "o.processedAt = :now, o.updatedDate = :now " +
+            "WHERE o.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.FAILED, " +
+            "o.retryCount = coalesce(o.retryCount, 0) + 1, o.errorMessage = :error, " +
+            "o.nextAttemptAt = :nextAttemptAt, o.updatedDate = :now " +
+            "WHERE o.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("error") String error,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.DEAD_LETTER, " +
+            "o.retryCount = coalesce(o.retryCount, 0) + 1, o.errorMessage = :error, " +
+            "o.nextAttemptAt = null, o.updatedDate = :now " +
+            "WHERE o.id = :id")
+    int markDeadLetter(@Param("id") Long id, @Param("error") String error, @Param("now") LocalDateTime now);
+
+    /**
+     * Hand FAILED events whose backoff has elapsed back to PENDING. Served by {@code idx_outbox_retry_due}.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.PENDING, o.updatedDate = :now " +
+            "WHERE o.status = com.interview.outboxevent.domain.OutboxEventStatus.FAILED " +
+            "AND o.nextAttemptAt <= :now")
+    int releaseDueRetries(@Param("now") LocalDateTime now);
+
+    /**
+     * Put a dead-lettered event back in the queue with a fresh retry budget.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.PENDING, " +
+            "o.retryCount = 0, o.nextAttemptAt = null, o.errorMessage = null, o.updatedDate = :now " +
+            "WHERE o.id = :id AND o.status = com.interview.outboxevent.domain.OutboxEventStatus.DEAD_LETTER")
+    int replayDeadLetter(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o " +
+            "SET o.status = com.interview.outboxevent.domain.OutboxEventStatus.PENDING, o.updatedDate = :now " +
+            "WHERE o.status = com.interview.outboxevent.domain.OutboxEventStatus.PROCESSING " +
+            "AND o.updatedDate < :cutoff")
+    int releaseStaleClaims(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
 }
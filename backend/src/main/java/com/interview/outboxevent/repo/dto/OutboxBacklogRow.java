@@ -0,0 +1,16 @@
+package com.interview.outboxevent.repo.dto;
+
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Unfinished outbox events in one status: how many, and when the oldest was written.
+ */
+@Value
+public class OutboxBacklogRow {
+    OutboxEventStatus status;
+    Long count;
+    LocalDateTime oldestCreatedDate;
+}
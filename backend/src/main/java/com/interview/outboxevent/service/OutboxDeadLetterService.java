@@ -0,0 +1,57 @@
+package com.interview.outboxevent.service;
+
+import com.interview.common.annotation.Loggable;
+import com.interview.common.domain.BusinessRuleViolation;
+import com.interview.common.domain.EntityNotFound;
+import com.interview.common.mapper.PageResponseMapper;
+import com.interview.common.web.PageResponse;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.dto.OutboxEventAppended;
+import com.interview.outboxevent.dto.OutboxEventResponseDto;
+import com.interview.outboxevent.mapper.OutboxEventMapper;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Operator access to events that ran out of retries.
+ */
+@Service
+@RequiredArgsConstructor
+@Loggable
+@Slf4j
+public class OutboxDeadLetterService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventMapper outboxEventMapper;
+    private final PageResponseMapper pageResponseMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public PageResponse<OutboxEventResponseDto> listDeadLetters(Pageable pageable) {
+        return pageResponseMapper.toPageResponse(
+                outboxEventRepository.findByStatus(OutboxEventStatus.DEAD_LETTER, pageable),
+                outboxEventMapper::toResponse);
+    }
+
+    /**
+     * Queue a dead-lettered event again with a fresh retry budget.
+     */
+    @Transactional
+    public void replay(Long id) {
+        OutboxEvent event = outboxEventRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFound("Outbox event not found: " + id));
+        if (outboxEventRepository.replayDeadLetter(id, LocalDateTime.now()) == 0) {
+            throw new BusinessRuleViolation("Outbox event " + id + " is not dead-lettered");
+        }
+        eventPublisher.publishEvent(new OutboxEventAppended(id, event.getAggregateId(), event.getEventType()));
+        log.info("Replaying dead-lettered outbox event {}", id);
+    }
+}
@@ -1,113 +1,195 @@
 package com.interview.outboxevent.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.booking.saga.BookingSagaTracer;
+import com.interview.booking.saga.SagaStage;
 import com.interview.booking.service.impl.BookingPaymentOrchestrator;
 import com.interview.common.annotation.Loggable;
+import com.interview.common.tracing.Correlation;
+import com.interview.outboxevent.codec.OutboxPayloadCodec;
 import com.interview.outboxevent.domain.OutboxEvent;
 import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.relay.OutboxRelayProperties;
+import com.interview.outboxevent.relay.OutboxRetryPolicy;
 import com.interview.outboxevent.repo.OutboxEventRepository;
 import com.interview.payment.dto.PaymentRequestEvent;
-import com.interview.payment.dto.PaymentResponseEvent;
-import com.interview.payment.service.impl.PaymentSimulatorService;
+import com.interview.payment.gateway.PaymentGateway;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Claims and runs outbox events; threading and wake-ups live in {@link com.interview.outboxevent.relay.OutboxRelay}.
+ */
 @Service
 @RequiredArgsConstructor
 @Loggable
 @Slf4j
 public class OutboxEventProcessorService {
 
+    private static final String PAYMENT_REQUESTED = "PAYMENT_REQUESTED";
+
     private final OutboxEventRepository outboxEventRepository;
-    private final PaymentSimulatorService paymentSimulatorService;
+    private final PaymentGateway paymentGateway;
     private final BookingPaymentOrchestrator bookingPaymentOrchestrator;
-    private final ObjectMapper objectMapper;
-
-    @Scheduled(fixedDelay = 20000)
+    private final OutboxPayloadCodec outboxPayloadCodec;
+    private final OutboxRelayProperties relayProperties;
+    private final OutboxRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingSagaTracer sagaTracer;
+
+    /**
+     * Lock up to {@code limit} PENDING events and flip them to PROCESSING in the same transaction.
+     * The returned events are detached and already carry the PROCESSING status.
+     */
     @Transactional
-    public void processOutboxEvents() {
-        List<OutboxEvent> pendingEvents = outboxEventRepository.findByStatusOrderByCreatedDate(
-                OutboxEventStatus.PENDING, PageRequest.of(0, 10));
-
-        for (OutboxEvent event : pendingEvents) {
-            try {
-                processEvent(event);
-            } catch (Exception e) {
-                handleEventProcessingError(event, e);
-            }
+    public List<OutboxEvent> claimBatch(int limit) {
+        List<OutboxEvent> batch = outboxEventRepository.lockPendingBatch(PageRequest.of(0, limit));
+        if (batch.isEmpty()) {
+            return Collections.emptyList();
         }
+        outboxEventRepository.updateStatus(
+                batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()),
+                OutboxEventStatus.PROCESSING, LocalDateTime.now());
+        batch.forEach(event -> {
+            event.setStatus(OutboxEventStatus.PROCESSING);
+            if (PAYMENT_REQUESTED.equals(event.getEventType())) {
+                sagaTracer.record(bookingId(event), SagaStage.CLAIMED);
+            }
+        });
+        return batch;
     }
 
-    @Async("sagaExecutor")
-    public void processEvent(OutboxEvent event) throws JsonProcessingException {
+    /**
+     * Run one claimed event without blocking on external calls. The gateway call is in flight outside any
+     * transaction and holds no thread; once it answers, the saga step and the COMPLETED flip commit together on
+     * {@code completionExecutor}. On failure the event is marked FAILED for the retry job.
+     *
+     * @return completes with whether the event completed
+     */
+    public CompletableFuture<Boolean> processAsync(OutboxEvent event, Executor completionExecutor) {
+        CompletableFuture<Runnable> sagaStep;
         try {
-            event.setStatus(OutboxEventStatus.PROCESSING);
-            outboxEventRepository.save(event);
-
             switch (event.getEventType()) {
-                case "PAYMENT_REQUESTED":
-                    handlePaymentRequest(event);
+                case PAYMENT_REQUESTED:
+                    PaymentRequestEvent paymentRequest = outboxPayloadCodec.decode(event, PaymentRequestEvent.class);
+                    sagaTracer.record(paymentRequest.getBookingId(), SagaStage.PAYMENT_REQUESTED);
+                    sagaStep = paymentGateway.authorize(paymentRequest)
+                            .thenApply(response -> {
+                                sagaTracer.record(paymentRequest.getBookingId(), SagaStage.PAYMENT_ANSWERED);
+                                return () -> bookingPaymentOrchestrator.handlePaymentResponse(response);
+                            });
                     break;
                 case "BOOKING_CONFIRMED":
                 case "BOOKING_CANCELED":
                     // These could trigger other downstream processes
                     log.info("Processing event: {}", event.getEventType());
+                    sagaStep = CompletableFuture.completedFuture(() -> { });
                     break;
                 default:
                     log.warn("Unknown event type: {}", event.getEventType());
+                    sagaStep = CompletableFuture.completedFuture(() -> { });
             }
+        } catch (Exception e) {
+            sagaStep = CompletableFuture.failedFuture(e);
+        }
 
-            event.setStatus(OutboxEventStatus.COMPLETED);
-            event.setProcessedAt(LocalDateTime.now());
-            outboxEventRepository.save(event);
+        return sagaStep.handleAsync((step, error) -> {
+            try (Correlation.Scope ignored = Correlation.open(event.getCorrelationId())) {
+                return finish(event, step, error);
+            }
+        }, completionExecutor);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to process outbox event: {}", event.getId(), e);
-            throw e;
+    private boolean finish(OutboxEvent event, Runnable sagaStep, Throwable error) {
+        try {
+            if (error != null) {
+                throw error;
+            }
+            complete(event, sagaStep);
+            return true;
+        } catch (Throwable e) {
+            handleEventProcessingError(event, unwrap(e));
+            return false;
         }
     }
 
-    private void handlePaymentRequest(OutboxEvent event) throws JsonProcessingException {
-        PaymentRequestEvent paymentRequest = objectMapper.readValue(
-                event.getEventData(), PaymentRequestEvent.class);
+    private static Long bookingId(OutboxEvent event) {
+        try {
+            return Long.valueOf(event.getAggregateId());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
-        // Simulate async payment processing
-        PaymentResponseEvent paymentResponse = paymentSimulatorService.processPayment(paymentRequest);
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
 
-        // Handle the response in the saga
-        bookingPaymentOrchestrator.handlePaymentResponse(paymentResponse);
+    private void complete(OutboxEvent event, Runnable sagaStep) {
+        transactionTemplate.execute(status -> {
+            sagaStep.run();
+            outboxEventRepository.markCompleted(event.getId(), LocalDateTime.now());
+            return null;
+        });
+        event.setStatus(OutboxEventStatus.COMPLETED);
     }
 
-    private void handleEventProcessingError(OutboxEvent event, Exception e) {
-        event.setStatus(OutboxEventStatus.FAILED);
-        event.setRetryCount(event.getRetryCount() + 1);
-        event.setErrorMessage(e.getMessage());
-        outboxEventRepository.save(event);
+    private void handleEventProcessingError(OutboxEvent event, Throwable e) {
+        LocalDateTime now = LocalDateTime.now();
+        int attempts = (event.getRetryCount() == null ? 0 : event.getRetryCount()) + 1;
+        Optional<LocalDateTime> nextAttempt = retryPolicy.nextAttempt(attempts, now);
+
+        transactionTemplate.execute(status -> nextAttempt.isPresent()
+                ? outboxEventRepository.markFailed(event.getId(), e.getMessage(), nextAttempt.get(), now)
+                : outboxEventRepository.markDeadLetter(event.getId(), e.getMessage(), now));
+        event.setRetryCount(attempts);
+        event.setNextAttemptAt(nextAttempt.orElse(null));
+
+        if (nextAttempt.isPresent()) {
+            event.setStatus(OutboxEventStatus.FAILED);
+            log.error("Failed to process outbox event: {} (attempt {}), retrying at {}",
+                    event.getId(), attempts, nextAttempt.get(), e);
+        } else {
+            event.setStatus(OutboxEventStatus.DEAD_LETTER);
+            log.error("Outbox event {} dead-lettered after {} attempts", event.getId(), attempts, e);
+        }
+    }
 
-        log.error("Failed to process outbox event: {} after {} retries",
-                event.getId(), event.getRetryCount(), e);
+    /**
+     * Hand PROCESSING rows left behind by a crashed or stopped relay back to PENDING.
+     */
+    @Scheduled(fixedDelayString = "#{@outboxRelayProperties.claimTimeout.toMillis()}")
+    @Transactional
+    public void releaseStaleClaims() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxEventRepository.releaseStaleClaims(now.minus(relayProperties.getClaimTimeout()), now);
+        if (released > 0) {
+            log.warn("Released {} outbox events stuck in PROCESSING", released);
+        }
     }
 
-    @Scheduled(fixedDelay = 30000) // Retry failed events every 30 seconds
+    /**
+     * Hand FAILED events whose backoff has elapsed back to PENDING; the relay picks them up on its next claim.
+     */
+    @Scheduled(fixedDelayString = "#{@outboxRetryProperties.scanInterval.toMillis()}")
     @Transactional
     public void retryFailedEvents() {
-        List<OutboxEvent> failedEvents = outboxEventRepository.findFailedEventsForRetry(
-                3, PageRequest.of(0, 5)); // Max 3 retries, process 5 at a time
-
-        for (OutboxEvent event : failedEvents) {
-            log.info("Retrying failed event: {} (attempt {})", event.getId(), event.getRetryCount() + 1);
-            event.setStatus(OutboxEventStatus.PENDING);
-            event.setErrorMessage(null);
-            outboxEventRepository.save(event);
+        int released = outboxEventRepository.releaseDueRetries(LocalDateTime.now());
+        if (released > 0) {
+            log.info("Retrying {} failed outbox events", released);
         }
     }
 }
@@ -0,0 +1,34 @@
+package com.interview.outboxevent.web;
+
+import com.interview.common.web.PageResponse;
+import com.interview.outboxevent.dto.OutboxEventResponseDto;
+import com.interview.outboxevent.service.OutboxDeadLetterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin operations on the transactional outbox.
+ */
+@RestController
+@RequestMapping("/api/admin/outbox")
+@RequiredArgsConstructor
+public class OutboxAdminController {
+    private final OutboxDeadLetterService outboxDeadLetterService;
+
+    /**
+     * List events that ran out of retries.
+     */
+    @GetMapping("/dead-letters")
+    public PageResponse<OutboxEventResponseDto> getDeadLetters(Pageable pageable) {
+        return outboxDeadLetterService.listDeadLetters(pageable);
+    }
+
+    /**
+     * Put a dead-lettered event back in the queue.
+     */
+    @PostMapping("/dead-letters/{id}/replay")
+    public void replay(@PathVariable Long id) {
+        outboxDeadLetterService.replay(id);
+    }
+}
@@ -0,0 +1,89 @@
+package com.interview.payment.gateway;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.common.tracing.Correlation;
+import com.interview.common.web.CorrelationIdFilter;
+import com.interview.payment.dto.PaymentRequestEvent;
+import com.interview.payment.dto.PaymentResponseEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link PaymentGateway} over HTTP with the JDK's non-blocking client: requests are written and responses
+ * read by the client's selector thread, so no thread waits on an outstanding payment.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "payment.gateway", name = "type", havingValue = "http")
+public class HttpPaymentGateway implements PaymentGateway {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final PaymentGatewayProperties properties;
+    private final URI paymentsUri;
+
+    public HttpPaymentGateway(ObjectMapper objectMapper, PaymentGatewayProperties properties) {
+        if (properties.getBaseUrl() == null) {
+            throw new IllegalStateException("payment.gateway.base-url is required for the http gateway");
+        }
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.paymentsUri = URI.create(properties.getBaseUrl().replaceAll("/+$", "") + "/payments");
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PaymentResponseEvent> authorize(PaymentRequestEvent request) {
+        HttpRequest httpRequest;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(paymentsUri)
+                    .timeout(properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)));
+            String correlationId = Correlation.current();
+            if (correlationId != null) {
+                builder.header(CorrelationIdFilter.HEADER_PRIMARY, correlationId);
+            }
+            httpRequest = builder.build();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new PaymentGatewayException("Cannot serialise payment request", e));
+        }
+
+        return httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new PaymentGatewayException(
+                                "Payment gateway unreachable for booking " + request.getBookingId(), error);
+                    }
+                    return toResponse(request, response);
+                });
+    }
+
+    private PaymentResponseEvent toResponse(PaymentRequestEvent request, HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new PaymentGatewayException("Payment gateway answered " + response.statusCode()
+                    + " for booking " + request.getBookingId());
+        }
+        try {
+            PaymentResponseEvent body = objectMapper.readValue(response.body(), PaymentResponseEvent.class);
+            if (body.getBookingId() == null) {
+                body.setBookingId(request.getBookingId());
+            }
+            return body;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable payment gateway response", e);
+        }
+    }
+}
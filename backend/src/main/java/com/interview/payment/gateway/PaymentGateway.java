@@ -0,0 +1,18 @@
+package com.interview.payment.gateway;
+
+import com.interview.payment.dto.PaymentRequestEvent;
+import com.interview.payment.dto.PaymentResponseEvent;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Authorises booking payments. Implementations must not block the caller: the returned future completes
+ * when the gateway answers, so a few threads can keep many payments in flight.
+ * <p>
+ * A declined payment completes normally with {@code success = false}; the future completes exceptionally
+ * only when no answer was obtained (timeout, transport or protocol error) and the attempt should be retried.
+ */
+public interface PaymentGateway {
+
+    CompletableFuture<PaymentResponseEvent> authorize(PaymentRequestEvent request);
+}
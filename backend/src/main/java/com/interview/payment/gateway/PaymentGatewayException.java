@@ -0,0 +1,15 @@
+package com.interview.payment.gateway;
+
+/**
+ * The gateway gave no usable answer; the payment outcome is unknown and the request may be retried.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.payment.gateway;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "payment.gateway")
+public class PaymentGatewayProperties {
+
+    /**
+     * {@code simulator} (in-process timer) or {@code http}.
+     */
+    private String type = "simulator";
+
+    /**
+     * Base URL of the HTTP gateway; requests go to {@code POST {baseUrl}/payments}.
+     */
+    private String baseUrl;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Per-request deadline; an unanswered payment fails and is retried by the outbox.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    private Simulator simulator = new Simulator();
+
+    @Data
+    public static class Simulator {
+        private Duration minLatency = Duration.ofSeconds(1);
+        private Duration maxLatency = Duration.ofSeconds(3);
+        private double successRate = 0.6;
+    }
+}
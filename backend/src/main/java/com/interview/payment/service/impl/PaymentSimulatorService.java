@@ -1,36 +1,72 @@
 package com.interview.payment.service.impl;
 
+import com.interview.common.tracing.MdcTaskDecorator;
 import com.interview.payment.dto.PaymentRequestEvent;
 import com.interview.payment.dto.PaymentResponseEvent;
-import lombok.RequiredArgsConstructor;
+import com.interview.payment.gateway.PaymentGateway;
+import com.interview.payment.gateway.PaymentGatewayProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
-import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * In-process {@link PaymentGateway}: answers after a random latency with a random outcome. The answer is
+ * scheduled on a timer rather than slept for, so any number of payments can be pending on one thread.
+ */
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "payment.gateway", name = "type", havingValue = "simulator", matchIfMissing = true)
 @Slf4j
-public class PaymentSimulatorService {
+public class PaymentSimulatorService implements PaymentGateway {
 
-    private final Random random = new Random();
+    private final PaymentGatewayProperties.Simulator settings;
+    private final ScheduledExecutorService timer;
+
+    public PaymentSimulatorService(PaymentGatewayProperties properties) {
+        this.settings = properties.getSimulator();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("payment-sim-");
+        threadFactory.setDaemon(true);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory);
+        executor.setRemoveOnCancelPolicy(true);
+        this.timer = executor;
+    }
 
     /**
-     * Simulate payment processing with random success/failure
+     * Simulate payment processing with random latency and success/failure
      */
-    public PaymentResponseEvent processPayment(PaymentRequestEvent paymentRequest) {
+    @Override
+    public CompletableFuture<PaymentResponseEvent> authorize(PaymentRequestEvent paymentRequest) {
         log.info("Processing payment for booking: {} amount: {}",
                 paymentRequest.getBookingId(), paymentRequest.getAmountCents());
 
+        CompletableFuture<PaymentResponseEvent> result = new CompletableFuture<>();
+        // the answer is logged under the correlation id of the booking that asked
+        timer.schedule(MdcTaskDecorator.propagate(() -> result.complete(respond(paymentRequest))), latencyMillis(),
+                TimeUnit.MILLISECONDS);
+        return result;
+    }
 
-        try {
-            Thread.sleep(1000 + random.nextInt(2000)); // 1-3 seconds
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private long latencyMillis() {
+        long min = settings.getMinLatency().toMillis();
+        long max = settings.getMaxLatency().toMillis();
+        return max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+    }
 
-        boolean success = random.nextDouble() < 0.6;
+    private PaymentResponseEvent respond(PaymentRequestEvent paymentRequest) {
+        boolean success = ThreadLocalRandom.current().nextDouble() < settings.getSuccessRate();
 
         PaymentResponseEvent response = new PaymentResponseEvent();
         response.setBookingId(paymentRequest.getBookingId());
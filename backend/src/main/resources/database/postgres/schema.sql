@@ -0,0 +1,237 @@
+-- =========================================================
+-- PostgreSQL variant of database/schema.sql (PostgreSQL 12+).
+--
+-- Same tables as the H2 schema, plus a database-enforced guarantee
+-- against double bookings: booking.period is generated from
+-- [pickup_time, return_time) and the exclusion constraint
+-- ex_booking_car_period rejects two inventory-blocking bookings of the
+-- same car with overlapping periods. With fleet.claim.exclusion-constraint
+-- enabled, booking a specific car skips the row lock and the re-check
+-- and relies on this constraint instead.
+-- =========================================================
+DROP TABLE IF EXISTS payment CASCADE;
+DROP TABLE IF EXISTS booking CASCADE;
+DROP TABLE IF EXISTS car CASCADE;
+DROP TABLE IF EXISTS rental_location CASCADE;
+DROP TABLE IF EXISTS car_model CASCADE;
+DROP TABLE IF EXISTS client CASCADE;
+DROP TABLE IF EXISTS rental_company CASCADE;
+DROP TABLE IF EXISTS outbox_events CASCADE;
+DROP TABLE IF EXISTS outbox_events_archive CASCADE;
+DROP TABLE IF EXISTS availability_summary CASCADE;
+
+-- car_id WITH = inside a GiST index needs the btree operator classes
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- =========================================================
+-- Parent tables
+-- =========================================================
+
+-- Companies
+CREATE TABLE rental_company (
+  id         BIGSERIAL PRIMARY KEY,
+  name       VARCHAR(120) NOT NULL,
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100),
+  deleted    BOOLEAN NOT NULL DEFAULT FALSE,
+  deleted_at TIMESTAMPTZ NULL,
+  version    BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_company_name ON rental_company (name);
+
+-- Clients (minimal; extend as needed)
+CREATE TABLE client (
+  id          BIGSERIAL PRIMARY KEY,
+  email       VARCHAR(160) NOT NULL,
+  full_name   VARCHAR(160),
+  driver_license_no VARCHAR(40),
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100)
+);
+
+ALTER TABLE client ADD CONSTRAINT uq_client_email UNIQUE (email);
+
+-- Car catalog
+CREATE TABLE car_model (
+  id            BIGSERIAL PRIMARY KEY,
+  make          VARCHAR(80)  NOT NULL,
+  model         VARCHAR(80)  NOT NULL,
+  vehicle_class VARCHAR(40),
+  seats         INT,
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100)
+);
+
+ALTER TABLE car_model ADD CONSTRAINT uq_carmodel_make_model UNIQUE (make, model);
+CREATE INDEX idx_carmodel_make ON car_model (make);
+
+-- Locations
+CREATE TABLE rental_location (
+  id          BIGSERIAL PRIMARY KEY,
+  company_id  BIGINT NOT NULL,
+  name        VARCHAR(120) NOT NULL,
+  city        VARCHAR(120) NOT NULL,
+  country     VARCHAR(120),
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100),
+  deleted     BOOLEAN NOT NULL DEFAULT FALSE,
+  deleted_at  TIMESTAMPTZ NULL,
+  version     BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT fk_location_company FOREIGN KEY (company_id) REFERENCES rental_company(id)
+);
+
+ALTER TABLE rental_location ADD CONSTRAINT uq_location_company_name UNIQUE (company_id, name);
+CREATE INDEX idx_location_city ON rental_location (city);
+
+-- =========================================================
+-- Inventory and transactions
+-- =========================================================
+
+-- Cars
+CREATE TABLE car (
+  id                  BIGSERIAL PRIMARY KEY,
+  company_id          BIGINT NOT NULL,
+  model_id            BIGINT NOT NULL,
+  current_location_id BIGINT,
+  vin                 VARCHAR(64)  NOT NULL,
+  plate_number        VARCHAR(32)  NOT NULL,
+  mileage_km          INT DEFAULT 0,
+  daily_price_in_cents       INT NOT NULL,          -- cents
+  status              VARCHAR(32) NOT NULL,  -- e.g., AVAILABLE, RESERVED, RENTED, MAINTENANCE
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100),
+  deleted             BOOLEAN NOT NULL DEFAULT FALSE,
+  deleted_at          TIMESTAMPTZ NULL,
+  version             BIGINT NOT NULL DEFAULT 0,
+  CONSTRAINT fk_car_company   FOREIGN KEY (company_id)          REFERENCES rental_company(id),
+  CONSTRAINT fk_car_model     FOREIGN KEY (model_id)            REFERENCES car_model(id),
+  CONSTRAINT fk_car_location  FOREIGN KEY (current_location_id) REFERENCES rental_location(id)
+);
+
+ALTER TABLE car ADD CONSTRAINT uq_car_vin UNIQUE (vin);
+ALTER TABLE car ADD CONSTRAINT uq_car_plate UNIQUE (plate_number);
+CREATE INDEX idx_car_company       ON car (company_id);
+CREATE INDEX idx_car_model         ON car (model_id);
+CREATE INDEX idx_car_location      ON car (current_location_id);
+CREATE INDEX idx_car_status        ON car (status);
+
+-- Bookings
+CREATE TABLE booking (
+  id                 BIGSERIAL PRIMARY KEY,
+  client_id          BIGINT NOT NULL,
+  car_id             BIGINT NOT NULL,
+  pickup_location_id BIGINT NOT NULL,
+  return_location_id BIGINT NOT NULL,
+  pickup_time        TIMESTAMPTZ NOT NULL,
+  return_time        TIMESTAMPTZ NOT NULL,
+  -- half-open, like every overlap check in the application: back-to-back bookings do not conflict
+  period             TSTZRANGE GENERATED ALWAYS AS (tstzrange(pickup_time, return_time, '[)')) STORED,
+  status             VARCHAR(32) NOT NULL,  -- e.g., CREATED, CONFIRMED, CANCELED, COMPLETED
+  total_price_cents  INT NOT NULL,
+  status_changed_at  TIMESTAMPTZ,
+  version            BIGINT NOT NULL DEFAULT 0,
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100),
+  CONSTRAINT fk_booking_client  FOREIGN KEY (client_id)          REFERENCES client(id),
+  CONSTRAINT fk_booking_car     FOREIGN KEY (car_id)             REFERENCES car(id),
+  CONSTRAINT fk_booking_pickup  FOREIGN KEY (pickup_location_id) REFERENCES rental_location(id),
+  CONSTRAINT fk_booking_return  FOREIGN KEY (return_location_id) REFERENCES rental_location(id),
+  CONSTRAINT ck_booking_period  CHECK (pickup_time < return_time)
+);
+
+-- Keep the status list in sync with BookingStatus.blocksInventory()
+ALTER TABLE booking ADD CONSTRAINT ex_booking_car_period
+  EXCLUDE USING gist (car_id WITH =, period WITH &&)
+  WHERE (status IN ('CREATED', 'PENDING', 'CONFIRMED'));
+
+CREATE INDEX idx_booking_car          ON booking (car_id);
+CREATE INDEX idx_booking_status       ON booking (status);
+CREATE INDEX idx_booking_time_window  ON booking (pickup_time, return_time);
+-- keyset pages of a client's bookings seek on (pickup_time, id) descending
+CREATE INDEX idx_booking_client_pickup ON booking (client_id, pickup_time DESC, id DESC);
+
+-- Payments
+CREATE TABLE payment (
+  id            BIGSERIAL PRIMARY KEY,
+  booking_id    BIGINT NOT NULL,
+  amount_cents  INT NOT NULL,
+  status        VARCHAR(32) NOT NULL, -- e.g., AUTHORIZED, FAILED, PENDING
+  provider_reference VARCHAR(120),
+  created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by    VARCHAR(100),
+  updated_by    VARCHAR(100),
+  CONSTRAINT fk_payment_booking FOREIGN KEY (booking_id) REFERENCES booking(id)
+);
+
+CREATE INDEX idx_payment_booking ON payment (booking_id);
+CREATE INDEX idx_payment_status  ON payment (status);
+
+CREATE TABLE outbox_events (
+  id             BIGSERIAL PRIMARY KEY,
+  aggregate_id   VARCHAR(100) NOT NULL,
+  aggregate_type VARCHAR(50)  NOT NULL,
+  event_type     VARCHAR(50)  NOT NULL,
+  event_data     TEXT,
+  payload        BYTEA,
+  status         VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+  processed_at   TIMESTAMP NULL,
+  retry_count    INT DEFAULT 0,
+  error_message  TEXT,
+  next_attempt_at TIMESTAMP NULL,
+  correlation_id VARCHAR(100),
+  created_date   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  updated_date   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  created_by     VARCHAR(100) DEFAULT 'SYSTEM',
+  updated_by     VARCHAR(100) DEFAULT 'SYSTEM'
+);
+
+-- retry scans touch only FAILED rows that are due; the partial index stays small however much history accumulates
+CREATE INDEX idx_outbox_retry_due ON outbox_events (next_attempt_at) WHERE status = 'FAILED';
+
+-- status scans (pending events, archival) read in creation order
+CREATE INDEX idx_outbox_status_created ON outbox_events (status, created_date);
+
+-- Completed events moved out of outbox_events by OutboxArchiver
+CREATE TABLE outbox_events_archive (
+  id             BIGINT PRIMARY KEY,
+  aggregate_id   VARCHAR(100) NOT NULL,
+  aggregate_type VARCHAR(50)  NOT NULL,
+  event_type     VARCHAR(50)  NOT NULL,
+  event_data     TEXT,
+  payload        BYTEA,
+  correlation_id VARCHAR(100),
+  created_date   TIMESTAMP NOT NULL,
+  processed_at   TIMESTAMP NULL,
+  archived_at    TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_outbox_archive_aggregate ON outbox_events_archive (aggregate_id);
+
+-- Free cars per (location, model, UTC day), maintained by AvailabilitySummaryUpdater
+CREATE TABLE availability_summary (
+  id           BIGSERIAL PRIMARY KEY,
+  location_id  BIGINT    NOT NULL,
+  model_id     BIGINT    NOT NULL,
+  bucket_day   DATE      NOT NULL,
+  total_cars   INT       NOT NULL,
+  free_cars    INT       NOT NULL,
+  refreshed_at TIMESTAMP NOT NULL,
+  CONSTRAINT uq_availability_summary_bucket UNIQUE (location_id, model_id, bucket_day)
+);
+
+-- summary pages read one location over a day range
+CREATE INDEX idx_availability_summary_location_day ON availability_summary (location_id, bucket_day);
@@ -122,6 +122,7 @@ CREATE TABLE booking (
   return_time        TIMESTAMP NOT NULL,
   status             VARCHAR(32) NOT NULL,  -- e.g., CREATED, CONFIRMED, CANCELED, COMPLETED
   total_price_cents  INT NOT NULL,
+  status_changed_at  TIMESTAMP,
   version            BIGINT NOT NULL DEFAULT 0,
   created_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
   updated_date  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
@@ -136,6 +137,8 @@ CREATE TABLE booking (
 CREATE INDEX idx_booking_car          ON booking (car_id);
 CREATE INDEX idx_booking_status       ON booking (status);
 CREATE INDEX idx_booking_time_window  ON booking (pickup_time, return_time);
+-- keyset pages of a client's bookings seek on (pickup_time, id) descending
+CREATE INDEX idx_booking_client_pickup ON booking (client_id, pickup_time DESC, id DESC);
 
 -- Payments
 CREATE TABLE payment (
@@ -160,12 +163,52 @@ CREATE TABLE outbox_events (
   aggregate_type VARCHAR(50)  NOT NULL,
   event_type     VARCHAR(50)  NOT NULL,
   event_data     TEXT,
+  payload        BLOB,
   status         VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
   processed_at   TIMESTAMP NULL,
   retry_count    INT DEFAULT 0,
   error_message  TEXT,
+  next_attempt_at TIMESTAMP NULL,
+  correlation_id VARCHAR(100),
   created_date   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
   updated_date   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   created_by     VARCHAR(100) DEFAULT 'SYSTEM',
   updated_by     VARCHAR(100) DEFAULT 'SYSTEM'
 );
+
+-- retry scans touch only FAILED rows that are due
+CREATE INDEX idx_outbox_retry_due ON outbox_events (status, next_attempt_at);
+
+-- status scans (pending events, archival) read in creation order
+CREATE INDEX idx_outbox_status_created ON outbox_events (status, created_date);
+
+-- Completed events moved out of outbox_events by OutboxArchiver
+CREATE TABLE outbox_events_archive (
+  id             BIGINT PRIMARY KEY,
+  aggregate_id   VARCHAR(100) NOT NULL,
+  aggregate_type VARCHAR(50)  NOT NULL,
+  event_type     VARCHAR(50)  NOT NULL,
+  event_data     TEXT,
+  payload        BLOB,
+  correlation_id VARCHAR(100),
+  created_date   TIMESTAMP NOT NULL,
+  processed_at   TIMESTAMP NULL,
+  archived_at    TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_outbox_archive_aggregate ON outbox_events_archive (aggregate_id);
+
+-- Free cars per (location, model, UTC day), maintained by AvailabilitySummaryUpdater
+CREATE TABLE availability_summary (
+  id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+  location_id  BIGINT    NOT NULL,
+  model_id     BIGINT    NOT NULL,
+  bucket_day   DATE      NOT NULL,
+  total_cars   INT       NOT NULL,
+  free_cars    INT       NOT NULL,
+  refreshed_at TIMESTAMP NOT NULL,
+  CONSTRAINT uq_availability_summary_bucket UNIQUE (location_id, model_id, bucket_day)
+);
+
+-- summary pages read one location over a day range
+CREATE INDEX idx_availability_summary_location_day ON availability_summary (location_id, bucket_day);
@@ -0,0 +1,116 @@
+package com.interview.booking;
+
+import com.interview.booking.service.BookingService;
+import com.interview.common.BenchmarkApplication;
+import com.interview.common.FleetDataGenerator;
+import com.interview.common.domain.BusinessRuleViolation;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookingService#createBookingByModel} with every thread booking the same model at the same location, so
+ * they race for the same cars. Windows fall in the year after the generated history; sold-out attempts are
+ * counted next to successful bookings rather than failing the run.
+ * <p>
+ * Bookings made during an iteration are deleted after it, so each iteration starts from the generated fleet.
+ * Vary the contention with {@code -t}, e.g. {@code -Djmh.args="-t 16"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class BookingCreateBenchmark {
+
+    @Param({"1000", "10000"})
+    private int cars;
+
+    @Param({"10"})
+    private int bookingsPerCar;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private JdbcTemplate jdbcTemplate;
+    private CarAvailabilityIndex availabilityIndex;
+    private FleetDataGenerator.Fixture fixture;
+    private Instant firstPickup;
+    private long lastGeneratedBookingId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        fixture = new FleetDataGenerator(jdbcTemplate, 42).generate(cars, (long) cars * bookingsPerCar);
+        lastGeneratedBookingId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from booking", Long.class);
+        // generated bookings reach about bookingsPerCar * 54 hours ahead
+        firstPickup = fixture.getGeneratedAt().plus(bookingsPerCar * 3L + 1, ChronoUnit.DAYS);
+        availabilityIndex = context.getBean(CarAvailabilityIndex.class);
+        availabilityIndex.rebuild();
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeIterationBookings() {
+        jdbcTemplate.update("delete from outbox_events");
+        jdbcTemplate.update("delete from booking where id > ?", lastGeneratedBookingId);
+        availabilityIndex.rebuild();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void bookHotModel(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant pickup = firstPickup.plus(random.nextInt(365 * 24), ChronoUnit.HOURS);
+        Long clientId = fixture.getClientIds().get(random.nextInt(fixture.getClientIds().size()));
+        try {
+            bookingService.createBookingByModel(clientId, fixture.hotModelId(), fixture.hotLocationId(),
+                    fixture.hotLocationId(), pickup, pickup.plus(1 + random.nextInt(3), ChronoUnit.DAYS), null);
+            outcomes.booked++;
+        } catch (BusinessRuleViolation e) {
+            outcomes.soldOut++;
+        }
+    }
+
+    /**
+     * Reported per second next to the primary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long booked;
+        public long soldOut;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            booked = 0;
+            soldOut = 0;
+        }
+    }
+}
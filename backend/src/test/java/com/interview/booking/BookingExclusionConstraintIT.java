@@ -0,0 +1,159 @@
+package com.interview.booking;
+
+import com.interview.booking.service.BookingService;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.common.domain.BusinessRuleViolation;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Booking a specific car on the PostgreSQL schema variant, where overlaps are rejected by the
+ * {@code ex_booking_car_period} exclusion constraint instead of a row lock and re-check.
+ * <p>
+ * Run with {@code mvn verify}; skipped when Docker is not available.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:tc:postgresql:13-alpine:///exclusion",
+        "spring.datasource.driver-class-name=org.testcontainers.jdbc.ContainerDatabaseDriver",
+        "spring.datasource.initialization-mode=always",
+        "spring.datasource.schema=classpath:database/postgres/schema.sql",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "fleet.claim.exclusion-constraint=true"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class BookingExclusionConstraintIT {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Client client;
+    private Car car;
+    private RentalLocation location;
+    private Instant dayOne;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+
+        RentalCompany company = TestDataFactory.createTestCompany();
+        company.setName("Exclusion " + suffix);
+        company = companyRepository.save(company);
+
+        location = locationRepository.save(TestDataFactory.createTestLocation(company));
+
+        CarModel model = TestDataFactory.createTestCarModel();
+        model.setModel("Corolla " + suffix);
+        model = carModelRepository.save(model);
+
+        car = TestDataFactory.createTestCar(company, model, location);
+        car.setVin("EX-VIN-" + suffix);
+        car.setPlateNumber("EX-" + suffix.substring(suffix.length() - 12));
+        car = carRepository.save(car);
+
+        Client c = TestDataFactory.createTestClient();
+        c.setEmail("exclusion-" + suffix + "@test.com");
+        client = clientRepository.save(c);
+
+        dayOne = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    void createBooking_ShouldRejectOverlap_AndAllowBackToBack() {
+        book(dayOne, dayOne.plus(2, ChronoUnit.DAYS));
+
+        assertThatThrownBy(() -> book(dayOne.plus(1, ChronoUnit.DAYS), dayOne.plus(3, ChronoUnit.DAYS)))
+                .isInstanceOf(BusinessRuleViolation.class)
+                .hasMessage("Car is not available");
+
+        assertThat(book(dayOne.plus(2, ChronoUnit.DAYS), dayOne.plus(3, ChronoUnit.DAYS))).isNotNull();
+    }
+
+    @Test
+    void createBooking_ShouldIgnoreCanceledBookings() {
+        Long first = book(dayOne, dayOne.plus(2, ChronoUnit.DAYS));
+        bookingService.cancelBooking(first);
+
+        assertThat(book(dayOne, dayOne.plus(2, ChronoUnit.DAYS))).isNotNull();
+    }
+
+    @Test
+    void createBooking_ShouldLetExactlyOneConcurrentWriterWin() throws Exception {
+        int writers = 8;
+        Instant pickup = dayOne.plus(10, ChronoUnit.DAYS);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < writers; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        book(pickup, pickup.plus(2, ChronoUnit.DAYS));
+                        return true;
+                    } catch (BusinessRuleViolation e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int booked = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    booked++;
+                }
+            }
+            assertThat(booked).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Long book(Instant pickup, Instant ret) {
+        return bookingService.createBooking(client.getId(), car.getId(), location.getId(), location.getId(),
+                pickup, ret, null);
+    }
+}
@@ -0,0 +1,197 @@
+package com.interview.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.export.BookingExportProperties;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Export endpoints stream on another thread, so the data is committed up front and removed afterwards.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BookingExportTest {
+
+    private final String unique = UUID.randomUUID().toString().substring(0, 8);
+    private final Instant base = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingExportProperties exportProperties;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+    private Long locationId;
+    private Long modelId;
+    private Long clientId;
+    private final List<Long> activeBookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("Export Company " + unique);
+            companyId = companyRepository.save(company).getId();
+            RentalLocation location = locationRepository.save(TestDataFactory.createTestLocation(company));
+            locationId = location.getId();
+            CarModel model = TestDataFactory.createTestCarModel();
+            model.setModel("Export " + unique);
+            modelId = carModelRepository.save(model).getId();
+            Car car = TestDataFactory.createTestCar(company, model, location);
+            car.setVin("EXP-VIN-" + unique);
+            car.setPlateNumber("EXP-" + unique);
+            carRepository.save(car);
+            Client client = TestDataFactory.createTestClient();
+            client.setEmail("export-" + unique + "@test.com");
+            clientId = clientRepository.save(client).getId();
+
+            for (int i = 0; i < 4; i++) {
+                Booking booking = TestDataFactory.createTestBooking(client, car, location, location);
+                booking.setPickupTime(base.plus(3L * i, ChronoUnit.DAYS));
+                booking.setReturnTime(base.plus(3L * i + 1, ChronoUnit.DAYS));
+                booking.setStatus(i == 1 ? BookingStatus.CANCELED : BookingStatus.CONFIRMED);
+                Long id = bookingRepository.save(booking).getId();
+                if (i != 1) {
+                    activeBookingIds.add(id);
+                }
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from booking where client_id = ?", clientId);
+        jdbcTemplate.update("delete from car where company_id = ?", companyId);
+        jdbcTemplate.update("delete from client where id = ?", clientId);
+        jdbcTemplate.update("delete from car_model where id = ?", modelId);
+        jdbcTemplate.update("delete from rental_location where company_id = ?", companyId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void companyExport_ShouldWriteOneJsonDocumentPerActiveBooking_WithoutLoadingEntities() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        MvcResult result = perform(get("/api/bookings/company/{id}/active/export", companyId));
+
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        List<Long> ids = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertThat(row.get("status").asText()).isEqualTo("CONFIRMED");
+            assertThat(row.get("carModelId").asLong()).isEqualTo(modelId);
+            assertThat(row.get("clientId").asLong()).isEqualTo(clientId);
+            ids.add(row.get("id").asLong());
+        }
+        assertThat(ids).containsExactlyElementsOf(activeBookingIds);
+        assertThat(statistics.getEntityLoadCount()).as("rows are projections, not entities").isZero();
+    }
+
+    @Test
+    void locationExport_ShouldWriteCsv_ForOverlappingBookings() throws Exception {
+        MvcResult result = perform(get("/api/bookings/location/{id}/period/export", locationId)
+                .param("startTime", base.plus(2, ChronoUnit.DAYS).toString())
+                .param("endTime", base.plus(7, ChronoUnit.DAYS).toString())
+                .param("format", "csv"));
+
+        assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+        String[] lines = result.getResponse().getContentAsString().split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(
+                "id,status,totalPriceCents,carModelId,clientId,carId,pickupLocationId,returnLocationId,pickup,ret");
+        assertThat(lines[1]).contains(",CANCELED,").endsWith(base.plus(4, ChronoUnit.DAYS).toString());
+        assertThat(lines[2]).startsWith(activeBookingIds.get(1) + ",CONFIRMED,10000," + modelId + ",");
+    }
+
+    @Test
+    void export_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/bookings/company/{id}/active/export", companyId).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MvcResult perform(RequestBuilder builder) throws Exception {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // the export's own timeout, not MVC's global default
+        assertThat(started.getRequest().getAsyncContext().getTimeout())
+                .isEqualTo(exportProperties.getTimeout().toMillis());
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+}
@@ -0,0 +1,186 @@
+package com.interview.booking;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.service.BookingService;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Booking lists must cost one statement however many cars, clients and locations they span. Data is committed
+ * up front so nothing is already sitting in the persistence context.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingListQueryCountTest {
+
+    private static final int BOOKINGS = 5;
+
+    private final String unique = UUID.randomUUID().toString().substring(0, 8);
+    private final Instant base = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+    private Long hubId;
+    private final List<Long> modelIds = new ArrayList<>();
+    private final List<Long> clientIds = new ArrayList<>();
+    private final List<Long> bookingIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("N+1 Company " + unique);
+            companyId = companyRepository.save(company).getId();
+            RentalLocation hub = TestDataFactory.createTestLocation(company);
+            hub.setName("Hub");
+            hubId = locationRepository.save(hub).getId();
+
+            // every booking has its own car, model, client and return location, so lazy loading would show
+            for (int i = 0; i < BOOKINGS; i++) {
+                RentalLocation dropOff = TestDataFactory.createTestLocation(company);
+                dropOff.setName("Drop-off " + i);
+                locationRepository.save(dropOff);
+                CarModel model = TestDataFactory.createTestCarModel();
+                model.setModel("N+1 " + unique + "-" + i);
+                modelIds.add(carModelRepository.save(model).getId());
+                Car car = TestDataFactory.createTestCar(company, model, hub);
+                car.setVin("N1-VIN-" + unique + i);
+                car.setPlateNumber("N1-" + unique + i);
+                carRepository.save(car);
+                Client client = TestDataFactory.createTestClient();
+                client.setEmail("n-plus-one-" + unique + "-" + i + "@test.com");
+                clientIds.add(clientRepository.save(client).getId());
+
+                Booking booking = TestDataFactory.createTestBooking(client, car, hub, dropOff);
+                booking.setPickupTime(base.plus(i, ChronoUnit.HOURS));
+                booking.setReturnTime(base.plus(2, ChronoUnit.DAYS));
+                booking.setStatus(BookingStatus.CONFIRMED);
+                bookingIds.add(bookingRepository.save(booking).getId());
+            }
+        });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (Long clientId : clientIds) {
+            jdbcTemplate.update("delete from booking where client_id = ?", clientId);
+        }
+        jdbcTemplate.update("delete from car where company_id = ?", companyId);
+        for (Long clientId : clientIds) {
+            jdbcTemplate.update("delete from client where id = ?", clientId);
+        }
+        for (Long modelId : modelIds) {
+            jdbcTemplate.update("delete from car_model where id = ?", modelId);
+        }
+        jdbcTemplate.update("delete from rental_location where company_id = ?", companyId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void activeBookingsForCompany_ShouldTakeOneStatement() {
+        List<BookingResponseDto> bookings = countingStatements(
+                () -> bookingService.getAllActiveBookingsForCompany(companyId));
+
+        assertThat(ids(bookings)).containsExactlyElementsOf(bookingIds);
+        assertThat(bookings.get(0).getCarModelId()).isEqualTo(modelIds.get(0));
+        assertThat(bookings.get(0).getClientId()).isEqualTo(clientIds.get(0));
+        assertThat(bookings.get(0).getStatus()).isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void activeBookingsForLocation_ShouldTakeOneStatement() {
+        List<BookingResponseDto> bookings = countingStatements(
+                () -> bookingService.getActiveBookingsForLocation(hubId));
+
+        assertThat(ids(bookings)).containsExactlyElementsOf(bookingIds);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getPickupLocationId()).isEqualTo(hubId);
+            assertThat(booking.getReturnLocationId()).isNotEqualTo(hubId);
+        });
+    }
+
+    @Test
+    void bookingsForLocationInPeriod_ShouldTakeOneStatement() {
+        List<BookingResponseDto> bookings = countingStatements(() -> bookingService.getBookingsForLocationInPeriod(
+                hubId, base, base.plus(150, ChronoUnit.MINUTES)));
+
+        assertThat(ids(bookings)).containsExactlyElementsOf(bookingIds.subList(0, 3));
+    }
+
+    private List<BookingResponseDto> countingStatements(Supplier<List<BookingResponseDto>> call) {
+        statistics.clear();
+        List<BookingResponseDto> bookings = call.get();
+        assertThat(statistics.getPrepareStatementCount()).as("statements for %d bookings", bookings.size())
+                .isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        return bookings;
+    }
+
+    private static List<Long> ids(List<BookingResponseDto> bookings) {
+        return bookings.stream().map(BookingResponseDto::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,326 @@
+package com.interview.booking;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.common.BenchmarkApplication;
+import com.interview.common.FleetDataGenerator;
+import com.interview.fleet.claim.CarLockTimer;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reproduces the production race on {@code POST /api/bookings/by-model}: many clients asking for the same model at
+ * the same location, which has only a few cars.
+ * <p>
+ * The application runs in-process on a random port (database per {@link BenchmarkApplication}) over a generated
+ * background fleet, plus one scarce model with {@code --cars} cars. Each round, {@code --clients} virtual
+ * clients are released together at one new rental window. Per outcome (booked, conflict, timeout, error) the
+ * harness reports rates and an HdrHistogram of response times, written to {@code --out} as {@code .hgrm} files.
+ * It also reports the car lock waits the application recorded ({@code fleet.car.lock.wait}).
+ * <p>
+ * Afterwards it checks the database for overlapping active bookings of one car and for rounds with more
+ * bookings than cars. Either exits non-zero, which fails the Maven build:
+ * <pre>
+ * mvn -Pload test -Dload.args="--clients=64 --rounds=50 --cars=3" -Dbenchmark.db=testcontainers
+ * </pre>
+ */
+public class BookingLoadHarness {
+
+    private static final String PATH = "/api/bookings/by-model";
+    private static final int WINDOW_DAYS = 2;
+    private static final int ROUND_SPACING_DAYS = 7;
+
+    enum Outcome {
+        BOOKED, CONFLICT, TIMEOUT, ERROR
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final Options options;
+    private final Map<Outcome, Histogram> latencies = new EnumMap<>(Outcome.class);
+    private final Histogram all = new ConcurrentHistogram(3);
+
+    BookingLoadHarness(ConfigurableApplicationContext context, Options options) {
+        this.context = context;
+        this.options = options;
+        for (Outcome outcome : Outcome.values()) {
+            latencies.put(outcome, new ConcurrentHistogram(3));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        int exitCode;
+        try (ConfigurableApplicationContext context =
+                     BenchmarkApplication.start(WebApplicationType.SERVLET, "server.port=0")) {
+            exitCode = new BookingLoadHarness(context, options).run();
+        }
+        System.exit(exitCode);
+    }
+
+    int run() throws Exception {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        FleetDataGenerator generator = new FleetDataGenerator(jdbcTemplate, options.seed);
+        FleetDataGenerator.Fixture fixture = generator.generate(options.backgroundCars,
+                (long) options.backgroundCars * options.bookingsPerCar);
+        Long locationId = fixture.hotLocationId();
+        Long modelId = generator.addScarceModel(fixture, locationId, options.cars);
+        context.getBean(CarAvailabilityIndex.class).rebuild();
+
+        URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + PATH);
+        HttpClient http = HttpClient.newBuilder().connectTimeout(options.timeout).build();
+        ExecutorService clients = Executors.newFixedThreadPool(options.clients,
+                new CustomizableThreadFactory("load-client-"));
+        Map<Outcome, Integer> totals = new EnumMap<>(Outcome.class);
+        int overbookedRounds = 0;
+        long started = System.nanoTime();
+        try {
+            for (int round = 0; round < options.rounds; round++) {
+                Instant pickup = fixture.getGeneratedAt()
+                        .plus(30L + (long) round * ROUND_SPACING_DAYS, ChronoUnit.DAYS);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<Outcome>> requests = new ArrayList<>();
+                for (int c = 0; c < options.clients; c++) {
+                    String body = body(fixture, modelId, locationId, pickup);
+                    requests.add(clients.submit(() -> {
+                        go.await();
+                        return post(http, uri, body);
+                    }));
+                }
+                go.countDown();
+                int booked = 0;
+                for (Future<Outcome> request : requests) {
+                    Outcome outcome = request.get();
+                    totals.merge(outcome, 1, Integer::sum);
+                    booked += outcome == Outcome.BOOKED ? 1 : 0;
+                }
+                if (booked > options.cars) {
+                    overbookedRounds++;
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        PrintStream out = System.out;
+        out.printf(Locale.ROOT, "%nBooking load: %d clients x %d rounds racing for %d cars (%s), %.1f s%n",
+                options.clients, options.rounds, options.cars, System.getProperty("benchmark.db", "h2"),
+                elapsed.toMillis() / 1000.0);
+        printLatencies(out, totals, elapsed);
+        printLockWaits(out, context.getBean(MeterRegistry.class));
+        writeHistograms();
+
+        long overlaps = overlappingBookings(jdbcTemplate, modelId);
+        long stored = jdbcTemplate.queryForObject("select count(*) from booking b join car c on c.id = b.car_id " +
+                "where c.model_id = ?", Long.class, modelId);
+        out.printf(Locale.ROOT, "%nDouble-booking check: %d overlapping pairs, %d rounds booked past %d cars, " +
+                        "%d bookings stored for %d booked responses%n",
+                overlaps, overbookedRounds, options.cars, stored, totals.getOrDefault(Outcome.BOOKED, 0));
+        boolean valid = overlaps == 0 && overbookedRounds == 0 && stored <= (long) options.rounds * options.cars;
+        out.println(valid ? "PASSED" : "FAILED: a car was double-booked");
+        return valid ? 0 : 1;
+    }
+
+    private String body(FleetDataGenerator.Fixture fixture, Long modelId, Long locationId, Instant pickup) {
+        List<Long> clientIds = fixture.getClientIds();
+        return String.format(Locale.ROOT, "{\"clientId\":%d,\"carModelId\":%d,\"pickupLocationId\":%d," +
+                        "\"returnLocationId\":%d,\"pickup\":\"%s\",\"ret\":\"%s\"}",
+                clientIds.get(ThreadLocalRandom.current().nextInt(clientIds.size())), modelId, locationId,
+                locationId, pickup, pickup.plus(WINDOW_DAYS, ChronoUnit.DAYS));
+    }
+
+    private Outcome post(HttpClient http, URI uri, String body) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(options.timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        Outcome outcome;
+        try {
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status / 100 == 2) {
+                outcome = Outcome.BOOKED;
+            } else if (status == 409 || status == 422) {
+                outcome = Outcome.CONFLICT;
+            } else {
+                outcome = Outcome.ERROR;
+            }
+        } catch (HttpTimeoutException e) {
+            outcome = Outcome.TIMEOUT;
+        } catch (IOException e) {
+            outcome = Outcome.ERROR;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        latencies.get(outcome).recordValue(micros);
+        all.recordValue(micros);
+        return outcome;
+    }
+
+    private void printLatencies(PrintStream out, Map<Outcome, Integer> totals, Duration elapsed) {
+        long requests = all.getTotalCount();
+        out.printf(Locale.ROOT, "%-9s %8s %7s %9s %9s %9s %9s %9s%n",
+                "outcome", "count", "rate", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Outcome outcome : Outcome.values()) {
+            int count = totals.getOrDefault(outcome, 0);
+            printRow(out, outcome.name().toLowerCase(Locale.ROOT), latencies.get(outcome), count,
+                    requests == 0 ? 0 : 100.0 * count / requests);
+        }
+        printRow(out, "all", all, requests, 100.0);
+        out.printf(Locale.ROOT, "throughput %.1f requests/s%n", requests * 1000.0 / Math.max(1, elapsed.toMillis()));
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long count, double percent) {
+        out.printf(Locale.ROOT, "%-9s %8d %6.1f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", label, count, percent,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void printLockWaits(PrintStream out, MeterRegistry meterRegistry) {
+        out.printf("%nCar lock waits (%s)%n", CarLockTimer.METRIC);
+        for (Timer timer : meterRegistry.find(CarLockTimer.METRIC).timers()) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            String percentiles = Arrays.stream(snapshot.percentileValues())
+                    .map(value -> String.format(Locale.ROOT, "p%s %.2f ms", trim(value.percentile() * 100),
+                            value.value(TimeUnit.MILLISECONDS)))
+                    .collect(Collectors.joining(", "));
+            out.printf(Locale.ROOT, "%-12s %-9s %8d locks, mean %.2f ms, %s, max %.2f ms%n",
+                    timer.getId().getTag("mode"), timer.getId().getTag("outcome"), snapshot.count(),
+                    snapshot.mean(TimeUnit.MILLISECONDS), percentiles, snapshot.max(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    private void writeHistograms() throws IOException {
+        Path dir = Paths.get(options.out);
+        Files.createDirectories(dir);
+        Map<String, Histogram> files = new HashMap<>();
+        latencies.forEach((outcome, histogram) -> files.put(outcome.name().toLowerCase(Locale.ROOT), histogram));
+        files.put("all", all);
+        for (Map.Entry<String, Histogram> file : files.entrySet()) {
+            if (file.getValue().getTotalCount() == 0) {
+                continue;
+            }
+            try (PrintStream stream = new PrintStream(
+                    Files.newOutputStream(dir.resolve("booking-latency-" + file.getKey() + ".hgrm")))) {
+                // recorded in microseconds, written in milliseconds
+                file.getValue().outputPercentileDistribution(stream, 1000.0);
+            }
+        }
+        System.out.printf("%nLatency distributions written to %s%n", dir.toAbsolutePath());
+    }
+
+    /**
+     * Pairs of inventory-blocking bookings of one car of the model whose periods overlap.
+     */
+    private static long overlappingBookings(JdbcTemplate jdbcTemplate, Long modelId) {
+        List<String> blocking = BookingStatus.activeSet().stream().map(Enum::name).collect(Collectors.toList());
+        return new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject(
+                "select count(*) from booking a " +
+                        "join booking b on b.car_id = a.car_id and b.id > a.id " +
+                        "join car c on c.id = a.car_id " +
+                        "where c.model_id = :modelId " +
+                        "and a.status in (:blocking) and b.status in (:blocking) " +
+                        "and a.pickup_time < b.return_time and b.pickup_time < a.return_time",
+                new MapSqlParameterSource("modelId", modelId).addValue("blocking", blocking), Long.class);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * {@code --name=value} command-line options.
+     */
+    static final class Options {
+        int clients = 32;
+        int rounds = 20;
+        int cars = 3;
+        int backgroundCars = 1000;
+        int bookingsPerCar = 10;
+        Duration timeout = Duration.ofSeconds(5);
+        long seed = 42;
+        String out = "target/load";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "clients":
+                        options.clients = Integer.parseInt(value);
+                        break;
+                    case "rounds":
+                        options.rounds = Integer.parseInt(value);
+                        break;
+                    case "cars":
+                        options.cars = Integer.parseInt(value);
+                        break;
+                    case "background-cars":
+                        options.backgroundCars = Integer.parseInt(value);
+                        break;
+                    case "bookings-per-car":
+                        options.bookingsPerCar = Integer.parseInt(value);
+                        break;
+                    case "timeout-ms":
+                        options.timeout = Duration.ofMillis(Long.parseLong(value));
+                        break;
+                    case "seed":
+                        options.seed = Long.parseLong(value);
+                        break;
+                    case "out":
+                        options.out = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            return options;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.interview.booking;
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
 import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.repo.dto.BookingInfoDto;
 import com.interview.catalog.domain.CarModel;
 import com.interview.catalog.repo.CarModelRepository;
 import com.interview.client.domain.Client;
@@ -19,10 +20,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -160,5 +164,35 @@ class BookingRepositoryTest extends BaseRepositoryTest {
         assertThat(overlappingBookings).hasSize(1);
         assertThat(overlappingBookings.get(0).getId()).isEqualTo(testBooking.getId());
     }
+
+    @Test
+    void findListByClientIdAfter_ShouldSeekPastTiesInPickupTime() {
+        // two more bookings share one pickup time, so the id has to break the tie
+        Instant shared = testBooking.getPickupTime().plus(10, ChronoUnit.DAYS);
+        for (int i = 0; i < 2; i++) {
+            Booking booking = TestDataFactory.createTestBooking(testClient, testCar, testLocation, testLocation);
+            booking.setPickupTime(shared);
+            booking.setReturnTime(shared.plus(1, ChronoUnit.DAYS));
+            bookingRepository.save(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> seen = new ArrayList<>();
+        List<BookingInfoDto> page = bookingRepository.findListByClientIdAfter(
+                testClient.getId(), null, null, PageRequest.of(0, 1));
+        while (!page.isEmpty()) {
+            BookingInfoDto last = page.get(0);
+            seen.add(last.getBookingId());
+            page = bookingRepository.findListByClientIdAfter(
+                    testClient.getId(), last.getPickupTime(), last.getBookingId(), PageRequest.of(0, 1));
+        }
+
+        List<Long> offsetOrder = bookingRepository.findListByClientId(testClient.getId(), PageRequest.of(0, 10))
+                .getContent().stream().map(BookingInfoDto::getBookingId).collect(Collectors.toList());
+        assertThat(seen).hasSize(3).containsExactlyInAnyOrderElementsOf(offsetOrder);
+        assertThat(seen.get(0)).isGreaterThan(seen.get(1));
+        assertThat(seen.get(2)).isEqualTo(testBooking.getId());
+    }
 }
 
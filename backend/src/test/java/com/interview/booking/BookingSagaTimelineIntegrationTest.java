@@ -0,0 +1,191 @@
+package com.interview.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.booking.dto.BookingCreateByCarDto;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.common.web.CorrelationIdFilter;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * One booking through the whole saga, with the relay and a fast, always-approving payment simulator: the
+ * correlation id of the HTTP request reaches the outbox rows and the timeline, and every stage is recorded.
+ */
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=true",
+        "payment.gateway.simulator.min-latency=10ms",
+        "payment.gateway.simulator.max-latency=20ms",
+        "payment.gateway.simulator.success-rate=1.0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext
+class BookingSagaTimelineIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String unique = UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+    private Long locationId;
+    private Long modelId;
+    private Long carId;
+    private Long clientId;
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("Saga Company " + unique);
+            companyId = companyRepository.save(company).getId();
+            RentalLocation location = locationRepository.save(TestDataFactory.createTestLocation(company));
+            locationId = location.getId();
+            CarModel model = TestDataFactory.createTestCarModel();
+            model.setModel("Saga " + unique);
+            modelId = carModelRepository.save(model).getId();
+            Car car = TestDataFactory.createTestCar(company, model, location);
+            car.setVin("SAGA-" + unique);
+            car.setPlateNumber("SG-" + unique);
+            carId = carRepository.save(car).getId();
+            Client client = TestDataFactory.createTestClient();
+            client.setEmail("saga-" + unique + "@test.com");
+            clientId = clientRepository.save(client).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (bookingId != null) {
+            jdbcTemplate.update("delete from outbox_events where aggregate_id = ?", bookingId.toString());
+        }
+        jdbcTemplate.update("delete from booking where client_id = ?", clientId);
+        jdbcTemplate.update("delete from car where id = ?", carId);
+        jdbcTemplate.update("delete from client where id = ?", clientId);
+        jdbcTemplate.update("delete from car_model where id = ?", modelId);
+        jdbcTemplate.update("delete from rental_location where id = ?", locationId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void booking_ShouldCarryCorrelationId_ThroughEveryStage() throws Exception {
+        String correlationId = "saga-" + unique;
+        BookingCreateByCarDto request = new BookingCreateByCarDto();
+        request.setClientId(clientId);
+        request.setCarId(carId);
+        request.setPickupLocationId(locationId);
+        request.setReturnLocationId(locationId);
+        request.setPickup(Instant.now().plus(1, ChronoUnit.DAYS));
+        request.setRet(Instant.now().plus(3, ChronoUnit.DAYS));
+
+        String created = mockMvc.perform(post("/api/bookings/by-car")
+                .header(CorrelationIdFilter.HEADER_PRIMARY, correlationId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        bookingId = objectMapper.readTree(created).get("id").asLong();
+
+        JsonNode timeline = awaitTerminalTimeline();
+
+        assertThat(timeline.get("correlationId").asText()).isEqualTo(correlationId);
+        List<String> stages = new ArrayList<>();
+        timeline.get("stages").forEach(stage -> stages.add(stage.get("stage").asText()));
+        assertThat(stages).containsExactly("BOOKING_PERSISTED", "OUTBOX_ENQUEUED", "CLAIMED", "PAYMENT_REQUESTED",
+                "PAYMENT_ANSWERED", "BOOKING_CONFIRMED");
+
+        // the BOOKING_CONFIRMED row is written on the completion pool, under the id the relay restored
+        assertThat(jdbcTemplate.queryForList("select correlation_id from outbox_events where aggregate_id = ?",
+                String.class, bookingId.toString())).hasSize(2).containsOnly(correlationId);
+        assertThat(meterRegistry.get("booking.saga.duration").tag("outcome", "confirmed").timer().count())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("booking.saga.stage").tag("stage", "PAYMENT_ANSWERED").timer().count())
+                .isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void timeline_ShouldBeNotFound_ForUnknownBooking() throws Exception {
+        mockMvc.perform(get("/api/bookings/{id}/timeline", Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private JsonNode awaitTerminalTimeline() throws Exception {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (true) {
+            String body = mockMvc.perform(get("/api/bookings/{id}/timeline", bookingId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode timeline = objectMapper.readTree(body);
+            JsonNode stages = timeline.get("stages");
+            if (stages.size() > 0 && stages.get(stages.size() - 1).get("stage").asText().equals("BOOKING_CONFIRMED")) {
+                return timeline;
+            }
+            assertThat(System.nanoTime()).as("saga not confirmed within %s: %s", TIMEOUT, body).isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.interview.booking;
+
+import com.interview.booking.dto.BookingTimelineDto;
+import com.interview.booking.saga.BookingSagaTracer;
+import com.interview.booking.saga.BookingTimelineProperties;
+import com.interview.booking.saga.SagaStage;
+import com.interview.common.web.CorrelationIdFilter;
+import com.interview.outboxevent.dto.OutboxEventAppended;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingSagaTracerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookingTimelineProperties properties = new BookingTimelineProperties();
+    private final BookingSagaTracer tracer = new BookingSagaTracer(properties, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void stages_ShouldFormTimeline_WithRequestCorrelationId() {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "corr-1");
+        tracer.record(1L, SagaStage.BOOKING_PERSISTED);
+        MDC.clear();
+        tracer.onOutboxEventAppended(new OutboxEventAppended(10L, "1", "PAYMENT_REQUESTED"));
+        tracer.record(1L, SagaStage.CLAIMED);
+        tracer.record(1L, SagaStage.PAYMENT_REQUESTED);
+        tracer.record(1L, SagaStage.PAYMENT_ANSWERED);
+        tracer.onOutboxEventAppended(new OutboxEventAppended(11L, "1", "BOOKING_CONFIRMED"));
+
+        BookingTimelineDto timeline = tracer.timeline(1L).orElseThrow();
+
+        assertThat(timeline.getCorrelationId()).isEqualTo("corr-1");
+        assertThat(timeline.getStages()).extracting(BookingTimelineDto.Stage::getStage)
+                .containsExactly("BOOKING_PERSISTED", "OUTBOX_ENQUEUED", "CLAIMED", "PAYMENT_REQUESTED",
+                        "PAYMENT_ANSWERED", "BOOKING_CONFIRMED");
+        assertThat(timeline.getStages().get(0).getSincePreviousMs()).isZero();
+        assertThat(timeline.getStages()).isSortedAccordingTo(
+                (a, b) -> Long.compare(a.getSinceStartMs(), b.getSinceStartMs()));
+    }
+
+    @Test
+    void stages_ShouldFeedStageAndDurationTimers() {
+        tracer.record(2L, SagaStage.BOOKING_PERSISTED);
+        tracer.record(2L, SagaStage.PAYMENT_ANSWERED);
+        tracer.record(2L, SagaStage.BOOKING_CANCELED);
+
+        // the first stage has nothing before it
+        assertThat(meterRegistry.get("booking.saga.stage").tag("stage", "BOOKING_PERSISTED").timer().count())
+                .isZero();
+        assertThat(meterRegistry.get("booking.saga.stage").tag("stage", "BOOKING_CANCELED").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("booking.saga.duration").tag("outcome", "canceled").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("booking.saga.duration").tag("outcome", "confirmed").timer().count())
+                .isZero();
+    }
+
+    @Test
+    void timeline_ShouldStopGrowing_AtMaxStages() {
+        properties.setMaxStages(3);
+        for (int attempt = 0; attempt < 10; attempt++) {
+            tracer.record(3L, SagaStage.PAYMENT_REQUESTED);
+        }
+
+        assertThat(tracer.timeline(3L).orElseThrow().getStages()).hasSize(3);
+    }
+
+    @Test
+    void outboxEvents_ShouldBeIgnored_WhenNotBookingStages() {
+        tracer.onOutboxEventAppended(new OutboxEventAppended(12L, "4", "SOMETHING_ELSE"));
+        tracer.onOutboxEventAppended(new OutboxEventAppended(13L, "not-a-booking", "BOOKING_CONFIRMED"));
+
+        assertThat(tracer.timeline(4L)).isEmpty();
+    }
+
+    @Test
+    void nothing_ShouldBeRecorded_WhenDisabled() {
+        properties.setEnabled(false);
+
+        tracer.record(5L, SagaStage.BOOKING_PERSISTED);
+
+        assertThat(tracer.timeline(5L)).isEmpty();
+    }
+}
@@ -14,6 +14,7 @@ import com.interview.common.TestDataFactory;
 import com.interview.common.domain.BusinessRuleViolation;
 import com.interview.common.domain.EntityNotFound;
 import com.interview.company.service.RentalLocationService;
+import com.interview.fleet.claim.CarClaimer;
 import com.interview.fleet.domain.Car;
 import com.interview.fleet.service.CarAvailabilityService;
 import com.interview.fleet.service.CarService;
@@ -24,8 +25,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +61,10 @@ class BookingServiceTest {
     private BookingMapper bookingMapper;
     @Mock
     private BookingPaymentOrchestrator bookingPaymentOrchestrator;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private CarClaimer carClaimer;
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -220,4 +231,109 @@ class BookingServiceTest {
 
         assertThat(testBooking.getStatus()).isEqualTo(BookingStatus.COMPLETED);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createBookingByModel_ShouldSkipCandidatesTakenSinceShortlist() {
+
+        Car otherCar = TestDataFactory.createTestCar(
+                TestDataFactory.createTestCompany(),
+                TestDataFactory.createTestCarModel(),
+                testCar.getCurrentLocation()
+        );
+        otherCar.setId(2L);
+        Map<Long, Boolean> free = new HashMap<>();
+        free.put(1L, false);
+        free.put(2L, true);
+
+        when(carAvailabilityService.findAvailableCarIds(eq(1L), eq(1L), any(), any(), any()))
+                .thenReturn(Arrays.asList(1L, 2L));
+        when(carAvailabilityService.availabilityFor(eq(Arrays.asList(1L, 2L)), any(), any())).thenReturn(free);
+        when(carService.lockByIdForUpdate(2L)).thenReturn(otherCar);
+        when(carAvailabilityService.isCarAvailable(eq(2L), any(), any())).thenReturn(true);
+        when(clientRepository.getOne(1L)).thenReturn(testBooking.getClient());
+        when(rentalLocationService.getEntityById(1L)).thenReturn(testCar.getCurrentLocation());
+        when(discountService.applyPromotions(eq(1L), anyInt(), any())).thenReturn(10000);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+
+        Long bookingId = bookingService.createBookingByModel(1L, 1L, 1L, 1L,
+                bookingDto.getPickup(), bookingDto.getRet(), null);
+
+
+        assertThat(bookingId).isEqualTo(1L);
+        verify(carService, never()).lockByIdForUpdate(1L);
+        verify(carService).lockByIdForUpdate(2L);
+        verify(bookingRepository).save(argThat(b -> b.getCar() == otherCar));
+    }
+
+    @Test
+    void createBookingByModel_ShouldClaimWithSkipLocked_WhenActive() {
+
+        when(carClaimer.isSkipLockedActive()).thenReturn(true);
+        when(carClaimer.claimFirstFree(eq(1L), eq(1L), any(), any())).thenReturn(Optional.of(testCar));
+        when(clientRepository.getOne(1L)).thenReturn(testBooking.getClient());
+        when(rentalLocationService.getEntityById(1L)).thenReturn(testCar.getCurrentLocation());
+        when(discountService.applyPromotions(eq(1L), anyInt(), any())).thenReturn(10000);
+        when(bookingRepository.save(any(Booking.class))).thenReturn(testBooking);
+
+
+        Long bookingId = bookingService.createBookingByModel(1L, 1L, 1L, 1L,
+                bookingDto.getPickup(), bookingDto.getRet(), null);
+
+
+        assertThat(bookingId).isEqualTo(1L);
+        verify(carAvailabilityService, never()).findAvailableCarIds(any(), any(), any(), any(), any());
+        verifyNoInteractions(carService);
+    }
+
+    @Test
+    void createBookingByModel_ShouldThrow_WhenSkipLockedClaimFindsNothing() {
+
+        when(carClaimer.isSkipLockedActive()).thenReturn(true);
+        when(carClaimer.claimFirstFree(eq(1L), eq(1L), any(), any())).thenReturn(Optional.empty());
+
+
+        assertThatThrownBy(() -> bookingService.createBookingByModel(1L, 1L, 1L, 1L,
+                bookingDto.getPickup(), bookingDto.getRet(), null))
+                .isInstanceOf(BusinessRuleViolation.class)
+                .hasMessage("Inventory changed; no cars available at this moment.");
+
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void createBooking_ShouldMapExclusionViolation_WhenInsertingOptimistically() {
+
+        when(carClaimer.isExclusionConstraintActive()).thenReturn(true);
+        when(carService.getEntityById(1L)).thenReturn(testCar);
+        when(clientRepository.getOne(1L)).thenReturn(testBooking.getClient());
+        when(rentalLocationService.getEntityById(1L)).thenReturn(testCar.getCurrentLocation());
+        when(discountService.applyPromotions(eq(1L), anyInt(), any())).thenReturn(10000);
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingDto))
+                .isInstanceOf(BusinessRuleViolation.class)
+                .hasMessage("Car is not available");
+
+        verify(carService, never()).lockByIdForUpdate(any());
+        verifyNoInteractions(carAvailabilityService);
+    }
+
+    @Test
+    void createBooking_ShouldRethrowOtherIntegrityViolations_WhenInsertingOptimistically() {
+
+        when(carClaimer.isExclusionConstraintActive()).thenReturn(true);
+        when(carService.getEntityById(1L)).thenReturn(testCar);
+        when(clientRepository.getOne(1L)).thenReturn(testBooking.getClient());
+        when(rentalLocationService.getEntityById(1L)).thenReturn(testCar.getCurrentLocation());
+        when(discountService.applyPromotions(eq(1L), anyInt(), any())).thenReturn(10000);
+        when(bookingRepository.save(any(Booking.class))).thenThrow(new DataIntegrityViolationException("fk",
+                new SQLException("violates foreign key constraint", "23503")));
+
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingDto))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.interview.booking;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.booking.saga.BookingMetricsProperties;
+import com.interview.booking.saga.BookingStateMetrics;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class BookingStateMetricsTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BookingStateMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new BookingStateMetrics(bookingRepository, new BookingMetricsProperties(), meterRegistry);
+    }
+
+    @Test
+    void setStatus_ShouldRememberPreviousStatus_OnlyOnRealTransitions() {
+        Booking booking = new Booking();
+        Instant created = booking.getStatusChangedAt();
+
+        booking.setStatus(BookingStatus.CREATED);
+        assertThat(booking.getPreviousStatus()).isNull();
+        assertThat(booking.getStatusChangedAt()).isEqualTo(created);
+
+        booking.setStatus(BookingStatus.PENDING);
+        assertThat(booking.getPreviousStatus()).isEqualTo(BookingStatus.CREATED);
+        assertThat(booking.getPreviousStatusChangedAt()).isEqualTo(created);
+        assertThat(booking.getStatusChangedAt()).isAfterOrEqualTo(created);
+    }
+
+    @Test
+    void transitions_ShouldFeedTimerPerFromAndTo() {
+        Booking booking = new Booking();
+        booking.setStatus(BookingStatus.PENDING);
+        metrics.onBookingChanged(BookingInventoryChangedEvent.of(booking));
+        booking.setStatus(BookingStatus.CONFIRMED);
+        metrics.onBookingChanged(BookingInventoryChangedEvent.of(booking));
+        // a new booking has no previous status
+        metrics.onBookingChanged(BookingInventoryChangedEvent.of(new Booking()));
+
+        assertThat(meterRegistry.get("booking.state.duration").tags("from", "CREATED", "to", "PENDING").timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("booking.state.duration").tags("from", "PENDING", "to", "CONFIRMED").timer()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.find("booking.state.duration").timers()).hasSize(2);
+    }
+
+    @Test
+    void sample_ShouldCountBacklogStatuses() {
+        metrics.sample();
+        double before = meterRegistry.get("booking.backlog.count").tag("status", "PENDING").gauge().value();
+
+        bookingRepository.saveAndFlush(pendingBooking());
+        metrics.sample();
+
+        assertThat(meterRegistry.get("booking.backlog.count").tag("status", "PENDING").gauge().value())
+                .isEqualTo(before + 1);
+        assertThat(meterRegistry.find("booking.backlog.count").tag("status", "CONFIRMED").gauge()).isNull();
+    }
+
+    private Booking pendingBooking() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        RentalCompany company = TestDataFactory.createTestCompany();
+        company.setName("Backlog " + unique);
+        companyRepository.save(company);
+        RentalLocation location = locationRepository.save(TestDataFactory.createTestLocation(company));
+        CarModel model = TestDataFactory.createTestCarModel();
+        model.setModel("Backlog " + unique);
+        carModelRepository.save(model);
+        Car car = TestDataFactory.createTestCar(company, model, location);
+        car.setVin("BL-" + unique);
+        car.setPlateNumber("BL-" + unique);
+        carRepository.save(car);
+        Client client = TestDataFactory.createTestClient();
+        client.setEmail("backlog-" + unique + "@test.com");
+        clientRepository.save(client);
+
+        Booking booking = TestDataFactory.createTestBooking(client, car, location, location);
+        booking.setStatus(BookingStatus.PENDING);
+        return booking;
+    }
+}
@@ -0,0 +1,193 @@
+package com.interview.booking;
+
+import com.interview.booking.service.BookingService;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.common.domain.BusinessRuleViolation;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.claim.CarClaimMode;
+import com.interview.fleet.claim.CarClaimProperties;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.repo.CarRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention benchmark for booking-by-model: many clients book the same model at the same location
+ * for the same window, once per claim mode, against a real PostgreSQL (H2 has no SKIP LOCKED).
+ * Latency percentiles are logged for comparison. Both modes must never double-book, and
+ * SKIP LOCKED must hand out every car while requests remain.
+ * <p>
+ * Run with {@code mvn verify}; skipped when Docker is not available.
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:tc:postgresql:13-alpine:///interview",
+        "spring.datasource.driver-class-name=org.testcontainers.jdbc.ContainerDatabaseDriver",
+        "spring.datasource.hikari.maximum-pool-size=48",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class CarClaimContentionIT {
+
+    private static final int CARS = 16;
+    private static final int CLIENTS = 32;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarClaimProperties carClaimProperties;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private RentalLocation location;
+    private CarModel carModel;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        RentalCompany company = TestDataFactory.createTestCompany();
+        company.setName("Contention " + System.nanoTime());
+        company = companyRepository.save(company);
+        location = locationRepository.save(TestDataFactory.createTestLocation(company));
+        carModel = carModelRepository.save(TestDataFactory.createTestCarModel());
+        client = clientRepository.save(TestDataFactory.createTestClient());
+
+        for (int i = 0; i < CARS; i++) {
+            Car car = TestDataFactory.createTestCar(company, carModel, location);
+            car.setPlateNumber("CT-" + company.getId() + "-" + i);
+            car.setVin("CT-VIN-" + company.getId() + "-" + i);
+            carRepository.save(car);
+        }
+    }
+
+    @Test
+    void claimModes_ShouldNeverDoubleBook_UnderContention() throws Exception {
+        Instant pickup = Instant.now().plus(10, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+
+        RunResult loop = run(CarClaimMode.LOCK_LOOP, pickup);
+        RunResult skipLocked = run(CarClaimMode.SKIP_LOCKED, pickup.plus(10, ChronoUnit.DAYS));
+
+        log.info("Claim contention ({} clients, {} cars): LOCK_LOOP {} | SKIP_LOCKED {}", CLIENTS, CARS, loop, skipLocked);
+
+        // the loop only ever tries the shortlisted candidates, so it can leave cars unclaimed
+        assertThat(loop.booked).isBetween(1, CARS);
+        assertThat(skipLocked.booked).isEqualTo(CARS);
+    }
+
+    private RunResult run(CarClaimMode mode, Instant pickup) throws Exception {
+        carClaimProperties.setMode(mode);
+        Instant ret = pickup.plus(2, ChronoUnit.DAYS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long t0 = System.nanoTime();
+                    try {
+                        bookingService.createBookingByModel(client.getId(), carModel.getId(),
+                                location.getId(), location.getId(), pickup, ret, null);
+                        return System.nanoTime() - t0;
+                    } catch (BusinessRuleViolation | DataAccessException e) {
+                        return -(System.nanoTime() - t0);
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Long> latencies = new ArrayList<>();
+            int booked = 0;
+            for (Future<Long> f : futures) {
+                long nanos = f.get(60, TimeUnit.SECONDS);
+                if (nanos > 0) {
+                    booked++;
+                }
+                latencies.add(Math.abs(nanos));
+            }
+            assertNoDoubleBooking(pickup, ret);
+            return new RunResult(booked, latencies);
+        } finally {
+            pool.shutdownNow();
+            carClaimProperties.setMode(CarClaimMode.AUTO);
+        }
+    }
+
+    private void assertNoDoubleBooking(Instant pickup, Instant ret) {
+        Integer maxPerCar = jdbcTemplate.queryForObject(
+                "select coalesce(max(cnt), 0) from (" +
+                        "select count(*) cnt from booking " +
+                        "where pickup_time = ? and return_time = ? group by car_id) t",
+                Integer.class, Timestamp.from(pickup), Timestamp.from(ret));
+        assertThat(maxPerCar).isLessThanOrEqualTo(1);
+    }
+
+    private static final class RunResult {
+        final int booked;
+        final List<Long> latencies;
+
+        RunResult(int booked, List<Long> latencies) {
+            this.booked = booked;
+            this.latencies = new ArrayList<>(latencies);
+            Collections.sort(this.latencies);
+        }
+
+        long percentileMillis(double p) {
+            int idx = (int) Math.ceil(p * latencies.size()) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(latencies.get(Math.max(0, idx)));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("booked=%d p50=%dms p99=%dms max=%dms",
+                    booked, percentileMillis(0.50), percentileMillis(0.99), percentileMillis(1.0));
+        }
+    }
+}
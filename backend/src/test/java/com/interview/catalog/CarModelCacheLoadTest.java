@@ -0,0 +1,191 @@
+package com.interview.catalog;
+
+import com.interview.catalog.dto.CarModelCreateDto;
+import com.interview.catalog.dto.CarModelResponseDto;
+import com.interview.catalog.dto.CarModelUpdateDto;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.catalog.service.CarModelService;
+import com.interview.common.domain.EntityNotFound;
+import com.interview.common.web.PageResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.interview.catalog.service.impl.CarModelServiceImpl.ALL_CAR_MODELS;
+import static com.interview.catalog.service.impl.CarModelServiceImpl.CAR_MODELS_BY_MAKE;
+import static com.interview.catalog.service.impl.CarModelServiceImpl.CAR_MODEL_BY_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Drives the catalog reads from several threads and counts the statements Hibernate prepares. Not
+ * transactional: cache writes are applied on commit, so a rolled-back test would never populate them.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DirtiesContext
+class CarModelCacheLoadTest {
+
+    private static final String[] MAKES = {"Toyota", "Ford", "Skoda"};
+    private static final int MODELS_PER_MAKE = 10;
+    private static final int THREADS = 8;
+    private static final int READS_PER_THREAD = 500;
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private CarModelService carModelService;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> ids = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (String make : MAKES) {
+            for (int i = 0; i < MODELS_PER_MAKE; i++) {
+                ids.add(carModelService.create(createDto(make, "Model " + i)).getId());
+            }
+        }
+        clearCaches();
+        // measure the service cache alone: the inserts also went into Hibernate's second-level cache
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        carModelRepository.deleteAll();
+        clearCaches();
+    }
+
+    @Test
+    void reads_ShouldOnlyHitDatabaseOncePerKey() throws Exception {
+        double missesBefore = byIdGets("miss");
+        int reads = readConcurrently();
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        // every id, every make and the full list: one select each, plus a count for a page query at most
+        // (fewer in practice: the page queries warm Hibernate's second-level cache for the lookups by id)
+        int keys = ids.size() + MAKES.length + 1;
+        assertThat(coldStatements).isBetween(1L, 2L * keys);
+        assertThat(coldStatements).isLessThan(reads / 50);
+
+        statistics.clear();
+        readConcurrently();
+
+        assertThat(statistics.getPrepareStatementCount()).as("warm caches").isZero();
+        assertThat(byIdGets("miss") - missesBefore).as("one load per id").isEqualTo(ids.size());
+        assertThat(byIdGets("hit")).isGreaterThan(0);
+    }
+
+    @Test
+    void writes_ShouldEvictListCaches() {
+        assertThat(carModelService.getAllModels(FIRST_PAGE).getTotalElements()).isEqualTo(ids.size());
+        carModelService.listByMake("toyota", FIRST_PAGE);
+
+        CarModelResponseDto created = carModelService.create(createDto("Toyota", "Yaris"));
+        assertThat(carModelService.getAllModels(FIRST_PAGE).getTotalElements()).isEqualTo(ids.size() + 1);
+        assertThat(carModelService.listByMake("TOYOTA", FIRST_PAGE).getTotalElements()).isEqualTo(MODELS_PER_MAKE + 1);
+
+        CarModelUpdateDto update = new CarModelUpdateDto();
+        update.setMake("Toyota");
+        update.setModel("Yaris Cross");
+        carModelService.update(update, created.getId());
+        assertThat(carModelService.get(created.getId()).getModel()).isEqualTo("Yaris Cross");
+        assertThat(models(carModelService.getAllModels(PageRequest.of(1, 20)))).contains("Yaris Cross");
+
+        carModelService.delete(created.getId());
+        assertThat(carModelService.getAllModels(FIRST_PAGE).getTotalElements()).isEqualTo(ids.size());
+        assertThat(carModelService.listByMake("toyota", FIRST_PAGE).getTotalElements()).isEqualTo(MODELS_PER_MAKE);
+        assertThatThrownBy(() -> carModelService.get(created.getId())).isInstanceOf(EntityNotFound.class);
+    }
+
+    /**
+     * Random mix of lookups by id, by make and of the full list; returns the number of reads.
+     */
+    private int readConcurrently() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < READS_PER_THREAD; i++) {
+                        int pick = random.nextInt(10);
+                        if (pick < 7) {
+                            carModelService.get(ids.get(random.nextInt(ids.size())));
+                        } else if (pick < 9) {
+                            carModelService.listByMake(MAKES[random.nextInt(MAKES.length)], FIRST_PAGE);
+                        } else {
+                            carModelService.getAllModels(FIRST_PAGE);
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> done : pool.invokeAll(workers)) {
+                done.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return THREADS * READS_PER_THREAD;
+    }
+
+    private double byIdGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", CAR_MODEL_BY_ID).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private void clearCaches() {
+        for (String name : new String[]{CAR_MODEL_BY_ID, CAR_MODELS_BY_MAKE, ALL_CAR_MODELS}) {
+            cacheManager.getCache(name).clear();
+        }
+    }
+
+    private static List<String> models(PageResponse<CarModelResponseDto> page) {
+        List<String> models = new ArrayList<>();
+        page.getContent().forEach(model -> models.add(model.getModel()));
+        return models;
+    }
+
+    private static CarModelCreateDto createDto(String make, String model) {
+        CarModelCreateDto dto = new CarModelCreateDto();
+        dto.setMake(make);
+        dto.setModel(model);
+        dto.setVehicleClass("Compact");
+        dto.setSeats(5);
+        return dto;
+    }
+}
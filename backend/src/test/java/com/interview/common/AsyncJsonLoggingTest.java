@@ -0,0 +1,156 @@
+package com.interview.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.common.logging.AsyncAppenderMetrics;
+import com.interview.common.logging.CountingAsyncAppender;
+import com.interview.common.logging.JsonLogEncoder;
+import com.interview.common.web.CorrelationIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncJsonLoggingTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LoggerContext context = new LoggerContext();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        MDC.clear();
+        context.stop();
+    }
+
+    @Test
+    void encoder_ShouldWriteOneJsonLine_WithCorrelationId() throws Exception {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "corr-1");
+        MDC.put("bookingId", "42");
+        Logger logger = context.getLogger("com.interview.booking.Sample");
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.INFO,
+                "Booking {} is \"CONFIRMED\"", null, new Object[]{42});
+
+        String line = new String(encoder().encode(event), StandardCharsets.UTF_8);
+
+        assertThat(line).endsWith("}\n").doesNotContain("\n{");
+        JsonNode json = objectMapper.readTree(line);
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("logger").asText()).isEqualTo("com.interview.booking.Sample");
+        assertThat(json.get("correlationId").asText()).isEqualTo("corr-1");
+        assertThat(json.get("bookingId").asText()).isEqualTo("42");
+        assertThat(json.get("message").asText()).isEqualTo("Booking 42 is \"CONFIRMED\"");
+        assertThat(json.has("timestamp")).isTrue();
+        assertThat(json.has("stackTrace")).isFalse();
+    }
+
+    @Test
+    void encoder_ShouldIncludeStackTrace() throws Exception {
+        Logger logger = context.getLogger("com.interview.booking.Sample");
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.ERROR, "Payment failed",
+                new IllegalStateException("gateway down"), null);
+
+        JsonNode json = objectMapper.readTree(encoder().encode(event));
+
+        assertThat(json.get("stackTrace").asText()).startsWith("java.lang.IllegalStateException: gateway down");
+        assertThat(json.has("correlationId")).isFalse();
+    }
+
+    @Test
+    void asyncAppender_ShouldCountDroppedInfo_AndKeepWarnings() {
+        BlockingAppender downstream = new BlockingAppender();
+        CountingAsyncAppender async = asyncAppender(downstream);
+        Logger logger = context.getLogger("com.interview.Sample");
+        logger.addAppender(async);
+
+        // the worker takes the first event and blocks; 8 slots, discarding once fewer than 4 are free
+        for (int i = 0; i < 20; i++) {
+            logger.info("info {}", i);
+        }
+        logger.warn("warning");
+        release.countDown();
+        async.stop();
+
+        assertThat(async.getDiscardedCount()).isBetween(14L, 15L);
+        assertThat(downstream.messages).hasSize(21 - (int) async.getDiscardedCount()).contains("warning");
+    }
+
+    @Test
+    void metrics_ShouldExposeDiscardedEventsPerAppender() {
+        LoggerContext global = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger logger = global.getLogger("com.interview.AsyncJsonLoggingTest");
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(global);
+        async.setName("TEST_ASYNC");
+        async.addAppender(new BlockingAppender());
+        async.start();
+        logger.addAppender(async);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            new AsyncAppenderMetrics().bindTo(registry);
+
+            assertThat(registry.get("logging.events.discarded").tag("appender", "TEST_ASYNC").functionCounter()
+                    .count()).isZero();
+            assertThat(registry.get("logging.queue.remaining").tag("appender", "TEST_ASYNC").gauge().value())
+                    .isEqualTo(256);
+        } finally {
+            logger.detachAppender(async);
+            release.countDown();
+            async.stop();
+        }
+    }
+
+    private JsonLogEncoder encoder() {
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        return encoder;
+    }
+
+    private CountingAsyncAppender asyncAppender(BlockingAppender downstream) {
+        downstream.setContext(context);
+        downstream.start();
+        CountingAsyncAppender async = new CountingAsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC");
+        async.setQueueSize(8);
+        async.setDiscardingThreshold(4);
+        async.addAppender(downstream);
+        async.start();
+        return async;
+    }
+
+    /**
+     * Holds the async worker on its first event until the test releases it.
+     */
+    private class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getFormattedMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.interview.common;
+
+import com.interview.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Starts the application for JMH suites and the load harness.
+ * <p>
+ * The database follows {@code -Dbenchmark.db}:
+ * <ul>
+ *     <li>{@code h2} (default): the {@code benchmark} profile on a fresh in-memory database</li>
+ *     <li>{@code postgres}: the {@code postgres} profile on top, against the local database it points at</li>
+ *     <li>{@code testcontainers}: the {@code postgres} profile against a throwaway container, stopped with the
+ *     context</li>
+ * </ul>
+ * The {@code postgres} profile recreates the schema on startup.
+ */
+public final class BenchmarkApplication {
+
+    private static final String POSTGRES_IMAGE = "postgres:15-alpine";
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Without the web server, for suites that call the service layer.
+     *
+     * @param properties {@code name=value} overrides, e.g. {@code availability.index.enabled=false}
+     */
+    public static ConfigurableApplicationContext start(String... properties) {
+        return start(WebApplicationType.NONE, properties);
+    }
+
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        String db = System.getProperty("benchmark.db", "h2").toLowerCase(Locale.ROOT);
+        List<String> args = new ArrayList<>();
+        PostgreSQLContainer<?> container = null;
+        switch (db) {
+            case "h2":
+                // command-line arguments, so they win over spring.profiles.active in application.yaml
+                args.add("--spring.profiles.active=benchmark");
+                args.add("--spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID());
+                break;
+            case "postgres":
+                args.add("--spring.profiles.active=benchmark,postgres");
+                break;
+            case "testcontainers":
+                container = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+                container.start();
+                args.add("--spring.profiles.active=benchmark,postgres");
+                args.add("--spring.datasource.url=" + container.getJdbcUrl());
+                args.add("--spring.datasource.username=" + container.getUsername());
+                args.add("--spring.datasource.password=" + container.getPassword());
+                break;
+            default:
+                throw new IllegalArgumentException("benchmark.db must be h2, postgres or testcontainers: " + db);
+        }
+        Arrays.stream(properties).map(property -> "--" + property).forEach(args::add);
+
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                    .web(webApplicationType)
+                    .run(args.toArray(new String[0]));
+            if (container != null) {
+                PostgreSQLContainer<?> started = container;
+                context.addApplicationListener(event -> {
+                    if (event instanceof ContextClosedEvent) {
+                        started.stop();
+                    }
+                });
+            }
+            return context;
+        } catch (RuntimeException e) {
+            if (container != null) {
+                container.stop();
+            }
+            throw e;
+        }
+    }
+}
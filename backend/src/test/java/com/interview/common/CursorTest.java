@@ -0,0 +1,56 @@
+package com.interview.common;
+
+import com.interview.common.web.Cursor;
+import com.interview.common.web.CursorPageResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void encode_ShouldRoundTrip_KeysContainingTheSeparator() {
+        Cursor cursor = Cursor.after("B:12/ä", 42L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void instantKeys_ShouldRoundTrip() {
+        Instant pickup = Instant.parse("2025-03-01T10:15:30.123456Z");
+
+        assertThat(Cursor.decode(Cursor.after(pickup, 7L).encode()).keyAsInstant()).isEqualTo(pickup);
+    }
+
+    @Test
+    void decode_ShouldTreatBlankAsFirstPage_AndRejectGarbage() {
+        assertThat(Cursor.decode("")).isNull();
+        assertThat(Cursor.decode(null)).isNull();
+        assertThatThrownBy(() -> Cursor.decode("%%%")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void from_ShouldUseTheExtraRowOnlyAsNextPageSignal() {
+        CursorPageResponse<String> page = CursorPageResponse.from(Arrays.asList("a", "b", "c"), 2,
+                row -> Cursor.after(row, row.charAt(0)));
+
+        assertThat(page.getContent()).containsExactly("a", "b");
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(Cursor.decode(page.getNextCursor()).getKey()).isEqualTo("b");
+
+        CursorPageResponse<String> last = CursorPageResponse.from(Arrays.asList("a", "b"), 2,
+                row -> Cursor.after(row, row.charAt(0)));
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThatThrownBy(() -> CursorPageResponse.fetchLimit(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(CursorPageResponse.fetchLimit(20).getPageSize()).isEqualTo(21);
+    }
+}
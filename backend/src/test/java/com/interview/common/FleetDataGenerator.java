@@ -0,0 +1,263 @@
+package com.interview.common;
+
+import lombok.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic fleet for benchmarks: {@code data.sql} scaled up to any size and written in JDBC batches.
+ * <p>
+ * One company owns every car. Cars are spread evenly over locations in a handful of cities and over a model
+ * catalog, so each (location, model) bucket holds about the same number of cars. Every car gets a back-to-back
+ * run of bookings around now: completed in the past, confirmed ahead, with a share canceled.
+ * Names carry a random tag, so generating twice into one database does not hit the unique constraints.
+ * <p>
+ * Benchmarks call {@link #generate} on the application's DataSource. To fill a standalone database, for example a
+ * local PostgreSQL container:
+ * <pre>
+ * java -cp target/test-classes:target/classes:&lt;test classpath&gt; com.interview.common.FleetDataGenerator \
+ *     --url=jdbc:postgresql://localhost:5432/interview?reWriteBatchedInserts=true --user=interview \
+ *     --password=interview --schema=classpath:database/postgres/schema.sql --cars=100000 --bookings=10000000
+ * </pre>
+ */
+public class FleetDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int CITIES = 10;
+    private static final int MODELS = 10;
+    private static final int CARS_PER_LOCATION = 250;
+    private static final int BOOKINGS_PER_CLIENT = 50;
+    private static final int MAX_CLIENTS = 100_000;
+    // 36 h average gap plus 3 days average length
+    private static final long AVERAGE_SPACING_HOURS = 108;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final String tag = UUID.randomUUID().toString().substring(0, 8);
+
+    public FleetDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Writes {@code cars} cars and {@code bookings} bookings, plus the companies, locations, models and clients
+     * they reference. Statements auto-commit batch by batch.
+     */
+    public Fixture generate(int cars, long bookings) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        int locations = Math.max(4, Math.min(400, cars / CARS_PER_LOCATION));
+        int clients = (int) Math.max(10, Math.min(MAX_CLIENTS, bookings / BOOKINGS_PER_CLIENT));
+
+        Long companyId = insertCompany();
+        List<Long> locationIds = insertLocations(companyId, locations);
+        List<Long> modelIds = insertModels();
+        List<Long> clientIds = insertClients(clients);
+        List<Long> carIds = insertCars(companyId, locationIds, modelIds, cars);
+        insertBookings(carIds, locationIds, clientIds, bookings, now);
+        return new Fixture(companyId, locationIds, modelIds, clientIds, carIds, now);
+    }
+
+    /**
+     * Adds a model that exists only as {@code cars} cars at one location, without bookings: the "last few cars"
+     * that concurrent clients race for.
+     */
+    public Long addScarceModel(Fixture fixture, Long locationId, int cars) {
+        String model = "Scarce " + tag;
+        jdbcTemplate.update("insert into car_model (make, model, vehicle_class, seats, created_date, updated_date) " +
+                "values ('Make S', ?, 'Compact', 5, current_timestamp, current_timestamp)", model);
+        Long modelId = jdbcTemplate.queryForObject("select id from car_model where model = ?", Long.class, model);
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < cars; i++) {
+            rows.add(new Object[]{fixture.getCompanyId(), modelId, locationId, "BENCH-" + tag + "-S" + i,
+                    tag + "-S" + i, random.nextInt(150_000), 10_000, "AVAILABLE"});
+            if (rows.size() == BATCH_SIZE) {
+                insertCarBatch(rows);
+            }
+        }
+        insertCarBatch(rows);
+        return modelId;
+    }
+
+    private Long insertCompany() {
+        jdbcTemplate.update("insert into rental_company (name, created_date, updated_date, deleted, version) " +
+                "values (?, current_timestamp, current_timestamp, false, 0)", "Bench Rentals " + tag);
+        return jdbcTemplate.queryForObject("select id from rental_company where name = ?", Long.class,
+                "Bench Rentals " + tag);
+    }
+
+    private List<Long> insertLocations(Long companyId, int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{companyId, "Location " + i, "City " + (i % CITIES), "Benchland"});
+        }
+        batch("insert into rental_location (company_id, name, city, country, created_date, updated_date, " +
+                "deleted, version) values (?, ?, ?, ?, current_timestamp, current_timestamp, false, 0)", rows);
+        return jdbcTemplate.queryForList("select id from rental_location where company_id = ? order by id",
+                Long.class, companyId);
+    }
+
+    private List<Long> insertModels() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < MODELS; i++) {
+            rows.add(new Object[]{"Make " + (i % 4), "Model " + i + " " + tag, i % 2 == 0 ? "Compact" : "Sedan",
+                    5});
+        }
+        batch("insert into car_model (make, model, vehicle_class, seats, created_date, updated_date) " +
+                "values (?, ?, ?, ?, current_timestamp, current_timestamp)", rows);
+        return jdbcTemplate.queryForList("select id from car_model where model like ? order by id",
+                Long.class, "Model % " + tag);
+    }
+
+    private List<Long> insertClients(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[]{"Client " + i, "client-" + i + "-" + tag + "@bench.test"});
+        }
+        batch("insert into client (full_name, email, created_date, updated_date) " +
+                "values (?, ?, current_timestamp, current_timestamp)", rows);
+        return jdbcTemplate.queryForList("select id from client where email like ? order by id",
+                Long.class, "client-%-" + tag + "@bench.test");
+    }
+
+    /**
+     * Car {@code i} stands at location {@code i % locations} with model {@code (i / locations) % models}.
+     */
+    private List<Long> insertCars(Long companyId, List<Long> locationIds, List<Long> modelIds, int count) {
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            int model = (i / locationIds.size()) % modelIds.size();
+            rows.add(new Object[]{companyId, modelIds.get(model), locationIds.get(i % locationIds.size()),
+                    "BENCH-" + tag + "-" + i, tag + "-" + i, random.nextInt(150_000),
+                    10_000 + model * 1_000, i % 50 == 49 ? "MAINTENANCE" : "AVAILABLE"});
+            if (rows.size() == BATCH_SIZE) {
+                insertCarBatch(rows);
+            }
+        }
+        insertCarBatch(rows);
+        return jdbcTemplate.queryForList("select id from car where company_id = ? order by id", Long.class,
+                companyId);
+    }
+
+    private void insertCarBatch(List<Object[]> rows) {
+        batch("insert into car (company_id, model_id, current_location_id, vin, plate_number, mileage_km, " +
+                "daily_price_in_cents, status, created_date, updated_date, deleted, version) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, current_timestamp, current_timestamp, false, 0)", rows);
+        rows.clear();
+    }
+
+    /**
+     * Each car gets its share of bookings laid end to end, 1 to 5 days long with up to 3 days between them,
+     * centred on now so that about half are in the past.
+     */
+    private void insertBookings(List<Long> carIds, List<Long> locationIds, List<Long> clientIds, long total,
+                                Instant now) {
+        if (carIds.isEmpty()) {
+            return;
+        }
+        long perCar = total / carIds.size();
+        long remainder = total % carIds.size();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < carIds.size(); i++) {
+            long count = perCar + (i < remainder ? 1 : 0);
+            int model = (i / locationIds.size()) % MODELS;
+            int dailyPrice = 10_000 + model * 1_000;
+            Long locationId = locationIds.get(i % locationIds.size());
+            Instant cursor = now.minus(Duration.ofHours(count * AVERAGE_SPACING_HOURS / 2));
+            for (long b = 0; b < count; b++) {
+                Instant pickup = cursor.plus(random.nextInt(72), ChronoUnit.HOURS);
+                int days = 1 + random.nextInt(5);
+                Instant ret = pickup.plus(days, ChronoUnit.DAYS);
+                cursor = ret;
+                rows.add(new Object[]{clientIds.get(random.nextInt(clientIds.size())), carIds.get(i), locationId,
+                        locationId, Timestamp.from(pickup), Timestamp.from(ret), status(ret, now),
+                        days * dailyPrice});
+                if (rows.size() == BATCH_SIZE) {
+                    insertBookingBatch(rows);
+                }
+            }
+        }
+        insertBookingBatch(rows);
+    }
+
+    private String status(Instant ret, Instant now) {
+        if (random.nextInt(20) == 0) {
+            return "CANCELED";
+        }
+        return ret.isBefore(now) ? "COMPLETED" : "CONFIRMED";
+    }
+
+    private void insertBookingBatch(List<Object[]> rows) {
+        batch("insert into booking (client_id, car_id, pickup_location_id, return_location_id, pickup_time, " +
+                "return_time, status, total_price_cents, version, created_date, updated_date) " +
+                "values (?, ?, ?, ?, ?, ?, ?, ?, 0, current_timestamp, current_timestamp)", rows);
+        rows.clear();
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    /**
+     * Ids of what was generated. Location 0 and model 0 form the bucket benchmarks use for contention.
+     */
+    @Value
+    public static class Fixture {
+        Long companyId;
+        List<Long> locationIds;
+        List<Long> modelIds;
+        List<Long> clientIds;
+        List<Long> carIds;
+        Instant generatedAt;
+
+        public Long hotLocationId() {
+            return locationIds.get(0);
+        }
+
+        public Long hotModelId() {
+            return modelIds.get(0);
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                options.getOrDefault("url", "jdbc:postgresql://localhost:5432/interview?reWriteBatchedInserts=true"),
+                options.getOrDefault("user", "interview"), options.getOrDefault("password", "interview"));
+        if (options.containsKey("schema")) {
+            new ResourceDatabasePopulator(new DefaultResourceLoader().getResource(options.get("schema")))
+                    .execute(dataSource);
+        }
+        int cars = Integer.parseInt(options.getOrDefault("cars", "100000"));
+        long bookings = Long.parseLong(options.getOrDefault("bookings", "10000000"));
+
+        long started = System.nanoTime();
+        Fixture fixture = new FleetDataGenerator(new JdbcTemplate(dataSource),
+                Long.parseLong(options.getOrDefault("seed", "42"))).generate(cars, bookings);
+        System.out.printf("Generated company %d: %d locations, %d clients, %d cars, %d bookings in %d s%n",
+                fixture.getCompanyId(), fixture.getLocationIds().size(), fixture.getClientIds().size(),
+                fixture.getCarIds().size(), bookings, Duration.ofNanos(System.nanoTime() - started).getSeconds());
+    }
+}
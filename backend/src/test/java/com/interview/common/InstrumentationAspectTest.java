@@ -0,0 +1,134 @@
+package com.interview.common;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.interview.common.annotation.Loggable;
+import com.interview.common.aspect.InstrumentationAspect;
+import com.interview.common.aspect.InstrumentationProperties;
+import com.interview.common.aspect.MethodMetricsRegistry;
+import com.interview.common.aspect.MethodStats;
+import com.interview.common.domain.EntityNotFound;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentationAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MethodMetricsRegistry registry = new MethodMetricsRegistry(meterRegistry);
+    private final InstrumentationProperties properties = new InstrumentationProperties();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final Logger serviceLog = (Logger) LoggerFactory.getLogger(SampleService.class);
+    private SampleService service;
+
+    @BeforeEach
+    void setUp() {
+        properties.setSampleRate(0);
+        properties.setSlowThreshold(Duration.ofMinutes(1));
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleService());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new InstrumentationAspect(properties, registry));
+        service = factory.getProxy();
+
+        serviceLog.setLevel(Level.DEBUG);
+        appender.start();
+        serviceLog.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        serviceLog.detachAppender(appender);
+    }
+
+    @Test
+    void calls_ShouldBeCountedPerMethod_WithErrorsAndMeters() {
+        for (int i = 0; i < 10; i++) {
+            service.find((long) i);
+        }
+        assertThatThrownBy(() -> service.fail()).isInstanceOf(EntityNotFound.class);
+
+        List<MethodStats> stats = registry.stats();
+        assertThat(stats).extracting(MethodStats::getMethod)
+                .containsExactlyInAnyOrder("SampleService.find", "SampleService.fail");
+        MethodStats find = stats.stream().filter(s -> s.getMethod().equals("SampleService.find")).findFirst().get();
+        assertThat(find.getCalls()).isEqualTo(10);
+        assertThat(find.getErrors()).isZero();
+        assertThat(find.getMaxMs()).isGreaterThanOrEqualTo(find.getP50Ms());
+        MethodStats fail = stats.stream().filter(s -> s.getMethod().equals("SampleService.fail")).findFirst().get();
+        assertThat(fail.getErrors()).isEqualTo(1);
+
+        FunctionTimer timer = meterRegistry.get("service.method")
+                .tag("class", "SampleService").tag("method", "find").functionTimer();
+        assertThat(timer.count()).isEqualTo(10);
+        assertThat(meterRegistry.get("service.method.errors").tag("method", "fail").functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void fastCalls_ShouldNotBeLogged_WhenNotSampled() {
+        service.find(1L);
+        service.find(2L);
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void slowCalls_ShouldBeLoggedAtWarn_WithParamsButNotResult() {
+        properties.setSlowThreshold(Duration.ZERO);
+
+        service.find(42L);
+
+        assertThat(appender.list).hasSize(1);
+        ILoggingEvent event = appender.list.get(0);
+        assertThat(event.getLevel()).isEqualTo(Level.WARN);
+        assertThat(event.getFormattedMessage()).startsWith("SampleService.find took ")
+                .contains("args=[42]")
+                .doesNotContain("result=");
+    }
+
+    @Test
+    void sampledCalls_ShouldBeLoggedAtLoggableLevel() {
+        properties.setSampleRate(1);
+
+        service.find(7L);
+        assertThatThrownBy(() -> service.fail()).isInstanceOf(EntityNotFound.class);
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel).containsOnly(Level.DEBUG);
+        assertThat(appender.list.get(1).getFormattedMessage()).contains("error=EntityNotFound: gone");
+    }
+
+    @Test
+    void sampledCalls_ShouldBeSkipped_WhenLevelIsDisabled() {
+        properties.setSampleRate(1);
+        serviceLog.setLevel(Level.INFO);
+
+        service.find(7L);
+
+        assertThat(appender.list).isEmpty();
+        assertThat(registry.stats()).extracting(MethodStats::getCalls).containsExactly(1L);
+    }
+
+    @Loggable(logParams = true, logResult = false, level = "DEBUG")
+    static class SampleService {
+
+        public String find(Long id) {
+            return "car-" + id;
+        }
+
+        public void fail() {
+            throw new EntityNotFound("gone");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.interview.common;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.interview.common.logging.CountingAsyncAppender;
+import com.interview.common.logging.JsonLogEncoder;
+import com.interview.common.web.CorrelationIdFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What logging adds to a request thread, with the dev pipeline ({@code sync}: pattern layout, written and flushed
+ * by the caller) and the {@code prod} one ({@code async}: JSON, queued for a background writer).
+ * <p>
+ * Each operation is one request's worth of logging: a correlation id in the MDC, four INFO lines with arguments
+ * and a DEBUG line, into a file under {@code target/}. Sample time gives the latency percentiles eight concurrent
+ * request threads see; tear-down prints how many events the async queue shed to keep them there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LoggingBenchmark {
+
+    private static final String PATTERN =
+            "%d{yyyy-MM-dd HH:mm:ss.SSS} %5level [%X{correlationId:-NO_CORRELATION_ID}] %logger{36} - %msg%n";
+
+    @Param({"sync", "async"})
+    public String pipeline;
+
+    private LoggerContext context;
+    private Logger log;
+    private CountingAsyncAppender asyncAppender;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new LoggerContext();
+        Files.createDirectories(Path.of("target", "logging-benchmark"));
+        file = Files.createTempFile(Path.of("target", "logging-benchmark"), pipeline + "-", ".log");
+
+        Appender<ILoggingEvent> appender;
+        if ("sync".equals(pipeline)) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern(PATTERN);
+            appender = fileAppender(encoder, true);
+        } else {
+            // as configured in logback-spring.xml under the prod profile
+            asyncAppender = new CountingAsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC_FILE");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setDiscardingThreshold(1638);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(fileAppender(new JsonLogEncoder(), false));
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+        log = context.getLogger("com.interview.booking.service.impl.BookingServiceImpl");
+        log.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        log.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (asyncAppender != null) {
+            System.out.printf("%nDiscarded by the async appender: %d%n", asyncAppender.getDiscardedCount());
+        }
+        context.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void request() {
+        MDC.put(CorrelationIdFilter.MDC_KEY, UUID.randomUUID().toString());
+        try {
+            log.info("Creating booking for client {} at location {}", 42L, 7L);
+            log.debug("Locked car {} for {} to {}", 1_000L, "2026-11-01T10:00:00Z", "2026-11-04T10:00:00Z");
+            log.info("BookingServiceImpl.createBooking took {}ms args={}", 12, "[BookingCreateDto(clientId=42)]");
+            log.info("Payment requested for booking {}", 100_000L);
+            log.info("Booking {} is PENDING", 100_000L);
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+    }
+
+    private Appender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder, boolean immediateFlush) {
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setName("FILE");
+        appender.setFile(file.toString());
+        appender.setEncoder(encoder);
+        appender.setImmediateFlush(immediateFlush);
+        appender.start();
+        return appender;
+    }
+}
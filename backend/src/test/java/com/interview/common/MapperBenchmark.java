@@ -0,0 +1,92 @@
+package com.interview.common;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingResponseDto;
+import com.interview.booking.mapper.BookingMapper;
+import com.interview.booking.mapper.BookingMapperImpl;
+import com.interview.booking.repo.dto.BookingRow;
+import com.interview.catalog.domain.CarModel;
+import com.interview.client.domain.Client;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.dtos.CarCreateDto;
+import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.mapper.CarMapper;
+import com.interview.fleet.mapper.CarMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-object cost of the MapStruct mappers on the booking and fleet response paths. The generated
+ * implementations have no collaborators, so they are used directly, without a Spring context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final CarMapper carMapper = new CarMapperImpl();
+
+    private Booking booking;
+    private BookingRow bookingRow;
+    private Car car;
+    private CarCreateDto carCreateDto;
+
+    @Setup
+    public void setUp() {
+        RentalCompany company = TestDataFactory.createTestCompany();
+        company.setId(1L);
+        RentalLocation location = TestDataFactory.createTestLocation(company);
+        location.setId(10L);
+        CarModel model = TestDataFactory.createTestCarModel();
+        model.setId(100L);
+        car = TestDataFactory.createTestCar(company, model, location);
+        car.setId(1_000L);
+        Client client = TestDataFactory.createTestClient();
+        client.setId(10_000L);
+        booking = TestDataFactory.createTestBooking(client, car, location, location);
+        booking.setId(100_000L);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        bookingRow = new BookingRow(booking.getId(), booking.getStatus(), booking.getTotalPriceCents(), model.getId(),
+                client.getId(), car.getId(), location.getId(), location.getId(), booking.getPickupTime(),
+                booking.getReturnTime());
+        carCreateDto = TestDataFactory.createCarCreateDto(company.getId(), model.getId(), location.getId());
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingEntityToResponse() {
+        return bookingMapper.toResponse(booking);
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingRowToResponse() {
+        return bookingMapper.toResponse(bookingRow);
+    }
+
+    @Benchmark
+    public CarResponseDto carEntityToResponse() {
+        return carMapper.toResponse(car);
+    }
+
+    @Benchmark
+    public Car carCreateDtoToEntity() {
+        return carMapper.toEntity(carCreateDto);
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.common;
+
+import com.interview.common.tracing.Correlation;
+import com.interview.common.tracing.MdcTaskDecorator;
+import com.interview.common.web.CorrelationIdFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MdcTaskDecoratorTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    void decoratedTask_ShouldRunWithSubmittersMdc_AndLeaveWorkerClean() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        MDC.put(CorrelationIdFilter.MDC_KEY, "corr-1");
+        Runnable task = new MdcTaskDecorator().decorate(() -> seen.set(MDC.get(CorrelationIdFilter.MDC_KEY)));
+        MDC.clear();
+
+        executor.submit(task).get();
+        String afterwards = executor.submit(() -> MDC.get(CorrelationIdFilter.MDC_KEY)).get();
+
+        assertThat(seen.get()).isEqualTo("corr-1");
+        assertThat(afterwards).isNull();
+    }
+
+    @Test
+    void scope_ShouldRestorePreviousId() {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "outer");
+
+        try (Correlation.Scope ignored = Correlation.open("inner")) {
+            assertThat(Correlation.current()).isEqualTo("inner");
+        }
+        assertThat(Correlation.current()).isEqualTo("outer");
+
+        try (Correlation.Scope ignored = Correlation.open(null)) {
+            assertThat(Correlation.current()).isEqualTo("outer");
+        }
+    }
+
+    @Test
+    void current_ShouldCutIdsToColumnLength() {
+        MDC.put(CorrelationIdFilter.MDC_KEY, "x".repeat(Correlation.MAX_LENGTH + 20));
+
+        assertThat(Correlation.current()).hasSize(Correlation.MAX_LENGTH);
+    }
+}
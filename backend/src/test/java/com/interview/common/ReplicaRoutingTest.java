@@ -0,0 +1,187 @@
+package com.interview.common;
+
+import com.interview.common.datasource.ReadConsistency;
+import com.interview.common.datasource.ReplicaHealthChecker;
+import com.interview.common.datasource.ReplicaPool;
+import com.interview.common.datasource.ReplicaRoutingDataSource;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for streaming replicas. Which database served a transaction is read
+ * from H2's {@code database()}.
+ */
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.max-staleness=1h",
+        "datasource.routing.health-check-interval=1h",
+        "datasource.routing.replicas[0].name=replica-a",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:replica-a;DB_CLOSE_DELAY=-1",
+        "datasource.routing.replicas[0].username=sa",
+        "datasource.routing.replicas[1].name=replica-b",
+        "datasource.routing.replicas[1].url=jdbc:h2:mem:replica-b;DB_CLOSE_DELAY=-1",
+        "datasource.routing.replicas[1].username=sa",
+        "availability.index.enabled=true"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplicaHealthChecker healthChecker;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Test
+    void readOnlyTransactions_ShouldAlternateBetweenReplicas() {
+        Set<String> served = new HashSet<>(Arrays.asList(read(), read()));
+
+        assertThat(served).containsExactlyInAnyOrder("REPLICA-A", "REPLICA-B");
+        assertThat(write()).doesNotStartWith("REPLICA");
+        assertThat(meterRegistry.get("datasource.routing.connections").tag("target", "replica-a").counter()
+                .count()).isPositive();
+    }
+
+    @Test
+    void committedWrite_ShouldSendReadsToPrimary_UntilReplicasAreCheckedAgain() {
+        AtomicReference<Instant> lastWrite = new AtomicReference<>();
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(null, null, lastWrite::set)) {
+            String primary = write();
+
+            assertThat(lastWrite.get()).isNotNull();
+            assertThat(read()).isEqualTo(primary);
+
+            healthChecker.checkReplicas();
+            assertThat(read()).startsWith("REPLICA");
+        }
+    }
+
+    @Test
+    void readAfter_ShouldSkipReplicasNotKnownToHoldTheWrite() {
+        healthChecker.checkReplicas();
+        Instant future = Instant.now().plusSeconds(60);
+
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(null, future, null)) {
+            assertThat(read()).doesNotStartWith("REPLICA");
+        }
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(null, Instant.now().minusSeconds(60), null)) {
+            assertThat(read()).startsWith("REPLICA");
+        }
+    }
+
+    @Test
+    void zeroStaleness_ShouldReadFromPrimary() {
+        try (ReadConsistency.Scope ignored = ReadConsistency.open(Duration.ZERO, null, null)) {
+            assertThat(read()).doesNotStartWith("REPLICA");
+        }
+    }
+
+    @Test
+    void availabilityIndexRebuild_ShouldReadFromPrimary() {
+        healthChecker.checkReplicas();
+        double replicaReads = replicaReads();
+
+        // the stand-in replicas have no tables, so a rebuild served by one would fail and leave the index unloaded
+        availabilityIndex.rebuild();
+
+        assertThat(availabilityIndex.isReady()).isTrue();
+        assertThat(replicaReads()).isEqualTo(replicaReads);
+    }
+
+    @Test
+    void unreachableReplica_ShouldBeSkipped() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        HikariDataSource primary = h2("primary-" + unique);
+        ReplicaPool up = new ReplicaPool("up", h2("up-" + unique));
+        ReplicaPool down = new ReplicaPool("down", h2("down-" + unique));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(up, down),
+                Duration.ofHours(1), new SimpleMeterRegistry());
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        try {
+            up.check("", Duration.ofSeconds(1));
+            down.check("", Duration.ofSeconds(1));
+            down.getDataSource().close();
+
+            // the first read that lands on the closed pool fails over and marks it down
+            for (int i = 0; i < 4; i++) {
+                assertThat(read(dataSource)).isEqualTo(("up-" + unique).toUpperCase());
+            }
+            assertThat(down.isHealthy()).isFalse();
+
+            up.getDataSource().close();
+            up.check("", Duration.ofSeconds(1));
+            assertThat(read(dataSource)).isEqualTo(("primary-" + unique).toUpperCase());
+        } finally {
+            routing.close();
+            primary.close();
+        }
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("datasource.routing.connections").tag("kind", "read").counters().stream()
+                .filter(counter -> !"primary".equals(counter.getId().getTag("target")))
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private String read() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template.execute(status -> database(jdbcTemplate));
+    }
+
+    private String write() {
+        return new TransactionTemplate(transactionManager).execute(status -> database(jdbcTemplate));
+    }
+
+    private static String read(DataSource dataSource) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        return template.execute(status -> database(new JdbcTemplate(dataSource)));
+    }
+
+    private static String database(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+    private static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setConnectionTimeout(1000);
+        return dataSource;
+    }
+}
@@ -0,0 +1,91 @@
+package com.interview.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.interview.common.cache.CachingProperties;
+import com.interview.common.cache.TwoTierCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConcurrentMapCacheManager shared = new ConcurrentMapCacheManager();
+    private CachingProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CachingProperties();
+        CachingProperties.Spec small = new CachingProperties.Spec();
+        small.setMaxSize(2);
+        small.setTtl(Duration.ofMinutes(1));
+        properties.getCaches().put("small", small);
+    }
+
+    @Test
+    void localTier_ShouldBeBoundedPerCacheName() {
+        TwoTierCacheManager manager = manager(false);
+
+        org.springframework.cache.Cache small = manager.getCache("small");
+        for (int i = 0; i < 50; i++) {
+            small.put(i, "value-" + i);
+        }
+        Cache<?, ?> nativeCache = (Cache<?, ?>) small.getNativeCache();
+        // eviction runs as asynchronous maintenance; give it a moment to settle
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        do {
+            nativeCache.cleanUp();
+        } while (nativeCache.estimatedSize() > 2 && System.nanoTime() < deadline);
+
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(nativeCache.stats().evictionCount()).isGreaterThanOrEqualTo(48);
+        assertThat(manager.getCacheNames()).contains("small");
+    }
+
+    @Test
+    void sharedTier_ShouldServeLocalMisses_AndReceiveWritesAndEvictions() {
+        TwoTierCacheManager manager = manager(true);
+        shared.getCache("small").put("k", "from-shared");
+
+        org.springframework.cache.Cache small = manager.getCache("small");
+        assertThat(small.get("k", String.class)).isEqualTo("from-shared");
+        shared.getCache("small").evict("k");
+        assertThat(small.get("k", String.class)).as("copied into the local tier").isEqualTo("from-shared");
+
+        small.put("other", "v");
+        assertThat(shared.getCache("small").get("other", String.class)).isEqualTo("v");
+        small.evict("other");
+        assertThat(shared.getCache("small").get("other")).isNull();
+        assertThat(small.get("other")).isNull();
+
+        assertThat(meterRegistry.get("cache.shared.gets").tag("cache", "small").tag("result", "hit")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void syncLoad_ShouldFillBothTiers_AndLoadOnce() {
+        TwoTierCacheManager manager = manager(true);
+        AtomicInteger loads = new AtomicInteger();
+
+        org.springframework.cache.Cache small = manager.getCache("small");
+        for (int i = 0; i < 5; i++) {
+            assertThat(small.get("k", () -> "loaded-" + loads.incrementAndGet())).isEqualTo("loaded-1");
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(shared.getCache("small").get("k", String.class)).isEqualTo("loaded-1");
+    }
+
+    private TwoTierCacheManager manager(boolean withShared) {
+        TwoTierCacheManager manager = new TwoTierCacheManager(properties, withShared ? shared : null, meterRegistry);
+        manager.afterPropertiesSet();
+        return manager;
+    }
+}
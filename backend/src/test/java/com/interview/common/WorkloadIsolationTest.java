@@ -0,0 +1,169 @@
+package com.interview.common;
+
+import com.interview.common.datasource.WorkloadDataSource;
+import com.interview.common.workload.Bulkhead;
+import com.interview.common.workload.Workload;
+import com.interview.common.workload.WorkloadClass;
+import com.interview.common.workload.WorkloadProperties;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Workload pools against the test database, with the interactive-read bulkhead closed so that every GET is
+ * turned away.
+ */
+@SpringBootTest(properties = {
+        "workload.separate-pools=true",
+        "workload.bulkheads.interactive-read.max-concurrent=0",
+        "workload.bulkheads.interactive-read.max-queue=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WorkloadIsolationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void transactions_ShouldUseThePoolOfTheirWorkloadClass() throws Exception {
+        WorkloadDataSource pools = dataSource.unwrap(WorkloadDataSource.class);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Set<WorkloadClass> write = new TransactionTemplate(transactionManager).execute(status -> activePools(pools));
+        Set<WorkloadClass> read = readOnly.execute(status -> activePools(pools));
+        Set<WorkloadClass> report;
+        try (Workload.Scope ignored = Workload.open(WorkloadClass.REPORTING)) {
+            report = readOnly.execute(status -> activePools(pools));
+        }
+
+        assertThat(write).contains(WorkloadClass.BOOKING_WRITE)
+                .doesNotContain(WorkloadClass.INTERACTIVE_READ, WorkloadClass.REPORTING);
+        assertThat(read).contains(WorkloadClass.INTERACTIVE_READ)
+                .doesNotContain(WorkloadClass.BOOKING_WRITE, WorkloadClass.REPORTING);
+        assertThat(report).contains(WorkloadClass.REPORTING)
+                .doesNotContain(WorkloadClass.BOOKING_WRITE, WorkloadClass.INTERACTIVE_READ);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "reporting").gauge().value())
+                .isEqualTo(4);
+    }
+
+    @Test
+    void requestOverItsBulkhead_ShouldBeAnswered503() throws Exception {
+        mockMvc.perform(get("/api/companies"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("OVERLOADED"));
+
+        assertThat(meterRegistry.get("workload.bulkhead.rejected").tag("workload", "interactive-read").counter()
+                .count()).isPositive();
+        // other classes keep their own slots
+        assertThat(meterRegistry.get("workload.bulkhead.active").tag("workload", "booking-write").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void defaultBulkheads_ShouldLeaveTomcatThreadsForEveryClass() {
+        int maxThreads = new ServerProperties().getTomcat().getMaxThreads();
+
+        assertThat(new WorkloadProperties().bulkheadThreads()).isLessThan(maxThreads);
+    }
+
+    @Test
+    void bulkhead_ShouldQueueUpToMaxQueue_AndRejectTheRest() throws Exception {
+        WorkloadProperties.BulkheadSpec spec = new WorkloadProperties.BulkheadSpec();
+        spec.setMaxConcurrent(1);
+        spec.setMaxQueue(1);
+        spec.setMaxWait(Duration.ofSeconds(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.REPORTING, spec, registry);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(bulkhead.tryAcquire()).isTrue();
+            CountDownLatch waiting = new CountDownLatch(1);
+            Future<Boolean> queued = executor.submit(() -> {
+                waiting.countDown();
+                return bulkhead.tryAcquire();
+            });
+            waiting.await();
+            while (bulkhead.queued() == 0) {
+                Thread.sleep(1);
+            }
+
+            assertThat(bulkhead.tryAcquire()).as("queue full").isFalse();
+            bulkhead.release();
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(bulkhead.active()).isEqualTo(1);
+            assertThat(registry.get("workload.bulkhead.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void bulkhead_ShouldReject_WhenWaitRunsOut() throws Exception {
+        WorkloadProperties.BulkheadSpec spec = new WorkloadProperties.BulkheadSpec();
+        spec.setMaxConcurrent(1);
+        spec.setMaxQueue(5);
+        spec.setMaxWait(Duration.ofMillis(20));
+        Bulkhead bulkhead = new Bulkhead(WorkloadClass.BOOKING_WRITE, spec, new SimpleMeterRegistry());
+
+        assertThat(bulkhead.tryAcquire()).isTrue();
+        assertThat(bulkhead.tryAcquire()).isFalse();
+        assertThat(bulkhead.queued()).isZero();
+    }
+
+    /**
+     * Pools with a connection checked out once the transaction has run a statement. Scheduled jobs may briefly
+     * hold a saga connection at the same time.
+     */
+    private Set<WorkloadClass> activePools(WorkloadDataSource pools) {
+        jdbcTemplate.queryForObject("select 1", Integer.class);
+        Set<WorkloadClass> active = EnumSet.noneOf(WorkloadClass.class);
+        for (WorkloadClass workloadClass : WorkloadClass.values()) {
+            HikariPoolMXBean pool = pools.pool(workloadClass).getHikariPoolMXBean();
+            if (pool != null && pool.getActiveConnections() > 0) {
+                active.add(workloadClass);
+            }
+        }
+        return active;
+    }
+}
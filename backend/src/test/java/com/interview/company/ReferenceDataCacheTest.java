@@ -0,0 +1,171 @@
+package com.interview.company;
+
+import com.interview.common.TestDataFactory;
+import com.interview.common.cache.CacheRegionStats;
+import com.interview.common.cache.HibernateCacheStatistics;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.company.service.RentalCompanyService;
+import com.interview.company.service.RentalLocationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Second-level and query cache for companies and locations, with committed transactions so entries actually
+ * reach the cache. The cache is opt-in, so it is switched on here.
+ */
+@SpringBootTest(properties = "caching.hibernate.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReferenceDataCacheTest {
+
+    private final String city = "Cache City " + UUID.randomUUID();
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private RentalCompanyService companyService;
+
+    @Autowired
+    private RentalLocationService locationService;
+
+    @Autowired
+    private HibernateCacheStatistics hibernateCacheStatistics;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long companyId;
+    private Long locationId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("Cache Company " + UUID.randomUUID());
+            companyRepository.save(company);
+            RentalLocation location = TestDataFactory.createTestLocation(company);
+            location.setCity(city);
+            companyId = company.getId();
+            locationId = locationRepository.save(location).getId();
+        });
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        // the in-memory database outlives the context; hard-delete past @SQLDelete so other tests start clean
+        jdbcTemplate.update("delete from rental_location where company_id = ?", companyId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void findById_ShouldBeServedFromCache_AfterFirstLoad() {
+        assertThat(findLocation()).isPresent();
+        long afterFirstLoad = statistics.getPrepareStatementCount();
+
+        assertThat(findLocation()).isPresent();
+
+        assertThat(afterFirstLoad).isPositive();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(afterFirstLoad);
+        assertThat(region("rentalLocation")).satisfies(stats -> {
+            assertThat(stats.getHits()).isEqualTo(1);
+            assertThat(stats.getMisses()).isEqualTo(1);
+            assertThat(stats.getHitRatio()).isEqualTo(0.5);
+        });
+    }
+
+    @Test
+    void softDelete_ShouldEvictEntity_AndInvalidateCachedQueries() {
+        assertThat(findLocation()).isPresent();
+        assertThat(locationRepository.findIdsByCity(city, null)).containsExactly(locationId);
+        assertThat(locationRepository.findIdsByCity(city, null)).containsExactly(locationId);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(entityManagerFactory.getCache().contains(RentalLocation.class, locationId)).isTrue();
+
+        locationService.deleteRentalLocationSoft(locationId);
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        // READ_WRITE keeps a soft lock under the key, so check that the read went past the cache
+        assertThat(findLocation()).isEmpty();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits);
+        assertThat(locationRepository.findIdsByCity(city, null)).isEmpty();
+    }
+
+    @Test
+    void softDeletedCompany_ShouldNotBeServedFromCache() {
+        assertThat(findCompany()).isPresent();
+        assertThat(entityManagerFactory.getCache().contains(RentalCompany.class, companyId)).isTrue();
+
+        companyService.deleteCompanySoft(companyId);
+        long hits = statistics.getSecondLevelCacheHitCount();
+
+        assertThat(findCompany()).isEmpty();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits);
+    }
+
+    @Test
+    void regionsEndpoint_ShouldReportHitRatios() throws Exception {
+        findLocation();
+        findLocation();
+
+        mockMvc.perform(get("/api/admin/cache/regions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.region == 'rentalLocation')].hitRatio").value(0.5))
+                .andExpect(jsonPath("$[?(@.region == 'carModel')].hits").value(0));
+    }
+
+    private Optional<RentalCompany> findCompany() {
+        return transactionTemplate.execute(status -> companyRepository.findById(companyId));
+    }
+
+    private Optional<RentalLocation> findLocation() {
+        return transactionTemplate.execute(status -> locationRepository.findById(locationId));
+    }
+
+    private CacheRegionStats region(String name) {
+        return hibernateCacheStatistics.regions().stream()
+                .filter(stats -> stats.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no region " + name));
+    }
+}
@@ -2,6 +2,7 @@ package com.interview.company;
 
 import com.interview.booking.domain.Booking;
 import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
 import com.interview.booking.repo.BookingRepository;
 import com.interview.common.TestDataFactory;
 import com.interview.common.domain.BusinessRuleViolation;
@@ -19,11 +20,13 @@ import com.interview.company.service.impl.RentalLocationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -56,6 +59,9 @@ class RentalLocationServiceTest {
     @Mock
     private RentalLocationMapper rentalLocationMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RentalLocationServiceImpl locationService;
 
@@ -221,6 +227,10 @@ class RentalLocationServiceTest {
         locationService.deleteRentalLocationSoft(1L);
 
         assertThat(futureBooking.getStatus()).isEqualTo(BookingStatus.CANCELED);
+        ArgumentCaptor<BookingInventoryChangedEvent> event = ArgumentCaptor.forClass(BookingInventoryChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getBookingId()).isEqualTo(1L);
+        assertThat(event.getValue().getStatus()).isEqualTo(BookingStatus.CANCELED);
         verify(rentalLocationRepository).delete(testLocation);
     }
 
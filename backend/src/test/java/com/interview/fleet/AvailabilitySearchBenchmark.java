@@ -0,0 +1,99 @@
+package com.interview.fleet;
+
+import com.interview.common.BenchmarkApplication;
+import com.interview.common.FleetDataGenerator;
+import com.interview.common.web.CursorPageResponse;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import com.interview.fleet.repo.dto.CarInfoDto;
+import com.interview.fleet.service.CarAvailabilityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of {@link CarAvailabilityService#searchAvailable} for a random location and window in the next two
+ * months, across fleet and booking-history sizes, with and without the in-memory availability index.
+ * <p>
+ * {@code mvn -Pbenchmarks test -Djmh.include=AvailabilitySearch -Djmh.args="-p cars=100000 -p bookingsPerCar=100"}
+ * runs the 100k cars / 10M bookings case; generating it takes several minutes per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilitySearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "10000"})
+    private int cars;
+
+    @Param({"10", "100"})
+    private int bookingsPerCar;
+
+    @Param({"true", "false"})
+    private boolean index;
+
+    private ConfigurableApplicationContext context;
+    private CarAvailabilityService carAvailabilityService;
+    private FleetDataGenerator.Fixture fixture;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("availability.index.enabled=" + index);
+        fixture = new FleetDataGenerator(context.getBean(JdbcTemplate.class), 42)
+                .generate(cars, (long) cars * bookingsPerCar);
+        // the index loaded the empty database at startup
+        context.getBean(CarAvailabilityIndex.class).rebuild();
+        carAvailabilityService = context.getBean(CarAvailabilityService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<CarInfoDto> searchFirstPage() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant from = randomStart(random);
+        return carAvailabilityService.searchAvailable(randomLocation(random), from,
+                from.plus(1 + random.nextInt(7), ChronoUnit.DAYS), PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public CursorPageResponse<CarInfoDto> searchFirstKeysetPage() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Instant from = randomStart(random);
+        return carAvailabilityService.searchAvailable(randomLocation(random), from,
+                from.plus(1 + random.nextInt(7), ChronoUnit.DAYS), null, PAGE_SIZE);
+    }
+
+    private Long randomLocation(ThreadLocalRandom random) {
+        return fixture.getLocationIds().get(random.nextInt(fixture.getLocationIds().size()));
+    }
+
+    private Instant randomStart(ThreadLocalRandom random) {
+        return fixture.getGeneratedAt().plus(1 + random.nextInt(60), ChronoUnit.DAYS);
+    }
+}
@@ -0,0 +1,262 @@
+package com.interview.fleet;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.common.web.PageResponse;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.AvailabilitySummary;
+import com.interview.fleet.dtos.CarCreateDto;
+import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.dtos.CarUpdateDto;
+import com.interview.fleet.dtos.ModelAvailabilityDto;
+import com.interview.fleet.repo.AvailabilitySummaryRepository;
+import com.interview.fleet.service.CarAvailabilityService;
+import com.interview.fleet.service.CarService;
+import com.interview.fleet.summary.AvailabilitySummaryUpdater;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Summary counters maintained from committed booking and car changes; {@code drain()} waits for the worker.
+ */
+@SpringBootTest(properties = "availability.summary.enabled=true")
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class AvailabilitySummaryTest {
+
+    private final String unique = UUID.randomUUID().toString().substring(0, 8);
+    private final LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+    @Autowired
+    private AvailabilitySummaryUpdater updater;
+
+    @Autowired
+    private AvailabilitySummaryRepository summaryRepository;
+
+    @Autowired
+    private CarAvailabilityService carAvailabilityService;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+    private Long airportId;
+    private Long downtownId;
+    private Long modelId;
+    private Long clientId;
+    private Long firstCarId;
+    private Long secondCarId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("Summary Company " + unique);
+            companyId = companyRepository.save(company).getId();
+            airportId = locationRepository.save(location(company, "Airport")).getId();
+            downtownId = locationRepository.save(location(company, "Downtown")).getId();
+            CarModel model = TestDataFactory.createTestCarModel();
+            model.setModel("Summary " + unique);
+            modelId = carModelRepository.save(model).getId();
+            Client client = TestDataFactory.createTestClient();
+            client.setEmail("summary-" + unique + "@test.com");
+            clientId = clientRepository.save(client).getId();
+        });
+        firstCarId = addCar("A").getId();
+        secondCarId = addCar("B").getId();
+        updater.drain();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from availability_summary where model_id = ?", modelId);
+        jdbcTemplate.update("delete from booking where client_id = ?", clientId);
+        jdbcTemplate.update("delete from car where company_id = ?", companyId);
+        jdbcTemplate.update("delete from client where id = ?", clientId);
+        jdbcTemplate.update("delete from car_model where id = ?", modelId);
+        jdbcTemplate.update("delete from rental_location where company_id = ?", companyId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void addedCars_ShouldBeCountedForEveryDayOfTheHorizon() {
+        Map<LocalDate, AvailabilitySummary> days = counters(airportId, today, today.plusDays(89));
+
+        assertThat(days).hasSize(90);
+        assertThat(days.values()).allSatisfy(day -> {
+            assertThat(day.getTotalCars()).isEqualTo(2);
+            assertThat(day.getFreeCars()).isEqualTo(2);
+        });
+        assertThat(counters(airportId, today.plusDays(90), today.plusDays(120))).isEmpty();
+    }
+
+    @Test
+    void bookingCreateAndCancel_ShouldMoveFreeCountOnOverlappedDaysOnly() {
+        // noon on day +2 to 08:00 on day +4 occupies days +2, +3 and +4
+        Long bookingId = book(firstCarId, startOf(today.plusDays(2)).plus(12, ChronoUnit.HOURS),
+                startOf(today.plusDays(4)).plus(8, ChronoUnit.HOURS));
+        updater.drain();
+
+        Map<LocalDate, AvailabilitySummary> days = counters(airportId, today.plusDays(1), today.plusDays(5));
+        assertThat(days.get(today.plusDays(1)).getFreeCars()).isEqualTo(2);
+        assertThat(days.get(today.plusDays(2)).getFreeCars()).isEqualTo(1);
+        assertThat(days.get(today.plusDays(3)).getFreeCars()).isEqualTo(1);
+        assertThat(days.get(today.plusDays(4)).getFreeCars()).isEqualTo(1);
+        assertThat(days.get(today.plusDays(5)).getFreeCars()).isEqualTo(2);
+
+        changeStatus(bookingId, BookingStatus.CANCELED);
+        updater.drain();
+
+        assertThat(counters(airportId, today.plusDays(1), today.plusDays(5)).values())
+                .allSatisfy(day -> assertThat(day.getFreeCars()).isEqualTo(2));
+    }
+
+    @Test
+    void movedCar_ShouldLeaveOldBucket_AndJoinNewOne() {
+        CarUpdateDto move = new CarUpdateDto();
+        move.setCurrentLocationId(downtownId);
+        carService.updateCar(secondCarId, move);
+        updater.drain();
+
+        assertThat(counters(airportId, today, today).get(today).getTotalCars()).isEqualTo(1);
+        assertThat(counters(downtownId, today, today).get(today).getTotalCars()).isEqualTo(1);
+
+        carService.deleteCar(secondCarId);
+        updater.drain();
+
+        assertThat(counters(downtownId, today, today.plusDays(89))).isEmpty();
+    }
+
+    @Test
+    void summaryPage_ShouldReportSmallestDailyFreeCount() {
+        book(firstCarId, startOf(today.plusDays(3)), startOf(today.plusDays(4)));
+        book(secondCarId, startOf(today.plusDays(3)), startOf(today.plusDays(4)));
+        updater.drain();
+
+        PageResponse<ModelAvailabilityDto> open = carAvailabilityService.availableModelsSummaryAtLocation(
+                airportId, today.plusDays(1), today.plusDays(2), PageRequest.of(0, 10));
+        assertThat(open.getContent()).hasSize(1);
+        assertThat(open.getContent().get(0).getModel().getId()).isEqualTo(modelId);
+        assertThat(open.getContent().get(0).getAvailableCars()).isEqualTo(2);
+
+        PageResponse<ModelAvailabilityDto> soldOut = carAvailabilityService.availableModelsSummaryAtLocation(
+                airportId, today.plusDays(1), today.plusDays(3), PageRequest.of(0, 10));
+        assertThat(soldOut.getContent()).isEmpty();
+
+        PageResponse<ModelAvailabilityDto> pastHorizon = carAvailabilityService.availableModelsSummaryAtLocation(
+                airportId, today.plusDays(80), today.plusDays(100), PageRequest.of(0, 10));
+        assertThat(pastHorizon.getContent()).isEmpty();
+    }
+
+    @Test
+    void reconcile_ShouldRestoreCountersWrittenAround() {
+        jdbcTemplate.update("update availability_summary set free_cars = 0 where model_id = ?", modelId);
+
+        updater.reconcile();
+
+        assertThat(counters(airportId, today, today.plusDays(89)).values())
+                .allSatisfy(day -> assertThat(day.getFreeCars()).isEqualTo(2));
+    }
+
+    private static RentalLocation location(RentalCompany company, String name) {
+        RentalLocation location = TestDataFactory.createTestLocation(company);
+        location.setName(name);
+        return location;
+    }
+
+    private CarResponseDto addCar(String suffix) {
+        CarCreateDto dto = TestDataFactory.createCarCreateDto(companyId, modelId, airportId);
+        dto.setVin("SUM-VIN-" + unique + suffix);
+        dto.setPlateNumber("SUM-" + unique + suffix);
+        return carService.addCar(dto);
+    }
+
+    /**
+     * Written through the repository, with the event the booking services publish, so the test does not
+     * depend on pricing or payment.
+     */
+    private Long book(Long carId, Instant pickup, Instant ret) {
+        return transactionTemplate.execute(status -> {
+            Booking booking = TestDataFactory.createTestBooking(
+                    clientRepository.getOne(clientId),
+                    carService.getEntityById(carId),
+                    locationRepository.getOne(airportId),
+                    locationRepository.getOne(airportId));
+            booking.setPickupTime(pickup);
+            booking.setReturnTime(ret);
+            Booking saved = bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(saved));
+            return saved.getId();
+        });
+    }
+
+    private void changeStatus(Long bookingId, BookingStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Booking booking = bookingRepository.findById(bookingId).orElseThrow(AssertionError::new);
+            booking.setStatus(status);
+            eventPublisher.publishEvent(BookingInventoryChangedEvent.of(booking));
+        });
+    }
+
+    private Map<LocalDate, AvailabilitySummary> counters(Long locationId, LocalDate from, LocalDate to) {
+        return summaryRepository.findByLocationIdAndModelIdAndDayBetween(locationId, modelId, from, to).stream()
+                .collect(Collectors.toMap(AvailabilitySummary::getDay, day -> day));
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
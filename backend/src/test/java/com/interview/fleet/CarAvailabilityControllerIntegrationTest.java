@@ -9,20 +9,27 @@ import com.interview.client.domain.Client;
 import com.interview.client.repo.ClientRepository;
 import com.interview.common.BaseIntegrationTest;
 import com.interview.common.TestDataFactory;
+import com.jayway.jsonpath.JsonPath;
 import com.interview.company.domain.RentalCompany;
 import com.interview.company.domain.RentalLocation;
 import com.interview.company.repo.RentalCompanyRepository;
 import com.interview.company.repo.RentalLocationRepository;
 import com.interview.fleet.domain.Car;
+import com.interview.fleet.dtos.AvailabilityBatchRequestDto;
+import com.interview.fleet.dtos.AvailabilityCheckDto;
 import com.interview.fleet.repo.CarRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class CarAvailabilityControllerIntegrationTest extends BaseIntegrationTest {
@@ -142,4 +149,95 @@ class CarAvailabilityControllerIntegrationTest extends BaseIntegrationTest {
         // the model might still be returned as there's at least one available car
     }
 
+    @Test
+    void checkAvailabilityBatch_ShouldAnswerEachCarAndWindow() throws Exception {
+        // Given - the booked car is taken on day 2 but free next week
+        Instant dayTwo = Instant.now().plus(2, ChronoUnit.DAYS);
+        Instant nextWeek = Instant.now().plus(7, ChronoUnit.DAYS);
+        AvailabilityBatchRequestDto request = new AvailabilityBatchRequestDto();
+        request.setChecks(Arrays.asList(
+                new AvailabilityCheckDto(availableCar.getId(), dayTwo, dayTwo.plus(1, ChronoUnit.HOURS)),
+                new AvailabilityCheckDto(bookedCar.getId(), dayTwo, dayTwo.plus(1, ChronoUnit.HOURS)),
+                new AvailabilityCheckDto(bookedCar.getId(), nextWeek, nextWeek.plus(1, ChronoUnit.DAYS))));
+
+        // When & Then
+        mockMvc.perform(post("/api/availability/cars/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].carId").value(availableCar.getId()))
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[1].carId").value(bookedCar.getId()))
+                .andExpect(jsonPath("$[1].available").value(false))
+                .andExpect(jsonPath("$[2].available").value(true));
+    }
+
+    @Test
+    void checkAvailabilityBatch_ShouldRejectInvertedWindow() throws Exception {
+        Instant from = Instant.now().plus(2, ChronoUnit.DAYS);
+        AvailabilityBatchRequestDto request = new AvailabilityBatchRequestDto();
+        request.setChecks(Collections.singletonList(
+                new AvailabilityCheckDto(availableCar.getId(), from, from.minus(1, ChronoUnit.HOURS))));
+
+        mockMvc.perform(post("/api/availability/cars/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    @Test
+    void getAvailableCarsByCity_WithCursor_ShouldWalkPagesByPlate() throws Exception {
+        Instant from = Instant.now().plus(10, ChronoUnit.DAYS);
+        Instant to = from.plus(1, ChronoUnit.DAYS);
+
+        String first = mockMvc.perform(get("/api/availability/cars/by-city")
+                .param("city", "Test City")
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("cursor", "")
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].plateNumber").value("AVAILABLE-CAR"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/api/availability/cars/by-city")
+                .param("city", "Test City")
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("cursor", JsonPath.<String>read(first, "$.nextCursor"))
+                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].plateNumber").value("BOOKED-CAR"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void searchAvailable_WithCursor_ShouldSkipBookedCars_AndRejectForeignCursor() throws Exception {
+        Instant from = Instant.now().plus(2, ChronoUnit.DAYS);
+        Instant to = from.plus(1, ChronoUnit.HOURS);
+
+        mockMvc.perform(get("/api/availability/cars")
+                .param("locationId", testLocation.getId().toString())
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].carId").value(availableCar.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(get("/api/availability/cars")
+                .param("from", from.toString())
+                .param("to", to.toString())
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
 }
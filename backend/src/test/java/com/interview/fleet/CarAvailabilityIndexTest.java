@@ -0,0 +1,131 @@
+package com.interview.fleet;
+
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.dto.BookingInventoryChangedEvent;
+import com.interview.fleet.domain.CarStatus;
+import com.interview.fleet.dtos.CarInventoryChangedEvent;
+import com.interview.fleet.index.AvailabilityIndexProperties;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import com.interview.fleet.index.IndexedCar;
+import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.dto.BookingIntervalRow;
+import com.interview.fleet.repo.dto.CarIndexRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CarAvailabilityIndexTest {
+
+    @Mock
+    private CarAvailabilityRepository carAvailabilityRepository;
+
+    private CarAvailabilityIndex index;
+
+    private Instant dayOne;
+    private Instant dayThree;
+
+    @BeforeEach
+    void setUp() {
+        index = new CarAvailabilityIndex(carAvailabilityRepository, new AvailabilityIndexProperties());
+
+        dayOne = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        dayThree = dayOne.plus(2, ChronoUnit.DAYS);
+
+        when(carAvailabilityRepository.findAllForIndex()).thenReturn(Arrays.asList(
+                new CarIndexRow(1L, 1L, 10L, 100L, "B-1", CarStatus.AVAILABLE),
+                new CarIndexRow(2L, 1L, 10L, 100L, "B-2", CarStatus.AVAILABLE),
+                new CarIndexRow(3L, 1L, 10L, 100L, "B-3", CarStatus.MAINTENANCE),
+                new CarIndexRow(4L, 1L, 20L, 200L, "B-4", CarStatus.AVAILABLE)));
+        when(carAvailabilityRepository.findBlockingIntervalsEndingAfter(any(Instant.class), anyCollection()))
+                .thenReturn(Collections.singletonList(new BookingIntervalRow(50L, 2L, dayOne, dayThree)));
+    }
+
+    @Test
+    void queries_ShouldFallBack_WhileWarmingUp() {
+        assertThat(index.isReady()).isFalse();
+        assertThat(index.findFreeCars(null, 10L, Collections.singleton(100L), dayOne, dayThree)).isEmpty();
+        assertThat(index.isCarFree(1L, dayOne, dayThree)).isEmpty();
+    }
+
+    @Test
+    void findFreeCars_ShouldExcludeBookedAndMaintenanceCars() {
+        index.rebuild();
+
+        assertThat(carIds(index.findFreeCars(null, 10L, Collections.singleton(100L), dayOne, dayThree).get()))
+                .containsExactly(1L);
+        assertThat(carIds(index.findFreeCars(null, 10L, Collections.singleton(100L),
+                dayThree, dayThree.plus(1, ChronoUnit.DAYS)).get()))
+                .containsExactly(1L, 2L);
+        assertThat(carIds(index.findFreeCars(1L, null, null, dayOne, dayThree).get()))
+                .containsExactly(1L, 4L);
+    }
+
+    @Test
+    void isCarFree_ShouldUseHalfOpenIntervals() {
+        index.rebuild();
+
+        assertThat(index.isCarFree(2L, dayOne.minus(1, ChronoUnit.HOURS), dayOne)).contains(true);
+        assertThat(index.isCarFree(2L, dayOne.minus(1, ChronoUnit.HOURS), dayOne.plusNanos(1_000))).contains(false);
+        assertThat(index.isCarFree(2L, dayThree, dayThree.plus(1, ChronoUnit.HOURS))).contains(true);
+        assertThat(index.isCarFree(99L, dayOne, dayThree)).isEmpty();
+    }
+
+    @Test
+    void bookingEvents_ShouldBlockAndReleaseCar() {
+        index.rebuild();
+
+        index.onBookingChanged(new BookingInventoryChangedEvent(51L, 1L, dayOne, dayThree, BookingStatus.CREATED));
+        assertThat(index.isCarFree(1L, dayOne, dayThree)).contains(false);
+
+        index.onBookingChanged(new BookingInventoryChangedEvent(51L, 1L, dayOne, dayThree, BookingStatus.CANCELED));
+        assertThat(index.isCarFree(1L, dayOne, dayThree)).contains(true);
+
+        index.onBookingChanged(new BookingInventoryChangedEvent(50L, 2L, dayOne, dayThree, BookingStatus.CANCELED));
+        assertThat(index.isCarFree(2L, dayOne, dayThree)).contains(true);
+    }
+
+    @Test
+    void carEvents_ShouldMoveAndRemoveCars() {
+        index.rebuild();
+
+        index.onCarChanged(new CarInventoryChangedEvent(2L, 1L, 10L, 200L, "B-2", CarStatus.AVAILABLE, false, 100L, 10L));
+        assertThat(carIds(index.findFreeCars(null, 10L, Collections.singleton(200L),
+                dayThree, dayThree.plus(1, ChronoUnit.DAYS)).get()))
+                .containsExactly(2L);
+        // the timeline moves with the car
+        assertThat(index.isCarFree(2L, dayOne, dayThree)).contains(false);
+
+        index.onCarChanged(new CarInventoryChangedEvent(1L, 1L, 10L, 100L, "B-1", CarStatus.AVAILABLE, true, 100L, 10L));
+        assertThat(index.findFreeCars(null, 10L, Collections.singleton(100L), dayOne, dayThree).get()).isEmpty();
+    }
+
+    @Test
+    void queries_ShouldFallBack_BeforeHorizon() {
+        index.rebuild();
+
+        Instant lastWeek = Instant.now().minus(7, ChronoUnit.DAYS);
+        assertThat(index.findFreeCars(null, 10L, null, lastWeek, dayOne)).isEmpty();
+    }
+
+    private static List<Long> carIds(List<IndexedCar> cars) {
+        return cars.stream().map(IndexedCar::getCarId).collect(Collectors.toList());
+    }
+}
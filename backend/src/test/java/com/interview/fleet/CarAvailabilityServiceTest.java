@@ -7,10 +7,17 @@ import com.interview.catalog.mapper.CarModelMapper;
 import com.interview.catalog.repo.CarModelRepository;
 import com.interview.common.TestDataFactory;
 import com.interview.common.web.PageResponse;
+import com.interview.company.repo.RentalLocationRepository;
 import com.interview.fleet.domain.Car;
+import com.interview.fleet.dtos.AvailabilityCheckDto;
+import com.interview.fleet.dtos.AvailabilityCheckResultDto;
 import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.index.CarAvailabilityIndex;
+import com.interview.fleet.index.IndexedCar;
+import com.interview.fleet.index.CarTimeline;
 import com.interview.fleet.mapper.CarMapper;
 import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.CarRepository;
 import com.interview.fleet.repo.dto.CarInfoDto;
 import com.interview.fleet.service.impl.CarAvailabilityServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,11 +34,17 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -51,6 +64,15 @@ class CarAvailabilityServiceTest {
     @Mock
     private CarMapper carMapper;
 
+    @Mock
+    private CarAvailabilityIndex carAvailabilityIndex;
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private RentalLocationRepository rentalLocationRepository;
+
     @InjectMocks
     private CarAvailabilityServiceImpl carAvailabilityService;
 
@@ -245,4 +267,74 @@ class CarAvailabilityServiceTest {
         verify(carAvailabilityRepository).existsActiveForCarInPeriod(
                 eq(1L), eq(from), eq(to), eq(BookingStatus.activeSet()));
     }
+
+    @Test
+    void findAvailableCarIds_ShouldUseIndex_WhenWarm() {
+        // Given
+        List<IndexedCar> free = Arrays.asList(
+                new IndexedCar(4L, 1L, 1L, 1L, "P-4", testCar.getStatus(), CarTimeline.EMPTY),
+                new IndexedCar(7L, 1L, 1L, 1L, "P-7", testCar.getStatus(), CarTimeline.EMPTY));
+        when(carAvailabilityIndex.findFreeCars(any(), eq(1L), any(), eq(from), eq(to)))
+                .thenReturn(Optional.of(free));
+
+        // When
+        List<Long> result = carAvailabilityService.findAvailableCarIds(1L, 1L, from, to, Pageable.unpaged());
+
+        // Then
+        assertThat(result).containsExactly(4L, 7L);
+        verify(carAvailabilityRepository, never()).findAvailableCarIds(
+                any(), any(), any(), any(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void isCarAvailable_ShouldUseIndex_OutsideReadWriteTransaction() {
+        // Given
+        when(carAvailabilityIndex.isCarFree(1L, from, to)).thenReturn(Optional.of(false));
+
+        // When
+        boolean result = carAvailabilityService.isCarAvailable(1L, from, to);
+
+        // Then
+        assertThat(result).isFalse();
+        verify(carAvailabilityRepository, never()).existsActiveForCarInPeriod(any(), any(), any(), any());
+    }
+
+    @Test
+    void availabilityFor_ShouldResolveUnindexedCarsWithOneQuery() {
+        // Given
+        when(carAvailabilityIndex.getMaxIdsPerLookup()).thenReturn(1000);
+        when(carAvailabilityIndex.isCarFree(1L, from, to)).thenReturn(Optional.of(true));
+        when(carAvailabilityRepository.findCarIdsWithActiveInPeriod(eq(Arrays.asList(2L, 3L)), eq(from), eq(to), any()))
+                .thenReturn(Collections.singletonList(3L));
+
+        // When
+        Map<Long, Boolean> result = carAvailabilityService.availabilityFor(Arrays.asList(1L, 2L, 3L), from, to);
+
+        // Then
+        assertThat(result).containsExactly(entry(1L, true), entry(2L, true), entry(3L, false));
+        verify(carAvailabilityRepository).findCarIdsWithActiveInPeriod(any(), any(), any(), any());
+        verify(carAvailabilityRepository, never()).existsActiveForCarInPeriod(any(), any(), any(), any());
+    }
+
+    @Test
+    void checkAvailability_ShouldQueryOncePerWindow_AndKeepRequestOrder() {
+        // Given
+        Instant later = to.plusSeconds(3600);
+        when(carAvailabilityIndex.getMaxIdsPerLookup()).thenReturn(1000);
+        when(carAvailabilityRepository.findCarIdsWithActiveInPeriod(any(), eq(from), eq(to), any()))
+                .thenReturn(Collections.singletonList(2L));
+        when(carAvailabilityRepository.findCarIdsWithActiveInPeriod(any(), eq(to), eq(later), any()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        List<AvailabilityCheckResultDto> result = carAvailabilityService.checkAvailability(Arrays.asList(
+                new AvailabilityCheckDto(1L, from, to),
+                new AvailabilityCheckDto(2L, to, later),
+                new AvailabilityCheckDto(2L, from, to)));
+
+        // Then
+        assertThat(result).extracting(AvailabilityCheckResultDto::getCarId).containsExactly(1L, 2L, 2L);
+        assertThat(result).extracting(AvailabilityCheckResultDto::isAvailable).containsExactly(true, true, false);
+        verify(carAvailabilityRepository, times(2)).findCarIdsWithActiveInPeriod(any(), any(), any(), any());
+    }
 }
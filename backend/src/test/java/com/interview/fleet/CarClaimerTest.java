@@ -0,0 +1,137 @@
+package com.interview.fleet;
+
+import com.interview.booking.domain.Booking;
+import com.interview.booking.domain.BookingStatus;
+import com.interview.booking.repo.BookingRepository;
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.client.domain.Client;
+import com.interview.client.repo.ClientRepository;
+import com.interview.common.BaseRepositoryTest;
+import com.interview.common.TestDataFactory;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.claim.CarClaimMode;
+import com.interview.fleet.claim.CarClaimProperties;
+import com.interview.fleet.claim.CarClaimer;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.domain.CarStatus;
+import com.interview.fleet.repo.CarAvailabilityRepository;
+import com.interview.fleet.repo.CarRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarClaimerTest extends BaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarAvailabilityRepository carAvailabilityRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private CarClaimProperties properties;
+    private CarClaimer carClaimer;
+
+    private RentalCompany company;
+    private RentalLocation location;
+    private CarModel carModel;
+    private Instant from;
+    private Instant to;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CarClaimProperties();
+        carClaimer = new CarClaimer(carRepository, carAvailabilityRepository, properties, entityManagerFactory,
+                new SimpleMeterRegistry());
+
+        company = companyRepository.save(TestDataFactory.createTestCompany());
+        location = locationRepository.save(TestDataFactory.createTestLocation(company));
+        carModel = carModelRepository.save(TestDataFactory.createTestCarModel());
+
+        from = Instant.now().plus(1, ChronoUnit.DAYS);
+        to = from.plus(2, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void isSkipLockedActive_ShouldFallBackToLockLoop_OnH2() {
+        assertThat(carClaimer.isSkipLockedActive()).isFalse();
+
+        properties.setMode(CarClaimMode.SKIP_LOCKED);
+        assertThat(carClaimer.isSkipLockedActive()).isTrue();
+    }
+
+    @Test
+    void claimFirstFree_ShouldSkipBookedAndMaintenanceCars() {
+        Car booked = saveCar("CLAIM-1", CarStatus.AVAILABLE);
+        saveCar("CLAIM-2", CarStatus.MAINTENANCE);
+        Car free = saveCar("CLAIM-3", CarStatus.AVAILABLE);
+        book(booked);
+        entityManager.flush();
+        entityManager.clear();
+
+        Optional<Car> claimed = carClaimer.claimFirstFree(carModel.getId(), location.getId(), from, to);
+
+        assertThat(claimed).isPresent();
+        assertThat(claimed.get().getId()).isEqualTo(free.getId());
+    }
+
+    @Test
+    void claimFirstFree_ShouldReturnEmpty_WhenEveryCarIsBooked() {
+        book(saveCar("CLAIM-4", CarStatus.AVAILABLE));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(carClaimer.claimFirstFree(carModel.getId(), location.getId(), from, to)).isEmpty();
+        assertThat(carClaimer.claimFirstFree(carModel.getId(), null, from, to)).isEmpty();
+    }
+
+    private Car saveCar(String plate, CarStatus status) {
+        Car car = TestDataFactory.createTestCar(company, carModel, location);
+        car.setPlateNumber(plate);
+        car.setVin(plate + "-VIN");
+        car.setStatus(status);
+        return carRepository.save(car);
+    }
+
+    private void book(Car car) {
+        Client client = clientRepository.save(TestDataFactory.createTestClient());
+        Booking booking = TestDataFactory.createTestBooking(client, car, location, location);
+        booking.setPickupTime(from);
+        booking.setReturnTime(to);
+        booking.setStatus(BookingStatus.CONFIRMED);
+        bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,195 @@
+package com.interview.fleet;
+
+import com.interview.catalog.domain.CarModel;
+import com.interview.catalog.repo.CarModelRepository;
+import com.interview.common.TestDataFactory;
+import com.interview.company.domain.RentalCompany;
+import com.interview.company.domain.RentalLocation;
+import com.interview.company.repo.RentalCompanyRepository;
+import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.domain.Car;
+import com.interview.fleet.domain.CarStatus;
+import com.interview.fleet.dtos.CarResponseDto;
+import com.interview.fleet.repo.CarRepository;
+import com.interview.fleet.service.CarService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Imports commit chunk by chunk, so reference data is committed up front and removed afterwards instead of
+ * living in a rolled-back test transaction. Small chunks make every upload span several of them.
+ */
+@SpringBootTest(properties = {
+        "fleet.import.batch-size=2",
+        "fleet.import.max-reported-errors=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CarImportTest {
+
+    private final String unique = UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private RentalCompanyRepository companyRepository;
+
+    @Autowired
+    private RentalLocationRepository locationRepository;
+
+    @Autowired
+    private CarModelRepository carModelRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long companyId;
+    private Long locationId;
+    private Long modelId;
+    private Car existing;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            RentalCompany company = TestDataFactory.createTestCompany();
+            company.setName("Import Company " + unique);
+            companyId = companyRepository.save(company).getId();
+            RentalLocation location = TestDataFactory.createTestLocation(company);
+            locationId = locationRepository.save(location).getId();
+            CarModel model = TestDataFactory.createTestCarModel();
+            model.setModel("Import " + unique);
+            modelId = carModelRepository.save(model).getId();
+            Car car = TestDataFactory.createTestCar(company, model, location);
+            car.setVin("EXISTING-" + unique);
+            car.setPlateNumber("EX-" + unique);
+            existing = carRepository.save(car);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from car where company_id = ?", companyId);
+        jdbcTemplate.update("delete from car_model where id = ?", modelId);
+        jdbcTemplate.update("delete from rental_location where company_id = ?", companyId);
+        jdbcTemplate.update("delete from rental_company where id = ?", companyId);
+    }
+
+    @Test
+    void csvImport_ShouldAddValidRowsAndReportTheRest() throws Exception {
+        String refs = "," + companyId + "," + modelId + "," + locationId;
+        String csv = "VIN,plateNumber,companyId,modelId,currentLocationId,mileageKm,PricePerDay\n" +
+                "V" + unique + "-1,P" + unique + "-1" + refs + ",100,5000\n" +
+                "\"V" + unique + "-2\",\"P" + unique + ", 2\"," + companyId + "," + modelId + ",,,5000\n" +
+                "\n" +
+                "V" + unique + "-3,P" + unique + "-3,999999999," + modelId + "," + locationId + ",0,5000\n" +
+                "V" + unique + "-1,P" + unique + "-6" + refs + ",0,5000\n" +
+                "V" + unique + "-7,EX-" + unique + refs + ",0,5000\n" +
+                "V" + unique + "-8,P" + unique + "-8" + refs + ",lots,5000\n" +
+                "V" + unique + "-9,P" + unique + "-9" + refs + ",0,5000\n" +
+                "V" + unique + "-10,P" + unique + "-10" + refs + ",0,0\n";
+
+        mockMvc.perform(post("/api/cars/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(8))
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.errorsTruncated").value(true))
+                .andExpect(jsonPath("$.errors[*].line").value(contains(5, 6, 7, 8)))
+                .andExpect(jsonPath("$.errors[0].message").value("Company not found: 999999999"))
+                .andExpect(jsonPath("$.errors[1].message").value("VIN already registered: V" + unique + "-1"))
+                .andExpect(jsonPath("$.errors[2].message").value("Plate number already registered: EX-" + unique))
+                .andExpect(jsonPath("$.errors[3].message").value("mileageKm: not a number: lots"));
+
+        assertThat(jdbcTemplate.queryForList("select plate_number from car where company_id = ? order by id",
+                String.class, companyId))
+                .containsExactly("EX-" + unique, "P" + unique + "-1", "P" + unique + ", 2", "P" + unique + "-9");
+        Map<String, Object> unplaced = jdbcTemplate.queryForMap(
+                "select current_location_id, mileage_km, status from car where vin = ?", "V" + unique + "-2");
+        assertThat(unplaced.get("CURRENT_LOCATION_ID")).isNull();
+        assertThat(unplaced.get("MILEAGE_KM")).isNull();
+        assertThat(unplaced.get("STATUS")).isEqualTo("AVAILABLE");
+    }
+
+    @Test
+    void ndjsonImport_ShouldAddCarsReadableThroughTheService() throws Exception {
+        String ndjson = "{\"companyId\":" + companyId + ",\"modelId\":" + modelId + ",\"currentLocationId\":" +
+                locationId + ",\"vin\":\"N" + unique + "-1\",\"plateNumber\":\"NP" + unique + "-1\"," +
+                "\"mileageKm\":42,\"pricePerDay\":7000}\n" +
+                "{\"companyId\":" + companyId + ",\"modelId\":" + modelId + ",\"vin\":\"N" + unique + "-2\"\n" +
+                "{\"companyId\":" + companyId + ",\"modelId\":" + modelId + ",\"vin\":\"" + existing.getVin() +
+                "\",\"plateNumber\":\"NP" + unique + "-3\",\"pricePerDay\":7000}\n" +
+                "{\"companyId\":" + companyId + ",\"vin\":\"N" + unique + "-4\",\"plateNumber\":\"NP" + unique +
+                "-4\"}\n" +
+                "{\"companyId\":" + companyId + ",\"modelId\":" + modelId + ",\"vin\":\"N" + unique +
+                "-5\",\"plateNumber\":\"NP" + unique + "-5\",\"pricePerDay\":7000}\n" +
+                "{\"companyId\":" + companyId + ",\"modelId\":" + modelId + ",\"vin\":\"N" + unique +
+                "-6\",\"plateNumber\":\"NP" + unique + "-5\",\"pricePerDay\":7000}\n";
+
+        mockMvc.perform(post("/api/cars/import").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(6))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.errors", hasSize(4)))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("Malformed JSON")))
+                .andExpect(jsonPath("$.errors[1].message").value("VIN already registered: " + existing.getVin()))
+                .andExpect(jsonPath("$.errors[2].vin").value("N" + unique + "-4"))
+                .andExpect(jsonPath("$.errors[2].message")
+                        .value("modelId: must not be null; pricePerDay: must not be null"))
+                .andExpect(jsonPath("$.errors[3].message").value("Plate number repeats line 5: NP" + unique + "-5"));
+
+        Long id = jdbcTemplate.queryForObject("select id from car where vin = ?", Long.class, "N" + unique + "-1");
+        CarResponseDto car = carService.findById(id).orElseThrow(AssertionError::new);
+        assertThat(car.getPlateNumber()).isEqualTo("NP" + unique + "-1");
+        assertThat(car.getPricePerDay()).isEqualTo(7000);
+        assertThat(car.getCurrentLocationId()).isEqualTo(locationId);
+        assertThat(car.getStatus()).isEqualTo(CarStatus.AVAILABLE);
+    }
+
+    @Test
+    void csvImport_ShouldRejectTheUpload_WhenHeaderIsInvalid() throws Exception {
+        mockMvc.perform(post("/api/cars/import").contentType("text/csv")
+                .content("vin,plate,companyId,modelId,pricePerDay\nV1,P1,1,1,5000\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown CSV column: plate"));
+        mockMvc.perform(post("/api/cars/import").contentType("text/csv")
+                .content("vin,companyId,modelId,pricePerDay\nV1,1,1,5000\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("CSV header lacks column: plateNumber"));
+    }
+
+    @Test
+    void import_ShouldRejectOtherContentTypes() throws Exception {
+        mockMvc.perform(post("/api/cars/import").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
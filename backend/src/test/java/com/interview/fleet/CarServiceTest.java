@@ -13,6 +13,7 @@ import com.interview.company.domain.RentalCompany;
 import com.interview.company.domain.RentalLocation;
 import com.interview.company.repo.RentalCompanyRepository;
 import com.interview.company.repo.RentalLocationRepository;
+import com.interview.fleet.claim.CarLockTimer;
 import com.interview.fleet.domain.Car;
 import com.interview.fleet.dtos.CarCreateDto;
 import com.interview.fleet.dtos.CarResponseDto;
@@ -21,6 +22,7 @@ import com.interview.fleet.mapper.CarMapper;
 import com.interview.fleet.repo.CarAvailabilityRepository;
 import com.interview.fleet.repo.CarRepository;
 import com.interview.fleet.service.impl.CarServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +31,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -66,9 +70,14 @@ class CarServiceTest {
     @Mock
     private RentalLocationRepository locationRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     // Don't mock PageResponseMapper - it's a simple utility class
     private PageResponseMapper pageResponseMapper = new PageResponseMapper();
 
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private CarServiceImpl carService;
 
@@ -114,7 +123,9 @@ class CarServiceTest {
                 pageResponseMapper,
                 companyRepository,
                 carModelRepository,
-                locationRepository
+                locationRepository,
+                eventPublisher,
+                meterRegistry
         );
     }
 
@@ -352,6 +363,24 @@ class CarServiceTest {
                 .hasMessage("Car not found for locking: 1");
     }
 
+    @Test
+    void lockByIdForUpdate_ShouldRecordLockWait_ByOutcome() {
+        // Given
+        when(carRepository.lockByIdForUpdate(1L)).thenReturn(Optional.of(testCar));
+        when(carRepository.lockByIdForUpdate(2L)).thenThrow(new PessimisticLockingFailureException("timeout"));
+
+        // When
+        carService.lockByIdForUpdate(1L);
+        assertThatThrownBy(() -> carService.lockByIdForUpdate(2L))
+                .isInstanceOf(PessimisticLockingFailureException.class);
+
+        // Then
+        assertThat(meterRegistry.get(CarLockTimer.METRIC).tag("mode", CarLockTimer.ROW_LOCK)
+                .tag("outcome", "acquired").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(CarLockTimer.METRIC).tag("mode", CarLockTimer.ROW_LOCK)
+                .tag("outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
     @Test
     void lockAndReserveIfAvailableOrThrow_ShouldSucceed_WhenCarAvailable() {
         // Given
@@ -0,0 +1,107 @@
+package com.interview.outboxevent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.outboxevent.codec.JsonEventCodec;
+import com.interview.outboxevent.codec.OutboxPayloadCodec;
+import com.interview.outboxevent.codec.OutboxPayloadProperties;
+import com.interview.outboxevent.codec.SmileEventCodec;
+import com.interview.payment.dto.PaymentRequestEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of an outbox payload: the legacy JSON text column against the framed codecs.
+ * Row sizes are printed before the run.
+ * <p>
+ * Run {@link #main} from the IDE, or after {@code mvn test-compile}:
+ * {@code java -cp target/test-classes:target/classes:<test classpath> com.interview.outboxevent.EventCodecBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventCodecBenchmark {
+
+    @Param({"json", "smile"})
+    private String codecName;
+
+    private ObjectMapper objectMapper;
+    private OutboxPayloadCodec codec;
+    private PaymentRequestEvent event;
+    private String legacyText;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        codec = codec(objectMapper, codecName);
+        event = sampleEvent();
+        legacyText = objectMapper.writeValueAsString(event);
+        payload = codec.encode(event);
+    }
+
+    @Benchmark
+    public String legacyTextEncode() throws IOException {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public PaymentRequestEvent legacyTextDecode() throws IOException {
+        return objectMapper.readValue(legacyText, PaymentRequestEvent.class);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public PaymentRequestEvent decode() throws IOException {
+        return codec.decode(payload, PaymentRequestEvent.class);
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        PaymentRequestEvent event = sampleEvent();
+        System.out.printf("Row size: legacy text %d B, json %d B, smile %d B%n",
+                objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8).length,
+                codec(objectMapper, "json").encode(event).length,
+                codec(objectMapper, "smile").encode(event).length);
+
+        new Runner(new OptionsBuilder()
+                .include(EventCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    private static OutboxPayloadCodec codec(ObjectMapper objectMapper, String name) {
+        OutboxPayloadProperties properties = new OutboxPayloadProperties();
+        properties.setCodec(name);
+        return new OutboxPayloadCodec(Arrays.asList(new JsonEventCodec(objectMapper),
+                new SmileEventCodec(Jackson2ObjectMapperBuilder.json())), properties);
+    }
+
+    private static PaymentRequestEvent sampleEvent() {
+        return new PaymentRequestEvent(1_234_567L, 98_765L, 45_900, "USD", LocalDateTime.of(2025, 6, 1, 9, 30));
+    }
+}
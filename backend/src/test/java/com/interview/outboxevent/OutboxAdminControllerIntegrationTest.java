@@ -0,0 +1,65 @@
+package com.interview.outboxevent;
+
+import com.interview.common.BaseIntegrationTest;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class OutboxAdminControllerIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private OutboxEvent deadLetter;
+    private OutboxEvent pending;
+
+    @BeforeEach
+    void setUpEvents() {
+        deadLetter = new OutboxEvent("42", "Booking", "PAYMENT_REQUESTED", "{}");
+        deadLetter.setStatus(OutboxEventStatus.DEAD_LETTER);
+        deadLetter.setRetryCount(3);
+        deadLetter.setErrorMessage("Payment gateway unavailable");
+        deadLetter = outboxEventRepository.saveAndFlush(deadLetter);
+
+        pending = outboxEventRepository.saveAndFlush(new OutboxEvent("43", "Booking", "BOOKING_CONFIRMED", "{}"));
+    }
+
+    @Test
+    void getDeadLetters_ShouldListOnlyDeadLetteredEvents() throws Exception {
+        mockMvc.perform(get("/api/admin/outbox/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].id").value(deadLetter.getId()))
+                .andExpect(jsonPath("$.content[0].retryCount").value(3))
+                .andExpect(jsonPath("$.content[0].errorMessage").value("Payment gateway unavailable"));
+    }
+
+    @Test
+    void replay_ShouldRequeueDeadLetter() throws Exception {
+        mockMvc.perform(post("/api/admin/outbox/dead-letters/{id}/replay", deadLetter.getId()))
+                .andExpect(status().isOk());
+
+        OutboxEvent replayed = outboxEventRepository.findById(deadLetter.getId()).orElseThrow();
+        assertThat(replayed.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(replayed.getRetryCount()).isZero();
+    }
+
+    @Test
+    void replay_ShouldReturnUnprocessable_WhenEventIsNotDeadLettered() throws Exception {
+        mockMvc.perform(post("/api/admin/outbox/dead-letters/{id}/replay", pending.getId()))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void replay_ShouldReturnNotFound_WhenEventDoesNotExist() throws Exception {
+        mockMvc.perform(post("/api/admin/outbox/dead-letters/{id}/replay", 99999L))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,106 @@
+package com.interview.outboxevent;
+
+import com.interview.common.BaseRepositoryTest;
+import com.interview.outboxevent.archive.OutboxArchiveProperties;
+import com.interview.outboxevent.archive.OutboxArchiver;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventArchive;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.repo.OutboxEventArchiveRepository;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxArchiverTest extends BaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxEventArchiveRepository archiveRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxArchiver archiver;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        OutboxArchiveProperties properties = new OutboxArchiveProperties();
+        properties.setBatchSize(2);
+        properties.setMaxBatchesPerRun(2);
+        archiver = new OutboxArchiver(outboxEventRepository, archiveRepository, properties,
+                new TransactionTemplate(transactionManager));
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @Test
+    void archiveCompleted_ShouldMoveOldCompletedEvents_InBoundedBatches() {
+        for (int i = 0; i < 5; i++) {
+            persist("old-" + i, OutboxEventStatus.COMPLETED, now.minusDays(10));
+        }
+        OutboxEvent recent = persist("recent", OutboxEventStatus.COMPLETED, now.minusHours(1));
+        OutboxEvent oldPending = persist("pending", OutboxEventStatus.PENDING, now.minusDays(10));
+        OutboxEvent oldFailed = persist("failed", OutboxEventStatus.FAILED, now.minusDays(10));
+        LocalDateTime cutoff = now.minusDays(7);
+
+        // two batches of two per run
+        assertThat(archiver.archiveCompleted(cutoff)).isEqualTo(4);
+        assertThat(archiver.archiveCompleted(cutoff)).isEqualTo(1);
+        assertThat(archiver.archiveCompleted(cutoff)).isZero();
+        entityManager.clear();
+
+        assertThat(archiveRepository.count()).isEqualTo(5);
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getId)
+                .containsExactlyInAnyOrder(recent.getId(), oldPending.getId(), oldFailed.getId());
+    }
+
+    @Test
+    void archiveCompleted_ShouldKeepIdPayloadAndTimestamps() {
+        OutboxEvent event = persist("booking-7", OutboxEventStatus.COMPLETED, now.minusDays(10));
+
+        archiver.archiveCompleted(now.minusDays(7));
+        entityManager.clear();
+
+        List<OutboxEventArchive> archived = archiveRepository.findByAggregateIdOrderById("booking-7");
+        assertThat(archived).hasSize(1);
+        OutboxEventArchive row = archived.get(0);
+        assertThat(row.getId()).isEqualTo(event.getId());
+        assertThat(row.getEventType()).isEqualTo("BOOKING_CONFIRMED");
+        assertThat(row.getEventData()).isEqualTo("{\"bookingId\":7}");
+        assertThat(row.getCreatedDate()).isEqualTo(event.getCreatedDate());
+        assertThat(row.getProcessedAt()).isEqualTo(event.getProcessedAt());
+        assertThat(row.getArchivedAt()).isNotNull();
+    }
+
+    private OutboxEvent persist(String aggregateId, OutboxEventStatus status, LocalDateTime createdDate) {
+        OutboxEvent event = new OutboxEvent(aggregateId, "Booking", "BOOKING_CONFIRMED", "{\"bookingId\":7}");
+        event.setStatus(status);
+        if (status == OutboxEventStatus.COMPLETED) {
+            event.setProcessedAt(createdDate.plusSeconds(1));
+        }
+        entityManager.persistAndFlush(event);
+        // auditing stamps created_date on insert, so backdate it afterwards
+        entityManager.getEntityManager()
+                .createQuery("UPDATE OutboxEvent o SET o.createdDate = :createdDate WHERE o.id = :id")
+                .setParameter("createdDate", createdDate)
+                .setParameter("id", event.getId())
+                .executeUpdate();
+        event.setCreatedDate(createdDate);
+        return event;
+    }
+}
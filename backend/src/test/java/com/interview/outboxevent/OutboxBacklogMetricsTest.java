@@ -0,0 +1,79 @@
+package com.interview.outboxevent;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.relay.OutboxBacklogMetrics;
+import com.interview.outboxevent.relay.OutboxMetricsProperties;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OutboxBacklogMetricsTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboxBacklogMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new OutboxBacklogMetrics(outboxEventRepository, new OutboxMetricsProperties(), meterRegistry);
+    }
+
+    @Test
+    void sample_ShouldCountUnfinishedEvents_PerStatus() {
+        metrics.sample();
+        double failedBefore = count(OutboxEventStatus.FAILED);
+        double pendingBefore = count(OutboxEventStatus.PENDING);
+
+        save(OutboxEventStatus.FAILED);
+        save(OutboxEventStatus.FAILED);
+        save(OutboxEventStatus.COMPLETED);
+        metrics.sample();
+
+        assertThat(count(OutboxEventStatus.FAILED)).isEqualTo(failedBefore + 2);
+        assertThat(count(OutboxEventStatus.PENDING)).isEqualTo(pendingBefore);
+        assertThat(meterRegistry.find("outbox.backlog.events").tag("status", "COMPLETED").gauge()).isNull();
+    }
+
+    @Test
+    void sample_ShouldReportAgeOfOldestEvent() {
+        OutboxEvent event = save(OutboxEventStatus.DEAD_LETTER);
+        jdbcTemplate.update("update outbox_events set created_date = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(5)), event.getId());
+
+        metrics.sample();
+
+        assertThat(meterRegistry.get("outbox.backlog.oldest.age").tag("status", "DEAD_LETTER").timeGauge()
+                .value(TimeUnit.MINUTES)).isGreaterThanOrEqualTo(5);
+    }
+
+    private OutboxEvent save(OutboxEventStatus status) {
+        OutboxEvent event = new OutboxEvent("backlog-test", "Booking", "PAYMENT_REQUESTED", "{}");
+        event.setStatus(status);
+        return outboxEventRepository.saveAndFlush(event);
+    }
+
+    private double count(OutboxEventStatus status) {
+        return meterRegistry.get("outbox.backlog.events").tag("status", status.name()).gauge().value();
+    }
+}
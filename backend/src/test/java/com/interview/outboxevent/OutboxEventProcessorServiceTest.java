@@ -0,0 +1,219 @@
+package com.interview.outboxevent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.booking.dto.BookingTimelineDto;
+import com.interview.booking.saga.BookingSagaTracer;
+import com.interview.booking.saga.BookingTimelineProperties;
+import com.interview.booking.service.impl.BookingPaymentOrchestrator;
+import com.interview.common.web.CorrelationIdFilter;
+import com.interview.outboxevent.codec.JsonEventCodec;
+import com.interview.outboxevent.codec.OutboxPayloadCodec;
+import com.interview.outboxevent.codec.OutboxPayloadProperties;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.relay.OutboxRelayProperties;
+import com.interview.outboxevent.relay.OutboxRetryPolicy;
+import com.interview.outboxevent.relay.OutboxRetryProperties;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import com.interview.outboxevent.service.OutboxEventProcessorService;
+import com.interview.payment.dto.PaymentRequestEvent;
+import com.interview.payment.dto.PaymentResponseEvent;
+import com.interview.payment.gateway.PaymentGateway;
+import com.interview.payment.gateway.PaymentGatewayException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.MDC;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventProcessorServiceTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private PaymentGateway paymentGateway;
+    @Mock
+    private BookingPaymentOrchestrator bookingPaymentOrchestrator;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BookingSagaTracer sagaTracer =
+            new BookingSagaTracer(new BookingTimelineProperties(), new SimpleMeterRegistry());
+
+    private OutboxEventProcessorService processorService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxRetryProperties retryProperties = new OutboxRetryProperties();
+        retryProperties.setMaxAttempts(3);
+        retryProperties.setInitialBackoff(Duration.ofSeconds(10));
+        retryProperties.setJitter(0.2);
+        processorService = new OutboxEventProcessorService(outboxEventRepository, paymentGateway,
+                bookingPaymentOrchestrator, payloadCodec(), new OutboxRelayProperties(),
+                new OutboxRetryPolicy(retryProperties), new TransactionTemplate(transactionManager), sagaTracer);
+    }
+
+    @Test
+    void claimBatch_ShouldFlipClaimedEventsToProcessing() {
+        OutboxEvent first = event(1L, "BOOKING_CONFIRMED", "{}");
+        OutboxEvent second = event(2L, "BOOKING_CANCELED", "{}");
+        when(outboxEventRepository.lockPendingBatch(any(Pageable.class))).thenReturn(Arrays.asList(first, second));
+
+        List<OutboxEvent> claimed = processorService.claimBatch(10);
+
+        assertThat(claimed).extracting(OutboxEvent::getStatus)
+                .containsOnly(OutboxEventStatus.PROCESSING);
+        verify(outboxEventRepository).updateStatus(eq(Arrays.asList(1L, 2L)),
+                eq(OutboxEventStatus.PROCESSING), any(LocalDateTime.class));
+    }
+
+    @Test
+    void claimBatch_ShouldNotUpdate_WhenNothingPending() {
+        when(outboxEventRepository.lockPendingBatch(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        assertThat(processorService.claimBatch(10)).isEmpty();
+        verify(outboxEventRepository, never()).updateStatus(anyCollection(), any(), any());
+    }
+
+    @Test
+    void process_ShouldCallPaymentOutsideTransaction_ThenCompleteWithSagaStep() throws Exception {
+        PaymentRequestEvent request = new PaymentRequestEvent(7L, 3L, 10000, "USD", LocalDateTime.now());
+        OutboxEvent event = event(5L, "PAYMENT_REQUESTED", objectMapper.writeValueAsString(request));
+        PaymentResponseEvent response = new PaymentResponseEvent();
+        response.setBookingId(7L);
+        response.setSuccess(true);
+        when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        assertThat(process(event)).isTrue();
+
+        InOrder inOrder = inOrder(paymentGateway, transactionManager, bookingPaymentOrchestrator,
+                outboxEventRepository);
+        inOrder.verify(paymentGateway).authorize(any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(bookingPaymentOrchestrator).handlePaymentResponse(response);
+        inOrder.verify(outboxEventRepository).markCompleted(eq(5L), any(LocalDateTime.class));
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.COMPLETED);
+    }
+
+    @Test
+    void process_ShouldRecordPaymentStages_AndCompleteUnderEventCorrelationId() throws Exception {
+        PaymentRequestEvent request = new PaymentRequestEvent(17L, 3L, 10000, "USD", LocalDateTime.now());
+        OutboxEvent event = event(15L, "PAYMENT_REQUESTED", objectMapper.writeValueAsString(request));
+        event.setCorrelationId("corr-15");
+        PaymentResponseEvent response = new PaymentResponseEvent();
+        response.setBookingId(17L);
+        response.setSuccess(true);
+        when(paymentGateway.authorize(any())).thenReturn(CompletableFuture.completedFuture(response));
+        AtomicReference<String> correlationId = new AtomicReference<>();
+        doAnswer(invocation -> {
+            correlationId.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+            return null;
+        }).when(bookingPaymentOrchestrator).handlePaymentResponse(response);
+
+        assertThat(process(event)).isTrue();
+
+        assertThat(correlationId.get()).isEqualTo("corr-15");
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+        assertThat(sagaTracer.timeline(17L)).hasValueSatisfying(timeline -> assertThat(timeline.getStages())
+                .extracting(BookingTimelineDto.Stage::getStage)
+                .containsExactly("PAYMENT_REQUESTED", "PAYMENT_ANSWERED"));
+    }
+
+    @Test
+    void process_ShouldScheduleRetryWithBackoff_WhenPaymentThrows() throws Exception {
+        OutboxEvent event = paymentEvent(6L);
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("gateway down")));
+        LocalDateTime before = LocalDateTime.now();
+
+        assertThat(process(event)).isFalse();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).markFailed(eq(6L), eq("gateway down"), nextAttempt.capture(),
+                any(LocalDateTime.class));
+        // first retry: 10s minus up to 20% jitter
+        assertThat(nextAttempt.getValue()).isBetween(before.plusSeconds(8), LocalDateTime.now().plusSeconds(10));
+        verify(outboxEventRepository, never()).markCompleted(anyLong(), any());
+        verifyNoInteractions(bookingPaymentOrchestrator);
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(event.getRetryCount()).isEqualTo(1);
+    }
+
+    @Test
+    void process_ShouldBackOffExponentially_OnLaterAttempts() throws Exception {
+        OutboxEvent event = paymentEvent(8L);
+        event.setRetryCount(1);
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("gateway down")));
+        LocalDateTime before = LocalDateTime.now();
+
+        process(event);
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxEventRepository).markFailed(eq(8L), any(), nextAttempt.capture(), any(LocalDateTime.class));
+        assertThat(nextAttempt.getValue()).isBetween(before.plusSeconds(16), LocalDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    void process_ShouldDeadLetter_WhenRetriesExhausted() throws Exception {
+        OutboxEvent event = paymentEvent(9L);
+        event.setRetryCount(2);
+        when(paymentGateway.authorize(any()))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("gateway down")));
+
+        assertThat(process(event)).isFalse();
+
+        verify(outboxEventRepository).markDeadLetter(eq(9L), eq("gateway down"), any(LocalDateTime.class));
+        verify(outboxEventRepository, never()).markFailed(anyLong(), any(), any(), any());
+        assertThat(event.getStatus()).isEqualTo(OutboxEventStatus.DEAD_LETTER);
+    }
+
+    private boolean process(OutboxEvent event) {
+        return processorService.processAsync(event, Runnable::run).join();
+    }
+
+    private OutboxPayloadCodec payloadCodec() {
+        return new OutboxPayloadCodec(Collections.singletonList(new JsonEventCodec(objectMapper)),
+                jsonPayloads());
+    }
+
+    private static OutboxPayloadProperties jsonPayloads() {
+        OutboxPayloadProperties properties = new OutboxPayloadProperties();
+        properties.setCodec("json");
+        return properties;
+    }
+
+    private OutboxEvent paymentEvent(Long id) throws Exception {
+        PaymentRequestEvent request = new PaymentRequestEvent(7L, 3L, 10000, "USD", LocalDateTime.now());
+        return event(id, "PAYMENT_REQUESTED", objectMapper.writeValueAsString(request));
+    }
+
+    private static OutboxEvent event(Long id, String type, String data) {
+        OutboxEvent event = new OutboxEvent("7", "Booking", type, data);
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,66 @@
+package com.interview.outboxevent;
+
+import com.interview.common.BaseRepositoryTest;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxEventRepositoryTest extends BaseRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void releaseDueRetries_ShouldOnlyRequeueFailedEventsWhoseBackoffElapsed() {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent due = persist(OutboxEventStatus.FAILED, now.minusSeconds(1));
+        OutboxEvent notYetDue = persist(OutboxEventStatus.FAILED, now.plusMinutes(5));
+        OutboxEvent deadLetter = persist(OutboxEventStatus.DEAD_LETTER, null);
+
+        int released = outboxEventRepository.releaseDueRetries(now);
+        entityManager.clear();
+
+        assertThat(released).isEqualTo(1);
+        assertThat(statusOf(due)).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(statusOf(notYetDue)).isEqualTo(OutboxEventStatus.FAILED);
+        assertThat(statusOf(deadLetter)).isEqualTo(OutboxEventStatus.DEAD_LETTER);
+    }
+
+    @Test
+    void replayDeadLetter_ShouldResetRetryBudget_AndIgnoreOtherStatuses() {
+        OutboxEvent deadLetter = persist(OutboxEventStatus.DEAD_LETTER, null);
+        deadLetter.setRetryCount(3);
+        deadLetter.setErrorMessage("gateway down");
+        OutboxEvent failed = persist(OutboxEventStatus.FAILED, LocalDateTime.now());
+        entityManager.flush();
+
+        assertThat(outboxEventRepository.replayDeadLetter(deadLetter.getId(), LocalDateTime.now())).isEqualTo(1);
+        assertThat(outboxEventRepository.replayDeadLetter(failed.getId(), LocalDateTime.now())).isZero();
+
+        OutboxEvent replayed = entityManager.find(OutboxEvent.class, deadLetter.getId());
+        assertThat(replayed.getStatus()).isEqualTo(OutboxEventStatus.PENDING);
+        assertThat(replayed.getRetryCount()).isZero();
+        assertThat(replayed.getErrorMessage()).isNull();
+    }
+
+    private OutboxEvent persist(OutboxEventStatus status, LocalDateTime nextAttemptAt) {
+        OutboxEvent event = new OutboxEvent("42", "Booking", "PAYMENT_REQUESTED", "{}");
+        event.setStatus(status);
+        event.setNextAttemptAt(nextAttemptAt);
+        return entityManager.persistAndFlush(event);
+    }
+
+    private OutboxEventStatus statusOf(OutboxEvent event) {
+        return entityManager.find(OutboxEvent.class, event.getId()).getStatus();
+    }
+}
@@ -0,0 +1,95 @@
+package com.interview.outboxevent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.booking.dto.BookingConfirmedEvent;
+import com.interview.outboxevent.codec.EventCodec;
+import com.interview.outboxevent.codec.JsonEventCodec;
+import com.interview.outboxevent.codec.OutboxPayloadCodec;
+import com.interview.outboxevent.codec.OutboxPayloadProperties;
+import com.interview.outboxevent.codec.SmileEventCodec;
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.payment.dto.PaymentRequestEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxPayloadCodecTest {
+
+    private ObjectMapper objectMapper;
+    private List<EventCodec> codecs;
+    private PaymentRequestEvent paymentRequest;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        codecs = Arrays.asList(new JsonEventCodec(objectMapper),
+                new SmileEventCodec(Jackson2ObjectMapperBuilder.json()));
+        paymentRequest = new PaymentRequestEvent(42L, 7L, 12999, "EUR", LocalDateTime.of(2025, 3, 1, 10, 15, 30));
+    }
+
+    @Test
+    void smile_ShouldRoundTrip_WithVersionByte() throws IOException {
+        OutboxPayloadCodec codec = codec("smile");
+
+        byte[] payload = codec.encode(paymentRequest);
+
+        assertThat(payload[0]).isEqualTo(SmileEventCodec.VERSION);
+        assertThat(codec.decode(payload, PaymentRequestEvent.class)).isEqualTo(paymentRequest);
+    }
+
+    @Test
+    void smile_ShouldBeSmallerThanJson() throws IOException {
+        byte[] smile = codec("smile").encode(paymentRequest);
+        byte[] json = codec("json").encode(paymentRequest);
+
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    @Test
+    void decode_ShouldReadRowsWrittenByEitherCodec() throws IOException {
+        byte[] jsonPayload = codec("json").encode(paymentRequest);
+        OutboxPayloadCodec smileWriter = codec("smile");
+
+        assertThat(jsonPayload[0]).isEqualTo(JsonEventCodec.VERSION);
+        assertThat(smileWriter.decode(jsonPayload, PaymentRequestEvent.class)).isEqualTo(paymentRequest);
+    }
+
+    @Test
+    void decode_ShouldReadLegacyJsonText() throws IOException {
+        BookingConfirmedEvent confirmed = new BookingConfirmedEvent();
+        confirmed.setBookingId(42L);
+        confirmed.setTransactionId("TXN-1");
+        OutboxEvent legacy = new OutboxEvent("42", "Booking", "BOOKING_CONFIRMED",
+                objectMapper.writeValueAsString(confirmed));
+
+        assertThat(codec("smile").decode(legacy, BookingConfirmedEvent.class)).isEqualTo(confirmed);
+    }
+
+    @Test
+    void decode_ShouldRejectUnknownVersion() {
+        assertThatThrownBy(() -> codec("smile").decode(new byte[]{99, 1, 2}, PaymentRequestEvent.class))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void constructor_ShouldRejectUnknownCodecName() {
+        assertThatThrownBy(() -> codec("avro"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("avro");
+    }
+
+    private OutboxPayloadCodec codec(String name) {
+        OutboxPayloadProperties properties = new OutboxPayloadProperties();
+        properties.setCodec(name);
+        return new OutboxPayloadCodec(codecs, properties);
+    }
+}
@@ -0,0 +1,118 @@
+package com.interview.outboxevent;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.domain.OutboxEventStatus;
+import com.interview.outboxevent.dto.OutboxEventAppended;
+import com.interview.outboxevent.relay.OutboxRelay;
+import com.interview.outboxevent.repo.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the relay for real against the embedded database. The fallback poll is set to a minute, so the
+ * events only get picked up in time if the commit wake-up works.
+ */
+@SpringBootTest(properties = {
+        "outbox.relay.enabled=true",
+        "outbox.relay.poll-interval=1m",
+        "outbox.relay.batch-size=10",
+        "outbox.relay.lanes=4",
+        "outbox.relay.lane-capacity=4"
+})
+@ActiveProfiles("test")
+@DirtiesContext
+class OutboxRelayIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void relay_ShouldCompleteEvents_WhenWokenByCommit() {
+        List<Long> ids = append(1, "relay-single");
+
+        awaitCompleted(ids);
+
+        assertThat(outboxEventRepository.findById(ids.get(0)))
+                .hasValueSatisfying(event -> assertThat(event.getProcessedAt()).isNotNull());
+    }
+
+    @Test
+    void relay_ShouldDrainManyAggregates_KeepingOrderWithinEach() {
+        List<Long> ids = new ArrayList<>();
+        for (int round = 0; round < 5; round++) {
+            for (int aggregate = 0; aggregate < 8; aggregate++) {
+                ids.addAll(append(1, "relay-agg-" + aggregate));
+            }
+        }
+
+        awaitCompleted(ids);
+
+        Map<String, List<OutboxEvent>> byAggregate = outboxEventRepository.findAllById(ids).stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getAggregateId));
+        assertThat(byAggregate).hasSize(8);
+        byAggregate.values().forEach(events -> {
+            events.sort(Comparator.comparing(OutboxEvent::getId));
+            for (int i = 1; i < events.size(); i++) {
+                assertThat(events.get(i).getProcessedAt()).isAfterOrEqualTo(events.get(i - 1).getProcessedAt());
+            }
+        });
+        await(() -> outboxRelay.inFlight() == 0);
+    }
+
+    private List<Long> append(int count, String aggregateId) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                OutboxEvent saved = outboxEventRepository.save(
+                        new OutboxEvent(aggregateId, "Booking", "BOOKING_CONFIRMED", "{}"));
+                eventPublisher.publishEvent(new OutboxEventAppended(saved.getId(), aggregateId, saved.getEventType()));
+                ids.add(saved.getId());
+            }
+            return ids;
+        });
+    }
+
+    private void awaitCompleted(List<Long> ids) {
+        await(() -> outboxEventRepository.findAllById(ids).stream()
+                .allMatch(event -> event.getStatus() == OutboxEventStatus.COMPLETED));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within %s", TIMEOUT).isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.interview.outboxevent;
+
+import com.interview.outboxevent.domain.OutboxEvent;
+import com.interview.outboxevent.relay.OutboxRelay;
+import com.interview.outboxevent.relay.OutboxRelayProperties;
+import com.interview.outboxevent.service.OutboxEventProcessorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int LANES = 2;
+
+    @Mock
+    private OutboxEventProcessorService processor;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ScheduledExecutorService gatewayTimer = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicLong ids = new AtomicLong();
+    private final List<OutboxEvent> pending = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> requestedBudgets = new CopyOnWriteArrayList<>();
+    private final Map<String, List<Long>> startOrder = new ConcurrentHashMap<>();
+    private final Set<String> startThreads = ConcurrentHashMap.newKeySet();
+    private final Set<String> activeAggregates = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger overlapping = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    private OutboxRelayProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxRelayProperties();
+        properties.setLanes(LANES);
+        properties.setLaneCapacity(4);
+        properties.setMaxInFlight(256);
+        properties.setCompletionThreads(2);
+        properties.setBatchSize(50);
+        properties.setPollInterval(Duration.ofMillis(20));
+        properties.setShutdownTimeout(Duration.ofSeconds(2));
+
+        when(processor.claimBatch(anyInt())).thenAnswer(invocation -> {
+            int limit = invocation.getArgument(0);
+            requestedBudgets.add(limit);
+            synchronized (pending) {
+                List<OutboxEvent> batch = new ArrayList<>(pending.subList(0, Math.min(limit, pending.size())));
+                pending.subList(0, batch.size()).clear();
+                return batch;
+            }
+        });
+
+        relay = new OutboxRelay(processor, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.stop();
+        gatewayTimer.shutdownNow();
+    }
+
+    @Test
+    void relay_ShouldRunEachAggregateInOrder_OneEventAtATime() {
+        answerAfter(Duration.ofMillis(5));
+        for (int round = 0; round < 5; round++) {
+            for (int booking = 0; booking < 6; booking++) {
+                pending.add(event("booking-" + booking));
+            }
+        }
+        relay.start();
+
+        await(() -> finished.get() == 30);
+
+        assertThat(startOrder).hasSize(6);
+        startOrder.values().forEach(order -> assertThat(order).isSorted());
+        assertThat(overlapping).as("events of one aggregate never overlap").hasValue(0);
+    }
+
+    @Test
+    void relay_ShouldKeepHundredsOfSlowPaymentsInFlight_OnTwoLanes() {
+        answerAfter(Duration.ofMillis(300));
+        for (int booking = 0; booking < 200; booking++) {
+            pending.add(event("booking-" + booking));
+        }
+        long start = System.nanoTime();
+        relay.start();
+
+        await(() -> finished.get() == 200);
+
+        // sequentially this would take a minute; in flight together it is a few gateway round trips
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(startThreads).hasSize(LANES).allMatch(name -> name.startsWith("outbox-lane-"));
+    }
+
+    @Test
+    void relay_ShouldStopClaiming_AtMaxInFlight() {
+        properties.setMaxInFlight(8);
+        CompletableFuture<Void> gatewayAnswers = new CompletableFuture<>();
+        when(processor.processAsync(any(), any())).thenAnswer(invocation ->
+                gatewayAnswers.thenApply(ignored -> {
+                    finished.incrementAndGet();
+                    return true;
+                }));
+        for (int booking = 0; booking < 20; booking++) {
+            pending.add(event("booking-" + booking));
+        }
+        relay.start();
+
+        await(() -> relay.inFlight() == 8);
+        sleep(100);
+
+        assertThat(relay.inFlight()).isEqualTo(8);
+        assertThat(pending).hasSize(12);
+        assertThat(requestedBudgets).allMatch(budget -> budget <= 8);
+        assertThat(meterRegistry.find("outbox.relay.lane.depth").gauges()).hasSize(LANES);
+
+        gatewayAnswers.complete(null);
+        await(() -> pending.isEmpty() && relay.inFlight() == 0);
+    }
+
+    /**
+     * Stub the processor like a gateway call: return at once and complete on a timer.
+     */
+    private void answerAfter(Duration latency) {
+        when(processor.processAsync(any(), any())).thenAnswer(invocation -> {
+            OutboxEvent event = invocation.getArgument(0);
+            startThreads.add(Thread.currentThread().getName());
+            startOrder.computeIfAbsent(event.getAggregateId(), k -> new CopyOnWriteArrayList<>()).add(event.getId());
+            String key = event.getAggregateId();
+            if (!activeAggregates.add(key)) {
+                overlapping.incrementAndGet();
+            }
+            CompletableFuture<Boolean> answer = new CompletableFuture<>();
+            gatewayTimer.schedule(() -> {
+                activeAggregates.remove(key);
+                finished.incrementAndGet();
+                answer.complete(true);
+            }, latency.toMillis(), TimeUnit.MILLISECONDS);
+            return answer;
+        });
+    }
+
+    private OutboxEvent event(String aggregateId) {
+        OutboxEvent event = new OutboxEvent(aggregateId, "Booking", "PAYMENT_REQUESTED", "{}");
+        event.setId(ids.incrementAndGet());
+        return event;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            sleep(10);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
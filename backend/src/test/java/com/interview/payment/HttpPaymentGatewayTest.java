@@ -0,0 +1,138 @@
+package com.interview.payment;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.payment.dto.PaymentRequestEvent;
+import com.interview.payment.dto.PaymentResponseEvent;
+import com.interview.payment.gateway.HttpPaymentGateway;
+import com.interview.payment.gateway.PaymentGatewayException;
+import com.interview.payment.gateway.PaymentGatewayProperties;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpPaymentGatewayTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private MockWebServer server;
+    private HttpPaymentGateway gateway;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        PaymentGatewayProperties properties = new PaymentGatewayProperties();
+        properties.setType("http");
+        properties.setBaseUrl(server.url("/gateway/").toString());
+        properties.setRequestTimeout(Duration.ofSeconds(2));
+        gateway = new HttpPaymentGateway(objectMapper, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void authorize_ShouldPostRequest_AndReturnApproval() throws Exception {
+        server.enqueue(json(new PaymentResponseEvent(42L, true, "TXN-1", null, LocalDateTime.now())));
+
+        PaymentResponseEvent response = gateway.authorize(request(42L)).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getTransactionId()).isEqualTo("TXN-1");
+        RecordedRequest recorded = server.takeRequest();
+        assertThat(recorded.getMethod()).isEqualTo("POST");
+        assertThat(recorded.getPath()).isEqualTo("/gateway/payments");
+        assertThat(objectMapper.readValue(recorded.getBody().readUtf8(), PaymentRequestEvent.class).getBookingId())
+                .isEqualTo(42L);
+    }
+
+    @Test
+    void authorize_ShouldCompleteNormally_WhenDeclined() throws Exception {
+        server.enqueue(json(new PaymentResponseEvent(42L, false, null, "Insufficient funds", LocalDateTime.now())));
+
+        PaymentResponseEvent response = gateway.authorize(request(42L)).get(5, TimeUnit.SECONDS);
+
+        assertThat(response.isSuccess()).isFalse();
+        assertThat(response.getErrorMessage()).isEqualTo("Insufficient funds");
+    }
+
+    @Test
+    void authorize_ShouldFail_WhenGatewayErrors() {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThatThrownBy(() -> gateway.authorize(request(42L)).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PaymentGatewayException.class)
+                .hasMessageContaining("503");
+    }
+
+    @Test
+    void authorize_ShouldFail_WhenGatewayDoesNotAnswerInTime() {
+        server.enqueue(json(new PaymentResponseEvent(42L, true, "TXN-1", null, LocalDateTime.now()))
+                .setHeadersDelay(5, TimeUnit.SECONDS));
+
+        assertThatThrownBy(() -> gateway.authorize(request(42L)).get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(PaymentGatewayException.class);
+    }
+
+    @Test
+    void authorize_ShouldNotHoldACallerThreadPerPayment() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest recorded) {
+                try {
+                    PaymentRequestEvent request = objectMapper.readValue(
+                            recorded.getBody().readUtf8(), PaymentRequestEvent.class);
+                    return json(new PaymentResponseEvent(request.getBookingId(), true, "TXN", null, null))
+                            .setHeadersDelay(300, TimeUnit.MILLISECONDS);
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(400);
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResponseEvent>> futures = new ArrayList<>();
+        for (long bookingId = 1; bookingId <= 100; bookingId++) {
+            futures.add(gateway.authorize(request(bookingId)));
+        }
+        // every call returns at once; the answers arrive together
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        for (int i = 0; i < futures.size(); i++) {
+            assertThat(futures.get(i).join().getBookingId()).isEqualTo(i + 1L);
+        }
+    }
+
+    private MockResponse json(PaymentResponseEvent body) {
+        try {
+            return new MockResponse()
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(objectMapper.writeValueAsString(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static PaymentRequestEvent request(Long bookingId) {
+        return new PaymentRequestEvent(bookingId, 7L, 12999, "USD", LocalDateTime.now());
+    }
+}
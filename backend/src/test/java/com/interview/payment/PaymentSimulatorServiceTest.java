@@ -0,0 +1,53 @@
+package com.interview.payment;
+
+import com.interview.payment.dto.PaymentRequestEvent;
+import com.interview.payment.dto.PaymentResponseEvent;
+import com.interview.payment.gateway.PaymentGatewayProperties;
+import com.interview.payment.service.impl.PaymentSimulatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentSimulatorServiceTest {
+
+    private PaymentSimulatorService simulator;
+
+    @BeforeEach
+    void setUp() {
+        PaymentGatewayProperties properties = new PaymentGatewayProperties();
+        properties.getSimulator().setMinLatency(Duration.ofMillis(200));
+        properties.getSimulator().setMaxLatency(Duration.ofMillis(300));
+        properties.getSimulator().setSuccessRate(1.0);
+        simulator = new PaymentSimulatorService(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.shutdown();
+    }
+
+    @Test
+    void authorize_ShouldAnswerOnTimer_WithoutBlockingCaller() throws Exception {
+        long start = System.nanoTime();
+        List<CompletableFuture<PaymentResponseEvent>> futures = new ArrayList<>();
+        for (long bookingId = 1; bookingId <= 500; bookingId++) {
+            futures.add(simulator.authorize(new PaymentRequestEvent(bookingId, 7L, 1000, "USD", LocalDateTime.now())));
+        }
+        assertThat(futures.get(0)).isNotDone();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        // 500 payments of 200-300ms each on one timer thread
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(futures).allMatch(future -> future.join().isSuccess());
+    }
+}